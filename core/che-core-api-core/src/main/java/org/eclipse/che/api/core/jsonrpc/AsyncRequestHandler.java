@@ -0,0 +1,24 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.jsonrpc;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Handler corresponding to processing JSON RPC requests which results are
+ * computed asynchronously. {@link RequestDispatcher} does not wait for the
+ * result, response is transmitted when returned future is completed. Pending
+ * request may be cancelled by the client with {@code $/cancelRequest}
+ * notification, in that case returned future is cancelled.
+ */
+public interface AsyncRequestHandler extends RequestHandler {
+    CompletableFuture<JsonRpcResult> handleAsync(String endpointId, JsonRpcParams params) throws JsonRpcException;
+}
@@ -10,6 +10,7 @@
  *******************************************************************************/
 package org.eclipse.che.api.core.jsonrpc;
 
+import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
 
@@ -48,8 +49,30 @@ public class JsonRpcEntityQualifier {
         checkArgument(!message.isEmpty(), "Message must not be empty");
         LOG.debug("Qualifying message: " + message);
 
-        JsonObject jsonObject = jsonParser.parse(message).getAsJsonObject();
-        LOG.debug("Json keys: " + jsonObject.entrySet().stream().map(Map.Entry::getKey).collect(Collectors.toSet()));
+        return qualify(jsonParser.parse(message));
+    }
+
+    /**
+     * Qualifies already parsed message.
+     *
+     * @param message
+     *         parsed json
+     *
+     * @return type of entity, {@link JsonRpcEntityType#UNDEFINED} if message is not a json object
+     */
+    public JsonRpcEntityType qualify(JsonElement message) {
+        checkNotNull(message, "Message must not be null");
+
+        if (!message.isJsonObject()) {
+            LOG.debug("Qualified to undefined");
+
+            return JsonRpcEntityType.UNDEFINED;
+        }
+
+        JsonObject jsonObject = message.getAsJsonObject();
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Json keys: " + jsonObject.entrySet().stream().map(Map.Entry::getKey).collect(Collectors.toSet()));
+        }
 
         if (jsonObject.has("method")) {
             LOG.debug("Qualified to request");
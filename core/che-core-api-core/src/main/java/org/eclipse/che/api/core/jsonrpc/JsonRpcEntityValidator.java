@@ -10,6 +10,7 @@
  *******************************************************************************/
 package org.eclipse.che.api.core.jsonrpc;
 
+import com.google.gson.JsonElement;
 import com.google.gson.JsonParseException;
 import com.google.gson.JsonParser;
 
@@ -40,15 +41,33 @@ public class JsonRpcEntityValidator {
     }
 
     public void validate(String message) throws JsonRpcException {
+        parse(message);
+    }
+
+    /**
+     * Validates message and returns its json tree, so message doesn't have to be parsed
+     * once again to be processed.
+     *
+     * @param message
+     *         stringified json
+     *
+     * @return parsed json
+     *
+     * @throws JsonRpcException
+     *         if message is not a valid json
+     */
+    public JsonElement parse(String message) throws JsonRpcException {
         checkNotNull(message, "Message must not be null");
         checkArgument(!message.isEmpty(), "Message must not be empty");
 
         LOG.debug("Validating message: {}", message);
 
         try {
-            jsonParser.parse(message);
+            JsonElement jsonElement = jsonParser.parse(message);
 
             LOG.debug("Validation successful");
+
+            return jsonElement;
         } catch (JsonParseException e) {
             LOG.debug("Validation failed: {}", e.getMessage(), e);
 
@@ -15,9 +15,6 @@ import com.google.gson.JsonParser;
 import com.google.inject.assistedinject.Assisted;
 import com.google.inject.assistedinject.AssistedInject;
 
-import static com.google.common.base.Preconditions.checkArgument;
-import static com.google.common.base.Preconditions.checkNotNull;
-
 /**
  * Represents JSON RPC error object. Can be constructed out of
  * stringified json object or by passing specific parameters.
@@ -36,19 +33,13 @@ public class JsonRpcError {
 
     @AssistedInject
     public JsonRpcError(@Assisted("message") String message, JsonParser jsonParser) {
-        checkNotNull(message, "Message must not be null");
-        checkArgument(!message.isEmpty(), "Message must not be empty");
-
-        this.code = getCode(message, jsonParser);
-        this.message = getMessage(message, jsonParser);
-    }
-
-    private static String getMessage(String message, JsonParser jsonParser) {
-        return jsonParser.parse(message).getAsJsonObject().get("message").getAsString();
+        this(JsonRpcUtils.parse(message, jsonParser).getAsJsonObject());
     }
 
-    private static int getCode(String message, JsonParser jsonParser) {
-        return jsonParser.parse(message).getAsJsonObject().get("code").getAsInt();
+    /** Creates error out of already parsed json object. */
+    JsonRpcError(JsonObject error) {
+        this.code = error.get("code").getAsInt();
+        this.message = error.get("message").getAsString();
     }
 
     public JsonObject toJsonObject() {
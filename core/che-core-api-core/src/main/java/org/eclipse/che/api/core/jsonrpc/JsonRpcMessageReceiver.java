@@ -10,6 +10,8 @@
  *******************************************************************************/
 package org.eclipse.che.api.core.jsonrpc;
 
+import com.google.gson.JsonElement;
+
 import org.eclipse.che.api.core.jsonrpc.JsonRpcEntityQualifier.JsonRpcEntityType;
 import org.eclipse.che.api.core.websocket.WebSocketMessageReceiver;
 import org.slf4j.Logger;
@@ -17,11 +19,9 @@ import org.slf4j.LoggerFactory;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
-import java.util.List;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
-import static org.eclipse.che.api.core.jsonrpc.JsonRpcList.isArray;
 
 /**
  * Receives and process messages coming from web socket service. Basically
@@ -63,40 +63,43 @@ public class JsonRpcMessageReceiver implements WebSocketMessageReceiver {
         checkNotNull(message, "Message must not be null");
         checkArgument(!message.isEmpty(), "Message must not be empty");
 
-        LOG.debug("Receiving message: " + message + ", from endpoint: " + endpointId);
+        LOG.debug("Receiving message: {}, from endpoint: {}", message, endpointId);
         try {
-            entityValidator.validate(message);
+            // message is parsed only once, parts of json tree are passed further as is
+            JsonElement jsonElement = entityValidator.parse(message);
 
-            if (isArray(message)) {
+            if (jsonElement.isJsonArray()) {
                 LOG.debug("Message is an array, processing an array");
 
-                JsonRpcList list = jsonRpcFactory.createList(message);
-                List<String> messages = list.toStringifiedList();
-                for (String listMessage : messages) {
+                if (jsonElement.getAsJsonArray().size() == 0) {
+                    throw new JsonRpcException(-32600, "The JSON sent is an empty array");
+                }
+
+                for (JsonElement listMessage : jsonElement.getAsJsonArray()) {
                     processObject(endpointId, listMessage);
                 }
             } else {
                 LOG.debug("Message is not an array");
 
-                processObject(endpointId, message);
+                processObject(endpointId, jsonElement);
             }
         } catch (JsonRpcException e) {
             errorTransmitter.transmit(endpointId, e);
         }
     }
 
-    private void processObject(String endpointId, String message) throws JsonRpcException {
-        LOG.debug("Processing end object: " + message);
+    private void processObject(String endpointId, JsonElement message) throws JsonRpcException {
+        LOG.debug("Processing end object: {}", message);
 
         JsonRpcEntityType type = entityQualifier.qualify(message);
 
         switch (type) {
             case REQUEST:
-                JsonRpcRequest request = jsonRpcFactory.createRequest(message);
+                JsonRpcRequest request = jsonRpcFactory.createRequest(message.getAsJsonObject());
                 requestDispatcher.dispatch(endpointId, request);
                 break;
             case RESPONSE:
-                JsonRpcResponse response = jsonRpcFactory.createResponse(message);
+                JsonRpcResponse response = jsonRpcFactory.createResponse(message.getAsJsonObject());
                 responseDispatcher.dispatch(endpointId, response);
                 break;
             case UNDEFINED:
@@ -24,7 +24,6 @@ import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
 
-import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 
 /**
@@ -42,16 +41,19 @@ public class JsonRpcParams {
 
     @AssistedInject
     public JsonRpcParams(@Assisted("message") String message, JsonParser jsonParser) {
-        checkNotNull(message, "Message must not be null");
-        checkArgument(!message.isEmpty(), "Message must not be empty");
+        this(JsonRpcUtils.parse(message, jsonParser));
+    }
+
+    /** Creates params out of already parsed json, the json is used as is without copying. */
+    JsonRpcParams(JsonElement jsonElement) {
+        checkNotNull(jsonElement, "Params must not be null");
 
-        JsonElement jsonElement = jsonParser.parse(message);
         if (jsonElement.isJsonArray()) {
-            JsonArray jsonArray = jsonParser.parse(message).getAsJsonArray();
+            JsonArray jsonArray = jsonElement.getAsJsonArray();
             paramsList = new ArrayList<>(jsonArray.size());
             jsonArray.forEach(it -> paramsList.add(it));
         } else {
-            params = jsonParser.parse(message);
+            params = jsonElement;
         }
     }
 
@@ -22,7 +22,8 @@ import static com.google.common.base.Preconditions.checkNotNull;
  * Represents JSON RPC request object. Can be constructed out of
  * stringified json object or by passing specific parameters.
  * Use {@link JsonRpcFactory#createRequest(String, String, JsonRpcParams)}
- * {@link JsonRpcFactory#createRequest(String)} or
+ * {@link JsonRpcFactory#createRequest(String)},
+ * {@link JsonRpcFactory#createRequest(JsonObject)} or
  * {@link JsonRpcFactory#createRequest(String, JsonRpcParams)} to get an instance.
  */
 public class JsonRpcRequest {
@@ -31,11 +32,13 @@ public class JsonRpcRequest {
     private final JsonRpcParams params;
 
     @AssistedInject
-    public JsonRpcRequest(@Assisted("message") String message, JsonParser jsonParser, JsonRpcFactory jsonRpcFactory) {
-        checkNotNull(message, "Message must not be null");
-        checkArgument(!message.isEmpty(), "Message must not be empty");
+    public JsonRpcRequest(@Assisted("message") String message, JsonParser jsonParser) {
+        this(JsonRpcUtils.parse(message, jsonParser).getAsJsonObject());
+    }
 
-        JsonObject jsonObject = jsonParser.parse(message).getAsJsonObject();
+    @AssistedInject
+    public JsonRpcRequest(@Assisted("message") JsonObject jsonObject) {
+        checkNotNull(jsonObject, "Message must not be null");
 
         method = jsonObject.get("method").getAsString();
 
@@ -46,7 +49,7 @@ public class JsonRpcRequest {
         }
 
         if (jsonObject.has("params")) {
-            params = jsonRpcFactory.createParams(jsonObject.get("params").toString());
+            params = new JsonRpcParams(jsonObject.get("params"));
         } else {
             params = null;
         }
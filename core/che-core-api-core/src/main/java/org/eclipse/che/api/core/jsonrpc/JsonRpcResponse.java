@@ -34,21 +34,23 @@ public class JsonRpcResponse {
 
     @AssistedInject
     public JsonRpcResponse(@Assisted("message") String message, JsonParser jsonParser) {
-        checkNotNull(message, "Message must not be null");
-        checkArgument(!message.isEmpty(), "Message must not be empty");
+        this(JsonRpcUtils.parse(message, jsonParser).getAsJsonObject());
+    }
 
-        JsonObject response = jsonParser.parse(message).getAsJsonObject();
+    @AssistedInject
+    public JsonRpcResponse(@Assisted("message") JsonObject response) {
+        checkNotNull(response, "Message must not be null");
 
         this.id = response.has("id")
                   ? response.get("id").getAsString()
                   : null;
 
         this.result = response.has("result")
-                      ? new JsonRpcResult(response.get("result").toString(), jsonParser)
+                      ? new JsonRpcResult(response.get("result"))
                       : null;
 
         this.error = response.has("error")
-                     ? new JsonRpcError(response.get("error").toString(), jsonParser)
+                     ? new JsonRpcError(response.get("error").getAsJsonObject())
                      : null;
     }
 
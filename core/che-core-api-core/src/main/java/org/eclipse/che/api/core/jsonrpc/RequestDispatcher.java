@@ -10,12 +10,19 @@
  *******************************************************************************/
 package org.eclipse.che.api.core.jsonrpc;
 
+import com.google.gson.JsonElement;
+
 import org.eclipse.che.api.core.websocket.WebSocketMessageTransmitter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
@@ -24,20 +31,35 @@ import static com.google.common.base.Preconditions.checkNotNull;
  * Dispatches incoming JSON RPC requests and notifications. If during
  * dispatching happens any kind of error related to JSON RPC it throws
  * appropriate exception {@link JsonRpcException}.
+ *
+ * <p>Requests handled by {@link AsyncRequestHandler} do not block the
+ * dispatching thread, response is transmitted when the result is computed.
+ * Such requests are kept until completion and may be cancelled by the client
+ * with {@value #CANCEL_REQUEST_METHOD} notification which params contain
+ * ID of the request.
  */
 @Singleton
 public class RequestDispatcher {
     private static final Logger LOG = LoggerFactory.getLogger(RequestDispatcher.class);
 
-    private final RequestHandlerRegistry      registry;
-    private final JsonRpcFactory              factory;
-    private final WebSocketMessageTransmitter transmitter;
+    public static final String CANCEL_REQUEST_METHOD = "$/cancelRequest";
+
+    static final int INTERNAL_ERROR    = -32603;
+    static final int REQUEST_CANCELLED = -32800;
+
+    private final RequestHandlerRegistry                         registry;
+    private final JsonRpcFactory                                 factory;
+    private final WebSocketMessageTransmitter                    transmitter;
+    private final Map<String, CompletableFuture<JsonRpcResult>> pendingRequests;
 
     @Inject
     public RequestDispatcher(RequestHandlerRegistry registry, WebSocketMessageTransmitter transmitter, JsonRpcFactory factory) {
         this.registry = registry;
         this.transmitter = transmitter;
         this.factory = factory;
+        this.pendingRequests = new ConcurrentHashMap<>();
+
+        registry.register(CANCEL_REQUEST_METHOD, (NotificationHandler)this::handleCancelRequest);
     }
 
     public void dispatch(String endpointId, JsonRpcRequest request) throws JsonRpcException {
@@ -56,6 +78,10 @@ public class RequestDispatcher {
             String id = request.getId();
             RequestHandler handler = registry.getRequestHandler(method);
             checkHandler(method, handler, id);
+            if (handler instanceof AsyncRequestHandler) {
+                dispatchAsync(endpointId, id, (AsyncRequestHandler)handler, params);
+                return;
+            }
             JsonRpcResult result = handler.handle(endpointId, params);
             JsonRpcResponse response = factory.createResponse(id, result, null);
 
@@ -70,6 +96,73 @@ public class RequestDispatcher {
         }
     }
 
+    /**
+     * Cancels pending asynchronous request, error response is transmitted to the endpoint
+     * instead of the result. Does nothing if request is already completed.
+     *
+     * @return {@code true} if request was cancelled, {@code false} otherwise
+     */
+    public boolean cancel(String endpointId, String id) {
+        CompletableFuture<JsonRpcResult> future = pendingRequests.get(pendingRequestKey(endpointId, id));
+        if (future == null) {
+            return false;
+        }
+        LOG.debug("Cancelling request: {}, endpoint: {}", id, endpointId);
+        return future.cancel(true);
+    }
+
+    /** Returns number of asynchronous requests which are being processed. */
+    public int getPendingRequestsCount() {
+        return pendingRequests.size();
+    }
+
+    private void dispatchAsync(String endpointId, String id, AsyncRequestHandler handler, JsonRpcParams params)
+            throws JsonRpcException {
+        CompletableFuture<JsonRpcResult> future = handler.handleAsync(endpointId, params);
+        String key = pendingRequestKey(endpointId, id);
+        pendingRequests.put(key, future);
+        // registered after the future is stored, so already completed future is removed as well
+        future.whenComplete((result, error) -> {
+            pendingRequests.remove(key, future);
+            JsonRpcResponse response;
+            if (error == null) {
+                response = factory.createResponse(id, result, null);
+            } else {
+                response = factory.createResponse(id, null, toError(id, error));
+            }
+
+            LOG.debug("Transmitting back a response: {}", response);
+            transmitter.transmit(endpointId, response.toString());
+        });
+    }
+
+    private JsonRpcError toError(String id, Throwable error) {
+        if (error instanceof CompletionException && error.getCause() != null) {
+            error = error.getCause();
+        }
+        if (error instanceof CancellationException) {
+            return factory.createError(REQUEST_CANCELLED, "Request '" + id + "' cancelled");
+        }
+        if (error instanceof JsonRpcException) {
+            return factory.createError(((JsonRpcException)error).getCode(), error.getMessage());
+        }
+        LOG.error("Error while processing request '{}'", id, error);
+        return factory.createError(INTERNAL_ERROR, String.valueOf(error.getMessage()));
+    }
+
+    private void handleCancelRequest(String endpointId, JsonRpcParams params) {
+        JsonElement element = params.toJsonElement();
+        if (element.isJsonObject() && element.getAsJsonObject().has("id")) {
+            cancel(endpointId, element.getAsJsonObject().get("id").getAsString());
+        } else {
+            LOG.debug("Cancel request without ID received from endpoint: {}", endpointId);
+        }
+    }
+
+    private static String pendingRequestKey(String endpointId, String id) {
+        return endpointId + '#' + id;
+    }
+
     private void checkHandler(String method, Object handler, String id) throws JsonRpcException {
         if (handler == null) {
             LOG.error("No corresponding to method '{}' handler is registered", method);
@@ -0,0 +1,93 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.jsonrpc;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.function.BiFunction;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Handler to contain a function and all related metadata required for
+ * processing incoming requests. This handler is used when we have
+ * parameters represented by a single object while result is represented
+ * by a single object that is computed asynchronously.
+ *
+ * @param <P>
+ *         type of request params object
+ * @param <R>
+ *         type of request result object
+ */
+public class RequestHandlerOneToOneAsync<P, R> implements AsyncRequestHandler {
+    private static final Logger LOG = LoggerFactory.getLogger(RequestHandlerOneToOneAsync.class);
+
+    private final Class<P>                                    pClass;
+    private final BiFunction<String, P, CompletableFuture<R>> function;
+    private final JsonRpcFactory                              factory;
+
+    public RequestHandlerOneToOneAsync(Class<P> pClass, BiFunction<String, P, CompletableFuture<R>> function, JsonRpcFactory factory) {
+        checkNotNull(pClass, "Params class must not be null");
+        checkNotNull(function, "Binary function must not be null");
+
+        this.pClass = pClass;
+        this.function = function;
+        this.factory = factory;
+    }
+
+    @Override
+    public CompletableFuture<JsonRpcResult> handleAsync(String endpointId, JsonRpcParams params) throws JsonRpcException {
+        checkNotNull(endpointId, "Endpoint ID must not be null");
+        checkArgument(!endpointId.isEmpty(), "Endpoint ID must not be empty");
+        checkNotNull(params, "Params must not be null");
+
+        LOG.debug("Handling asynchronous request from: {}, with params: {}", endpointId, params);
+
+        P paramsObject = params.getAs(pClass);
+        LOG.debug("Created raw params object: {}", paramsObject);
+        CompletableFuture<R> future = function.apply(endpointId, paramsObject);
+        checkNotNull(future, "Function must not return null future");
+
+        CompletableFuture<JsonRpcResult> resultFuture = future.thenApply(result -> {
+            LOG.debug("Received result: {}", result);
+            return factory.createResult(result);
+        });
+        // cancellation of the dependent future is not propagated by CompletableFuture itself
+        resultFuture.whenComplete((result, error) -> {
+            if (resultFuture.isCancelled()) {
+                future.cancel(true);
+            }
+        });
+        return resultFuture;
+    }
+
+    @Override
+    public JsonRpcResult handle(String endpointId, JsonRpcParams params) throws JsonRpcException {
+        try {
+            return handleAsync(endpointId, params).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new JsonRpcException(RequestDispatcher.INTERNAL_ERROR, "Request processing was interrupted");
+        } catch (CancellationException e) {
+            throw new JsonRpcException(RequestDispatcher.REQUEST_CANCELLED, "Request cancelled");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof JsonRpcException) {
+                throw (JsonRpcException)e.getCause();
+            }
+            throw new JsonRpcException(RequestDispatcher.INTERNAL_ERROR, String.valueOf(e.getCause().getMessage()));
+        }
+    }
+}
@@ -13,11 +13,13 @@ package org.eclipse.che.api.core.jsonrpc.reception;
 import org.eclipse.che.api.core.jsonrpc.JsonRpcFactory;
 import org.eclipse.che.api.core.jsonrpc.RequestHandler;
 import org.eclipse.che.api.core.jsonrpc.RequestHandlerOneToOne;
+import org.eclipse.che.api.core.jsonrpc.RequestHandlerOneToOneAsync;
 import org.eclipse.che.api.core.jsonrpc.RequestHandlerRegistry;
 import org.eclipse.che.api.core.jsonrpc.transmission.EndpointIdConfigurator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.concurrent.CompletableFuture;
 import java.util.function.BiFunction;
 
 import static com.google.common.base.Preconditions.checkNotNull;
@@ -65,4 +67,23 @@ public class FunctionConfiguratorOneToOne<P, R> {
         RequestHandler handler = new RequestHandlerOneToOne<>(pClass, function, factory);
         registry.register(method, handler);
     }
+
+    /**
+     * Define a function to be applied, the function returns a future of the
+     * result, so incoming request is processed without blocking the thread
+     * that dispatches requests. Returned future is cancelled when the client
+     * cancels the request.
+     *
+     * @param function
+     *         function
+     */
+    public void withAsyncFunction(BiFunction<String, P, CompletableFuture<R>> function) {
+        checkNotNull(function, "Request function must not be null");
+
+        LOG.debug("Configuring incoming request asynchronous binary function for method: {}, params object class: {}, " +
+                  "result object class: {}", method, pClass, rClass);
+
+        RequestHandler handler = new RequestHandlerOneToOneAsync<>(pClass, function, factory);
+        registry.register(method, handler);
+    }
 }
@@ -13,20 +13,33 @@ package org.eclipse.che.api.core.notification;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.inject.Inject;
 
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.PreDestroy;
+import javax.inject.Named;
 import javax.inject.Singleton;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.util.ArrayDeque;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedList;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Dispatchers events to listeners. Usage example:
@@ -40,6 +53,11 @@ import java.util.concurrent.CopyOnWriteArraySet;
  *     });
  *     bus.publish(new MyEvent());
  * </pre>
+ * Subscribers are called on the publisher's thread. Subscribers which are annotated with {@link AsyncSubscriber} or
+ * registered with {@link #subscribeAsync(EventSubscriber)} are called by a fixed pool of threads, each of such
+ * subscribers gets events in order they were published. Number of events waiting for an async subscriber is limited,
+ * when the limit is reached new events for the subscriber are dropped and counted. Time spent by each subscriber and
+ * number of dropped events are available with {@link #getSubscriberStats()}.
  *
  * @author andrew00x
  */
@@ -51,12 +69,32 @@ public class EventService {
     private static final int CACHE_MASK = CACHE_NUM - 1;
     private static final int SEG_SIZE   = 32;
 
+    public static final String ASYNC_THREADS_PROPERTY        = "che.event_service.async_threads";
+    public static final String ASYNC_QUEUE_CAPACITY_PROPERTY = "che.event_service.async_queue_capacity";
+
+    /** Number of events delivered to async subscriber in a row before its thread is yielded to other subscribers. */
+    private static final int ASYNC_DELIVERY_BATCH = 100;
+
     private final LoadingCache<Class<?>, Set<Class<?>>>[]       typeCache;
     private final ConcurrentMap<Class<?>, Set<EventSubscriber>> subscribersByEventType;
+    private final ConcurrentMap<EventSubscriber, AsyncDelivery> asyncDeliveries;
+    private final ConcurrentMap<EventSubscriber, Stats>         stats;
+
+    @Inject(optional = true)
+    @Named(ASYNC_THREADS_PROPERTY)
+    private int asyncThreads = 4;
+
+    @Inject(optional = true)
+    @Named(ASYNC_QUEUE_CAPACITY_PROPERTY)
+    private int asyncQueueCapacity = 10_000;
+
+    private volatile ExecutorService asyncExecutor;
 
     @SuppressWarnings("unchecked")
     public EventService() {
         subscribersByEventType = new ConcurrentHashMap<>();
+        asyncDeliveries = new ConcurrentHashMap<>();
+        stats = new ConcurrentHashMap<>();
         typeCache = new LoadingCache[CACHE_NUM];
         for (int i = 0; i < CACHE_NUM; i++) {
             typeCache[i] = CacheBuilder.newBuilder().concurrencyLevel(SEG_SIZE).build(
@@ -84,6 +122,12 @@ public class EventService {
         }
     }
 
+    EventService(int asyncThreads, int asyncQueueCapacity) {
+        this();
+        this.asyncThreads = asyncThreads;
+        this.asyncQueueCapacity = asyncQueueCapacity;
+    }
+
     /**
      * Publish event {@code event}.
      *
@@ -101,11 +145,11 @@ public class EventService {
             final Set<EventSubscriber> eventSubscribers = subscribersByEventType.get(clazz);
             if (eventSubscribers != null && !eventSubscribers.isEmpty()) {
                 for (EventSubscriber eventSubscriber : eventSubscribers) {
-                    try {
-                        LOG.debug("Publish event {} for {}", event, eventSubscriber);
-                        eventSubscriber.onEvent(event);
-                    } catch (RuntimeException e) {
-                        LOG.error(e.getMessage(), e);
+                    final AsyncDelivery asyncDelivery = asyncDeliveries.get(eventSubscriber);
+                    if (asyncDelivery != null) {
+                        asyncDelivery.offer(event);
+                    } else {
+                        deliver(eventSubscriber, event);
                     }
                 }
             }
@@ -113,6 +157,21 @@ public class EventService {
         return event;
     }
 
+    @SuppressWarnings("unchecked")
+    private void deliver(EventSubscriber eventSubscriber, Object event) {
+        LOG.debug("Publish event {} for {}", event, eventSubscriber);
+        final long start = System.nanoTime();
+        try {
+            eventSubscriber.onEvent(event);
+        } catch (RuntimeException e) {
+            LOG.error(e.getMessage(), e);
+        }
+        final Stats subscriberStats = stats.get(eventSubscriber);
+        if (subscriberStats != null) {
+            subscriberStats.record(System.nanoTime() - start);
+        }
+    }
+
     /**
      * Subscribe event listener. The event to subscribe to is inferred by checking the generic type arguments of the
      * given subscriber.
@@ -122,7 +181,20 @@ public class EventService {
      */
     public void subscribe(EventSubscriber<?> subscriber) {
         final Class<?> eventType = getEventType(subscriber);
-        doSubscribe(subscriber, eventType);
+        doSubscribe(subscriber, eventType, subscriber.getClass().isAnnotationPresent(AsyncSubscriber.class));
+    }
+
+    /**
+     * Subscribe event listener which is called asynchronously. The event to subscribe to is inferred by checking the
+     * generic type arguments of the given subscriber.
+     *
+     * @param subscriber
+     *         event subscriber
+     * @see AsyncSubscriber
+     */
+    public void subscribeAsync(EventSubscriber<?> subscriber) {
+        final Class<?> eventType = getEventType(subscriber);
+        doSubscribe(subscriber, eventType, true);
     }
 
     /**
@@ -133,10 +205,26 @@ public class EventService {
      * @param eventType The event to subscribe to.
      */
     public <T> void subscribe(EventSubscriber<? extends T> subscriber, Class<T> eventType) {
-        doSubscribe(subscriber, eventType);
+        doSubscribe(subscriber, eventType, subscriber.getClass().isAnnotationPresent(AsyncSubscriber.class));
+    }
+
+    /**
+     * Subscribe to an event. The given subscriber will be called asynchronously whenever an instance of the specified
+     * event is published.
+     *
+     * @param subscriber The subscriber to call when an event is published.
+     * @param eventType The event to subscribe to.
+     * @see AsyncSubscriber
+     */
+    public <T> void subscribeAsync(EventSubscriber<? extends T> subscriber, Class<T> eventType) {
+        doSubscribe(subscriber, eventType, true);
     }
 
-    private void doSubscribe(EventSubscriber<?> subscriber, Class<?> eventType) {
+    private void doSubscribe(EventSubscriber<?> subscriber, Class<?> eventType, boolean async) {
+        stats.computeIfAbsent(subscriber, s -> new Stats());
+        if (async) {
+            asyncDeliveries.computeIfAbsent(subscriber, AsyncDelivery::new);
+        }
         Set<EventSubscriber> entries = subscribersByEventType.get(eventType);
         if (entries == null) {
             Set<EventSubscriber> newEntries = new CopyOnWriteArraySet<>();
@@ -171,8 +259,58 @@ public class EventService {
                 if (entries.isEmpty()) {
                     subscribersByEventType.remove(eventType);
                 }
+                if (subscribersByEventType.values().stream().noneMatch(it -> it.contains(subscriber))) {
+                    asyncDeliveries.remove(subscriber);
+                    stats.remove(subscriber);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns statistics of calls of each subscribed listener, can be used to find listeners which slow down event
+     * publishing.
+     */
+    public Map<EventSubscriber<?>, SubscriberStats> getSubscriberStats() {
+        final Map<EventSubscriber<?>, SubscriberStats> result = new HashMap<>();
+        stats.forEach((subscriber, subscriberStats) -> {
+            final AsyncDelivery asyncDelivery = asyncDeliveries.get(subscriber);
+            result.put(subscriber, new SubscriberStats(asyncDelivery != null,
+                                                       subscriberStats.calls.sum(),
+                                                       subscriberStats.totalTimeNanos.sum(),
+                                                       subscriberStats.maxTimeNanos.get(),
+                                                       asyncDelivery == null ? 0 : asyncDelivery.size(),
+                                                       asyncDelivery == null ? 0 : asyncDelivery.dropped.get()));
+        });
+        return result;
+    }
+
+    @PreDestroy
+    public void stop() {
+        final ExecutorService executor = asyncExecutor;
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    private ExecutorService getAsyncExecutor() {
+        ExecutorService executor = asyncExecutor;
+        if (executor == null) {
+            synchronized (this) {
+                executor = asyncExecutor;
+                if (executor == null) {
+                    asyncExecutor = executor = Executors.newFixedThreadPool(Math.max(1, asyncThreads),
+                                                                            new ThreadFactoryBuilder()
+                                                                                    .setNameFormat("EventServiceAsyncDelivery-%d")
+                                                                                    .setUncaughtExceptionHandler(
+                                                                                            LoggingUncaughtExceptionHandler
+                                                                                                    .getInstance())
+                                                                                    .setDaemon(true)
+                                                                                    .build());
+                }
             }
         }
+        return executor;
     }
 
     private Class<?> getEventType(EventSubscriber<?> subscriber) {
@@ -200,4 +338,148 @@ public class EventService {
         }
         return eventType;
     }
+
+    /** Statistics of calls of event subscriber. */
+    public static class SubscriberStats {
+        private final boolean async;
+        private final long    calls;
+        private final long    totalTimeNanos;
+        private final long    maxTimeNanos;
+        private final int     pendingEvents;
+        private final long    droppedEvents;
+
+        SubscriberStats(boolean async, long calls, long totalTimeNanos, long maxTimeNanos, int pendingEvents, long droppedEvents) {
+            this.async = async;
+            this.calls = calls;
+            this.totalTimeNanos = totalTimeNanos;
+            this.maxTimeNanos = maxTimeNanos;
+            this.pendingEvents = pendingEvents;
+            this.droppedEvents = droppedEvents;
+        }
+
+        /** Returns {@code true} if subscriber is called asynchronously. */
+        public boolean isAsync() {
+            return async;
+        }
+
+        /** Returns number of events delivered to subscriber. */
+        public long getCalls() {
+            return calls;
+        }
+
+        /** Returns total time spent by subscriber in processing of events. */
+        public long getTotalTimeNanos() {
+            return totalTimeNanos;
+        }
+
+        /** Returns the longest time spent by subscriber in processing of single event. */
+        public long getMaxTimeNanos() {
+            return maxTimeNanos;
+        }
+
+        /** Returns number of events which are waiting for delivery to async subscriber. */
+        public int getPendingEvents() {
+            return pendingEvents;
+        }
+
+        /** Returns number of events which were not delivered to async subscriber because too many events were pending. */
+        public long getDroppedEvents() {
+            return droppedEvents;
+        }
+
+        @Override
+        public String toString() {
+            return "SubscriberStats{" +
+                   "async=" + async +
+                   ", calls=" + calls +
+                   ", totalTimeNanos=" + totalTimeNanos +
+                   ", maxTimeNanos=" + maxTimeNanos +
+                   ", pendingEvents=" + pendingEvents +
+                   ", droppedEvents=" + droppedEvents +
+                   '}';
+        }
+    }
+
+    private static class Stats {
+        private final LongAdder  calls          = new LongAdder();
+        private final LongAdder  totalTimeNanos = new LongAdder();
+        private final AtomicLong maxTimeNanos   = new AtomicLong();
+
+        void record(long timeNanos) {
+            calls.increment();
+            totalTimeNanos.add(timeNanos);
+            maxTimeNanos.accumulateAndGet(timeNanos, Math::max);
+        }
+    }
+
+    /**
+     * Events waiting for delivery to a single async subscriber. At most one task of the pool delivers events to the
+     * subscriber at any time, so the subscriber gets events in order they are published. When there are too many
+     * pending events new ones are dropped, publisher is never blocked by a slow subscriber.
+     */
+    private class AsyncDelivery implements Runnable {
+        private final EventSubscriber    subscriber;
+        private final ArrayDeque<Object> events;
+        private final AtomicLong         dropped;
+
+        private boolean draining;
+
+        AsyncDelivery(EventSubscriber subscriber) {
+            this.subscriber = subscriber;
+            this.events = new ArrayDeque<>();
+            this.dropped = new AtomicLong();
+        }
+
+        synchronized int size() {
+            return events.size();
+        }
+
+        void offer(Object event) {
+            synchronized (this) {
+                if (events.size() >= Math.max(1, asyncQueueCapacity)) {
+                    final long droppedCount = dropped.incrementAndGet();
+                    if (droppedCount % 100 == 1) {
+                        LOG.warn("Too many events are waiting for delivery to {}, dropping new events. Events dropped: {}",
+                                 subscriber, droppedCount);
+                    }
+                    return;
+                }
+                events.add(event);
+                if (draining) {
+                    return;
+                }
+                draining = true;
+            }
+            submit();
+        }
+
+        @Override
+        public void run() {
+            for (int i = 0; i < ASYNC_DELIVERY_BATCH; i++) {
+                final Object event;
+                synchronized (this) {
+                    event = events.poll();
+                    if (event == null) {
+                        draining = false;
+                        return;
+                    }
+                }
+                deliver(subscriber, event);
+            }
+            // let other subscribers get their events, the rest is delivered by the next task
+            submit();
+        }
+
+        private void submit() {
+            try {
+                getAsyncExecutor().execute(this);
+            } catch (RejectedExecutionException e) {
+                LOG.error("Unable to deliver events to {}, event service is stopped", subscriber);
+                synchronized (this) {
+                    events.clear();
+                    draining = false;
+                }
+            }
+        }
+    }
 }
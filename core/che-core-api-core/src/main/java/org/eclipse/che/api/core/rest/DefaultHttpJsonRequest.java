@@ -10,7 +10,8 @@
  *******************************************************************************/
 package org.eclipse.che.api.core.rest;
 
-import com.google.common.io.CharStreams;
+import com.google.common.io.ByteStreams;
+import com.google.common.io.CountingInputStream;
 
 import org.eclipse.che.api.core.BadRequestException;
 import org.eclipse.che.api.core.ConflictException;
@@ -35,18 +36,20 @@ import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.UriBuilder;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.io.OutputStream;
-import java.io.Reader;
 import java.net.HttpURLConnection;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
 import static com.google.common.base.Strings.isNullOrEmpty;
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Objects.requireNonNull;
 
 /**
@@ -57,6 +60,11 @@ import static java.util.Objects.requireNonNull;
  * <p>The instance of this request is reusable, which means that
  * it is possible to call {@link #request()} method more than one time per instance
  *
+ * <p>Response bodies are always read to the end and connections are not closed explicitly,
+ * so they are kept alive and reused by the {@link HttpURLConnection} connection cache
+ * for the next requests to the same host. Compressed responses are requested and
+ * request bodies can be compressed when their size exceeds configured threshold.
+ *
  * @author Yevhenii Voevodin
  * @see DefaultHttpJsonRequestFactory
  */
@@ -64,8 +72,11 @@ public class DefaultHttpJsonRequest implements HttpJsonRequest {
 
     private static final int      DEFAULT_QUERY_PARAMS_LIST_SIZE = 5;
     private static final Object[] EMPTY_ARRAY                    = new Object[0];
+    private static final String   GZIP                           = "gzip";
 
-    private final String url;
+    private final String                 url;
+    private final HttpJsonRequestMetrics metrics;
+    private final int                    gzipRequestMinSize;
 
     private int                   timeout;
     private String                method;
@@ -74,8 +85,20 @@ public class DefaultHttpJsonRequest implements HttpJsonRequest {
     private String                authorizationHeaderValue;
 
     protected DefaultHttpJsonRequest(String url, String method) {
+        this(url, method, null, -1);
+    }
+
+    /**
+     * @param metrics
+     *         metrics to record requests to, may be null
+     * @param gzipRequestMinSize
+     *         request bodies which size in bytes is not less than this value are compressed, negative value disables compression
+     */
+    protected DefaultHttpJsonRequest(String url, String method, HttpJsonRequestMetrics metrics, int gzipRequestMinSize) {
         this.url = requireNonNull(url, "Required non-null url");
         this.method = method;
+        this.metrics = metrics;
+        this.gzipRequestMinSize = gzipRequestMinSize;
     }
 
     protected DefaultHttpJsonRequest(String url) {
@@ -86,6 +109,10 @@ public class DefaultHttpJsonRequest implements HttpJsonRequest {
         this(requireNonNull(link, "Required non-null link").getHref(), link.getMethod());
     }
 
+    protected DefaultHttpJsonRequest(Link link, HttpJsonRequestMetrics metrics, int gzipRequestMinSize) {
+        this(requireNonNull(link, "Required non-null link").getHref(), link.getMethod(), metrics, gzipRequestMinSize);
+    }
+
     @Override
     public HttpJsonRequest setMethod(@NotNull String method) {
         this.method = requireNonNull(method, "Required non-null http method");
@@ -164,6 +191,7 @@ public class DefaultHttpJsonRequest implements HttpJsonRequest {
      *
      * <p>Uses {@link HttpHeaders#AUTHORIZATION} header with value from {@link EnvironmentContext}.
      * <br>uses {@link HttpHeaders#ACCEPT} header with "application/json" value.
+     * <br>uses {@link HttpHeaders#ACCEPT_ENCODING} header with "gzip" value.
      * <br>Encodes query parameters in "UTF-8".
      *
      * @param timeout
@@ -223,10 +251,17 @@ public class DefaultHttpJsonRequest implements HttpJsonRequest {
         final HttpURLConnection conn = (HttpURLConnection)new URL(url).openConnection();
         conn.setConnectTimeout(timeout > 0 ? timeout : 60000);
         conn.setReadTimeout(timeout > 0 ? timeout : 60000);
+        final long start = System.nanoTime();
+        long bytesSent = 0;
+        CountingInputStream responseStream = null;
+        boolean succeeded = false;
+        // connection is closed only when its response wasn't read to the end, otherwise it is kept alive for reuse
+        boolean keepAlive = false;
         try {
             conn.setRequestMethod(method);
             //drop a hint for server side that we want to receive application/json
             conn.addRequestProperty(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON);
+            conn.addRequestProperty(HttpHeaders.ACCEPT_ENCODING, GZIP);
             if (!isNullOrEmpty(authorizationHeaderValue)) {
                 conn.setRequestProperty(HttpHeaders.AUTHORIZATION, authorizationHeaderValue);
             } else if (authToken != null) {
@@ -241,9 +276,16 @@ public class DefaultHttpJsonRequest implements HttpJsonRequest {
                     conn.setRequestProperty("X-HTTP-Method-Override", HttpMethod.DELETE);
                 }
 
+                byte[] content = DtoFactory.getInstance().toJson(body).getBytes(UTF_8);
+                if (gzipRequestMinSize >= 0 && content.length >= gzipRequestMinSize) {
+                    content = gzip(content);
+                    conn.addRequestProperty(HttpHeaders.CONTENT_ENCODING, GZIP);
+                }
+                conn.setFixedLengthStreamingMode(content.length);
                 try (OutputStream output = conn.getOutputStream()) {
-                    output.write(DtoFactory.getInstance().toJson(body).getBytes());
+                    output.write(content);
                 }
+                bytesSent = content.length;
             }
 
             final int responseCode = conn.getResponseCode();
@@ -252,10 +294,9 @@ public class DefaultHttpJsonRequest implements HttpJsonRequest {
                 if (in == null) {
                     in = conn.getInputStream();
                 }
-                final String str;
-                try (Reader reader = new InputStreamReader(in)) {
-                    str = CharStreams.toString(reader);
-                }
+                responseStream = new CountingInputStream(in);
+                final String str = new String(readBody(conn, responseStream), UTF_8);
+                keepAlive = true;
                 final String contentType = conn.getContentType();
                 if (contentType != null && contentType.startsWith(MediaType.APPLICATION_JSON)) {
                     final ServiceError serviceError = DtoFactory.getInstance().createDtoFromJson(str, ServiceError.class);
@@ -285,12 +326,41 @@ public class DefaultHttpJsonRequest implements HttpJsonRequest {
                 throw new IOException(conn.getResponseMessage());
             }
 
-            try (Reader reader = new InputStreamReader(conn.getInputStream())) {
-                return new DefaultHttpJsonResponse(CharStreams.toString(reader), responseCode);
-            }
+            responseStream = new CountingInputStream(conn.getInputStream());
+            final DefaultHttpJsonResponse response = new DefaultHttpJsonResponse(readBody(conn, responseStream), responseCode);
+            keepAlive = true;
+            succeeded = true;
+            return response;
         } finally {
-            conn.disconnect();
+            if (!keepAlive) {
+                conn.disconnect();
+            }
+            if (metrics != null) {
+                metrics.record(conn.getURL().getAuthority(),
+                               bytesSent,
+                               responseStream == null ? 0 : responseStream.getCount(),
+                               System.nanoTime() - start,
+                               !succeeded);
+            }
+        }
+    }
+
+    /** Reads the response body to the end, so the connection can be reused, and decompresses it if needed. */
+    private static byte[] readBody(HttpURLConnection conn, InputStream in) throws IOException {
+        try (InputStream body = GZIP.equalsIgnoreCase(conn.getContentEncoding()) ? new GZIPInputStream(in) : in) {
+            final byte[] content = ByteStreams.toByteArray(body);
+            // drain the rest of the stream, e.g. gzip trailer which may be left unread
+            ByteStreams.exhaust(in);
+            return content;
+        }
+    }
+
+    private static byte[] gzip(byte[] content) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream(content.length / 4 + 64);
+        try (OutputStream gzip = new GZIPOutputStream(bytes)) {
+            gzip.write(content);
         }
+        return bytes.toByteArray();
     }
 
     @Override
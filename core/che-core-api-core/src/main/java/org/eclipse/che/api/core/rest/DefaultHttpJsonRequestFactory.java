@@ -10,26 +10,43 @@
  *******************************************************************************/
 package org.eclipse.che.api.core.rest;
 
+import com.google.inject.Inject;
+
 import org.eclipse.che.api.core.rest.shared.dto.Link;
 
+import javax.inject.Named;
 import javax.inject.Singleton;
 import javax.validation.constraints.NotNull;
+import javax.ws.rs.HttpMethod;
 
 /**
  * Creates {@link DefaultHttpJsonRequest} instances.
  *
+ * <p>All the requests created by this factory record their statistics to the shared {@link #getMetrics() metrics}.
+ *
  * @author Yevhenii Voevodin
  */
 @Singleton
 public class DefaultHttpJsonRequestFactory implements HttpJsonRequestFactory {
 
+    @Inject(optional = true)
+    @Named("che.http.json.gzip_request_min_size")
+    private int gzipRequestMinSize = -1;
+
+    private final HttpJsonRequestMetrics metrics = new HttpJsonRequestMetrics();
+
     @Override
     public HttpJsonRequest fromUrl(@NotNull String url) {
-        return new DefaultHttpJsonRequest(url);
+        return new DefaultHttpJsonRequest(url, HttpMethod.GET, metrics, gzipRequestMinSize);
     }
 
     @Override
     public HttpJsonRequest fromLink(@NotNull Link link) {
-        return new DefaultHttpJsonRequest(link);
+        return new DefaultHttpJsonRequest(link, metrics, gzipRequestMinSize);
+    }
+
+    /** Returns statistics of requests created by this factory, per remote host. */
+    public HttpJsonRequestMetrics getMetrics() {
+        return metrics;
     }
 }
@@ -10,7 +10,10 @@
  *******************************************************************************/
 package org.eclipse.che.api.core.rest;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
 import java.lang.reflect.Type;
 import java.util.List;
 import java.util.Map;
@@ -21,40 +24,73 @@ import org.eclipse.che.dto.server.DtoFactory;
 
 import com.google.gson.reflect.TypeToken;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Objects.requireNonNull;
 
 /**
  * Default implementation of {@link HttpJsonResponse}.
- * 
+ *
+ * <p>Response received as bytes is decoded into DTOs directly,
+ * the string representation is created only when it is requested.
+ *
  * @author Yevhenii Voevodin
  */
 public class DefaultHttpJsonResponse implements HttpJsonResponse {
 
     private static final Type STRING_MAP_TYPE = new TypeToken<Map<String, String>>() {}.getType();
 
-    private final String responseBody;
-    private final int responseCode;
+    private final byte[] responseBytes;
+    private final int    responseCode;
+
+    private String responseBody;
 
     protected DefaultHttpJsonResponse(String response, int responseCode) {
         this.responseBody = response;
+        this.responseBytes = null;
+        this.responseCode = responseCode;
+    }
+
+    /**
+     * @param response
+     *         response body in UTF-8
+     */
+    protected DefaultHttpJsonResponse(byte[] response, int responseCode) {
+        this.responseBytes = requireNonNull(response, "Required non-null response");
         this.responseCode = responseCode;
     }
 
     @Override
     public String asString() {
+        if (responseBody == null && responseBytes != null) {
+            responseBody = new String(responseBytes, UTF_8);
+        }
         return responseBody;
     }
 
     @Override
     public <T> T asDto(Class<T> dtoInterface) {
         requireNonNull(dtoInterface, "Required non-null dto interface");
-        return DtoFactory.getInstance().createDtoFromJson(responseBody, dtoInterface);
+        if (responseBody != null) {
+            return DtoFactory.getInstance().createDtoFromJson(responseBody, dtoInterface);
+        }
+        try (Reader reader = bytesReader()) {
+            return DtoFactory.getInstance().createDtoFromJson(reader, dtoInterface);
+        } catch (IOException e) {
+            throw new RuntimeException(e); // won't happen
+        }
     }
 
     @Override
     public <T> List<T> asList(Class<T> dtoInterface) {
         requireNonNull(dtoInterface, "Required non-null dto interface");
-        return DtoFactory.getInstance().createListDtoFromJson(responseBody, dtoInterface);
+        if (responseBody != null) {
+            return DtoFactory.getInstance().createListDtoFromJson(responseBody, dtoInterface);
+        }
+        try (Reader reader = bytesReader()) {
+            return DtoFactory.getInstance().createListDtoFromJson(reader, dtoInterface);
+        } catch (IOException e) {
+            throw new RuntimeException(e); // won't happen
+        }
     }
 
     @Override
@@ -67,7 +103,7 @@ public class DefaultHttpJsonResponse implements HttpJsonResponse {
     public <T> T as(Class<T> clazz, Type genericType) throws IOException {
         requireNonNull(clazz, "Required non-null class");
         try {
-            return JsonHelper.fromJson(responseBody, clazz, genericType);
+            return JsonHelper.fromJson(asString(), clazz, genericType);
         } catch (JsonParseException jsonEx) {
             throw new IOException(jsonEx.getLocalizedMessage(), jsonEx);
         }
@@ -77,5 +113,9 @@ public class DefaultHttpJsonResponse implements HttpJsonResponse {
     public int getResponseCode() {
         return responseCode;
     }
+
+    private Reader bytesReader() {
+        return new InputStreamReader(new ByteArrayInputStream(responseBytes), UTF_8);
+    }
 }
 
@@ -0,0 +1,115 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.rest;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects statistics of requests made by {@link DefaultHttpJsonRequest} per remote host.
+ *
+ * @see DefaultHttpJsonRequestFactory#getMetrics()
+ */
+public class HttpJsonRequestMetrics {
+
+    private final Map<String, HostMetrics> hosts = new ConcurrentHashMap<>();
+
+    /**
+     * Records completed request.
+     *
+     * @param host
+     *         host and port of the remote server
+     * @param bytesSent
+     *         number of bytes of request body written to the connection
+     * @param bytesReceived
+     *         number of bytes of response body read from the connection
+     * @param timeNanos
+     *         time of the request in nanoseconds
+     * @param failed
+     *         whether request failed or response code isn't successful
+     */
+    public void record(String host, long bytesSent, long bytesReceived, long timeNanos, boolean failed) {
+        final HostMetrics metrics = hosts.computeIfAbsent(host, HostMetrics::new);
+        metrics.requests.increment();
+        if (failed) {
+            metrics.failures.increment();
+        }
+        metrics.bytesSent.add(bytesSent);
+        metrics.bytesReceived.add(bytesReceived);
+        metrics.timeNanos.add(timeNanos);
+    }
+
+    /** Returns metrics of hosts sorted by host. */
+    public Map<String, HostMetrics> getHosts() {
+        return new TreeMap<>(hosts);
+    }
+
+    /** Returns metrics of the host or null when no requests were made to it. */
+    public HostMetrics getHost(String host) {
+        return hosts.get(host);
+    }
+
+    /** Statistics of requests made to a single host. */
+    public static class HostMetrics {
+        private final String    host;
+        private final LongAdder requests      = new LongAdder();
+        private final LongAdder failures      = new LongAdder();
+        private final LongAdder bytesSent     = new LongAdder();
+        private final LongAdder bytesReceived = new LongAdder();
+        private final LongAdder timeNanos     = new LongAdder();
+
+        private HostMetrics(String host) {
+            this.host = host;
+        }
+
+        public String getHost() {
+            return host;
+        }
+
+        public long getRequests() {
+            return requests.sum();
+        }
+
+        public long getFailures() {
+            return failures.sum();
+        }
+
+        /** Returns number of bytes sent to the host, compressed bodies are counted as they are sent. */
+        public long getBytesSent() {
+            return bytesSent.sum();
+        }
+
+        /** Returns number of bytes received from the host, compressed bodies are counted as they are received. */
+        public long getBytesReceived() {
+            return bytesReceived.sum();
+        }
+
+        public long getAverageTimeMs() {
+            final long count = requests.sum();
+            return count == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(timeNanos.sum() / count);
+        }
+
+        @Override
+        public String toString() {
+            return "HostMetrics{" +
+                   "host='" + host + '\'' +
+                   ", requests=" + getRequests() +
+                   ", failures=" + getFailures() +
+                   ", bytesSent=" + getBytesSent() +
+                   ", bytesReceived=" + getBytesReceived() +
+                   ", averageTimeMs=" + getAverageTimeMs() +
+                   '}';
+        }
+    }
+}
@@ -10,34 +10,129 @@
  *******************************************************************************/
 package org.eclipse.che.api.core.util.lineconsumer;
 
+import com.google.common.base.Utf8;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
 import org.eclipse.che.api.core.util.LineConsumer;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
+import org.slf4j.Logger;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
 import java.io.Writer;
 import java.nio.charset.Charset;
 import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.GZIPOutputStream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.util.Collections.emptyList;
+import static org.slf4j.LoggerFactory.getLogger;
 
 /**
  * Consumes logs and writes them into file.
  * This implementation is thread safe.
  *
+ * <p>Lines are not flushed one by one, they are collected in the buffer of the writer and written
+ * into the file when the buffer is full or by background flusher, at most {@link #FLUSH_INTERVAL_MS}
+ * after they were consumed. When the size of the file reaches the limit the file is rotated,
+ * the old content is compressed into {@code <file>.1.gz} and previously rotated files are shifted.
+ * Old content is compressed in background, until it is compressed the file is not rotated again.
+ *
  * @author andrew00x
  * @author Mykola Morhun
  */
 public class ConcurrentFileLineConsumer implements LineConsumer {
+    private static final Logger LOG = getLogger(ConcurrentFileLineConsumer.class);
+
+    /** Max time in milliseconds consumed lines may stay in memory before they are written into the file. */
+    public static final long FLUSH_INTERVAL_MS = 1000;
+
+    private static final int TAIL_BLOCK_SIZE = 8192;
+
+    private static final Set<ConcurrentFileLineConsumer> OPEN_CONSUMERS = ConcurrentHashMap.newKeySet();
+
+    private static final ScheduledExecutorService FLUSHER =
+            Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder().setNameFormat("ConcurrentFileLineConsumerFlusher")
+                                                                                 .setUncaughtExceptionHandler(
+                                                                                         LoggingUncaughtExceptionHandler.getInstance())
+                                                                                 .setDaemon(true)
+                                                                                 .build());
+
+    static {
+        FLUSHER.scheduleWithFixedDelay(() -> OPEN_CONSUMERS.forEach(ConcurrentFileLineConsumer::flushIfNeeded),
+                                       FLUSH_INTERVAL_MS,
+                                       FLUSH_INTERVAL_MS,
+                                       TimeUnit.MILLISECONDS);
+    }
+
+    private static final ExecutorService COMPRESSOR =
+            Executors.newSingleThreadExecutor(new ThreadFactoryBuilder().setNameFormat("ConcurrentFileLineConsumerCompressor")
+                                                                        .setUncaughtExceptionHandler(
+                                                                                LoggingUncaughtExceptionHandler.getInstance())
+                                                                        .setDaemon(true)
+                                                                        .build());
+
     private final File                   file;
-    private final Writer                 writer;
+    private final Path                   rotating;
+    private final Charset                charset;
+    private final boolean                singleByteCharset;
+    private final long                   maxFileSize;
+    private final int                    maxRotatedFiles;
+    private final AtomicLong             written;
     private final ReentrantReadWriteLock lock;
 
+    private Writer writer;
+
     private volatile boolean isOpen;
+    private volatile boolean isDirty;
+    private volatile boolean isRotating;
+    private volatile boolean isCompressing;
 
     public ConcurrentFileLineConsumer(File file) throws IOException {
+        this(file, 0, 0);
+    }
+
+    /**
+     * Creates consumer which rotates the file when its size exceeds {@code maxFileSize}.
+     *
+     * @param file
+     *         file to write logs into
+     * @param maxFileSize
+     *         size of the file in bytes after which it is rotated, 0 disables rotation
+     * @param maxRotatedFiles
+     *         number of compressed files with old content to keep
+     */
+    public ConcurrentFileLineConsumer(File file, long maxFileSize, int maxRotatedFiles) throws IOException {
         this.file = file;
-        writer = Files.newBufferedWriter(file.toPath(), Charset.defaultCharset());
+        this.rotating = file.toPath().resolveSibling(file.getName() + ".rotating");
+        this.charset = Charset.defaultCharset();
+        this.singleByteCharset = charset.newEncoder().maxBytesPerChar() == 1;
+        this.maxFileSize = maxFileSize;
+        this.maxRotatedFiles = maxRotatedFiles;
+        writer = Files.newBufferedWriter(file.toPath(), charset);
+        written = new AtomicLong();
         isOpen = true;
         lock = new ReentrantReadWriteLock();
+        OPEN_CONSUMERS.add(this);
+        if (maxFileSize > 0 && Files.exists(rotating)) {
+            // content rotated before restart is not compressed yet
+            isCompressing = true;
+            COMPRESSOR.execute(this::compress);
+        }
     }
 
     public File getFile() {
@@ -50,13 +145,16 @@ public class ConcurrentFileLineConsumer implements LineConsumer {
 
     @Override
     public void writeLine(String line) throws IOException {
-        if (isOpen && lock.readLock().tryLock()) {
+        if (isOpen && lockForWrite()) {
             try {
                 if (line != null) {
                     writer.write(line);
+                    written.addAndGet(encodedLength(line) + 1);
+                } else {
+                    written.incrementAndGet();
                 }
                 writer.write('\n');
-                writer.flush();
+                isDirty = true;
             } catch (IOException e) {
                 if ("Stream closed".equals(e.getMessage())) {
                     throw new ConsumerAlreadyClosedException(e.getMessage());
@@ -65,9 +163,34 @@ public class ConcurrentFileLineConsumer implements LineConsumer {
             } finally {
                 lock.readLock().unlock();
             }
+            if (maxFileSize > 0 && written.get() >= maxFileSize) {
+                rotate();
+            }
+        }
+    }
+
+    /** Writes all the consumed lines into the file. */
+    public void flush() throws IOException {
+        if (isOpen && lock.readLock().tryLock()) {
+            try {
+                isDirty = false;
+                writer.flush();
+            } finally {
+                lock.readLock().unlock();
+            }
         }
     }
 
+    /**
+     * Returns at most {@code lines} last lines of the file, including lines which are consumed but not flushed yet.
+     *
+     * @see #tail(File, int)
+     */
+    public List<String> tail(int lines) throws IOException {
+        flush();
+        return tail(file, lines);
+    }
+
     @Override
     public void close() throws IOException {
         if (isOpen) {
@@ -77,8 +200,168 @@ public class ConcurrentFileLineConsumer implements LineConsumer {
                 writer.close();
             } finally {
                 lock.writeLock().unlock();
+                OPEN_CONSUMERS.remove(this);
+            }
+        }
+    }
+
+    /**
+     * Reads at most {@code lines} last lines of the file without reading the whole file.
+     * If the file is currently written by an open consumer, lines consumed by it are flushed first.
+     *
+     * @param file
+     *         file to read
+     * @param lines
+     *         max number of lines to return
+     * @return last lines of the file in the order they are in the file
+     * @throws IOException
+     *         when the file can't be read
+     */
+    public static List<String> tail(File file, int lines) throws IOException {
+        for (ConcurrentFileLineConsumer consumer : OPEN_CONSUMERS) {
+            if (consumer.file.equals(file)) {
+                consumer.flush();
+            }
+        }
+        if (lines <= 0) {
+            return emptyList();
+        }
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+            long end = raf.length();
+            // line separator of the last line doesn't start a new line
+            if (end > 0) {
+                raf.seek(end - 1);
+                if (raf.read() == '\n') {
+                    end--;
+                }
+            }
+            long start = end;
+            int found = 0;
+            final byte[] block = new byte[TAIL_BLOCK_SIZE];
+            search:
+            while (start > 0) {
+                final int length = (int)Math.min(block.length, start);
+                final long blockStart = start - length;
+                raf.seek(blockStart);
+                raf.readFully(block, 0, length);
+                for (int i = length - 1; i >= 0; i--) {
+                    // '\n' byte can't be a part of multi byte character in supported charsets
+                    if (block[i] == '\n' && ++found == lines) {
+                        start = blockStart + i + 1;
+                        break search;
+                    }
+                }
+                start = blockStart;
+            }
+            final byte[] content = new byte[(int)(end - start)];
+            raf.seek(start);
+            raf.readFully(content);
+            if (content.length == 0) {
+                return emptyList();
+            }
+            return Arrays.asList(new String(content, Charset.defaultCharset()).split("\n", -1));
+        }
+    }
+
+    /**
+     * Acquires lock for writing line. Lines are not dropped while the file is rotated,
+     * but they are dropped when consumer is closing.
+     */
+    private boolean lockForWrite() {
+        if (lock.readLock().tryLock()) {
+            return true;
+        }
+        if (isRotating) {
+            lock.readLock().lock();
+            if (isOpen) {
+                return true;
+            }
+            lock.readLock().unlock();
+        }
+        return false;
+    }
+
+    private void flushIfNeeded() {
+        if (isDirty) {
+            try {
+                flush();
+            } catch (IOException e) {
+                LOG.debug("Unable to flush logs into file {}. {}", file, e.getLocalizedMessage());
+            }
+        }
+    }
+
+    /** Returns number of bytes the line takes in the file, without encoding it if possible. */
+    private long encodedLength(String line) {
+        if (singleByteCharset) {
+            return line.length();
+        }
+        if (UTF_8.equals(charset)) {
+            try {
+                return Utf8.encodedLength(line);
+            } catch (IllegalArgumentException e) {
+                // unpaired surrogate, it is replaced by the writer
+            }
+        }
+        return line.getBytes(charset).length;
+    }
+
+    /**
+     * Moves content of the file aside and continues writing into empty file,
+     * the old content is compressed in background.
+     */
+    private void rotate() throws IOException {
+        synchronized (this) {
+            if (written.get() < maxFileSize || !isOpen || isCompressing) {
+                // already rotated by another thread or previous content is not compressed yet
+                return;
+            }
+            isRotating = true;
+            lock.writeLock().lock();
+            try {
+                if (!isOpen) {
+                    return;
+                }
+                writer.close();
+                Files.move(file.toPath(), rotating, REPLACE_EXISTING);
+                writer = Files.newBufferedWriter(file.toPath(), charset);
+                written.set(0);
+                isDirty = false;
+                isCompressing = true;
+            } finally {
+                lock.writeLock().unlock();
+                isRotating = false;
             }
         }
+        COMPRESSOR.execute(this::compress);
     }
 
+    private void compress() {
+        try {
+            if (!Files.exists(rotating)) {
+                return;
+            }
+            if (maxRotatedFiles > 0) {
+                Files.deleteIfExists(rotatedFile(maxRotatedFiles));
+                for (int i = maxRotatedFiles - 1; i > 0; i--) {
+                    final Path rotated = rotatedFile(i);
+                    if (Files.exists(rotated)) {
+                        Files.move(rotated, rotatedFile(i + 1), REPLACE_EXISTING);
+                    }
+                }
+                try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(rotatedFile(1)))) {
+                    Files.copy(rotating, out);
+                }
+            }
+            Files.deleteIfExists(rotating);
+        } catch (IOException e) {
+            LOG.warn("Unable to rotate logs file {}. {}", file, e.getLocalizedMessage());
+        } finally {
+            isCompressing = false;
+        }
+    }
+
+    private Path rotatedFile(int index) {
+        return file.toPath().resolveSibling(file.getName() + '.' + index + ".gz");
+    }
 }
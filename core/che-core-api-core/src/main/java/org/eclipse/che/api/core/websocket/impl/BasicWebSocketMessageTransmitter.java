@@ -10,13 +10,13 @@
  *******************************************************************************/
 package org.eclipse.che.api.core.websocket.impl;
 
+import com.google.inject.Inject;
+
 import org.eclipse.che.api.core.websocket.WebSocketMessageTransmitter;
 import org.slf4j.Logger;
 
-import javax.inject.Inject;
 import javax.inject.Singleton;
 import javax.websocket.Session;
-import java.io.IOException;
 import java.util.Optional;
 
 import static org.slf4j.LoggerFactory.getLogger;
@@ -25,6 +25,12 @@ import static org.slf4j.LoggerFactory.getLogger;
  * Transmits messages over WEB SOCKET to a specific endpoint or broadcasts them.
  * If WEB SOCKET session is not opened adds messages to re-sender to try to send
  * them when session will be opened again.
+ * <p>
+ * Messages are not sent on the caller's thread, see {@link WebSocketSessionSender}.
+ * While endpoint has messages which are not re-sent yet new messages are added
+ * after them, so the endpoint receives messages in the order they are transmitted.
+ * Message which is not written because its session is closed meanwhile is returned
+ * to the re-sender with its sequence number, so it is re-sent on reconnect in order.
  *
  * @author Dmitry Kuleshov
  */
@@ -34,47 +40,51 @@ public class BasicWebSocketMessageTransmitter implements WebSocketMessageTransmi
 
     private final WebSocketSessionRegistry registry;
     private final MessagesReSender         reSender;
+    private final WebSocketSessionSender   sender;
 
     @Inject
-    public BasicWebSocketMessageTransmitter(WebSocketSessionRegistry registry, MessagesReSender reSender) {
+    public BasicWebSocketMessageTransmitter(WebSocketSessionRegistry registry,
+                                            MessagesReSender reSender,
+                                            WebSocketSessionSender sender) {
         this.registry = registry;
         this.reSender = reSender;
+        this.sender = sender;
     }
 
     @Override
-    public synchronized void transmit(String endpointId, String message) {
+    public void transmit(String endpointId, String message) {
         final Optional<Session> sessionOptional = registry.get(endpointId);
 
         if (!sessionOptional.isPresent() || !sessionOptional.get().isOpen()) {
             LOG.debug("Session is not registered or closed, adding message to pending");
 
             reSender.add(endpointId, message);
+        } else if (reSender.hasPending(endpointId)) {
+            LOG.debug("Session has pending messages, adding message after them");
+
+            reSender.add(endpointId, message);
+            reSender.resend(endpointId);
         } else {
-            LOG.debug("Session registered and open, sending message");
+            LOG.debug("Session registered and open, queueing message");
 
-            try {
-                sessionOptional.get().getBasicRemote().sendText(message);
-            } catch (IOException e) {
-                LOG.error("Error while trying to send a message to a basic websocket remote endpoint", e);
-            }
+            final Session session = sessionOptional.get();
+            final long sequence = reSender.nextSequence();
+            sender.send(session, message, sent -> {
+                if (!sent && !session.isOpen()) {
+                    reSender.add(endpointId, sequence, message);
+                    reSender.resend(endpointId);
+                }
+            });
         }
     }
 
     @Override
-    public synchronized void transmit(String message) {
-        LOG.debug("Broadcasting a web socket transmission: ", message);
+    public void transmit(String message) {
+        LOG.debug("Broadcasting a web socket transmission: {}", message);
 
         registry.getSessions()
                 .stream()
                 .filter(Session::isOpen)
-                .map(Session::getBasicRemote)
-                .forEach(it -> {
-                    try {
-                        it.sendText(message);
-                    } catch (IOException e) {
-                        LOG.error("Error while trying to send a message to a basic websocket remote endpoint", e);
-                    }
-                });
+                .forEach(it -> sender.send(it, message));
     }
-
 }
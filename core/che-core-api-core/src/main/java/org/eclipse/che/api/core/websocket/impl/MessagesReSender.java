@@ -10,53 +10,159 @@
  *******************************************************************************/
 package org.eclipse.che.api.core.websocket.impl;
 
-import javax.inject.Inject;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.inject.Inject;
+
+import org.slf4j.Logger;
+
+import javax.inject.Named;
 import javax.inject.Singleton;
 import javax.websocket.Session;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.LinkedList;
-import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.slf4j.LoggerFactory.getLogger;
 
 /**
  * Instance is responsible for re-sending messages that were not sent during the period
  * when WEB SOCKET session was closed. If session is closed during re-send process it
- * stops and left messages will be re-sent as WEB SOCKET session becomes open again.
+ * stops and left messages are going to be re-sent as WEB SOCKET session becomes open
+ * again.
+ * <p>
+ * Each message gets a sequence number, numbers increase in order messages are transmitted,
+ * so a message which is returned to pending because its session was closed before it was
+ * written takes its place among other pending messages of the endpoint. Pending messages
+ * are re-sent in order of their sequence numbers through {@link WebSocketSessionSender},
+ * the same sender which is used for other messages of the session, so re-sending doesn't
+ * block the caller and a session is never written concurrently. Endpoint has at most one
+ * message passed to the sender at a time and the message is removed from pending only
+ * when it is written, so a reconnecting client gets pending messages without gaps and
+ * duplicates. Pending messages are bounded per endpoint by number, globally by size and
+ * in time, what is kept on overflow is defined by {@link OverflowPolicy}.
  *
  * @author Dmitry Kuleshov
  */
 @Singleton
 public class MessagesReSender {
-    private static final int MAX_MESSAGES = 100;
+    private static final Logger LOG = getLogger(MessagesReSender.class);
+
+    public static final String MAX_MESSAGES_PROPERTY    = "che.websocket.resender.max_messages";
+    public static final String MAX_BYTES_PROPERTY       = "che.websocket.resender.max_bytes";
+    public static final String MESSAGE_TTL_MS_PROPERTY  = "che.websocket.resender.message_ttl_ms";
+    public static final String OVERFLOW_POLICY_PROPERTY = "che.websocket.resender.overflow_policy";
+
+    /** Defines which messages are kept when there is no space for a new one. */
+    public enum OverflowPolicy {
+        /** New message is dropped. */
+        KEEP_OLDEST,
+        /** Oldest messages of the same endpoint are dropped to free space for a new one. */
+        KEEP_NEWEST
+    }
+
+    @Inject(optional = true)
+    @Named(MAX_MESSAGES_PROPERTY)
+    private int maxMessages = 100;
+
+    @Inject(optional = true)
+    @Named(MAX_BYTES_PROPERTY)
+    private long maxBytes = 16 * 1024 * 1024;
 
-    private final WebSocketSessionRegistry registry;
+    @Inject(optional = true)
+    @Named(MESSAGE_TTL_MS_PROPERTY)
+    private long messageTtlMs = 10 * 60 * 1000;
 
-    private final Map<String, List<String>> messagesMap = new HashMap<>();
+    private OverflowPolicy overflowPolicy = OverflowPolicy.KEEP_OLDEST;
+
+    private final WebSocketSessionRegistry     registry;
+    private final WebSocketSessionSender       sender;
+    private final Map<String, PendingMessages> pendingMap;
+    private final AtomicLong                   pendingBytes;
+    private final AtomicLong                   lastEviction;
+    private final AtomicLong                   sequence;
 
     @Inject
-    public MessagesReSender(WebSocketSessionRegistry registry) {
+    public MessagesReSender(WebSocketSessionRegistry registry, WebSocketSessionSender sender) {
         this.registry = registry;
+        this.sender = sender;
+        this.pendingMap = new ConcurrentHashMap<>();
+        this.pendingBytes = new AtomicLong();
+        this.lastEviction = new AtomicLong(System.currentTimeMillis());
+        this.sequence = new AtomicLong();
+    }
+
+    MessagesReSender(WebSocketSessionRegistry registry,
+                     WebSocketSessionSender sender,
+                     int maxMessages,
+                     long maxBytes,
+                     long messageTtlMs,
+                     OverflowPolicy overflowPolicy) {
+        this(registry, sender);
+        this.maxMessages = maxMessages;
+        this.maxBytes = maxBytes;
+        this.messageTtlMs = messageTtlMs;
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    @Inject(optional = true)
+    void setOverflowPolicy(@Named(OVERFLOW_POLICY_PROPERTY) String overflowPolicy) {
+        this.overflowPolicy = OverflowPolicy.valueOf(overflowPolicy);
+    }
+
+    /** Returns sequence number for a message which is transmitted now. */
+    public long nextSequence() {
+        return sequence.incrementAndGet();
     }
 
     public void add(String endpointId, String message) {
-        List<String> messages = messagesMap.get(endpointId);
+        add(endpointId, nextSequence(), message);
+    }
 
-        if (messages == null) {
-            messages = new LinkedList<>();
-            messagesMap.put(endpointId, messages);
-        }
+    /** Adds message with the given sequence number, e.g. a message which was not written because its session was closed. */
+    public void add(String endpointId, long sequence, String message) {
+        final long now = System.currentTimeMillis();
+        evictExpiredIfNeeded(now);
 
-        if (messages.size() <= MAX_MESSAGES) {
-            messages.add(message);
+        final long size = sizeOf(message);
+        final boolean keepNewest = overflowPolicy == OverflowPolicy.KEEP_NEWEST;
+        while (true) {
+            final PendingMessages pending = pendingMap.computeIfAbsent(endpointId, id -> new PendingMessages());
+            synchronized (pending) {
+                if (pending.released) {
+                    // pending messages were just removed from the map, try again with the new ones
+                    continue;
+                }
+                while (pending.size() >= maxMessages || pendingBytes.get() + size > maxBytes) {
+                    if (!keepNewest || pending.size() == 0) {
+                        LOG.debug("Too many pending messages, dropping message for endpoint {}", endpointId);
+                        return;
+                    }
+                    pending.poll();
+                }
+                pending.add(sequence, message, now);
+                return;
+            }
         }
     }
 
+    /** Returns {@code true} if endpoint has messages which are not re-sent yet. */
+    public boolean hasPending(String endpointId) {
+        return pendingMap.containsKey(endpointId);
+    }
+
+    /**
+     * Starts re-sending of pending messages of the endpoint if the endpoint session is open, doesn't wait for sending.
+     * Messages are passed to the sender one by one, the next one when the previous one is written. Re-sending stops
+     * when there are no pending messages or a message is not written, in the latter case it is kept for the next
+     * attempt.
+     */
     public void resend(String endpointId) {
-        final List<String> messages = messagesMap.remove(endpointId);
+        final PendingMessages pending = pendingMap.get(endpointId);
 
-        if (messages == null || messages.isEmpty()) {
+        if (pending == null) {
             return;
         }
 
@@ -68,18 +174,135 @@ public class MessagesReSender {
 
         final Session session = sessionOptional.get();
 
-        final List<String> backing = new ArrayList<>(messages);
-        messages.clear();
+        if (!session.isOpen()) {
+            return;
+        }
+
+        if (pending.resending.compareAndSet(false, true)) {
+            sendNext(endpointId, pending, session);
+        }
+    }
 
-        for (String message : backing) {
+    /** Returns total size of pending messages in bytes. */
+    @VisibleForTesting
+    long getPendingBytes() {
+        return pendingBytes.get();
+    }
 
-            if (session.isOpen()) {
-                session.getAsyncRemote().sendText(message);
-            } else {
-                messages.add(message);
+    private void sendNext(String endpointId, PendingMessages pending, Session session) {
+        while (true) {
+            final PendingMessage message = pending.peekUnexpired(System.currentTimeMillis() - messageTtlMs);
+            if (message != null && session.isOpen()) {
+                sender.send(session, message.text, sent -> onResent(endpointId, pending, session, message, sent));
+                return;
+            }
+            pending.resending.set(false);
+            // message may be added while re-sending is stopping, its own resend call is skipped then
+            if (message != null || pending.size() == 0 || !pending.resending.compareAndSet(false, true)) {
+                releaseIfEmpty(endpointId, pending);
+                return;
             }
         }
+    }
 
-        messagesMap.put(endpointId, messages);
+    private void onResent(String endpointId, PendingMessages pending, Session session, PendingMessage message, boolean sent) {
+        if (sent) {
+            pending.remove(message);
+            sendNext(endpointId, pending, session);
+            return;
+        }
+        pending.resending.set(false);
+        if (!session.isOpen()) {
+            // client may be already connected with a new session, its resend call is skipped while this one was in progress
+            resend(endpointId);
+        }
+    }
+
+    private void evictExpiredIfNeeded(long now) {
+        final long last = lastEviction.get();
+        if (now - last < messageTtlMs / 2 || !lastEviction.compareAndSet(last, now)) {
+            return;
+        }
+        final long expiredBefore = now - messageTtlMs;
+        pendingMap.forEach((endpointId, pending) -> {
+            pending.removeExpired(expiredBefore);
+            releaseIfEmpty(endpointId, pending);
+        });
+    }
+
+    private void releaseIfEmpty(String endpointId, PendingMessages pending) {
+        synchronized (pending) {
+            if (pending.size() == 0 && !pending.resending.get()) {
+                pending.released = true;
+                pendingMap.remove(endpointId, pending);
+            }
+        }
+    }
+
+    private static long sizeOf(String message) {
+        return 2L * message.length();
+    }
+
+    private static class PendingMessage {
+        private final long   sequence;
+        private final String text;
+        private final long   timestamp;
+
+        PendingMessage(long sequence, String text, long timestamp) {
+            this.sequence = sequence;
+            this.text = text;
+            this.timestamp = timestamp;
+        }
+    }
+
+    /** Pending messages of a single endpoint ordered by sequence number. */
+    private class PendingMessages {
+        private final TreeMap<Long, PendingMessage> messages  = new TreeMap<>();
+        private final AtomicBoolean                 resending = new AtomicBoolean();
+
+        private boolean released;
+
+        synchronized int size() {
+            return messages.size();
+        }
+
+        synchronized void add(long sequence, String text, long timestamp) {
+            final PendingMessage replaced = messages.put(sequence, new PendingMessage(sequence, text, timestamp));
+            pendingBytes.addAndGet(sizeOf(text) - (replaced == null ? 0 : sizeOf(replaced.text)));
+        }
+
+        /** Returns the first message which is not expired, expired messages before it are removed. */
+        synchronized PendingMessage peekUnexpired(long expiredBefore) {
+            Map.Entry<Long, PendingMessage> first;
+            while ((first = messages.firstEntry()) != null && first.getValue().timestamp < expiredBefore) {
+                poll();
+            }
+            return first == null ? null : first.getValue();
+        }
+
+        /** Removes the oldest message. */
+        synchronized void poll() {
+            final Map.Entry<Long, PendingMessage> removed = messages.pollFirstEntry();
+            if (removed != null) {
+                pendingBytes.addAndGet(-sizeOf(removed.getValue().text));
+            }
+        }
+
+        /** Removes sent message if it wasn't removed yet because of overflow or expiration. */
+        synchronized void remove(PendingMessage message) {
+            if (messages.remove(message.sequence, message)) {
+                pendingBytes.addAndGet(-sizeOf(message.text));
+            }
+        }
+
+        synchronized void removeExpired(long expiredBefore) {
+            messages.values().removeIf(message -> {
+                if (message.timestamp < expiredBefore) {
+                    pendingBytes.addAndGet(-sizeOf(message.text));
+                    return true;
+                }
+                return false;
+            });
+        }
     }
 }
@@ -0,0 +1,245 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.websocket.impl;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.inject.Inject;
+
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
+import org.slf4j.Logger;
+
+import javax.annotation.PreDestroy;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import javax.websocket.Session;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static java.util.stream.Collectors.toMap;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Sends messages to WEB SOCKET sessions. All messages of a session, transmitted and
+ * re-sent ones, are sent through this sender, so the session is never written by
+ * several threads at once.
+ * <p>
+ * Messages are not sent on the caller's thread. Each session has its own bounded
+ * outbound queue which is drained by one of fixed number of writers, so messages
+ * are delivered to a session in the order they are sent while a slow session
+ * doesn't block delivery to other sessions. When queue of a session is full the
+ * oldest message is dropped, the caller is never blocked by a slow session.
+ * <p>
+ * Sender of a message may be notified whether the message is written to the session,
+ * see {@link SendCallback}.
+ */
+@Singleton
+public class WebSocketSessionSender {
+    private static final Logger LOG = getLogger(WebSocketSessionSender.class);
+
+    public static final String SEND_QUEUE_CAPACITY_PROPERTY = "che.websocket.send_queue_capacity";
+
+    private static final int WRITERS = Math.max(4, 2 * Runtime.getRuntime().availableProcessors());
+
+    private static final SendCallback NO_CALLBACK = sent -> {};
+
+    /** Is notified on the writer thread whether a message is written to the session. */
+    public interface SendCallback {
+        /**
+         * @param sent
+         *         {@code true} if the message is written, {@code false} if it is dropped
+         *         or the session is closed or fails to write it
+         */
+        void onResult(boolean sent);
+    }
+
+    private final ExecutorService         writers;
+    private final Map<Session, SendQueue> queues;
+    private final AtomicLong              droppedMessages;
+
+    @Inject(optional = true)
+    @Named(SEND_QUEUE_CAPACITY_PROPERTY)
+    private int queueCapacity = 1000;
+
+    @Inject
+    public WebSocketSessionSender() {
+        this(newWriters());
+    }
+
+    WebSocketSessionSender(ExecutorService writers) {
+        this.writers = writers;
+        this.queues = new ConcurrentHashMap<>();
+        this.droppedMessages = new AtomicLong();
+    }
+
+    /** Queues message for sending to the session. */
+    public void send(Session session, String message) {
+        send(session, message, NO_CALLBACK);
+    }
+
+    /** Queues message for sending to the session, the callback is notified when the message is written or not. */
+    public void send(Session session, String message, SendCallback callback) {
+        final OutboundMessage outbound = new OutboundMessage(message, callback);
+        while (!queues.computeIfAbsent(session, SendQueue::new).offer(outbound)) {
+            // queue was just released by its writer, try again with the new one
+        }
+    }
+
+    /** Returns number of messages waiting for sending per web socket session id. */
+    public Map<String, Integer> getQueueDepths() {
+        return queues.entrySet()
+                     .stream()
+                     .collect(toMap(e -> e.getKey().getId(), e -> e.getValue().size(), (a, b) -> a + b));
+    }
+
+    /** Returns number of messages dropped since start because outbound queue of a session was full. */
+    public long getDroppedMessagesCount() {
+        return droppedMessages.get();
+    }
+
+    @PreDestroy
+    void stop() {
+        writers.shutdownNow();
+    }
+
+    /**
+     * Writers idle threads are stopped, number of tasks is limited by number of sessions
+     * since each session has at most one writer task at any time.
+     */
+    private static ExecutorService newWriters() {
+        final ThreadPoolExecutor writers = new ThreadPoolExecutor(WRITERS, WRITERS,
+                                                                  60L, SECONDS,
+                                                                  new LinkedBlockingQueue<>(),
+                                                                  new ThreadFactoryBuilder()
+                                                                          .setNameFormat("WebSocketSessionSender-%d")
+                                                                          .setUncaughtExceptionHandler(
+                                                                                  LoggingUncaughtExceptionHandler.getInstance())
+                                                                          .setDaemon(true)
+                                                                          .build());
+        writers.allowCoreThreadTimeOut(true);
+        return writers;
+    }
+
+    private static void complete(OutboundMessage message, boolean sent) {
+        try {
+            message.callback.onResult(sent);
+        } catch (RuntimeException e) {
+            LOG.error("Send callback failed", e);
+        }
+    }
+
+    private static class OutboundMessage {
+        private final String       text;
+        private final SendCallback callback;
+
+        OutboundMessage(String text, SendCallback callback) {
+            this.text = text;
+            this.callback = callback;
+        }
+    }
+
+    /**
+     * Outbound messages of a single session. At most one writer task drains queue at any time, the task releases
+     * queue when there is nothing to send.
+     */
+    private class SendQueue implements Runnable {
+        private final Session                     session;
+        private final ArrayDeque<OutboundMessage> messages;
+
+        private boolean draining;
+        private boolean released;
+
+        SendQueue(Session session) {
+            this.session = session;
+            this.messages = new ArrayDeque<>();
+        }
+
+        synchronized int size() {
+            return messages.size();
+        }
+
+        /** Returns {@code false} if queue is released and may not accept messages any more. */
+        boolean offer(OutboundMessage message) {
+            final OutboundMessage dropped;
+            final boolean schedule;
+            synchronized (this) {
+                if (released) {
+                    return false;
+                }
+                if (messages.size() >= Math.max(1, queueCapacity)) {
+                    dropped = messages.poll();
+                    final long droppedCount = droppedMessages.incrementAndGet();
+                    if (droppedCount % 100 == 1) {
+                        LOG.warn("Outbound queue of web socket session {} is full, dropping oldest messages. " +
+                                 "Messages dropped since start: {}", session.getId(), droppedCount);
+                    }
+                } else {
+                    dropped = null;
+                }
+                messages.add(message);
+                schedule = !draining;
+                draining = true;
+            }
+            if (dropped != null) {
+                complete(dropped, false);
+            }
+            if (!schedule) {
+                return true;
+            }
+            try {
+                writers.execute(this);
+            } catch (RejectedExecutionException e) {
+                // let the next message try to schedule writer again
+                synchronized (this) {
+                    draining = false;
+                }
+                LOG.error("Unable to send message to web socket session {}, sender is stopped", session.getId());
+            }
+            return true;
+        }
+
+        @Override
+        public void run() {
+            while (true) {
+                final OutboundMessage message;
+                synchronized (this) {
+                    message = messages.poll();
+                    if (message == null) {
+                        draining = false;
+                        released = true;
+                        queues.remove(session, this);
+                        return;
+                    }
+                }
+                if (!session.isOpen()) {
+                    LOG.debug("Session {} is closed, skipping message", session.getId());
+                    complete(message, false);
+                    continue;
+                }
+                boolean sent = false;
+                try {
+                    session.getBasicRemote().sendText(message.text);
+                    sent = true;
+                } catch (IOException e) {
+                    LOG.error("Error while trying to send a message to a basic websocket remote endpoint", e);
+                }
+                complete(message, sent);
+            }
+        }
+    }
+}
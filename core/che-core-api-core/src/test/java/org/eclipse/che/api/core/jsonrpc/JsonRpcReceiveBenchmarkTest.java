@@ -0,0 +1,142 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.jsonrpc;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+
+/**
+ * Compares receiving of LSP sized JSON RPC requests the way {@link JsonRpcMessageReceiver} did it before,
+ * when the message was parsed by validator, by qualifier, by request and params were converted back to
+ * string and parsed once again, with receiving of the message parsed only once.
+ * Number of iterations may be changed with {@code jsonrpc.receive.benchmark.iterations} system property.
+ * The benchmark is excluded from the build, run it explicitly with {@code -Dtest=JsonRpcReceiveBenchmarkTest}.
+ */
+public class JsonRpcReceiveBenchmarkTest {
+    private static final Logger LOG = LoggerFactory.getLogger(JsonRpcReceiveBenchmarkTest.class);
+
+    private static final int ITERATIONS = Integer.getInteger("jsonrpc.receive.benchmark.iterations", 2000);
+
+    private final JsonParser             jsonParser = new JsonParser();
+    private final JsonRpcEntityValidator validator  = new JsonRpcEntityValidator(jsonParser);
+    private final JsonRpcEntityQualifier qualifier  = new JsonRpcEntityQualifier(jsonParser);
+
+    @DataProvider
+    public Object[][] messages() {
+        return new Object[][] {{"didChange", didChange(2000)}, {"publishDiagnostics", publishDiagnostics(200)}};
+    }
+
+    @Test(dataProvider = "messages")
+    public void compareReceivingBeforeAndAfterParsingOnce(String name, String message) throws Exception {
+        assertEquals(receiveParsingOnce(message).toJsonElement(), receiveAsBefore(message).toJsonElement());
+
+        // warm up
+        measure(message, false);
+        measure(message, true);
+
+        long before = measure(message, false);
+        long after = measure(message, true);
+
+        LOG.info("Receiving {} of {} KB, {} times: before {} ms, parsing once {} ms",
+                 name, message.length() / 1024, ITERATIONS, before, after);
+    }
+
+    private long measure(String message, boolean parseOnce) throws JsonRpcException {
+        long start = System.nanoTime();
+        int size = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            JsonRpcParams params = parseOnce ? receiveParsingOnce(message) : receiveAsBefore(message);
+            size += params.toJsonElement().isJsonObject() ? 1 : 0;
+        }
+        assertEquals(size, ITERATIONS);
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+
+    private JsonRpcParams receiveAsBefore(String message) throws JsonRpcException {
+        validator.validate(message);
+        qualifier.qualify(message);
+        JsonObject request = jsonParser.parse(message).getAsJsonObject();
+        return new JsonRpcParams(request.get("params").toString(), jsonParser);
+    }
+
+    private JsonRpcParams receiveParsingOnce(String message) throws JsonRpcException {
+        JsonElement request = validator.parse(message);
+        qualifier.qualify(request);
+        return new JsonRpcRequest(request.getAsJsonObject()).getParams();
+    }
+
+    /** Full document synchronization of a java file with the given number of lines. */
+    private static String didChange(int lines) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < lines; i++) {
+            text.append("        final String value").append(i).append(" = \"line ").append(i).append("\"; // \"quoted\"\n");
+        }
+        JsonObject document = new JsonObject();
+        document.addProperty("uri", "file:///projects/console-java-simple/src/main/java/org/eclipse/che/examples/HelloWorld.java");
+        document.addProperty("version", 42);
+        JsonObject change = new JsonObject();
+        change.addProperty("text", text.toString());
+        JsonArray changes = new JsonArray();
+        changes.add(change);
+        JsonObject params = new JsonObject();
+        params.add("textDocument", document);
+        params.add("contentChanges", changes);
+        return request("textDocument/didChange", params);
+    }
+
+    private static String publishDiagnostics(int count) {
+        JsonArray diagnostics = new JsonArray();
+        for (int i = 0; i < count; i++) {
+            JsonObject diagnostic = new JsonObject();
+            diagnostic.add("range", range(i, 8, i, 30));
+            diagnostic.addProperty("severity", 1 + i % 4);
+            diagnostic.addProperty("code", "unused." + i);
+            diagnostic.addProperty("source", "java");
+            diagnostic.addProperty("message", "The value of the local variable value" + i + " is not used");
+            diagnostics.add(diagnostic);
+        }
+        JsonObject params = new JsonObject();
+        params.addProperty("uri", "file:///projects/console-java-simple/src/main/java/org/eclipse/che/examples/HelloWorld.java");
+        params.add("diagnostics", diagnostics);
+        return request("textDocument/publishDiagnostics", params);
+    }
+
+    private static JsonObject range(int startLine, int startCharacter, int endLine, int endCharacter) {
+        JsonObject range = new JsonObject();
+        range.add("start", position(startLine, startCharacter));
+        range.add("end", position(endLine, endCharacter));
+        return range;
+    }
+
+    private static JsonObject position(int line, int character) {
+        JsonObject position = new JsonObject();
+        position.addProperty("line", line);
+        position.addProperty("character", character);
+        return position;
+    }
+
+    private static String request(String method, JsonObject params) {
+        JsonObject request = new JsonObject();
+        request.addProperty("jsonrpc", "2.0");
+        request.addProperty("method", method);
+        request.add("params", params);
+        return request.toString();
+    }
+}
@@ -20,7 +20,6 @@ import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Listeners;
 import org.testng.annotations.Test;
 
-import static org.mockito.Matchers.anyString;
 import static org.mockito.Mockito.when;
 import static org.testng.AssertJUnit.assertEquals;
 import static org.testng.AssertJUnit.assertFalse;
@@ -35,9 +34,6 @@ public class JsonRpcRequestTest {
 
     JsonParser jsonParser = new JsonParser();
 
-    @Mock
-    JsonRpcFactory jsonRpcFactory;
-
     @Mock
     JsonRpcParams params;
 
@@ -45,8 +41,6 @@ public class JsonRpcRequestTest {
 
     @BeforeMethod
     public void setUp() throws Exception {
-        when(jsonRpcFactory.createParams(anyString())).thenReturn(params);
-
         JsonObject params = new JsonObject();
         params.addProperty("parameter", "value");
 
@@ -64,7 +58,7 @@ public class JsonRpcRequestTest {
     public void shouldHaveParamsWhenParseStringWithParams() throws Exception {
         when(params.emptyOrAbsent()).thenReturn(false);
 
-        JsonRpcRequest jsonRpcRequest = new JsonRpcRequest(request.toString(), jsonParser, jsonRpcFactory);
+        JsonRpcRequest jsonRpcRequest = new JsonRpcRequest(request.toString(), jsonParser);
 
         assertTrue(jsonRpcRequest.hasParams());
     }
@@ -73,14 +67,14 @@ public class JsonRpcRequestTest {
     public void shouldNotHaveParamsWhenParseStringWithoutParams() throws Exception {
         request.remove("params");
 
-        JsonRpcRequest jsonRpcRequest = new JsonRpcRequest(request.toString(), jsonParser, jsonRpcFactory);
+        JsonRpcRequest jsonRpcRequest = new JsonRpcRequest(request.toString(), jsonParser);
 
         assertFalse(jsonRpcRequest.hasParams());
     }
 
     @Test
     public void shouldHaveIdWhenParseStringWithId() throws Exception {
-        JsonRpcRequest jsonRpcRequest = new JsonRpcRequest(request.toString(), jsonParser, jsonRpcFactory);
+        JsonRpcRequest jsonRpcRequest = new JsonRpcRequest(request.toString(), jsonParser);
 
         assertTrue(jsonRpcRequest.hasId());
     }
@@ -89,7 +83,7 @@ public class JsonRpcRequestTest {
     public void shouldNotIdParamsWhenParseStringWithoutId() throws Exception {
         request.remove("id");
 
-        JsonRpcRequest jsonRpcRequest = new JsonRpcRequest(request.toString(), jsonParser, jsonRpcFactory);
+        JsonRpcRequest jsonRpcRequest = new JsonRpcRequest(request.toString(), jsonParser);
 
         assertFalse(jsonRpcRequest.hasId());
     }
@@ -100,7 +94,7 @@ public class JsonRpcRequestTest {
 
         JsonObject expected = request;
 
-        JsonRpcRequest jsonRpcRequest = new JsonRpcRequest(request.toString(), jsonParser, jsonRpcFactory);
+        JsonRpcRequest jsonRpcRequest = new JsonRpcRequest(request.toString(), jsonParser);
         JsonObject actual = jsonRpcRequest.toJsonObject();
 
         assertEquals(expected, actual);
@@ -113,7 +107,7 @@ public class JsonRpcRequestTest {
         JsonObject expected = request;
         expected.remove("id");
 
-        JsonRpcRequest jsonRpcRequest = new JsonRpcRequest(request.toString(), jsonParser, jsonRpcFactory);
+        JsonRpcRequest jsonRpcRequest = new JsonRpcRequest(request.toString(), jsonParser);
         JsonObject actual = jsonRpcRequest.toJsonObject();
 
         assertEquals(expected, actual);
@@ -126,7 +120,7 @@ public class JsonRpcRequestTest {
         JsonObject expected = request;
         expected.remove("params");
 
-        JsonRpcRequest jsonRpcRequest = new JsonRpcRequest(request.toString(), jsonParser, jsonRpcFactory);
+        JsonRpcRequest jsonRpcRequest = new JsonRpcRequest(request.toString(), jsonParser);
         JsonObject actual = jsonRpcRequest.toJsonObject();
 
         assertEquals(expected, actual);
@@ -140,7 +134,7 @@ public class JsonRpcRequestTest {
         expected.remove("params");
         expected.remove("id");
 
-        JsonRpcRequest jsonRpcRequest = new JsonRpcRequest(request.toString(), jsonParser, jsonRpcFactory);
+        JsonRpcRequest jsonRpcRequest = new JsonRpcRequest(request.toString(), jsonParser);
         JsonObject actual = jsonRpcRequest.toJsonObject();
 
         assertEquals(expected, actual);
@@ -152,7 +146,7 @@ public class JsonRpcRequestTest {
 
         JsonObject expected = request;
 
-        JsonRpcRequest jsonRpcRequest = new JsonRpcRequest(request.toString(), jsonParser, jsonRpcFactory);
+        JsonRpcRequest jsonRpcRequest = new JsonRpcRequest(request.toString(), jsonParser);
         JsonElement actual = jsonParser.parse(jsonRpcRequest.toString());
 
         assertEquals(expected, actual);
@@ -165,7 +159,7 @@ public class JsonRpcRequestTest {
         JsonObject expected = request;
         expected.remove("id");
 
-        JsonRpcRequest jsonRpcRequest = new JsonRpcRequest(request.toString(), jsonParser, jsonRpcFactory);
+        JsonRpcRequest jsonRpcRequest = new JsonRpcRequest(request.toString(), jsonParser);
         JsonElement actual = jsonParser.parse(jsonRpcRequest.toString());
 
         assertEquals(expected, actual);
@@ -178,7 +172,7 @@ public class JsonRpcRequestTest {
         JsonObject expected = request;
         expected.remove("params");
 
-        JsonRpcRequest jsonRpcRequest = new JsonRpcRequest(request.toString(), jsonParser, jsonRpcFactory);
+        JsonRpcRequest jsonRpcRequest = new JsonRpcRequest(request.toString(), jsonParser);
         JsonElement actual = jsonParser.parse(jsonRpcRequest.toString());
 
         assertEquals(expected, actual);
@@ -192,7 +186,7 @@ public class JsonRpcRequestTest {
         expected.remove("params");
         expected.remove("id");
 
-        JsonRpcRequest jsonRpcRequest = new JsonRpcRequest(request.toString(), jsonParser, jsonRpcFactory);
+        JsonRpcRequest jsonRpcRequest = new JsonRpcRequest(request.toString(), jsonParser);
         JsonElement actual = jsonParser.parse(jsonRpcRequest.toString());
 
         assertEquals(expected, actual);
@@ -362,4 +356,14 @@ public class JsonRpcRequestTest {
 
         assertEquals(expected, actual);
     }
+
+    @Test
+    public void shouldUseParsedParamsWhenCreatedFromJsonObject() {
+        JsonRpcRequest jsonRpcRequest = new JsonRpcRequest(request);
+
+        assertEquals("method", jsonRpcRequest.getMethod());
+        assertEquals("0", jsonRpcRequest.getId());
+        assertEquals("value", jsonRpcRequest.getParams().toJsonElement().getAsJsonObject().get("parameter").getAsString());
+        assertEquals(request, jsonRpcRequest.toJsonObject());
+    }
 }
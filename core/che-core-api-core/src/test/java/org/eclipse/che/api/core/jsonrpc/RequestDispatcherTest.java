@@ -19,9 +19,17 @@ import org.testng.annotations.BeforeTest;
 import org.testng.annotations.Listeners;
 import org.testng.annotations.Test;
 
+import java.util.concurrent.CompletableFuture;
+
+import static org.eclipse.che.api.core.jsonrpc.RequestDispatcher.REQUEST_CANCELLED;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
 
 /**
  * Tests for {@link RequestDispatcher}
@@ -54,6 +62,12 @@ public class RequestDispatcherTest {
     NotificationHandler notificationHandler;
     @Mock
     JsonRpcResult       result;
+    @Mock
+    AsyncRequestHandler asyncRequestHandler;
+    @Mock
+    JsonRpcError        error;
+    @Mock
+    JsonRpcResponse     errorResponse;
 
     @BeforeMethod
     public void setUp() throws Exception {
@@ -137,4 +151,47 @@ public class RequestDispatcherTest {
 
         requestDispatcher.dispatch(ENDPOINT_ID, request);
     }
+
+    @Test
+    public void shouldNotWaitForResultOfAsyncRequest() throws Exception {
+        when(requestHandlerRegistry.getRequestHandler("method")).thenReturn(asyncRequestHandler);
+        when(asyncRequestHandler.handleAsync(ENDPOINT_ID, params)).thenReturn(new CompletableFuture<>());
+
+        requestDispatcher.dispatch(ENDPOINT_ID, request);
+
+        verify(asyncRequestHandler, never()).handle(ENDPOINT_ID, params);
+        verify(transmitter, never()).transmit(anyString(), anyString());
+        assertEquals(requestDispatcher.getPendingRequestsCount(), 1);
+    }
+
+    @Test
+    public void shouldTransmitResponseWhenAsyncRequestIsCompleted() throws Exception {
+        CompletableFuture<JsonRpcResult> future = new CompletableFuture<>();
+        when(requestHandlerRegistry.getRequestHandler("method")).thenReturn(asyncRequestHandler);
+        when(asyncRequestHandler.handleAsync(ENDPOINT_ID, params)).thenReturn(future);
+        requestDispatcher.dispatch(ENDPOINT_ID, request);
+
+        future.complete(result);
+
+        verify(transmitter).transmit(ENDPOINT_ID, STRINGIFIED_RESPONSE);
+        assertEquals(requestDispatcher.getPendingRequestsCount(), 0);
+    }
+
+    @Test
+    public void shouldTransmitErrorWhenAsyncRequestIsCancelled() throws Exception {
+        CompletableFuture<JsonRpcResult> future = new CompletableFuture<>();
+        when(requestHandlerRegistry.getRequestHandler("method")).thenReturn(asyncRequestHandler);
+        when(asyncRequestHandler.handleAsync(ENDPOINT_ID, params)).thenReturn(future);
+        when(jsonRpcFactory.createError(eq(REQUEST_CANCELLED), anyString())).thenReturn(error);
+        when(jsonRpcFactory.createResponse(REQUEST_ID, null, error)).thenReturn(errorResponse);
+        when(errorResponse.toString()).thenReturn("error");
+        requestDispatcher.dispatch(ENDPOINT_ID, request);
+
+        assertFalse(requestDispatcher.cancel("anotherEndpointId", REQUEST_ID));
+        assertTrue(requestDispatcher.cancel(ENDPOINT_ID, REQUEST_ID));
+
+        assertTrue(future.isCancelled());
+        verify(transmitter).transmit(ENDPOINT_ID, "error");
+        assertEquals(requestDispatcher.getPendingRequestsCount(), 0);
+    }
 }
@@ -11,12 +11,18 @@
 package org.eclipse.che.api.core.notification;
 
 import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
 
 /**
  * @author andrew00x
@@ -29,6 +35,11 @@ public class EventServiceTest {
         bus = new EventService();
     }
 
+    @AfterMethod
+    public void tearDown() {
+        bus.stop();
+    }
+
     @Test
     public void testSimpleEvent() {
         final List<Object> events = new ArrayList<>();
@@ -191,6 +202,106 @@ public class EventServiceTest {
         bus.unsubscribe(sb, CustomEventImpl.class);
     }
 
+    @Test
+    public void shouldDeliverEventsToAsyncSubscriberInOrderOnAnotherThread() throws Exception {
+        final List<String> events = Collections.synchronizedList(new ArrayList<>());
+        final List<Thread> threads = Collections.synchronizedList(new ArrayList<>());
+        final CountDownLatch delivered = new CountDownLatch(1000);
+        bus.subscribeAsync(new EventSubscriber<String>() {
+            @Override
+            public void onEvent(String event) {
+                events.add(event);
+                threads.add(Thread.currentThread());
+                delivered.countDown();
+            }
+        });
+
+        final List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            expected.add(String.valueOf(i));
+            bus.publish(String.valueOf(i));
+        }
+
+        Assert.assertTrue(delivered.await(10, SECONDS));
+        Assert.assertEquals(events, expected);
+        Assert.assertFalse(threads.contains(Thread.currentThread()));
+    }
+
+    @Test
+    public void shouldDeliverEventsAsynchronouslyToAnnotatedSubscriber() throws Exception {
+        final AsyncListener listener = new AsyncListener();
+        bus.subscribe(listener);
+
+        bus.publish("hello");
+
+        Assert.assertTrue(listener.delivered.await(10, SECONDS));
+        Assert.assertTrue(bus.getSubscriberStats().get(listener).isAsync());
+    }
+
+    @Test
+    public void shouldCollectSubscriberStats() {
+        final Listener listener = new Listener();
+        bus.subscribe(listener);
+
+        bus.publish("a");
+        bus.publish("b");
+
+        final EventService.SubscriberStats stats = bus.getSubscriberStats().get(listener);
+        Assert.assertFalse(stats.isAsync());
+        Assert.assertEquals(stats.getCalls(), 2);
+        Assert.assertTrue(stats.getTotalTimeNanos() >= stats.getMaxTimeNanos());
+
+        bus.unsubscribe(listener);
+        Assert.assertFalse(bus.getSubscriberStats().containsKey(listener));
+    }
+
+    @Test
+    public void shouldDropEventsWhenTooManyEventsArePendingForAsyncSubscriber() throws Exception {
+        bus = new EventService(1, 2);
+        final List<String> events = Collections.synchronizedList(new ArrayList<>());
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch delivered = new CountDownLatch(3);
+        final EventSubscriber<String> subscriber = new EventSubscriber<String>() {
+            @Override
+            public void onEvent(String event) {
+                started.countDown();
+                try {
+                    release.await(10, SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                events.add(event);
+                delivered.countDown();
+            }
+        };
+        bus.subscribeAsync(subscriber);
+
+        bus.publish("0");
+        Assert.assertTrue(started.await(10, SECONDS));
+        bus.publish("1");
+        bus.publish("2");
+        bus.publish("3");
+
+        final EventService.SubscriberStats stats = bus.getSubscriberStats().get(subscriber);
+        Assert.assertEquals(stats.getPendingEvents(), 2);
+        Assert.assertEquals(stats.getDroppedEvents(), 1);
+
+        release.countDown();
+        Assert.assertTrue(delivered.await(10, SECONDS));
+        Assert.assertEquals(events, Arrays.asList("0", "1", "2"));
+    }
+
+    @AsyncSubscriber
+    static class AsyncListener implements EventSubscriber<String> {
+        final CountDownLatch delivered = new CountDownLatch(1);
+
+        @Override
+        public void onEvent(String event) {
+            delivered.countDown();
+        }
+    }
+
     static class CustomEventSubscriber<T extends CustomEvent> implements EventSubscriber<T> {
         final List<String> events = new ArrayList<>();
 
@@ -324,6 +324,40 @@ public class DefaultHttpJsonRequestTest {
         new DefaultHttpJsonRequest(getUrl(ctx) + "/token").usePostMethod().request();
     }
 
+    @Test
+    public void shouldDecompressGzipResponse(ITestContext ctx) throws Exception {
+        final HttpJsonResponse response = new DefaultHttpJsonRequest(getUrl(ctx) + "/gzip").useGetMethod().request();
+
+        assertEquals(response.asString(), TestService.JSON_OBJECT);
+    }
+
+    @Test
+    public void shouldCompressRequestBodyWhenItIsLargerThanThreshold(ITestContext ctx) throws Exception {
+        final Link link = LinksHelper.createLink("GET", "localhost:8080/application-json", "rel");
+        final DefaultHttpJsonRequest request = new DefaultHttpJsonRequest(getUrl(ctx) + "/gzip", HttpMethod.POST, null, 0);
+
+        final List<Link> links = request.setBody(singletonList(link)).request().asList(Link.class);
+
+        assertEquals(links, singletonList(link));
+    }
+
+    @Test
+    public void shouldRecordMetricsOfRequestsPerHost(ITestContext ctx) throws Exception {
+        final DefaultHttpJsonRequestFactory factory = new DefaultHttpJsonRequestFactory();
+
+        factory.fromUrl(getUrl(ctx) + "/application-json").request();
+        try {
+            factory.fromUrl(getUrl(ctx) + "/404/response-code-test").request();
+        } catch (NotFoundException ignored) {
+        }
+
+        final HttpJsonRequestMetrics.HostMetrics metrics = factory.getMetrics()
+                                                                  .getHost("localhost:" + ctx.getAttribute(EverrestJetty.JETTY_PORT));
+        assertEquals(metrics.getRequests(), 2);
+        assertEquals(metrics.getFailures(), 1);
+        assertTrue(metrics.getBytesReceived() > 0);
+    }
+
     @Filter
     public static class EnvironmentFilter implements RequestFilter {
 
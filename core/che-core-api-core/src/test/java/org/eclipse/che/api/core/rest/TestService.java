@@ -10,6 +10,8 @@
  *******************************************************************************/
 package org.eclipse.che.api.core.rest;
 
+import com.google.common.io.ByteStreams;
+
 import org.eclipse.che.api.core.Page;
 import org.eclipse.che.api.core.UnauthorizedException;
 import org.eclipse.che.api.core.rest.shared.dto.Link;
@@ -30,11 +32,18 @@ import javax.ws.rs.core.Context;
 import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.UriInfo;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.URLDecoder;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Arrays.asList;
 import static java.util.Collections.singletonList;
 import static java.util.Collections.singletonMap;
@@ -115,6 +124,29 @@ public class TestService extends Service {
         return URLDecoder.decode(uriInfo.getRequestUri().toString());
     }
 
+    @GET
+    @Path("/gzip")
+    @Produces(APPLICATION_JSON)
+    public Response getGzipJsonObject(@HeaderParam(HttpHeaders.ACCEPT_ENCODING) String acceptEncoding) throws IOException {
+        if (!"gzip".equals(acceptEncoding)) {
+            return Response.ok(JSON_OBJECT).build();
+        }
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream gzip = new GZIPOutputStream(bytes)) {
+            gzip.write(JSON_OBJECT.getBytes(UTF_8));
+        }
+        return Response.ok(bytes.toByteArray()).header(HttpHeaders.CONTENT_ENCODING, "gzip").build();
+    }
+
+    @POST
+    @Path("/gzip")
+    @Produces(APPLICATION_JSON)
+    public String receiveGzipJsonObject(@HeaderParam(HttpHeaders.CONTENT_ENCODING) String contentEncoding,
+                                        InputStream body) throws IOException {
+        final InputStream in = "gzip".equals(contentEncoding) ? new GZIPInputStream(body) : body;
+        return new String(ByteStreams.toByteArray(in), UTF_8);
+    }
+
     @GET
     @Path("/paging/{value}")
     @Produces(APPLICATION_JSON)
@@ -10,6 +10,9 @@
  *******************************************************************************/
 package org.eclipse.che.api.core.util.lineconsumer;
 
+import com.google.common.io.ByteStreams;
+
+import org.eclipse.che.commons.lang.IoUtil;
 import org.eclipse.che.commons.test.mockito.answer.WaitingAnswer;
 import org.mockito.Mock;
 import org.mockito.testng.MockitoTestNGListener;
@@ -21,21 +24,30 @@ import org.testng.annotations.Listeners;
 import org.testng.annotations.Test;
 
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.Writer;
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
+import java.nio.file.Files;
+import java.util.List;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
 
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.slf4j.LoggerFactory.getLogger;
+import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
 import static org.testng.Assert.fail;
 
 /**
@@ -165,6 +177,95 @@ public class ConcurrentFileLineConsumerTest {
         verify(writer, never()).write(anyString());
     }
 
+    @Test
+    public void shouldReturnLastLinesIncludingNotFlushedOnes() throws Exception {
+        // given
+        final File logs = File.createTempFile("logs", ".tmp");
+        final ConcurrentFileLineConsumer consumer = new ConcurrentFileLineConsumer(logs);
+        for (int i = 0; i < 5_000; i++) {
+            consumer.writeLine("line " + i);
+        }
+
+        // when
+        final List<String> tail = consumer.tail(3);
+
+        // then
+        assertEquals(tail, asList("line 4997", "line 4998", "line 4999"));
+        consumer.close();
+        assertTrue(logs.delete());
+    }
+
+    @Test
+    public void shouldReturnAllLinesIfFileContainsLessLinesThanRequested() throws Exception {
+        // given
+        final File logs = File.createTempFile("logs", ".tmp");
+        Files.write(logs.toPath(), "first\n\nthird\n".getBytes());
+
+        // when
+        final List<String> tail = ConcurrentFileLineConsumer.tail(logs, 10);
+
+        // then
+        assertEquals(tail, asList("first", "", "third"));
+        assertTrue(logs.delete());
+    }
+
+    @Test
+    public void shouldRotateAndCompressFileWhenItExceedsMaxSize() throws Exception {
+        // given
+        final File dir = Files.createTempDirectory("logs").toFile();
+        final File logs = new File(dir, "machine.logs");
+        final ConcurrentFileLineConsumer consumer = new ConcurrentFileLineConsumer(logs, 10, 2);
+
+        // when
+        consumer.writeLine("0123456789");
+        consumer.writeLine("new line");
+
+        // then
+        // old content is compressed in background
+        final File rotating = new File(dir, "machine.logs.rotating");
+        for (int i = 0; i < 50 && rotating.exists(); i++) {
+            Thread.sleep(100);
+        }
+        consumer.close();
+        try (InputStream in = new GZIPInputStream(new FileInputStream(new File(dir, "machine.logs.1.gz")))) {
+            assertEquals(new String(ByteStreams.toByteArray(in)), "0123456789\n");
+        }
+        assertEquals(ConcurrentFileLineConsumer.tail(logs, 10), singletonList("new line"));
+        assertTrue(IoUtil.deleteRecursive(dir));
+    }
+
+    @Test
+    public void shouldKeepAllContentWhenFileIsRotatedAgainBeforeCompression() throws Exception {
+        // given
+        final File dir = Files.createTempDirectory("logs").toFile();
+        final File logs = new File(dir, "machine.logs");
+        final ConcurrentFileLineConsumer consumer = new ConcurrentFileLineConsumer(logs, 10, 5);
+
+        // when
+        for (int i = 0; i < 5; i++) {
+            consumer.writeLine("line " + i + " ***");
+        }
+
+        // then
+        final File rotating = new File(dir, "machine.logs.rotating");
+        for (int i = 0; i < 50 && rotating.exists(); i++) {
+            Thread.sleep(100);
+        }
+        consumer.close();
+        final StringBuilder content = new StringBuilder();
+        for (int i = 5; i > 0; i--) {
+            final File rotated = new File(dir, "machine.logs." + i + ".gz");
+            if (rotated.exists()) {
+                try (InputStream in = new GZIPInputStream(new FileInputStream(rotated))) {
+                    content.append(new String(ByteStreams.toByteArray(in)));
+                }
+            }
+        }
+        content.append(new String(Files.readAllBytes(logs.toPath())));
+        assertEquals(content.toString(), "line 0 ***\nline 1 ***\nline 2 ***\nline 3 ***\nline 4 ***\n");
+        assertTrue(IoUtil.deleteRecursive(dir));
+    }
+
     /**
      * Inject Writer mock into FileLineConsumer class.
      * This allow to test the FileLineConsumer operations.
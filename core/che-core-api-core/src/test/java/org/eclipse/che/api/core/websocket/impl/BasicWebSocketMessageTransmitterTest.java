@@ -10,23 +10,26 @@
  *******************************************************************************/
 package org.eclipse.che.api.core.websocket.impl;
 
-import org.mockito.InjectMocks;
+import org.eclipse.che.api.core.websocket.impl.WebSocketSessionSender.SendCallback;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.testng.MockitoTestNGListener;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Listeners;
 import org.testng.annotations.Test;
 
-import javax.websocket.RemoteEndpoint;
 import javax.websocket.Session;
 
-import java.io.IOException;
 import java.util.Optional;
 
 import static java.util.Collections.emptySet;
+import static java.util.Collections.singleton;
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -45,17 +48,18 @@ public class BasicWebSocketMessageTransmitterTest {
     private WebSocketSessionRegistry         registry;
     @Mock
     private MessagesReSender                 reSender;
-    @InjectMocks
+    @Mock
+    private WebSocketSessionSender           sender;
+
     private BasicWebSocketMessageTransmitter transmitter;
 
     @Mock
-    private Session              session;
-    @Mock
-    private RemoteEndpoint.Basic remote;
+    private Session session;
 
     @BeforeMethod
     public void setUp() throws Exception {
-        when(session.getBasicRemote()).thenReturn(remote);
+        transmitter = new BasicWebSocketMessageTransmitter(registry, reSender, sender);
+
         when(session.isOpen()).thenReturn(true);
 
         when(registry.get(ENDPOINT_ID)).thenReturn(Optional.of(session));
@@ -63,33 +67,68 @@ public class BasicWebSocketMessageTransmitterTest {
     }
 
     @Test
-    public void shouldSendDirectMessageIfSessionIsOpenAndEndpointIsSet() throws IOException {
+    public void shouldSendDirectMessageIfSessionIsOpenAndEndpointIsSet() {
         transmitter.transmit(ENDPOINT_ID, MESSAGE);
 
-        verify(session).getBasicRemote();
-        verify(remote).sendText(MESSAGE);
+        verify(sender).send(eq(session), eq(MESSAGE), any(SendCallback.class));
         verify(reSender, never()).add(eq(ENDPOINT_ID), anyString());
     }
 
     @Test
-    public void shouldSendBroadcastingMessageIfSessionIsOpen() throws IOException {
+    public void shouldSendBroadcastingMessageIfSessionIsOpen() {
+        when(registry.getSessions()).thenReturn(singleton(session));
+
         transmitter.transmit(MESSAGE);
 
-        verify(session, never()).getBasicRemote();
-        verify(remote, never()).sendText(MESSAGE);
+        verify(sender).send(session, MESSAGE);
         verify(reSender, never()).add(any(), anyString());
-
-        verify(registry).getSessions();
     }
 
     @Test
-    public void shouldAddMessageToPendingIfSessionIsNotOpenedAndEndpointIsSet() throws IOException {
+    public void shouldAddMessageToPendingIfSessionIsNotOpenedAndEndpointIsSet() {
         when(session.isOpen()).thenReturn(false);
 
         transmitter.transmit(ENDPOINT_ID, MESSAGE);
 
-        verify(session, never()).getBasicRemote();
-        verify(remote, never()).sendText(MESSAGE);
+        verify(sender, never()).send(any(), anyString(), any());
         verify(reSender).add(ENDPOINT_ID, MESSAGE);
     }
+
+    @Test
+    public void shouldSendMessageAfterPendingMessagesOfEndpoint() {
+        when(reSender.hasPending(ENDPOINT_ID)).thenReturn(true);
+
+        transmitter.transmit(ENDPOINT_ID, MESSAGE);
+
+        InOrder inOrder = inOrder(reSender);
+        inOrder.verify(reSender).add(ENDPOINT_ID, MESSAGE);
+        inOrder.verify(reSender).resend(ENDPOINT_ID);
+        verify(sender, never()).send(any(), anyString(), any());
+    }
+
+    @Test
+    public void shouldReturnMessageToPendingWhenSessionIsClosedBeforeMessageIsWritten() {
+        when(reSender.nextSequence()).thenReturn(7L);
+        transmitter.transmit(ENDPOINT_ID, MESSAGE);
+        ArgumentCaptor<SendCallback> callback = ArgumentCaptor.forClass(SendCallback.class);
+        verify(sender).send(eq(session), eq(MESSAGE), callback.capture());
+
+        when(session.isOpen()).thenReturn(false);
+        callback.getValue().onResult(false);
+
+        InOrder inOrder = inOrder(reSender);
+        inOrder.verify(reSender).add(ENDPOINT_ID, 7L, MESSAGE);
+        inOrder.verify(reSender).resend(ENDPOINT_ID);
+    }
+
+    @Test
+    public void shouldNotReturnWrittenMessageToPending() {
+        transmitter.transmit(ENDPOINT_ID, MESSAGE);
+        ArgumentCaptor<SendCallback> callback = ArgumentCaptor.forClass(SendCallback.class);
+        verify(sender).send(eq(session), eq(MESSAGE), callback.capture());
+
+        callback.getValue().onResult(true);
+
+        verify(reSender, never()).add(anyString(), anyLong(), anyString());
+    }
 }
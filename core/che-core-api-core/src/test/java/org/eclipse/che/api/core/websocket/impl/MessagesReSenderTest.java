@@ -10,6 +10,8 @@
  *******************************************************************************/
 package org.eclipse.che.api.core.websocket.impl;
 
+import org.eclipse.che.api.core.websocket.impl.WebSocketSessionSender.SendCallback;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.testng.MockitoTestNGListener;
@@ -17,18 +19,27 @@ import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Listeners;
 import org.testng.annotations.Test;
 
-import javax.websocket.RemoteEndpoint;
 import javax.websocket.Session;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
+import static org.eclipse.che.api.core.websocket.impl.MessagesReSender.OverflowPolicy.KEEP_NEWEST;
+import static org.eclipse.che.api.core.websocket.impl.MessagesReSender.OverflowPolicy.KEEP_OLDEST;
 import static org.mockito.Matchers.any;
-import static org.mockito.Matchers.anyInt;
 import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
 
 /**
  * Tests for {@link MessagesReSender}
@@ -42,24 +53,30 @@ public class MessagesReSenderTest {
 
     @Mock
     private WebSocketSessionRegistry sessionRegistry;
+    @Mock
+    private WebSocketSessionSender   sender;
     @InjectMocks
     private MessagesReSender         reSender;
 
     @Mock
-    private Session               session;
-    @Mock
-    private RemoteEndpoint.Async  endpoint;
+    private Session session;
+
+    private List<SendCallback> callbacks;
 
     @BeforeMethod
     public void beforeMethod() {
         when(sessionRegistry.get(anyString())).thenReturn(Optional.of(session));
-        when(session.getAsyncRemote()).thenReturn(endpoint);
         when(session.isOpen()).thenReturn(true);
+        doAnswer(invocation -> {
+            ((SendCallback)invocation.getArguments()[2]).onResult(true);
+            return null;
+        }).when(sender).send(any(Session.class), anyString(), any(SendCallback.class));
+        callbacks = new ArrayList<>();
     }
 
     @BeforeMethod
     public void before() {
-        reSender = new MessagesReSender(sessionRegistry);
+        reSender = new MessagesReSender(sessionRegistry, sender);
     }
 
     @Test
@@ -71,8 +88,7 @@ public class MessagesReSenderTest {
         reSender.resend(ENDPOINT_ID);
 
         verify(sessionRegistry).get(ENDPOINT_ID);
-        verify(session, never()).getAsyncRemote();
-        verify(endpoint, never()).sendText(MESSAGE);
+        verify(sender, never()).send(eq(session), eq(MESSAGE), any());
     }
 
     @Test
@@ -82,14 +98,12 @@ public class MessagesReSenderTest {
         when(session.isOpen()).thenReturn(false);
         reSender.resend(ENDPOINT_ID);
 
-        verify(session, never()).getAsyncRemote();
-        verify(endpoint, never()).sendText(MESSAGE);
+        verify(sender, never()).send(eq(session), eq(MESSAGE), any());
 
         when(session.isOpen()).thenReturn(true);
         reSender.resend(ENDPOINT_ID);
 
-        verify(session).getAsyncRemote();
-        verify(endpoint).sendText(MESSAGE);
+        verify(sender).send(eq(session), eq(MESSAGE), any());
     }
 
     @Test
@@ -99,8 +113,7 @@ public class MessagesReSenderTest {
         reSender.resend(ENDPOINT_ID);
 
         verify(sessionRegistry).get(ENDPOINT_ID);
-        verify(session).getAsyncRemote();
-        verify(endpoint).sendText(MESSAGE);
+        verify(sender).send(eq(session), eq(MESSAGE), any());
     }
 
     @Test
@@ -113,8 +126,7 @@ public class MessagesReSenderTest {
 
         verify(sessionRegistry).get(ENDPOINT_ID);
         verify(sessionRegistry).get("1");
-        verify(session, times(2)).getAsyncRemote();
-        verify(endpoint, times(2)).sendText(MESSAGE);
+        verify(sender, times(2)).send(eq(session), eq(MESSAGE), any());
     }
 
     @Test
@@ -123,13 +135,11 @@ public class MessagesReSenderTest {
 
         reSender.resend(ENDPOINT_ID);
         verify(sessionRegistry).get(ENDPOINT_ID);
-        verify(session).getAsyncRemote();
-        verify(endpoint).sendText(MESSAGE);
+        verify(sender).send(eq(session), eq(MESSAGE), any());
 
         reSender.resend(ENDPOINT_ID);
         verify(sessionRegistry).get(ENDPOINT_ID);
-        verify(session).getAsyncRemote();
-        verify(endpoint).sendText(MESSAGE);
+        verify(sender).send(eq(session), eq(MESSAGE), any());
     }
 
     @Test
@@ -142,15 +152,165 @@ public class MessagesReSenderTest {
 
         verify(sessionRegistry).get(ENDPOINT_ID);
         verify(sessionRegistry).get("1");
-        verify(session, times(2)).getAsyncRemote();
-        verify(endpoint, times(2)).sendText(MESSAGE);
+        verify(sender, times(2)).send(eq(session), eq(MESSAGE), any());
 
         reSender.resend(ENDPOINT_ID);
         reSender.resend("1");
 
         verify(sessionRegistry).get(ENDPOINT_ID);
         verify(sessionRegistry).get("1");
-        verify(session, times(2)).getAsyncRemote();
-        verify(endpoint, times(2)).sendText(MESSAGE);
+        verify(sender, times(2)).send(eq(session), eq(MESSAGE), any());
+    }
+
+    @Test
+    public void shouldResendMessagesInOrderTheyWereAdded() {
+        reSender.add(ENDPOINT_ID, "1");
+        reSender.add(ENDPOINT_ID, "2");
+        reSender.add(ENDPOINT_ID, "3");
+
+        reSender.resend(ENDPOINT_ID);
+
+        final InOrder inOrder = inOrder(sender);
+        inOrder.verify(sender).send(eq(session), eq("1"), any());
+        inOrder.verify(sender).send(eq(session), eq("2"), any());
+        inOrder.verify(sender).send(eq(session), eq("3"), any());
+    }
+
+    @Test
+    public void shouldDropNewMessagesWhenKeepingOldest() {
+        reSender = new MessagesReSender(sessionRegistry, sender, 2, Long.MAX_VALUE, Long.MAX_VALUE, KEEP_OLDEST);
+        reSender.add(ENDPOINT_ID, "1");
+        reSender.add(ENDPOINT_ID, "2");
+        reSender.add(ENDPOINT_ID, "3");
+
+        reSender.resend(ENDPOINT_ID);
+
+        verify(sender).send(eq(session), eq("1"), any());
+        verify(sender).send(eq(session), eq("2"), any());
+        verify(sender, never()).send(eq(session), eq("3"), any());
+    }
+
+    @Test
+    public void shouldDropOldestMessagesWhenKeepingNewest() {
+        reSender = new MessagesReSender(sessionRegistry, sender, 2, Long.MAX_VALUE, Long.MAX_VALUE, KEEP_NEWEST);
+        reSender.add(ENDPOINT_ID, "1");
+        reSender.add(ENDPOINT_ID, "2");
+        reSender.add(ENDPOINT_ID, "3");
+
+        reSender.resend(ENDPOINT_ID);
+
+        verify(sender, never()).send(eq(session), eq("1"), any());
+        verify(sender).send(eq(session), eq("2"), any());
+        verify(sender).send(eq(session), eq("3"), any());
+    }
+
+    @Test
+    public void shouldLimitTotalSizeOfPendingMessages() {
+        reSender = new MessagesReSender(sessionRegistry, sender, 100, 4 * MESSAGE.length(), Long.MAX_VALUE, KEEP_OLDEST);
+        reSender.add(ENDPOINT_ID, MESSAGE);
+        reSender.add("1", MESSAGE);
+        reSender.add("2", MESSAGE);
+
+        assertEquals(reSender.getPendingBytes(), 4 * MESSAGE.length());
+
+        reSender.resend("2");
+
+        verify(sender, never()).send(eq(session), eq(MESSAGE), any());
+    }
+
+    @Test
+    public void shouldNotResendExpiredMessages() throws Exception {
+        reSender = new MessagesReSender(sessionRegistry, sender, 100, Long.MAX_VALUE, 1, KEEP_OLDEST);
+        reSender.add(ENDPOINT_ID, MESSAGE);
+
+        Thread.sleep(10);
+        reSender.resend(ENDPOINT_ID);
+
+        verify(sender, never()).send(eq(session), eq(MESSAGE), any());
+        assertEquals(reSender.getPendingBytes(), 0);
+    }
+
+    @Test
+    public void shouldForgetEndpointWhenAllMessagesAreSent() {
+        reSender.add(ENDPOINT_ID, MESSAGE);
+        assertTrue(reSender.hasPending(ENDPOINT_ID));
+
+        reSender.resend(ENDPOINT_ID);
+
+        assertFalse(reSender.hasPending(ENDPOINT_ID));
+    }
+
+    @Test
+    public void shouldApplyConfiguredOverflowPolicy() {
+        reSender = new MessagesReSender(sessionRegistry, sender, 1, Long.MAX_VALUE, Long.MAX_VALUE, KEEP_OLDEST);
+        reSender.setOverflowPolicy("KEEP_NEWEST");
+        reSender.add(ENDPOINT_ID, "1");
+        reSender.add(ENDPOINT_ID, "2");
+
+        reSender.resend(ENDPOINT_ID);
+
+        verify(sender, never()).send(eq(session), eq("1"), any());
+        verify(sender).send(eq(session), eq("2"), any());
+    }
+
+    @Test
+    public void shouldKeepMessageUntilItIsSent() {
+        collectCallbacks();
+        reSender.add(ENDPOINT_ID, "1");
+        reSender.add(ENDPOINT_ID, "2");
+
+        reSender.resend(ENDPOINT_ID);
+        reSender.resend(ENDPOINT_ID);
+
+        verify(sender).send(eq(session), eq("1"), any());
+        verify(sender, never()).send(eq(session), eq("2"), any());
+        assertTrue(reSender.hasPending(ENDPOINT_ID));
+
+        callbacks.get(0).onResult(true);
+        verify(sender).send(eq(session), eq("2"), any());
+        callbacks.get(1).onResult(true);
+
+        assertFalse(reSender.hasPending(ENDPOINT_ID));
+        assertEquals(reSender.getPendingBytes(), 0);
+    }
+
+    @Test
+    public void shouldResendMessageWhichWasNotSentBeforeSessionWasClosed() {
+        collectCallbacks();
+        reSender.add(ENDPOINT_ID, MESSAGE);
+        reSender.resend(ENDPOINT_ID);
+
+        when(session.isOpen()).thenReturn(false);
+        callbacks.get(0).onResult(false);
+        assertTrue(reSender.hasPending(ENDPOINT_ID));
+
+        Session newSession = mock(Session.class);
+        when(newSession.isOpen()).thenReturn(true);
+        when(sessionRegistry.get(ENDPOINT_ID)).thenReturn(Optional.of(newSession));
+        reSender.resend(ENDPOINT_ID);
+        callbacks.get(1).onResult(true);
+
+        verify(sender).send(eq(newSession), eq(MESSAGE), any());
+        assertFalse(reSender.hasPending(ENDPOINT_ID));
+    }
+
+    @Test
+    public void shouldResendMessagesInOrderOfSequenceNumbers() {
+        final long first = reSender.nextSequence();
+        reSender.add(ENDPOINT_ID, "2");
+        reSender.add(ENDPOINT_ID, first, "1");
+
+        reSender.resend(ENDPOINT_ID);
+
+        final InOrder inOrder = inOrder(sender);
+        inOrder.verify(sender).send(eq(session), eq("1"), any());
+        inOrder.verify(sender).send(eq(session), eq("2"), any());
+    }
+
+    private void collectCallbacks() {
+        doAnswer(invocation -> {
+            callbacks.add((SendCallback)invocation.getArguments()[2]);
+            return null;
+        }).when(sender).send(any(Session.class), anyString(), any(SendCallback.class));
     }
 }
@@ -0,0 +1,157 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.websocket.impl;
+
+import org.eclipse.che.api.core.websocket.impl.WebSocketSessionSender.SendCallback;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import javax.websocket.RemoteEndpoint;
+import javax.websocket.Session;
+
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests for {@link WebSocketSessionSender}
+ */
+@Listeners(MockitoTestNGListener.class)
+public class WebSocketSessionSenderTest {
+    private static final String MESSAGE = "message";
+
+    @Mock
+    private ExecutorService        writers;
+    @Mock
+    private Session                session;
+    @Mock
+    private RemoteEndpoint.Basic   remote;
+
+    private WebSocketSessionSender sender;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        doAnswer(invocation -> {
+            ((Runnable)invocation.getArguments()[0]).run();
+            return null;
+        }).when(writers).execute(any(Runnable.class));
+        sender = new WebSocketSessionSender(writers);
+
+        when(session.getBasicRemote()).thenReturn(remote);
+        when(session.isOpen()).thenReturn(true);
+    }
+
+    @Test
+    public void shouldSendMessagesWithWriterInOrder() throws IOException {
+        sender.send(session, "first");
+        sender.send(session, "second");
+
+        InOrder inOrder = inOrder(remote);
+        inOrder.verify(remote).sendText("first");
+        inOrder.verify(remote).sendText("second");
+        verify(writers, times(2)).execute(any(Runnable.class));
+        assertTrue(sender.getQueueDepths().isEmpty());
+    }
+
+    @Test
+    public void shouldSkipMessagesOfClosedSession() throws IOException {
+        when(session.isOpen()).thenReturn(false);
+
+        sender.send(session, MESSAGE);
+
+        verify(remote, never()).sendText(anyString());
+        assertTrue(sender.getQueueDepths().isEmpty());
+    }
+
+    @Test
+    public void shouldDropOldestMessageWhenQueueIsFull() throws IOException {
+        doAnswer(invocation -> null).when(writers).execute(any(Runnable.class));
+        when(session.getId()).thenReturn("session");
+        for (int i = 0; i < 1001; i++) {
+            sender.send(session, MESSAGE + i);
+        }
+
+        assertEquals(sender.getQueueDepths().get("session"), Integer.valueOf(1000));
+        assertEquals(sender.getDroppedMessagesCount(), 1);
+        verify(writers).execute(any(Runnable.class));
+    }
+
+    @Test
+    public void shouldScheduleWriterAgainWhenPreviousSchedulingIsRejected() throws IOException {
+        doThrow(new RejectedExecutionException()).doAnswer(invocation -> {
+            ((Runnable)invocation.getArguments()[0]).run();
+            return null;
+        }).when(writers).execute(any(Runnable.class));
+
+        sender.send(session, "first");
+        sender.send(session, "second");
+
+        InOrder inOrder = inOrder(remote);
+        inOrder.verify(remote).sendText("first");
+        inOrder.verify(remote).sendText("second");
+        verify(writers, times(2)).execute(any(Runnable.class));
+    }
+
+    @Test
+    public void shouldNotifyCallbackWhenMessageIsWritten() throws IOException {
+        SendCallback callback = mock(SendCallback.class);
+
+        sender.send(session, MESSAGE, callback);
+
+        InOrder inOrder = inOrder(remote, callback);
+        inOrder.verify(remote).sendText(MESSAGE);
+        inOrder.verify(callback).onResult(true);
+    }
+
+    @Test
+    public void shouldNotifyCallbackWhenMessageIsNotWritten() throws IOException {
+        SendCallback closedCallback = mock(SendCallback.class);
+        SendCallback failedCallback = mock(SendCallback.class);
+
+        when(session.isOpen()).thenReturn(false);
+        sender.send(session, MESSAGE, closedCallback);
+        when(session.isOpen()).thenReturn(true);
+        doThrow(new IOException()).when(remote).sendText(anyString());
+        sender.send(session, MESSAGE, failedCallback);
+
+        verify(closedCallback).onResult(false);
+        verify(failedCallback).onResult(false);
+    }
+
+    @Test
+    public void shouldNotifyCallbackOfDroppedMessage() throws IOException {
+        doAnswer(invocation -> null).when(writers).execute(any(Runnable.class));
+        SendCallback callback = mock(SendCallback.class);
+        sender.send(session, MESSAGE, callback);
+        for (int i = 0; i < 1000; i++) {
+            sender.send(session, MESSAGE + i);
+        }
+
+        verify(callback).onResult(false);
+    }
+}
@@ -24,6 +24,7 @@ import java.util.List;
 public interface CLibrary extends Library {
     int AF_UNIX     = 1; // Defined in 'sys/socket.h'
     int SOCK_STREAM = 1; // Defined in 'sys/socket.h'
+    int POLLIN      = 1; // Defined in 'poll.h'
 
     // Defined in 'unix.h', see http://man7.org/linux/man-pages/man7/unix.7.html
     class SockAddrUn extends Structure {
@@ -49,6 +50,23 @@ public interface CLibrary extends Library {
         }
     }
 
+    // Defined in 'poll.h', see http://man7.org/linux/man-pages/man2/poll.2.html
+    class PollFd extends Structure {
+        public int   fd;
+        public short events;
+        public short revents;
+
+        public PollFd(int fd, short events) {
+            this.fd = fd;
+            this.events = events;
+        }
+
+        @Override
+        protected List getFieldOrder() {
+            return Arrays.asList("fd", "events", "revents");
+        }
+    }
+
     int socket(int domain, int type, int protocol);
 
     int connect(int fd, SockAddrUn sock_addr, int addr_len);
@@ -59,6 +77,8 @@ public interface CLibrary extends Library {
 
     int close(int fd);
 
+    int poll(PollFd fds, int nfds, int timeout);
+
     String strerror(int errno);
 
     int write(int fd, byte[] buff, int count);
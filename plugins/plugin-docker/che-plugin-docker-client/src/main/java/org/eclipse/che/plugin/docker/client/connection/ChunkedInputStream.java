@@ -12,11 +12,14 @@ package org.eclipse.che.plugin.docker.client.connection;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Arrays;
 
 /**
 * @author andrew00x
 */
 public class ChunkedInputStream extends InputStream {
+    private static final byte[] LAST_CHUNK = "0\r\n\r\n".getBytes();
+
     private final InputStream input;
     private StringBuilder chunkSizeBuf;
     private int           chunkSize;
@@ -65,6 +68,25 @@ public class ChunkedInputStream extends InputStream {
         return (chunkSize - chunkPos);
     }
 
+    /**
+     * Skips the last chunk if all data chunks are read and the last chunk is received already and may be read
+     * without blocking, i.e. is buffered by input which supports {@link InputStream#mark(int)}.
+     *
+     * @return {@code true} if content is read completely
+     */
+    synchronized boolean skipReceived() throws IOException {
+        if (!eof && chunkSize == 0 && input.markSupported() && input.available() >= LAST_CHUNK.length) {
+            final byte[] b = new byte[LAST_CHUNK.length];
+            input.mark(b.length);
+            if (input.read(b, 0, b.length) == b.length && Arrays.equals(b, LAST_CHUNK)) {
+                eof = true;
+            } else {
+                input.reset();
+            }
+        }
+        return eof;
+    }
+
     private int doRead(byte[] b, int off, int len) throws IOException {
         if (eof) {
             return -1;
@@ -15,19 +15,33 @@ import com.google.inject.Inject;
 import org.eclipse.che.plugin.docker.client.DockerCertificates;
 import org.eclipse.che.plugin.docker.client.DockerConnectorConfiguration;
 
+import javax.annotation.PreDestroy;
 import javax.inject.Named;
+import javax.inject.Singleton;
 import java.net.URI;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Factory for connections to docker API.
  *
  * <p>Detects connection implementation by checking docker daemon URI.
  *
+ * <p>Connections to unix socket are kept open between requests in {@link UnixSocketConnectionPool},
+ * pooling is disabled when {@value #POOL_MAX_IDLE_PROPERTY} is {@code 0}. TCP connections are kept
+ * alive by JDK HTTP client if {@value #TCP_KEEP_ALIVE_PROPERTY} is {@code true}.
+ *
  * @author Alexander Garagatyi
  */
+@Singleton
 public class DockerConnectionFactory {
     public static final String CONNECTION_TIMEOUT_MS_PROPERTY      = "che.docker.tcp_connection_timeout_ms";
     public static final String CONNECTION_READ_TIMEOUT_MS_PROPERTY = "che.docker.tcp_connection_read_timeout_ms";
+    public static final String TCP_KEEP_ALIVE_PROPERTY             = "che.docker.tcp_connection_keep_alive";
+    public static final String POOL_MAX_IDLE_PROPERTY              = "che.docker.connection_pool.max_idle";
+    public static final String POOL_MAX_USES_PROPERTY              = "che.docker.connection_pool.max_uses";
+    public static final String POOL_IDLE_TIMEOUT_MS_PROPERTY       = "che.docker.connection_pool.idle_timeout_ms";
 
     @Inject(optional = true)
     @Named(CONNECTION_TIMEOUT_MS_PROPERTY)
@@ -37,18 +51,55 @@ public class DockerConnectionFactory {
     @Named(CONNECTION_READ_TIMEOUT_MS_PROPERTY)
     private int connectionReadTimeoutMs = 60000;
 
-    private final DockerCertificates dockerCertificates;
+    // disabled by default, see https://github.com/docker/docker/issues/12845
+    @Inject(optional = true)
+    @Named(TCP_KEEP_ALIVE_PROPERTY)
+    private boolean tcpKeepAlive = false;
+
+    @Inject(optional = true)
+    @Named(POOL_MAX_IDLE_PROPERTY)
+    private int poolMaxIdle = 8;
+
+    @Inject(optional = true)
+    @Named(POOL_MAX_USES_PROPERTY)
+    private int poolMaxUses = 100;
+
+    @Inject(optional = true)
+    @Named(POOL_IDLE_TIMEOUT_MS_PROPERTY)
+    private long poolIdleTimeoutMs = 30000;
+
+    private final DockerCertificates                    dockerCertificates;
+    private final Map<String, UnixSocketConnectionPool> pools;
 
     @Inject
     public DockerConnectionFactory(DockerConnectorConfiguration connectorConfiguration) {
         this.dockerCertificates = connectorConfiguration.getDockerCertificates();
+        this.pools = new ConcurrentHashMap<>();
     }
 
     public DockerConnection openConnection(URI dockerDaemonUri) {
         if (DockerConnectorConfiguration.isUnixSocketUri(dockerDaemonUri)) {
-            return new UnixSocketConnection(dockerDaemonUri.getPath());
+            if (poolMaxIdle <= 0) {
+                return new UnixSocketConnection(dockerDaemonUri.getPath());
+            }
+            return new UnixSocketConnection(dockerDaemonUri.getPath(),
+                                            pools.computeIfAbsent(dockerDaemonUri.getPath(),
+                                                                  path -> new UnixSocketConnectionPool(path,
+                                                                                                       poolMaxIdle,
+                                                                                                       poolMaxUses,
+                                                                                                       poolIdleTimeoutMs)));
         } else {
-            return new TcpConnection(dockerDaemonUri, dockerCertificates, connectionTimeoutMs, connectionReadTimeoutMs);
+            return new TcpConnection(dockerDaemonUri, dockerCertificates, connectionTimeoutMs, connectionReadTimeoutMs, tcpKeepAlive);
         }
     }
+
+    /** Returns pools of unix socket connections by socket path, pools contain statistics of connections usage. */
+    public Map<String, UnixSocketConnectionPool> getConnectionPools() {
+        return Collections.unmodifiableMap(pools);
+    }
+
+    @PreDestroy
+    public void closeIdleConnections() {
+        pools.values().forEach(UnixSocketConnectionPool::close);
+    }
 }
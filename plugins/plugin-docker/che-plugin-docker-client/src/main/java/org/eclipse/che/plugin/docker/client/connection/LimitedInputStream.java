@@ -59,6 +59,19 @@ public class LimitedInputStream extends InputStream {
         return doRead(b, 0, len);
     }
 
+    /**
+     * Skips the rest of content if it is received already and may be read without blocking.
+     *
+     * @return {@code true} if content is read completely
+     */
+    synchronized boolean skipReceived() throws IOException {
+        final int rest = limit - pos;
+        if (rest > 0 && rest <= input.available()) {
+            pos += (int)input.skip(rest);
+        }
+        return pos >= limit;
+    }
+
     private int doRead(byte[] b, int off, int len) throws IOException {
         if (pos >= limit) {
             return -1;
@@ -17,6 +17,7 @@ import org.eclipse.che.plugin.docker.client.DockerCertificates;
 
 import javax.net.ssl.HttpsURLConnection;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
 import java.net.HttpURLConnection;
 import java.net.URI;
@@ -32,10 +33,25 @@ public class TcpConnection extends DockerConnection {
     private final DockerCertificates certificates;
     private final int                connectionTimeout;
     private final int                readTimeout;
+    private final boolean            keepAlive;
 
     private HttpURLConnection connection;
+    private boolean           requestSent;
 
     public TcpConnection(URI baseUri, DockerCertificates certificates, int connectionTimeoutMs, int readTimeoutMs) {
+        this(baseUri, certificates, connectionTimeoutMs, readTimeoutMs, false);
+    }
+
+    /**
+     * @param keepAlive
+     *         if {@code true} then connection is not closed after response is read and may be reused by JDK HTTP client
+     *         for the next request to the same docker daemon
+     */
+    public TcpConnection(URI baseUri,
+                         DockerCertificates certificates,
+                         int connectionTimeoutMs,
+                         int readTimeoutMs,
+                         boolean keepAlive) {
         if ("https".equals(baseUri.getScheme())) {
             if (certificates == null) {
                 throw new IllegalArgumentException("Certificates are required for https connection.");
@@ -47,6 +63,7 @@ public class TcpConnection extends DockerConnection {
         this.certificates = certificates;
         this.connectionTimeout = connectionTimeoutMs;
         this.readTimeout = readTimeoutMs;
+        this.keepAlive = keepAlive;
     }
 
     @Override
@@ -62,8 +79,10 @@ public class TcpConnection extends DockerConnection {
             ((HttpsURLConnection)connection).setSSLSocketFactory(certificates.getSslContext().getSocketFactory());
         }
         connection.setRequestMethod(method);
-        // needed to fix bug https://github.com/docker/docker/issues/12845
-        connection.setRequestProperty("Connection", "close");
+        if (!keepAlive) {
+            // needed to fix bug https://github.com/docker/docker/issues/12845
+            connection.setRequestProperty("Connection", "close");
+        }
         for (Pair<String, ?> header : headers) {
             connection.setRequestProperty(header.first, String.valueOf(header.second));
         }
@@ -79,13 +98,27 @@ public class TcpConnection extends DockerConnection {
                 entity.writeTo(output);
             }
         }
+        requestSent = true;
         return new TcpDockerResponse(connection);
     }
 
     @Override
     public void close() {
-        if (connection != null) {
-            connection.disconnect();
+        if (connection == null) {
+            return;
+        }
+        if (keepAlive && requestSent) {
+            // closing of response stream returns connection to the JDK keep-alive cache
+            try {
+                InputStream response = connection.getErrorStream();
+                if (response == null) {
+                    response = connection.getInputStream();
+                }
+                response.close();
+                return;
+            } catch (IOException ignored) {
+            }
         }
+        connection.disconnect();
     }
 }
@@ -13,7 +13,7 @@ package org.eclipse.che.plugin.docker.client.connection;
 import com.google.common.base.Strings;
 
 import org.eclipse.che.commons.lang.Pair;
-import org.eclipse.che.plugin.docker.client.CLibrary;
+import org.eclipse.che.plugin.docker.client.connection.UnixSocketConnectionPool.PooledSocket;
 
 import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
@@ -22,59 +22,88 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.Writer;
-import java.net.ConnectException;
 import java.util.List;
 
-import static org.eclipse.che.plugin.docker.client.CLibrary.AF_UNIX;
-import static org.eclipse.che.plugin.docker.client.CLibrary.SOCK_STREAM;
-import static org.eclipse.che.plugin.docker.client.CLibrary.SockAddrUn;
 import static org.eclipse.che.plugin.docker.client.CLibraryFactory.getCLibrary;
 
 /**
+ * Connection to docker unix socket. If {@link UnixSocketConnectionPool} is provided then socket is taken from the pool
+ * and returned to it on close, otherwise new socket is opened for request and closed on close.
+ *
  * @author andrew00x
  * @author Alexander Garagatyi
  */
 public class UnixSocketConnection extends DockerConnection {
-    private final String dockerSocketPath;
+    private final String                   dockerSocketPath;
+    private final UnixSocketConnectionPool pool;
 
-    private int fd = -1;
+    private int                      fd = -1;
+    private PooledSocket             pooledSocket;
+    private UnixSocketDockerResponse response;
 
     public UnixSocketConnection(String dockerSocketPath) {
+        this(dockerSocketPath, null);
+    }
+
+    public UnixSocketConnection(String dockerSocketPath, UnixSocketConnectionPool pool) {
         this.dockerSocketPath = dockerSocketPath;
+        this.pool = pool;
     }
 
     @Override
     protected DockerResponse request(String method, String path, String query, List<Pair<String, ?>> headers, Entity<?> entity)
             throws IOException {
-        fd = connect();
-        final OutputStream output = new BufferedOutputStream(openOutputStream(fd));
-        writeHttpHeaders(output, method, path, query, headers);
-        if (entity != null) {
-            entity.writeTo(output);
+        if (pool == null) {
+            fd = UnixSocketConnectionPool.connect(dockerSocketPath);
+            return send(method, path, query, headers, entity);
+        }
+        pooledSocket = pool.acquire();
+        fd = pooledSocket.fd;
+        if (pooledSocket.uses > 1) {
+            // docker may close idle connection after it is checked by the pool,
+            // the request is sent again over a new connection if it is safe to do
+            try {
+                final DockerResponse reused = send(method, path, query, headers, entity);
+                if (!isIdempotent(method) || response.awaitResponse()) {
+                    return reused;
+                }
+            } catch (HeadersNotSentException e) {
+                // connection is closed by docker, entity is not written yet
+            }
+            pool.release(pooledSocket, false);
+            pooledSocket = pool.open();
+            fd = pooledSocket.fd;
         }
-        return new UnixSocketDockerResponse(new BufferedInputStream(openInputStream(fd)));
+        return send(method, path, query, headers, entity);
     }
 
-
     @Override
     public void close() {
-        if (fd != -1) {
+        if (pooledSocket != null) {
+            pool.release(pooledSocket, response != null && response.skipReceived());
+            pooledSocket = null;
+        } else if (fd != -1) {
             getCLibrary().close(fd);
         }
+        fd = -1;
     }
 
-    private int connect() throws IOException {
-        final CLibrary cLib = getCLibrary();
-        int fd = cLib.socket(AF_UNIX, SOCK_STREAM, 0);
-        if (fd == -1) {
-            throw new ConnectException(String.format("Unable connect to unix socket: '%s'", dockerSocketPath));
+    private DockerResponse send(String method, String path, String query, List<Pair<String, ?>> headers, Entity<?> entity)
+            throws IOException {
+        final OutputStream output = new BufferedOutputStream(openOutputStream(fd));
+        try {
+            writeHttpHeaders(output, method, path, query, headers);
+        } catch (IOException e) {
+            throw new HeadersNotSentException(e);
         }
-        final SockAddrUn sockAddr = new SockAddrUn(dockerSocketPath);
-        int c = cLib.connect(fd, sockAddr, sockAddr.size());
-        if (c == -1) {
-            throw new ConnectException(String.format("Unable connect to unix socket: '%s'", dockerSocketPath));
+        if (entity != null) {
+            entity.writeTo(output);
         }
-        return fd;
+        return response = new UnixSocketDockerResponse(new BufferedInputStream(openInputStream(fd)));
+    }
+
+    private static boolean isIdempotent(String method) {
+        return "GET".equals(method) || "HEAD".equals(method);
     }
 
     private void writeHttpHeaders(OutputStream output, String method, String path, String query, List<Pair<String, ?>> headers)
@@ -106,4 +135,10 @@ public class UnixSocketConnection extends DockerConnection {
     private OutputStream openOutputStream(int fd) {
         return new UnixSocketOutputStream(fd);
     }
+
+    private static class HeadersNotSentException extends IOException {
+        HeadersNotSentException(IOException cause) {
+            super(cause);
+        }
+    }
 }
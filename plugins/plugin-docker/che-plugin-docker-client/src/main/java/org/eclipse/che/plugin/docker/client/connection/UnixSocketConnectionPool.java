@@ -0,0 +1,183 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.client.connection;
+
+import org.eclipse.che.plugin.docker.client.CLibrary;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.util.ArrayDeque;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.eclipse.che.plugin.docker.client.CLibrary.AF_UNIX;
+import static org.eclipse.che.plugin.docker.client.CLibrary.POLLIN;
+import static org.eclipse.che.plugin.docker.client.CLibrary.PollFd;
+import static org.eclipse.che.plugin.docker.client.CLibrary.SOCK_STREAM;
+import static org.eclipse.che.plugin.docker.client.CLibrary.SockAddrUn;
+import static org.eclipse.che.plugin.docker.client.CLibraryFactory.getCLibrary;
+
+/**
+ * Keeps connections to docker unix socket open between requests, so HTTP keep-alive is used instead of connecting
+ * to the socket for each request.
+ *
+ * <p>Connection is returned to the pool only if response was read completely. Connection is closed when it was used
+ * {@code maxUses} times, when it was idle longer than {@code idleTimeoutMs} or when it was closed by docker.
+ */
+public class UnixSocketConnectionPool {
+    private final String                   socketPath;
+    private final int                      maxIdle;
+    private final int                      maxUses;
+    private final long                     idleTimeoutMs;
+    private final ArrayDeque<PooledSocket> idle;
+    private final AtomicLong               opened;
+    private final AtomicLong               reused;
+    private final AtomicLong               closed;
+
+    public UnixSocketConnectionPool(String socketPath, int maxIdle, int maxUses, long idleTimeoutMs) {
+        this.socketPath = socketPath;
+        this.maxIdle = maxIdle;
+        this.maxUses = maxUses;
+        this.idleTimeoutMs = idleTimeoutMs;
+        this.idle = new ArrayDeque<>();
+        this.opened = new AtomicLong();
+        this.reused = new AtomicLong();
+        this.closed = new AtomicLong();
+    }
+
+    /** Returns idle connection to the socket or opens a new one. */
+    PooledSocket acquire() throws IOException {
+        final long now = System.currentTimeMillis();
+        PooledSocket socket;
+        while ((socket = pollIdle()) != null) {
+            if (now - socket.releasedAt < idleTimeoutMs && isAlive(socket.fd)) {
+                socket.uses++;
+                reused.incrementAndGet();
+                return socket;
+            }
+            close(socket);
+        }
+        return open();
+    }
+
+    /** Opens a new connection to the socket, it is returned to the pool on release as any other connection. */
+    PooledSocket open() throws IOException {
+        final PooledSocket socket = new PooledSocket(connect(socketPath));
+        opened.incrementAndGet();
+        return socket;
+    }
+
+    /**
+     * Returns connection to the pool or closes it.
+     *
+     * @param reusable
+     *         whether response was read completely and connection may be used for the next request
+     */
+    void release(PooledSocket socket, boolean reusable) {
+        if (reusable && socket.uses < maxUses) {
+            socket.releasedAt = System.currentTimeMillis();
+            synchronized (idle) {
+                if (idle.size() < maxIdle) {
+                    // most recently used connections are reused first, so the rest expire
+                    idle.addFirst(socket);
+                    return;
+                }
+            }
+        }
+        close(socket);
+    }
+
+    /** Closes all idle connections. */
+    public void close() {
+        PooledSocket socket;
+        while ((socket = pollIdle()) != null) {
+            close(socket);
+        }
+    }
+
+    /** Returns number of connections opened since pool creation. */
+    public long getOpenedConnections() {
+        return opened.get();
+    }
+
+    /** Returns number of requests which were sent over already open connection. */
+    public long getReusedConnections() {
+        return reused.get();
+    }
+
+    /** Returns number of connections closed since pool creation. */
+    public long getClosedConnections() {
+        return closed.get();
+    }
+
+    /** Returns number of connections which are open and not used at the moment. */
+    public int getIdleConnections() {
+        synchronized (idle) {
+            return idle.size();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "UnixSocketConnectionPool{" +
+               "socketPath='" + socketPath + '\'' +
+               ", opened=" + opened +
+               ", reused=" + reused +
+               ", closed=" + closed +
+               ", idle=" + getIdleConnections() +
+               '}';
+    }
+
+    static int connect(String socketPath) throws IOException {
+        final CLibrary cLib = getCLibrary();
+        int fd = cLib.socket(AF_UNIX, SOCK_STREAM, 0);
+        if (fd == -1) {
+            throw new ConnectException(String.format("Unable connect to unix socket: '%s'", socketPath));
+        }
+        final SockAddrUn sockAddr = new SockAddrUn(socketPath);
+        int c = cLib.connect(fd, sockAddr, sockAddr.size());
+        if (c == -1) {
+            cLib.close(fd);
+            throw new ConnectException(String.format("Unable connect to unix socket: '%s'", socketPath));
+        }
+        return fd;
+    }
+
+    private PooledSocket pollIdle() {
+        synchronized (idle) {
+            return idle.pollFirst();
+        }
+    }
+
+    private void close(PooledSocket socket) {
+        getCLibrary().close(socket.fd);
+        closed.incrementAndGet();
+    }
+
+    /**
+     * Checks without blocking that docker didn't close connection and didn't send anything what is not expected.
+     * Idle connection has no events, closed connection is readable (end of stream) or hung up.
+     */
+    private static boolean isAlive(int fd) {
+        return getCLibrary().poll(new PollFd(fd, (short)POLLIN), 1, 0) == 0;
+    }
+
+    static class PooledSocket {
+        final int fd;
+
+        int  uses;
+        long releasedAt;
+
+        PooledSocket(int fd) {
+            this.fd = fd;
+            this.uses = 1;
+        }
+    }
+}
@@ -143,8 +143,9 @@ public class UnixSocketDockerResponse implements DockerResponse {
             }
         }
         this.headersFields = headerFields.toArray(new String[headerFields.size()]);
+        final int status = getStatus();
         final int contentLength = getContentLength();
-        if (contentLength == 0) {
+        if (contentLength == 0 || status == 204 || status == 304) {
             return data = EMPTY;
         }
         if (contentLength > 0) {
@@ -152,4 +153,55 @@ public class UnixSocketDockerResponse implements DockerResponse {
         }
         return data = "chunked".equals(getHeader("Transfer-Encoding")) ? new ChunkedInputStream(rawData) : rawData;
     }
+
+    /**
+     * Waits for the first byte of response without consuming it.
+     *
+     * @return {@code false} if docker closed connection without sending response, {@code true} otherwise
+     */
+    synchronized boolean awaitResponse() {
+        if (headersFields != null) {
+            return true;
+        }
+        try {
+            rawData.mark(1);
+            if (rawData.read() == -1) {
+                return false;
+            }
+            rawData.reset();
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Skips the rest of response body if it is received already. This method never waits for docker, so it may be
+     * used on close of connection whose response is still streamed, e.g. events or logs.
+     *
+     * @return {@code true} if response is read completely and connection may be used for the next request,
+     * {@code false} if response is not read yet, if the rest of response is not received yet, if length of
+     * response is not known or if docker is going to close connection or to switch protocol
+     */
+    synchronized boolean skipReceived() {
+        if (headersFields == null) {
+            return false;
+        }
+        try {
+            if (getStatus() == 101 || "close".equalsIgnoreCase(getHeader("Connection"))) {
+                return false;
+            }
+            if (data == EMPTY) {
+                return true;
+            }
+            if (data instanceof LimitedInputStream) {
+                return ((LimitedInputStream)data).skipReceived();
+            }
+            if (data instanceof ChunkedInputStream) {
+                return ((ChunkedInputStream)data).skipReceived();
+            }
+        } catch (IOException ignored) {
+        }
+        return false;
+    }
 }
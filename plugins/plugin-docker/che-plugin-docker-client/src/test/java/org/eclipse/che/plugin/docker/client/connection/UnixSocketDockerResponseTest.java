@@ -0,0 +1,150 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.client.connection;
+
+import com.google.common.io.ByteStreams;
+
+import org.testng.annotations.Test;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests for {@link UnixSocketDockerResponse}
+ */
+public class UnixSocketDockerResponseTest {
+    private static final String NEXT_RESPONSE = "HTTP/1.1 200 OK\r\nContent-Length: 2\r\n\r\n{}";
+
+    @Test
+    public void shouldBeReusableWhenReceivedRestOfResponseWithContentLengthIsSkipped() throws Exception {
+        final InputStream input = stream("HTTP/1.1 200 OK\r\nContent-Length: 3\r\n\r\n{}\n" + NEXT_RESPONSE);
+        final UnixSocketDockerResponse response = new UnixSocketDockerResponse(input);
+        assertEquals(response.getInputStream().read(new byte[2]), 2);
+
+        assertTrue(response.skipReceived());
+        assertNextResponseIsNotConsumed(input);
+    }
+
+    @Test
+    public void shouldBeReusableWhenReceivedLastChunkIsSkipped() throws Exception {
+        final InputStream input = stream("HTTP/1.1 200 OK\r\nTransfer-Encoding: chunked\r\n\r\n" +
+                                         "3\r\n{}\n\r\n" +
+                                         "0\r\n\r\n" +
+                                         NEXT_RESPONSE);
+        final UnixSocketDockerResponse response = new UnixSocketDockerResponse(input);
+        assertEquals(response.getInputStream().read(new byte[3]), 3);
+
+        assertTrue(response.skipReceived());
+        assertNextResponseIsNotConsumed(input);
+    }
+
+    @Test
+    public void shouldBeReusableWhenResponseHasNoContent() throws Exception {
+        final InputStream input = stream("HTTP/1.1 204 No Content\r\n\r\n" + NEXT_RESPONSE);
+        final UnixSocketDockerResponse response = new UnixSocketDockerResponse(input);
+        assertEquals(response.getStatus(), 204);
+
+        assertTrue(response.skipReceived());
+        assertNextResponseIsNotConsumed(input);
+    }
+
+    @Test
+    public void shouldNotBeReusableWhenResponseIsNotRead() throws Exception {
+        final UnixSocketDockerResponse response = new UnixSocketDockerResponse(stream(NEXT_RESPONSE));
+
+        assertFalse(response.skipReceived());
+    }
+
+    @Test
+    public void shouldNotSkipChunksWhichAreNotRead() throws Exception {
+        final InputStream input = stream("HTTP/1.1 200 OK\r\nTransfer-Encoding: chunked\r\n\r\n" +
+                                         "6\r\nevent\n\r\n");
+        final UnixSocketDockerResponse response = new UnixSocketDockerResponse(input);
+        assertEquals(response.getStatus(), 200);
+
+        assertFalse(response.skipReceived());
+        assertEquals(new String(ByteStreams.toByteArray(input), UTF_8), "6\r\nevent\n\r\n");
+    }
+
+    @Test
+    public void shouldNotWaitForRestOfResponseWhichIsNotReceived() throws Exception {
+        final InputStream input = new BufferedInputStream(new InputStream() {
+            private final InputStream received = stream("HTTP/1.1 200 OK\r\nContent-Length: 10\r\n\r\n01234");
+
+            @Override
+            public int read() throws IOException {
+                final int b = received.read();
+                if (b == -1) {
+                    throw new AssertionError("Response which is not received is read");
+                }
+                return b;
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                final int n = received.read(b, off, len);
+                if (n == -1) {
+                    throw new AssertionError("Response which is not received is read");
+                }
+                return n;
+            }
+        });
+        final UnixSocketDockerResponse response = new UnixSocketDockerResponse(input);
+        assertEquals(response.getInputStream().read(new byte[5]), 5);
+
+        assertFalse(response.skipReceived());
+    }
+
+    @Test
+    public void shouldNotBeReusableWhenLengthOfResponseIsUnknown() throws Exception {
+        final UnixSocketDockerResponse response = new UnixSocketDockerResponse(stream("HTTP/1.1 200 OK\r\n\r\nlogs"));
+        assertEquals(response.getStatus(), 200);
+
+        assertFalse(response.skipReceived());
+    }
+
+    @Test
+    public void shouldNotBeReusableWhenDockerClosesConnection() throws Exception {
+        final UnixSocketDockerResponse response =
+                new UnixSocketDockerResponse(stream("HTTP/1.1 200 OK\r\nConnection: close\r\nContent-Length: 2\r\n\r\n{}"));
+        assertEquals(response.getStatus(), 200);
+
+        assertFalse(response.skipReceived());
+    }
+
+    @Test
+    public void shouldNotAwaitResponseWhenConnectionIsClosedByDocker() throws Exception {
+        assertFalse(new UnixSocketDockerResponse(stream("")).awaitResponse());
+    }
+
+    @Test
+    public void shouldNotConsumeResponseWhenAwaitingIt() throws Exception {
+        final UnixSocketDockerResponse response = new UnixSocketDockerResponse(stream(NEXT_RESPONSE));
+
+        assertTrue(response.awaitResponse());
+        assertEquals(response.getStatus(), 200);
+    }
+
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(UTF_8));
+    }
+
+    private static void assertNextResponseIsNotConsumed(InputStream input) throws Exception {
+        assertEquals(new String(ByteStreams.toByteArray(input), UTF_8), NEXT_RESPONSE);
+    }
+}
@@ -192,6 +192,7 @@ public class ResourcesPlugin {
      */
     private static Workspace workspace = null;
     private static String          indexPath;
+    private static String          sharedIndexPath;
     private static String          workspacePath;
     private static String          pluginId;
 
@@ -213,6 +214,18 @@ public class ResourcesPlugin {
         return indexPath;
     }
 
+    /**
+     * Sets directory of library indexes shared between workspaces, empty value disables sharing of indexes.
+     */
+    @Inject(optional = true)
+    public void setSharedIndexPath(@Named("che.jdt.shared_index.dir") String sharedIndexPath) {
+        ResourcesPlugin.sharedIndexPath = sharedIndexPath;
+    }
+
+    public static String getSharedIndexPath() {
+        return sharedIndexPath;
+    }
+
     public static String getPluginId() {
         return pluginId;
     }
@@ -53,52 +53,55 @@ public class JavaReconciler {
     }
 
     public ReconcileResult reconcile(IJavaProject javaProject, String fqn) throws JavaModelException {
-        final ProblemRequestor requestor = new ProblemRequestor();
-        WorkingCopyOwner wcOwner = new WorkingCopyOwner() {
-            public IProblemRequestor getProblemRequestor(ICompilationUnit unit) {
-                return requestor;
-            }
-
-            @Override
-            public IBuffer createBuffer(ICompilationUnit workingCopy) {
-//                return BufferManager.createBuffer(workingCopy);
-//                ?????
-                return new org.eclipse.jdt.internal.ui.javaeditor.DocumentAdapter(workingCopy, (IFile)workingCopy.getResource());
-            }
-        };
-        List<HighlightedPosition> positions = null;
         ICompilationUnit compilationUnit = null;
         try {
-            IType type = javaProject.findType(fqn);
-            if (type == null) {
+            compilationUnit = getWorkingCopy(javaProject, fqn);
+            if (compilationUnit == null) {
                 return null;
             }
-            if (type.isBinary()) {
-                throw new IllegalArgumentException("Can't reconcile binary type: " + fqn);
-            } else {
-                compilationUnit = type.getCompilationUnit().getWorkingCopy(wcOwner, null);
-            }
-            requestor.reset();
-            CompilationUnit unit = compilationUnit.reconcile(AST.JLS8, true, wcOwner, null);
-            positions = semanticHighlighting.reconcileSemanticHighlight(unit);
-            if (compilationUnit instanceof ClassFileWorkingCopy) {
-                //we don't wont to show any errors from ".class" files
-                requestor.reset();
-            }
-
+            return reconcile(compilationUnit);
         } catch (JavaModelException e) {
             LOG.error("Can't reconcile class: " + fqn + " in project:" + javaProject.getPath().toOSString(), e);
             throw e;
         } finally {
-            if(compilationUnit!= null && compilationUnit.isWorkingCopy()){
-                try {
-                    //todo close buffer
-                    compilationUnit.getBuffer().close();
-                    compilationUnit.discardWorkingCopy();
-                } catch (JavaModelException e) {
-                    //ignore
-                }
-            }
+            discardWorkingCopy(compilationUnit);
+        }
+    }
+
+    /**
+     * Creates working copy of the compilation unit which contains given type. Working copy keeps its content in memory,
+     * so it may be changed through its buffer and reconciled many times with {@link #reconcile(ICompilationUnit)}.
+     * Working copy must be discarded with {@link #discardWorkingCopy(ICompilationUnit)} when it isn't needed anymore.
+     *
+     * @return working copy or {@code null} if type isn't found
+     */
+    public ICompilationUnit getWorkingCopy(IJavaProject javaProject, String fqn) throws JavaModelException {
+        IType type = javaProject.findType(fqn);
+        if (type == null) {
+            return null;
+        }
+        if (type.isBinary()) {
+            throw new IllegalArgumentException("Can't reconcile binary type: " + fqn);
+        }
+        return type.getCompilationUnit().getWorkingCopy(new ReconcileWorkingCopyOwner(), null);
+    }
+
+    /**
+     * Reconciles current content of the working copy created by {@link #getWorkingCopy(IJavaProject, String)}.
+     */
+    public ReconcileResult reconcile(ICompilationUnit workingCopy) throws JavaModelException {
+        if (!(workingCopy.getOwner() instanceof ReconcileWorkingCopyOwner)) {
+            throw new IllegalArgumentException("Working copy isn't created by reconciler: " + workingCopy.getElementName());
+        }
+        final ReconcileWorkingCopyOwner wcOwner = (ReconcileWorkingCopyOwner)workingCopy.getOwner();
+        final ProblemRequestor requestor = wcOwner.requestor;
+
+        requestor.reset();
+        CompilationUnit unit = workingCopy.reconcile(AST.JLS8, true, wcOwner, null);
+        List<HighlightedPosition> positions = semanticHighlighting.reconcileSemanticHighlight(unit);
+        if (workingCopy instanceof ClassFileWorkingCopy) {
+            //we don't wont to show any errors from ".class" files
+            requestor.reset();
         }
 
         ReconcileResult result = DtoFactory.getInstance().createDto(ReconcileResult.class);
@@ -107,6 +110,19 @@ public class JavaReconciler {
         return result;
     }
 
+    /** Discards working copy created by {@link #getWorkingCopy(IJavaProject, String)}. */
+    public void discardWorkingCopy(ICompilationUnit workingCopy) {
+        if (workingCopy != null && workingCopy.isWorkingCopy()) {
+            try {
+                //todo close buffer
+                workingCopy.getBuffer().close();
+                workingCopy.discardWorkingCopy();
+            } catch (JavaModelException e) {
+                //ignore
+            }
+        }
+    }
+
     private List<Problem> convertProblems(List<IProblem> problems) {
         List<Problem> result = new ArrayList<>(problems.size());
         for (IProblem problem : problems) {
@@ -131,6 +147,23 @@ public class JavaReconciler {
         return result;
     }
 
+    private static class ReconcileWorkingCopyOwner extends WorkingCopyOwner {
+
+        private final ProblemRequestor requestor = new ProblemRequestor();
+
+        @Override
+        public IProblemRequestor getProblemRequestor(ICompilationUnit unit) {
+            return requestor;
+        }
+
+        @Override
+        public IBuffer createBuffer(ICompilationUnit workingCopy) {
+//                return BufferManager.createBuffer(workingCopy);
+//                ?????
+            return new org.eclipse.jdt.internal.ui.javaeditor.DocumentAdapter(workingCopy, (IFile)workingCopy.getResource());
+        }
+    }
+
     private static class ProblemRequestor implements IProblemRequestor {
 
         private List<IProblem> problems = new ArrayList<>();
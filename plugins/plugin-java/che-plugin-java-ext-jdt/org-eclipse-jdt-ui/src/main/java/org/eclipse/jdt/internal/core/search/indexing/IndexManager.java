@@ -91,9 +91,18 @@ public class IndexManager extends JobManager implements IIndexConstants {
     private SimpleLookupTable participantsContainers = null;
     private boolean           participantUpdated     = false;
     private String indexLocation;
+    // indexes of library jars shared between workspaces, null if sharing is disabled
+    private final SharedIndexStore sharedIndexStore;
 
     public IndexManager(String indexLocation) {
+        this(indexLocation, null);
+    }
+
+    public IndexManager(String indexLocation, String sharedIndexLocation) {
         this.indexLocation = indexLocation;
+        this.sharedIndexStore = sharedIndexLocation == null || sharedIndexLocation.isEmpty()
+                                ? null
+                                : new SharedIndexStore(new File(sharedIndexLocation), DiskIndex.SIGNATURE);
         indexNamesMapFile = new File(getSavedIndexesDirectory(), "indexNamesMap.txt");
         savedIndexNamesFile = new File(getSavedIndexesDirectory(), "savedIndexNames.txt");
         participantIndexNamesFile = new File(getSavedIndexesDirectory(), "participantsIndexNames.txt");
@@ -617,7 +626,11 @@ public class IndexManager extends JobManager implements IIndexConstants {
 //		request = new AddJarFileToIndex((IFile) target, indexFile, this, forceIndexUpdate);
 //	} else
 //        if (target instanceof File) {
-        request = new AddJarFileToIndex(path, indexFile, this, forceIndexUpdate);
+        if (indexFile == null && this.sharedIndexStore != null) {
+            request = new SharedJarFileToIndex(path, this, this.sharedIndexStore);
+        } else {
+            request = new AddJarFileToIndex(path, indexFile, this, forceIndexUpdate);
+        }
 //	} else if (target instanceof IContainer) {
 //		request = new IndexBinaryFolder((IContainer) target, this);
 //        } else {
@@ -656,6 +669,13 @@ public class IndexManager extends JobManager implements IIndexConstants {
         request(new AddFolderToIndex(sourceFolder, project, inclusionPatterns, exclusionPatterns, this));
     }
 
+    /**
+     * Returns true if the index for a given path is saved and isn't expected to be updated.
+     */
+    synchronized boolean isIndexSaved(IPath containerPath) {
+        return getIndexStates().get(computeIndexLocation(containerPath)) == SAVED_STATE;
+    }
+
     public synchronized void jobWasCancelled(IPath containerPath) {
         IndexLocation indexLocation = computeIndexLocation(containerPath);
         Index index = getIndex(indexLocation);
@@ -726,7 +746,9 @@ public class IndexManager extends JobManager implements IIndexConstants {
         } else if (target instanceof IFile) {
             request = new AddJarFileToIndex((IFile)target, null, this);
         } else if (target instanceof File) {
-            request = new AddJarFileToIndex(containerPath, null, this);
+            request = this.sharedIndexStore != null
+                      ? new SharedJarFileToIndex(containerPath, this, this.sharedIndexStore)
+                      : new AddJarFileToIndex(containerPath, null, this);
         }
         if (request != null)
             request(request);
@@ -0,0 +1,130 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.core.search.indexing;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Store of library indexes shared between workspaces. Index of a jar is kept under the hash of the jar content
+ * and of the index format, so the same jar indexed by one workspace is reused by the others wherever the jar is located.
+ * <p>
+ * Indexes of the store are never modified: index is copied to the local index directory before it is used,
+ * new index is published with atomic move of the complete file and the existing one is never replaced.
+ */
+public class SharedIndexStore {
+    private static final Logger LOG = LoggerFactory.getLogger(SharedIndexStore.class);
+
+    private static final String INDEX_EXTENSION = ".index";
+
+    private final File   directory;
+    private final String formatVersion;
+
+    /**
+     * @param directory
+     *         directory of the store
+     * @param formatVersion
+     *         version of the index format, indexes of other versions aren't visible
+     */
+    public SharedIndexStore(File directory, String formatVersion) {
+        this.directory = directory;
+        this.formatVersion = formatVersion;
+    }
+
+    /**
+     * Computes key of the jar index.
+     *
+     * @return key of the index or {@code null} if jar can't be read
+     */
+    public String computeKey(File jar) {
+        try (InputStream in = new FileInputStream(jar)) {
+            MessageDigest digest = MessageDigest.getInstance("SHA-1");
+            digest.update(formatVersion.getBytes(UTF_8));
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+            return toHex(digest.digest());
+        } catch (IOException | NoSuchAlgorithmException e) {
+            LOG.debug("Can't compute hash of " + jar, e);
+            return null;
+        }
+    }
+
+    /**
+     * Copies index with the given key to the target file.
+     *
+     * @return {@code true} if the store contains index and it is copied, {@code false} otherwise
+     */
+    public boolean fetch(String key, File target) {
+        File index = getIndexFile(key);
+        if (!index.isFile()) {
+            return false;
+        }
+        try {
+            copy(index, target);
+            return true;
+        } catch (IOException e) {
+            LOG.warn("Can't copy shared index {} to {}: {}", index, target, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Adds index to the store, does nothing if the store contains index with the same key already.
+     */
+    public void publish(String key, File index) {
+        File target = getIndexFile(key);
+        if (target.exists()) {
+            return;
+        }
+        try {
+            copy(index, target);
+        } catch (IOException e) {
+            LOG.warn("Can't publish index {} to shared store {}: {}", index, directory, e.getMessage());
+        }
+    }
+
+    private File getIndexFile(String key) {
+        return new File(directory, key + INDEX_EXTENSION);
+    }
+
+    private static void copy(File source, File target) throws IOException {
+        Files.createDirectories(target.getParentFile().toPath());
+        File tmp = File.createTempFile(target.getName(), ".tmp", target.getParentFile());
+        try {
+            Files.copy(source.toPath(), tmp.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            Files.move(tmp.toPath(), target.toPath(), StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp.toPath());
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+}
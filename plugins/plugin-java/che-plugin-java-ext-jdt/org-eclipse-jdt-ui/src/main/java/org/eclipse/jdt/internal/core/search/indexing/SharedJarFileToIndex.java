@@ -0,0 +1,56 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.core.search.indexing;
+
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.jdt.internal.core.search.processing.JobManager;
+import org.eclipse.jdt.internal.core.util.Util;
+
+import java.io.File;
+
+/**
+ * Adds jar file to the index reusing index of the same jar from {@link SharedIndexStore}.
+ * Index of the store is copied to the local index file and checked by {@link AddJarFileToIndex} as any other existing
+ * index, so the jar is indexed only if the copied index doesn't match it. Index built for the jar is published to the store.
+ */
+class SharedJarFileToIndex extends AddJarFileToIndex {
+
+    private final SharedIndexStore store;
+
+    SharedJarFileToIndex(IPath jarPath, IndexManager manager, SharedIndexStore store) {
+        super(jarPath, null, manager);
+        this.store = store;
+    }
+
+    @Override
+    public boolean execute(IProgressMonitor progressMonitor) {
+        if (this.isCancelled || progressMonitor != null && progressMonitor.isCanceled()) return true;
+
+        File jar = this.containerPath.toFile();
+        File localIndex = this.manager.computeIndexLocation(this.containerPath).getIndexFile();
+        if (localIndex == null || localIndex.exists() || !jar.isFile()) {
+            // index of the jar was built before or jar isn't on the local file system
+            return super.execute(progressMonitor);
+        }
+
+        String key = this.store.computeKey(jar);
+        if (key != null && this.store.fetch(key, localIndex)) {
+            if (JobManager.VERBOSE)
+                Util.verbose("-> reusing shared index " + key + " for " + this.containerPath); //$NON-NLS-1$ //$NON-NLS-2$
+        }
+        boolean result = super.execute(progressMonitor);
+        if (key != null && result && this.manager.isIndexSaved(this.containerPath)) {
+            this.store.publish(key, localIndex);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,87 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.core.search.indexing;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.file.Files;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+/**
+ * Tests for {@link SharedIndexStore}
+ */
+public class SharedIndexStoreTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private SharedIndexStore store;
+    private File             jar;
+
+    @Before
+    public void setUp() throws Exception {
+        store = new SharedIndexStore(new File(folder.getRoot(), "shared"), "INDEX VERSION 1");
+        jar = write(new File(folder.getRoot(), "lib/guava.jar"), "jar content");
+    }
+
+    @Test
+    public void shouldFetchPublishedIndexOfJarWithSameContent() throws Exception {
+        store.publish(store.computeKey(jar), write(new File(folder.getRoot(), "ws1/1.index"), "index"));
+        File sameJar = write(new File(folder.getRoot(), "other/guava-copy.jar"), "jar content");
+        File target = new File(folder.getRoot(), "ws2/2.index");
+
+        assertThat(store.fetch(store.computeKey(sameJar), target)).isTrue();
+        assertThat(new String(Files.readAllBytes(target.toPath()))).isEqualTo("index");
+    }
+
+    @Test
+    public void shouldNotFetchIndexOfChangedJar() throws Exception {
+        store.publish(store.computeKey(jar), write(new File(folder.getRoot(), "ws1/1.index"), "index"));
+        write(jar, "new jar content");
+
+        assertThat(store.fetch(store.computeKey(jar), new File(folder.getRoot(), "ws2/2.index"))).isFalse();
+    }
+
+    @Test
+    public void shouldNotFetchIndexOfOtherFormat() throws Exception {
+        store.publish(store.computeKey(jar), write(new File(folder.getRoot(), "ws1/1.index"), "index"));
+        SharedIndexStore newFormatStore = new SharedIndexStore(new File(folder.getRoot(), "shared"), "INDEX VERSION 2");
+
+        assertThat(newFormatStore.fetch(newFormatStore.computeKey(jar), new File(folder.getRoot(), "ws2/2.index"))).isFalse();
+    }
+
+    @Test
+    public void shouldNotReplacePublishedIndex() throws Exception {
+        String key = store.computeKey(jar);
+        store.publish(key, write(new File(folder.getRoot(), "ws1/1.index"), "first"));
+        store.publish(key, write(new File(folder.getRoot(), "ws2/2.index"), "second"));
+        File target = new File(folder.getRoot(), "ws3/3.index");
+
+        assertThat(store.fetch(key, target)).isTrue();
+        assertThat(new String(Files.readAllBytes(target.toPath()))).isEqualTo("first");
+    }
+
+    @Test
+    public void shouldNotComputeKeyOfMissingJar() throws Exception {
+        assertThat(store.computeKey(new File(folder.getRoot(), "missing.jar"))).isNull();
+    }
+
+    private static File write(File file, String content) throws Exception {
+        Files.createDirectories(file.getParentFile().toPath());
+        Files.write(file.toPath(), content.getBytes());
+        return file;
+    }
+}
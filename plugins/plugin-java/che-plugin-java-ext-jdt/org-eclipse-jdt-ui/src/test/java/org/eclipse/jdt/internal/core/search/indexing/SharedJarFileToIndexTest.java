@@ -0,0 +1,181 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.core.search.indexing;
+
+import org.eclipse.che.api.project.server.FolderEntry;
+import org.eclipse.che.api.project.server.ProjectManager;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.jdt.core.search.SearchPattern;
+import org.eclipse.jdt.internal.core.index.EntryResult;
+import org.eclipse.jdt.internal.core.index.Index;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import static org.fest.assertions.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests indexing of library jars by {@link IndexManager} with {@link SharedIndexStore}.
+ */
+public class SharedJarFileToIndexTest {
+
+    private static final String TYPE_ENTRY = "org/junit/rules/TemporaryFolder.class";
+
+    @ClassRule
+    public static TemporaryFolder workspaceFolder = new TemporaryFolder();
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File                       sharedIndexDir;
+    private List<CountingIndexManager> managers;
+
+    @BeforeClass
+    public static void setUpWorkspace() throws Exception {
+        // library indexing looks for the library among workspace resources before reading it from the file system
+        ProjectManager projectManager = mock(ProjectManager.class);
+        FolderEntry projectsRoot = mock(FolderEntry.class);
+        when(projectManager.getProjectsRoot()).thenReturn(projectsRoot);
+        new ResourcesPlugin(workspaceFolder.newFolder("index").getPath(),
+                            workspaceFolder.newFolder("projects").getPath(),
+                            () -> null,
+                            () -> projectManager);
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        sharedIndexDir = new File(folder.getRoot(), "shared");
+        managers = new ArrayList<>();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        for (CountingIndexManager manager : managers) {
+            manager.shutdown();
+        }
+    }
+
+    @Test
+    public void shouldReuseSharedIndexOfSameJarLocatedAtOtherPath() throws Exception {
+        IPath jar = createJar(new File(folder.getRoot(), "ws1/.m2/junit.jar"));
+        CountingIndexManager first = newIndexManager("ws1/index");
+        index(first, jar);
+
+        assertThat(first.builtIndexes.get()).isGreaterThan(0);
+        assertThat(sharedIndexDir.list()).hasSize(1);
+
+        IPath copy = new Path(Files.copy(jar.toFile().toPath(), new File(folder.getRoot(), "ws2/lib/junit-copy.jar").toPath())
+                                   .toString());
+        CountingIndexManager second = newIndexManager("ws2/index");
+        index(second, copy);
+
+        assertThat(second.builtIndexes.get()).isEqualTo(0);
+        assertThat(sharedIndexDir.list()).hasSize(1);
+        assertThat(findTypeDeclarations(second, copy, "TemporaryFolder")).containsOnly(TYPE_ENTRY);
+    }
+
+    @Test
+    public void shouldFindTypesOfJarWhichIsIndexedFirstTime() throws Exception {
+        IPath jar = createJar(new File(folder.getRoot(), "ws1/.m2/junit.jar"));
+        CountingIndexManager manager = newIndexManager("ws1/index");
+        index(manager, jar);
+
+        assertThat(findTypeDeclarations(manager, jar, "TemporaryFolder")).containsOnly(TYPE_ENTRY);
+    }
+
+    private CountingIndexManager newIndexManager(String indexDir) throws Exception {
+        File indexLocation = new File(folder.getRoot(), indexDir);
+        Files.createDirectories(indexLocation.toPath());
+        CountingIndexManager manager = new CountingIndexManager(indexLocation.getPath(), sharedIndexDir.getPath());
+        managers.add(manager);
+        return manager;
+    }
+
+    private static void index(IndexManager manager, IPath jar) throws Exception {
+        manager.reset();
+        manager.indexLibrary(jar, null, null);
+        long deadline = System.currentTimeMillis() + 30_000;
+        while (manager.awaitingJobsCount() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(manager.awaitingJobsCount()).isEqualTo(0);
+    }
+
+    /** Returns names of the jar entries which declare type with the given simple name. */
+    private static List<String> findTypeDeclarations(IndexManager manager, IPath jar, String simpleName) throws Exception {
+        Index index = manager.getIndex(jar, true, false);
+        assertThat(index).isNotNull();
+        EntryResult[] entries = index.queryEntries(new char[][] {IIndexConstants.TYPE_DECL},
+                                                   (simpleName + IIndexConstants.SEPARATOR).toCharArray(),
+                                                   SearchPattern.R_PREFIX_MATCH | SearchPattern.R_CASE_SENSITIVE);
+        List<String> documents = new ArrayList<>();
+        if (entries != null) {
+            for (EntryResult entry : entries) {
+                documents.addAll(Arrays.asList(entry.getDocumentNames(index)));
+            }
+        }
+        return documents;
+    }
+
+    private static IPath createJar(File jar) throws Exception {
+        Files.createDirectories(jar.getParentFile().toPath());
+        try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(jar.toPath()));
+             InputStream type = SharedJarFileToIndexTest.class.getResourceAsStream('/' + TYPE_ENTRY)) {
+            out.putNextEntry(new JarEntry(TYPE_ENTRY));
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = type.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            out.closeEntry();
+        }
+        return new Path(jar.getPath());
+    }
+
+    /** Counts indexes which are built by parsing jar instead of reusing an existing index. */
+    private static class CountingIndexManager extends IndexManager {
+        private final AtomicInteger builtIndexes = new AtomicInteger();
+
+        CountingIndexManager(String indexLocation, String sharedIndexLocation) {
+            super(indexLocation, sharedIndexLocation);
+        }
+
+        @Override
+        public synchronized Index recreateIndex(IPath containerPath) {
+            builtIndexes.incrementAndGet();
+            return super.recreateIndex(containerPath);
+        }
+
+        @Override
+        public synchronized boolean resetIndex(IPath containerPath) {
+            builtIndexes.incrementAndGet();
+            return super.resetIndex(containerPath);
+        }
+    }
+}
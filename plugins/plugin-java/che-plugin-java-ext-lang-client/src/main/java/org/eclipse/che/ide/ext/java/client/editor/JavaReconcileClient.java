@@ -13,12 +13,18 @@ package org.eclipse.che.ide.ext.java.client.editor;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 
+import org.eclipse.che.api.promises.client.Promise;
 import org.eclipse.che.ide.api.app.AppContext;
+import org.eclipse.che.ide.ext.java.shared.dto.Change;
 import org.eclipse.che.ide.ext.java.shared.dto.ReconcileResult;
-import org.eclipse.che.ide.rest.AsyncRequestCallback;
 import org.eclipse.che.ide.rest.AsyncRequestFactory;
 import org.eclipse.che.ide.rest.DtoUnmarshallerFactory;
-import org.eclipse.che.ide.util.loging.Log;
+import org.eclipse.che.ide.rest.StringUnmarshaller;
+
+import java.util.List;
+
+import static org.eclipse.che.ide.MimeType.TEXT_PLAIN;
+import static org.eclipse.che.ide.rest.HTTPHeader.ACCEPT;
 
 /**
  * @author Evgen Vidolob
@@ -39,23 +45,36 @@ public class JavaReconcileClient {
         this.asyncRequestFactory = asyncRequestFactory;
     }
 
-    public void reconcile(String projectPath, String fqn, final ReconcileCallback callback) {
+    /** Reconciles saved content of the file. */
+    public Promise<ReconcileResult> reconcile(String projectPath, String fqn) {
         String url = appContext.getDevMachine().getWsAgentBaseUrl() + "/java/reconcile/?projectpath=" + projectPath + "&fqn=" + fqn;
-        asyncRequestFactory.createGetRequest(url)
-                           .send(new AsyncRequestCallback<ReconcileResult>(dtoUnmarshallerFactory.newUnmarshaller(ReconcileResult.class)) {
-                               @Override
-                               protected void onSuccess(ReconcileResult result) {
-                                   callback.onReconcile(result);
-                               }
-
-                               @Override
-                               protected void onFailure(Throwable exception) {
-                                   Log.error(JavaReconcileClient.class, exception);
-                               }
-                           });
+        return asyncRequestFactory.createGetRequest(url)
+                                  .send(dtoUnmarshallerFactory.newUnmarshaller(ReconcileResult.class));
+    }
+
+    /**
+     * Opens reconcile session of the file. The session keeps working copy of the file which is created from
+     * the saved content of the file and then is updated by changes of the editor content.
+     *
+     * @return id of the session
+     */
+    public Promise<String> openSession(String projectPath, String fqn) {
+        String url = appContext.getDevMachine().getWsAgentBaseUrl() + "/java/reconcile/session?projectpath=" + projectPath + "&fqn=" + fqn;
+        return asyncRequestFactory.createPostRequest(url, null)
+                                  .header(ACCEPT, TEXT_PLAIN)
+                                  .send(new StringUnmarshaller());
+    }
+
+    /** Applies changes of the editor content to the working copy of the session and reconciles it. */
+    public Promise<ReconcileResult> applyChanges(String sessionId, List<Change> changes) {
+        String url = appContext.getDevMachine().getWsAgentBaseUrl() + "/java/reconcile/session/" + sessionId;
+        return asyncRequestFactory.createPostRequest(url, changes)
+                                  .send(dtoUnmarshallerFactory.newUnmarshaller(ReconcileResult.class));
     }
 
-    public interface ReconcileCallback {
-        void onReconcile(ReconcileResult result);
+    /** Closes reconcile session and discards its working copy. */
+    public Promise<Void> closeSession(String sessionId) {
+        String url = appContext.getDevMachine().getWsAgentBaseUrl() + "/java/reconcile/session/" + sessionId;
+        return asyncRequestFactory.createDeleteRequest(url).send();
     }
 }
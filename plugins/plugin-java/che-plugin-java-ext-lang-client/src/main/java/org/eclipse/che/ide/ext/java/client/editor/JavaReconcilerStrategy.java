@@ -13,10 +13,16 @@ package org.eclipse.che.ide.ext.java.client.editor;
 import com.google.common.base.Optional;
 import com.google.inject.assistedinject.Assisted;
 import com.google.inject.assistedinject.AssistedInject;
+import com.google.web.bindery.event.shared.HandlerRegistration;
 
+import org.eclipse.che.api.promises.client.Operation;
+import org.eclipse.che.api.promises.client.OperationException;
+import org.eclipse.che.api.promises.client.PromiseError;
 import org.eclipse.che.ide.api.editor.EditorWithErrors;
 import org.eclipse.che.ide.api.editor.annotation.AnnotationModel;
 import org.eclipse.che.ide.api.editor.document.Document;
+import org.eclipse.che.ide.api.editor.events.DocumentChangeEvent;
+import org.eclipse.che.ide.api.editor.events.DocumentChangeHandler;
 import org.eclipse.che.ide.api.editor.reconciler.DirtyRegion;
 import org.eclipse.che.ide.api.editor.reconciler.ReconcilingStrategy;
 import org.eclipse.che.ide.api.editor.text.Region;
@@ -24,8 +30,10 @@ import org.eclipse.che.ide.api.editor.texteditor.TextEditor;
 import org.eclipse.che.ide.api.resources.Project;
 import org.eclipse.che.ide.api.resources.Resource;
 import org.eclipse.che.ide.api.resources.VirtualFile;
+import org.eclipse.che.ide.dto.DtoFactory;
 import org.eclipse.che.ide.ext.java.client.JavaLocalizationConstant;
 import org.eclipse.che.ide.ext.java.client.util.JavaUtil;
+import org.eclipse.che.ide.ext.java.shared.dto.Change;
 import org.eclipse.che.ide.ext.java.shared.dto.HighlightedPosition;
 import org.eclipse.che.ide.ext.java.shared.dto.Problem;
 import org.eclipse.che.ide.ext.java.shared.dto.ReconcileResult;
@@ -36,12 +44,18 @@ import org.eclipse.che.ide.project.ResolvingProjectStateHolderRegistry;
 import org.eclipse.che.ide.util.loging.Log;
 
 import javax.validation.constraints.NotNull;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
 import static org.eclipse.che.ide.project.ResolvingProjectStateHolder.ResolvingProjectState.IN_PROGRESS;
 
-public class JavaReconcilerStrategy implements ReconcilingStrategy, ResolvingProjectStateListener {
+/**
+ * Reconciles Java file opened in the editor. Changes of the editor content are sent to the reconcile session of the file
+ * on the server, so the server doesn't read the file and create its working copy on each reconcile. The session is
+ * opened when content of the editor is saved, while there is no session saved content of the file is reconciled.
+ */
+public class JavaReconcilerStrategy implements ReconcilingStrategy, ResolvingProjectStateListener, DocumentChangeHandler {
 
     private final TextEditor                          editor;
     private final JavaCodeAssistProcessor             codeAssistProcessor;
@@ -50,9 +64,17 @@ public class JavaReconcilerStrategy implements ReconcilingStrategy, ResolvingPro
     private final ResolvingProjectStateHolderRegistry resolvingProjectStateHolderRegistry;
     private final JavaLocalizationConstant            localizationConstant;
     private final JavaReconcileClient                 client;
+    private final DtoFactory                          dtoFactory;
+    private final List<Change>                        pendingChanges;
 
     private EditorWithErrors            editorWithErrors;
     private ResolvingProjectStateHolder resolvingProjectStateHolder;
+    private HandlerRegistration         documentChangeRegistration;
+    private String                      sessionId;
+    private String                      sessionFqn;
+    private boolean                     requestInProgress;
+    private boolean                     parseRequested;
+    private boolean                     closed;
 
     @AssistedInject
     public JavaReconcilerStrategy(@Assisted @NotNull final TextEditor editor,
@@ -61,9 +83,12 @@ public class JavaReconcilerStrategy implements ReconcilingStrategy, ResolvingPro
                                   final JavaReconcileClient client,
                                   final SemanticHighlightRenderer highlighter,
                                   final ResolvingProjectStateHolderRegistry resolvingProjectStateHolderRegistry,
-                                  final JavaLocalizationConstant localizationConstant) {
+                                  final JavaLocalizationConstant localizationConstant,
+                                  final DtoFactory dtoFactory) {
         this.editor = editor;
         this.client = client;
+        this.dtoFactory = dtoFactory;
+        this.pendingChanges = new ArrayList<>();
         this.codeAssistProcessor = codeAssistProcessor;
         this.annotationModel = annotationModel;
         this.highlighter = highlighter;
@@ -78,6 +103,17 @@ public class JavaReconcilerStrategy implements ReconcilingStrategy, ResolvingPro
     public void setDocument(final Document document) {
         highlighter.init(editor.getEditorWidget(), document);
 
+        if (documentChangeRegistration != null) {
+            documentChangeRegistration.removeHandler();
+        }
+        documentChangeRegistration = document.getDocumentHandle().getDocEventBus().addHandler(DocumentChangeEvent.TYPE, this);
+        pendingChanges.clear();
+        if (sessionId != null) {
+            // session follows content of the previous document
+            client.closeSession(sessionId);
+            sessionId = null;
+        }
+
         if (getFile() instanceof Resource) {
             final Optional<Project> project = ((Resource)getFile()).getRelatedProject();
 
@@ -104,6 +140,9 @@ public class JavaReconcilerStrategy implements ReconcilingStrategy, ResolvingPro
     }
 
     void parse() {
+        if (closed) {
+            return;
+        }
         if (getFile() instanceof Resource) {
             final Optional<Project> project = ((Resource)getFile()).getRelatedProject();
 
@@ -111,33 +150,126 @@ public class JavaReconcilerStrategy implements ReconcilingStrategy, ResolvingPro
                 return;
             }
 
+            if (requestInProgress) {
+                // changes must be sent to the session in the order they are made
+                parseRequested = true;
+                return;
+            }
+
             try {
-                client.reconcile(project.get().getLocation().toString(), JavaUtil.resolveFQN(getFile()),
-                                 new JavaReconcileClient.ReconcileCallback() {
-                                     @Override
-                                     public void onReconcile(ReconcileResult result) {
-                                         if (resolvingProjectStateHolder != null && resolvingProjectStateHolder.getState() == IN_PROGRESS) {
-                                             disableReconciler(localizationConstant.codeAssistErrorMessageResolvingProject());
-                                             return;
-                                         } else {
-                                             codeAssistProcessor.enableCodeAssistant();
-                                         }
-
-                                         if (result == null) {
-                                             return;
-                                         }
-                                         doReconcile(result.getProblems());
-                                         highlighter.reconcile(result.getHighlightedPositions());
-                                     }
-                                 });
+                final String projectPath = project.get().getLocation().toString();
+                final String fqn = JavaUtil.resolveFQN(getFile());
+                if (sessionId != null && !fqn.equals(sessionFqn)) {
+                    // file is renamed or moved
+                    client.closeSession(sessionId);
+                    sessionId = null;
+                }
+
+                requestInProgress = true;
+                if (sessionId != null) {
+                    applyChanges(projectPath, fqn);
+                } else if (!editor.isDirty()) {
+                    openSession(projectPath, fqn);
+                } else {
+                    reconcileSaved(projectPath, fqn);
+                }
             } catch (RuntimeException e) {
+                requestInProgress = false;
                 Log.info(getClass(), e.getMessage());
             }
         }
+    }
 
+    private void openSession(final String projectPath, final String fqn) {
+        // working copy of the session is created from the saved content which is the same as the editor content
+        pendingChanges.clear();
+        client.openSession(projectPath, fqn).then(new Operation<String>() {
+            @Override
+            public void apply(String id) throws OperationException {
+                if (closed) {
+                    client.closeSession(id);
+                    return;
+                }
+                sessionId = id;
+                sessionFqn = fqn;
+                requestInProgress = false;
+                parse();
+            }
+        }).catchError(new Operation<PromiseError>() {
+            @Override
+            public void apply(PromiseError error) throws OperationException {
+                Log.info(JavaReconcilerStrategy.class, error.getMessage());
+                reconcileSaved(projectPath, fqn);
+            }
+        });
+    }
 
+    private void applyChanges(final String projectPath, final String fqn) {
+        final List<Change> changes = new ArrayList<>(pendingChanges);
+        pendingChanges.clear();
+        client.applyChanges(sessionId, changes).then(new Operation<ReconcileResult>() {
+            @Override
+            public void apply(ReconcileResult result) throws OperationException {
+                onReconcile(result);
+                onRequestDone();
+            }
+        }).catchError(new Operation<PromiseError>() {
+            @Override
+            public void apply(PromiseError error) throws OperationException {
+                // session is expired or its content differs from the editor one, new session is opened on the next parse
+                Log.info(JavaReconcilerStrategy.class, error.getMessage());
+                sessionId = null;
+                reconcileSaved(projectPath, fqn);
+            }
+        });
     }
 
+    private void reconcileSaved(String projectPath, String fqn) {
+        client.reconcile(projectPath, fqn).then(new Operation<ReconcileResult>() {
+            @Override
+            public void apply(ReconcileResult result) throws OperationException {
+                onReconcile(result);
+                onRequestDone();
+            }
+        }).catchError(new Operation<PromiseError>() {
+            @Override
+            public void apply(PromiseError error) throws OperationException {
+                Log.error(JavaReconcilerStrategy.class, error.getCause());
+                onRequestDone();
+            }
+        });
+    }
+
+    private void onReconcile(ReconcileResult result) {
+        if (resolvingProjectStateHolder != null && resolvingProjectStateHolder.getState() == IN_PROGRESS) {
+            disableReconciler(localizationConstant.codeAssistErrorMessageResolvingProject());
+            return;
+        } else {
+            codeAssistProcessor.enableCodeAssistant();
+        }
+
+        if (result == null) {
+            return;
+        }
+        doReconcile(result.getProblems());
+        highlighter.reconcile(result.getHighlightedPositions());
+    }
+
+    private void onRequestDone() {
+        requestInProgress = false;
+        if (parseRequested) {
+            parseRequested = false;
+            parse();
+        }
+    }
+
+    @Override
+    public void onDocumentChange(DocumentChangeEvent event) {
+        pendingChanges.add(dtoFactory.createDto(Change.class)
+                                     .withOffset(event.getOffset())
+                                     .withLength(event.getRemoveCharCount())
+                                     .withText(event.getText()));
+    }
 
     @Override
     public void reconcile(final Region partition) {
@@ -202,6 +334,16 @@ public class JavaReconcilerStrategy implements ReconcilingStrategy, ResolvingPro
         if (resolvingProjectStateHolder != null) {
             resolvingProjectStateHolder.removeResolvingProjectStateListener(this);
         }
+        if (documentChangeRegistration != null) {
+            documentChangeRegistration.removeHandler();
+            documentChangeRegistration = null;
+        }
+        closed = true;
+        pendingChanges.clear();
+        if (sessionId != null) {
+            client.closeSession(sessionId);
+            sessionId = null;
+        }
     }
 
     @Override
@@ -14,15 +14,23 @@ import com.google.common.base.Optional;
 import com.google.web.bindery.event.shared.EventBus;
 import com.google.web.bindery.event.shared.HandlerRegistration;
 
+import org.eclipse.che.api.promises.client.Operation;
+import org.eclipse.che.api.promises.client.Promise;
+import org.eclipse.che.api.promises.client.PromiseError;
 import org.eclipse.che.ide.api.editor.EditorInput;
 import org.eclipse.che.ide.api.editor.annotation.AnnotationModel;
 import org.eclipse.che.ide.api.editor.document.Document;
+import org.eclipse.che.ide.api.editor.document.DocumentEventBus;
+import org.eclipse.che.ide.api.editor.document.DocumentHandle;
+import org.eclipse.che.ide.api.editor.events.DocumentChangeEvent;
 import org.eclipse.che.ide.api.editor.texteditor.TextEditorPresenter;
 import org.eclipse.che.ide.api.resources.Container;
 import org.eclipse.che.ide.api.resources.File;
 import org.eclipse.che.ide.api.resources.Project;
 import org.eclipse.che.ide.api.resources.Resource;
+import org.eclipse.che.ide.dto.DtoFactory;
 import org.eclipse.che.ide.ext.java.client.JavaLocalizationConstant;
+import org.eclipse.che.ide.ext.java.shared.dto.Change;
 import org.eclipse.che.ide.ext.java.shared.dto.HighlightedPosition;
 import org.eclipse.che.ide.ext.java.shared.dto.ReconcileResult;
 import org.eclipse.che.ide.project.ResolvingProjectStateHolder;
@@ -43,11 +51,15 @@ import java.util.List;
 
 import static org.eclipse.che.ide.project.ResolvingProjectStateHolder.ResolvingProjectState.IN_PROGRESS;
 import static org.eclipse.che.ide.project.ResolvingProjectStateHolder.ResolvingProjectState.RESOLVED;
+import static org.junit.Assert.assertEquals;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyListOf;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -82,10 +94,21 @@ public class JavaReconcilerStrategyTest {
     private ResolvingProjectStateHolderRegistry resolvingProjectStateHolderRegistry;
     @Mock
     private JavaLocalizationConstant            localizationConstant;
+    @Mock
+    private DtoFactory                          dtoFactory;
+    @Mock
+    private Promise<String>                     sessionPromise;
+    @Mock
+    private Promise<ReconcileResult>            reconcilePromise;
 
     @Captor
-    private ArgumentCaptor<JavaReconcileClient.ReconcileCallback> reconcileCallbackCaptor;
-
+    private ArgumentCaptor<Operation<String>>          sessionCaptor;
+    @Captor
+    private ArgumentCaptor<Operation<ReconcileResult>> reconcileCaptor;
+    @Captor
+    private ArgumentCaptor<Operation<PromiseError>>    errorCaptor;
+    @Captor
+    private ArgumentCaptor<List<Change>>               changesCaptor;
 
     @InjectMocks
     private JavaReconcilerStrategy javaReconcilerStrategy;
@@ -115,7 +138,18 @@ public class JavaReconcilerStrategyTest {
         when(resolvingProjectStateHolderRegistry.getResolvingProjectStateHolder(anyString())).thenReturn(resolvingProjectStateHolder);
         when(localizationConstant.codeAssistErrorMessageResolvingProject()).thenReturn("error");
 
-        javaReconcilerStrategy.setDocument(mock(Document.class));
+        when(client.openSession(anyString(), anyString())).thenReturn(sessionPromise);
+        when(sessionPromise.then(any(Operation.class))).thenReturn(sessionPromise);
+        when(client.reconcile(anyString(), anyString())).thenReturn(reconcilePromise);
+        when(client.applyChanges(anyString(), anyListOf(Change.class))).thenReturn(reconcilePromise);
+        when(reconcilePromise.then(any(Operation.class))).thenReturn(reconcilePromise);
+
+        Document document = mock(Document.class);
+        DocumentHandle documentHandle = mock(DocumentHandle.class);
+        when(document.getDocumentHandle()).thenReturn(documentHandle);
+        when(documentHandle.getDocEventBus()).thenReturn(new DocumentEventBus());
+
+        javaReconcilerStrategy.setDocument(document);
     }
 
     @Test
@@ -123,10 +157,11 @@ public class JavaReconcilerStrategyTest {
         when(resolvingProjectStateHolder.getState()).thenReturn(IN_PROGRESS);
 
         javaReconcilerStrategy.parse();
+        openSession("session");
 
-        verify(client).reconcile(anyString(), anyString(), reconcileCallbackCaptor.capture());
-        JavaReconcileClient.ReconcileCallback reconcileCallback = reconcileCallbackCaptor.getValue();
-        reconcileCallback.onReconcile(reconcileResult);
+        verify(client).applyChanges(eq("session"), anyListOf(Change.class));
+        verify(reconcilePromise).then(reconcileCaptor.capture());
+        reconcileCaptor.getValue().apply(reconcileResult);
 
         verify(reconcileResult, never()).getProblems();
         verify(reconcileResult, never()).getHighlightedPositions();
@@ -144,10 +179,11 @@ public class JavaReconcilerStrategyTest {
         when(reconcileResult.getHighlightedPositions()).thenReturn(positions);
 
         javaReconcilerStrategy.parse();
+        openSession("session");
 
-        verify(client).reconcile(anyString(), anyString(), reconcileCallbackCaptor.capture());
-        JavaReconcileClient.ReconcileCallback reconcileCallback = reconcileCallbackCaptor.getValue();
-        reconcileCallback.onReconcile(reconcileResult);
+        verify(client).applyChanges(eq("session"), anyListOf(Change.class));
+        verify(reconcilePromise).then(reconcileCaptor.capture());
+        reconcileCaptor.getValue().apply(reconcileResult);
 
         verify(reconcileResult).getProblems();
         verify(reconcileResult).getHighlightedPositions();
@@ -155,4 +191,75 @@ public class JavaReconcilerStrategyTest {
         verify(codeAssistProcessor, never()).disableCodeAssistant(anyString());
         verify(highlighter).reconcile(eq(positions));
     }
+
+    @Test
+    public void shouldSendDocumentChangesToSession() throws Exception {
+        Change change = mock(Change.class);
+        when(dtoFactory.createDto(Change.class)).thenReturn(change);
+        when(change.withOffset(anyInt())).thenReturn(change);
+        when(change.withLength(anyInt())).thenReturn(change);
+        when(change.withText(anyString())).thenReturn(change);
+        javaReconcilerStrategy.parse();
+        openSession("session");
+        verify(reconcilePromise).then(reconcileCaptor.capture());
+        reconcileCaptor.getValue().apply(reconcileResult);
+
+        javaReconcilerStrategy.onDocumentChange(new DocumentChangeEvent(mock(DocumentHandle.class), 10, 3, "abc", 5));
+        javaReconcilerStrategy.parse();
+
+        verify(change).withOffset(10);
+        verify(change).withLength(5);
+        verify(change).withText("abc");
+        verify(client, times(2)).applyChanges(eq("session"), changesCaptor.capture());
+        assertEquals(Collections.singletonList(change), changesCaptor.getValue());
+    }
+
+    @Test
+    public void shouldNotSendRequestWhileAnotherOneIsInProgress() throws Exception {
+        javaReconcilerStrategy.parse();
+        openSession("session");
+
+        javaReconcilerStrategy.parse();
+        verify(client).applyChanges(eq("session"), anyListOf(Change.class));
+
+        verify(reconcilePromise).then(reconcileCaptor.capture());
+        reconcileCaptor.getValue().apply(reconcileResult);
+        verify(client, times(2)).applyChanges(eq("session"), anyListOf(Change.class));
+    }
+
+    @Test
+    public void shouldReconcileSavedContentWhenSessionIsNotOpened() throws Exception {
+        javaReconcilerStrategy.parse();
+
+        verify(sessionPromise).catchError(errorCaptor.capture());
+        errorCaptor.getValue().apply(mock(PromiseError.class));
+
+        verify(client).reconcile(anyString(), anyString());
+        verify(client, never()).applyChanges(anyString(), anyListOf(Change.class));
+    }
+
+    @Test
+    public void shouldReconcileSavedContentWhenEditorIsDirty() throws Exception {
+        when(editor.isDirty()).thenReturn(true);
+
+        javaReconcilerStrategy.parse();
+
+        verify(client).reconcile(anyString(), anyString());
+        verify(client, never()).openSession(anyString(), anyString());
+    }
+
+    @Test
+    public void shouldCloseSessionWhenReconcilerIsClosed() throws Exception {
+        javaReconcilerStrategy.parse();
+        openSession("session");
+
+        javaReconcilerStrategy.closeReconciler();
+
+        verify(client).closeSession("session");
+    }
+
+    private void openSession(String id) throws Exception {
+        verify(sessionPromise).then(sessionCaptor.capture());
+        sessionCaptor.getValue().apply(id);
+    }
 }
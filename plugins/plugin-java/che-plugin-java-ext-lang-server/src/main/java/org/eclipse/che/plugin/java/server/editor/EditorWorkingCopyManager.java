@@ -0,0 +1,187 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.java.server.editor;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.google.inject.name.Named;
+
+import org.eclipse.che.api.core.BadRequestException;
+import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.commons.schedule.ScheduleDelay;
+import org.eclipse.che.ide.ext.java.shared.dto.Change;
+import org.eclipse.che.ide.ext.java.shared.dto.ReconcileResult;
+import org.eclipse.che.jdt.javaeditor.JavaReconciler;
+import org.eclipse.jdt.core.IBuffer;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.JavaModelException;
+
+import javax.annotation.PreDestroy;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps working copies of Java files opened in editors. Editor opens a session for the file, sends changes of the
+ * document to it and reconciles the working copy of the session, so content of the file isn't read from disk and
+ * working copy isn't created again on each reconcile. The working copy is reconciled on each request even if its
+ * content isn't changed, since problems of the file depend on other files of the project.
+ * <p>
+ * Session which isn't accessed during {@code che.java.reconcile.session.idle_timeout_min} minutes is closed.
+ */
+@Singleton
+public class EditorWorkingCopyManager {
+    private final JavaReconciler                   reconciler;
+    private final Cache<String, EditorWorkingCopy> sessions;
+
+    @Inject
+    public EditorWorkingCopyManager(JavaReconciler reconciler, @Named("che.java.reconcile.session.idle_timeout_min") long idleTimeout) {
+        this.reconciler = reconciler;
+        this.sessions = CacheBuilder.newBuilder()
+                                    .expireAfterAccess(idleTimeout, TimeUnit.MINUTES)
+                                    .<String, EditorWorkingCopy>removalListener(notification -> {
+                                        EditorWorkingCopy workingCopy = notification.getValue();
+                                        if (workingCopy != null) {
+                                            workingCopy.dispose();
+                                        }
+                                    })
+                                    .build();
+    }
+
+    /**
+     * Opens editor session for the compilation unit which contains given type.
+     *
+     * @return id of the session
+     * @throws NotFoundException
+     *         when type isn't found
+     */
+    public String openSession(IJavaProject javaProject, String fqn) throws NotFoundException, JavaModelException {
+        ICompilationUnit workingCopy = reconciler.getWorkingCopy(javaProject, fqn);
+        if (workingCopy == null) {
+            throw new NotFoundException("Type " + fqn + " isn't found in project " + javaProject.getElementName());
+        }
+        final String id = UUID.randomUUID().toString();
+        sessions.put(id, new EditorWorkingCopy(workingCopy));
+        return id;
+    }
+
+    /**
+     * Applies changes of the document to the working copy of the session and reconciles it.
+     * Each change is applied to the content modified by the previous one. Changes are applied only if all of them
+     * fit into the content, so the working copy isn't left partially modified.
+     *
+     * @throws NotFoundException
+     *         when session isn't found
+     * @throws BadRequestException
+     *         when any of the changes doesn't fit into the content of the working copy
+     */
+    public ReconcileResult applyChanges(String sessionId, List<Change> changes) throws NotFoundException,
+                                                                                         BadRequestException,
+                                                                                         JavaModelException {
+        EditorWorkingCopy workingCopy = getSession(sessionId);
+        workingCopy.applyChanges(changes);
+        return workingCopy.reconcile();
+    }
+
+    /**
+     * Reconciles current content of the working copy of the session.
+     *
+     * @throws NotFoundException
+     *         when session isn't found
+     */
+    public ReconcileResult reconcile(String sessionId) throws NotFoundException, JavaModelException {
+        return getSession(sessionId).reconcile();
+    }
+
+    /** Closes session and discards its working copy. */
+    public void closeSession(String sessionId) {
+        sessions.invalidate(sessionId);
+    }
+
+    /** Closes idle sessions. */
+    @ScheduleDelay(initialDelay = 1, delay = 1, unit = TimeUnit.MINUTES)
+    public void cleanUp() {
+        sessions.cleanUp();
+    }
+
+    @PreDestroy
+    public void closeAll() {
+        sessions.invalidateAll();
+    }
+
+    /** Returns number of opened sessions. */
+    @VisibleForTesting
+    long getSize() {
+        return sessions.size();
+    }
+
+    private EditorWorkingCopy getSession(String sessionId) throws NotFoundException {
+        EditorWorkingCopy workingCopy = sessions.getIfPresent(sessionId);
+        if (workingCopy == null) {
+            throw new NotFoundException("Reconcile session " + sessionId + " isn't found");
+        }
+        return workingCopy;
+    }
+
+    private class EditorWorkingCopy {
+        private final ICompilationUnit workingCopy;
+
+        private boolean disposed;
+
+        EditorWorkingCopy(ICompilationUnit workingCopy) {
+            this.workingCopy = workingCopy;
+        }
+
+        synchronized void applyChanges(List<Change> changes) throws NotFoundException, BadRequestException, JavaModelException {
+            checkNotDisposed();
+            if (changes.isEmpty()) {
+                return;
+            }
+            IBuffer buffer = workingCopy.getBuffer();
+            int length = buffer.getLength();
+            for (Change change : changes) {
+                if (change.getOffset() < 0 || change.getLength() < 0 || change.getOffset() + change.getLength() > length) {
+                    // content of the editor and of the working copy differ, editor must open new session
+                    throw new BadRequestException("Change at offset " + change.getOffset() + " with length " + change.getLength() +
+                                                  " is out of " + workingCopy.getElementName() + " content");
+                }
+                length += textOf(change).length() - change.getLength();
+            }
+            for (Change change : changes) {
+                buffer.replace(change.getOffset(), change.getLength(), textOf(change));
+            }
+        }
+
+        synchronized ReconcileResult reconcile() throws NotFoundException, JavaModelException {
+            checkNotDisposed();
+            return reconciler.reconcile(workingCopy);
+        }
+
+        synchronized void dispose() {
+            disposed = true;
+            reconciler.discardWorkingCopy(workingCopy);
+        }
+
+        private String textOf(Change change) {
+            return change.getText() == null ? "" : change.getText();
+        }
+
+        private void checkNotDisposed() throws NotFoundException {
+            if (disposed) {
+                throw new NotFoundException("Reconcile session of " + workingCopy.getElementName() + " is closed");
+            }
+        }
+    }
+}
@@ -12,17 +12,26 @@ package org.eclipse.che.plugin.java.server.rest;
 
 import com.google.inject.Inject;
 
+import org.eclipse.che.api.core.BadRequestException;
+import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.ide.ext.java.shared.dto.Change;
 import org.eclipse.che.ide.ext.java.shared.dto.ReconcileResult;
 import org.eclipse.che.jdt.javaeditor.JavaReconciler;
+import org.eclipse.che.plugin.java.server.editor.EditorWorkingCopyManager;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.internal.core.JavaModel;
 import org.eclipse.jdt.internal.core.JavaModelManager;
 
+import javax.ws.rs.Consumes;
+import javax.ws.rs.DELETE;
 import javax.ws.rs.GET;
+import javax.ws.rs.POST;
 import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
+import java.util.List;
 
 /**
  * @author Evgen Vidolob
@@ -35,6 +44,9 @@ public class JavaReconcileService {
     @Inject
     private JavaReconciler reconciler;
 
+    @Inject
+    private EditorWorkingCopyManager workingCopyManager;
+
     @GET
     @Produces("application/json")
     public ReconcileResult reconcile(@QueryParam("projectpath") String projectPath, @QueryParam("fqn") String fqn)
@@ -42,4 +54,44 @@ public class JavaReconcileService {
         IJavaProject javaProject = model.getJavaProject(projectPath);
         return reconciler.reconcile(javaProject, fqn);
     }
+
+    /**
+     * Opens editor session for the file which contains given type, the session keeps working copy of the file
+     * which is updated by the changes of the editor content.
+     *
+     * @return id of the session
+     */
+    @POST
+    @Path("session")
+    @Produces("text/plain")
+    public String openSession(@QueryParam("projectpath") String projectPath, @QueryParam("fqn") String fqn)
+            throws JavaModelException, NotFoundException {
+        IJavaProject javaProject = model.getJavaProject(projectPath);
+        return workingCopyManager.openSession(javaProject, fqn);
+    }
+
+    /**
+     * Applies changes of the editor content to the working copy of the session and reconciles it.
+     */
+    @POST
+    @Path("session/{id}")
+    @Consumes("application/json")
+    @Produces("application/json")
+    public ReconcileResult applyChanges(@PathParam("id") String sessionId, List<Change> changes)
+            throws JavaModelException, NotFoundException, BadRequestException {
+        return workingCopyManager.applyChanges(sessionId, changes);
+    }
+
+    @GET
+    @Path("session/{id}")
+    @Produces("application/json")
+    public ReconcileResult reconcileSession(@PathParam("id") String sessionId) throws JavaModelException, NotFoundException {
+        return workingCopyManager.reconcile(sessionId);
+    }
+
+    @DELETE
+    @Path("session/{id}")
+    public void closeSession(@PathParam("id") String sessionId) {
+        workingCopyManager.closeSession(sessionId);
+    }
 }
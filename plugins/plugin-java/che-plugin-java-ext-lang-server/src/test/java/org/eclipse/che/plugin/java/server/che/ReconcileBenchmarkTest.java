@@ -0,0 +1,128 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.java.server.che;
+
+import org.eclipse.che.ide.ext.java.shared.dto.Change;
+import org.eclipse.che.ide.ext.java.shared.dto.ReconcileResult;
+import org.eclipse.che.jdt.javaeditor.JavaReconciler;
+import org.eclipse.che.jdt.javaeditor.SemanticHighlightingReconciler;
+import org.eclipse.che.plugin.java.server.editor.EditorWorkingCopyManager;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Ignore;
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.fest.assertions.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Compares latency of reconciling a large file with a working copy created for each request
+ * and with a working copy of editor session which receives changes of the content.
+ * Number of methods of the generated class may be set with {@code reconcile.benchmark.methods} system property.
+ */
+// TODO: rework after new Project API
+@Ignore
+public class ReconcileBenchmarkTest extends BaseTest {
+    private static final String FQN        = "p1.ReconcileBenchmark";
+    private static final int    ITERATIONS = 20;
+
+    private JavaReconciler           reconciler;
+    private EditorWorkingCopyManager workingCopyManager;
+    private File                     file;
+    private String                   content;
+
+    @Before
+    public void init() throws Exception {
+        reconciler = new JavaReconciler(new SemanticHighlightingReconciler());
+        workingCopyManager = new EditorWorkingCopyManager(reconciler, 15);
+        file = new File(wsPath, "test/src/main/java/p1/ReconcileBenchmark.java");
+        content = generateClass(Integer.getInteger("reconcile.benchmark.methods", 2000));
+        Files.write(file.toPath(), content.getBytes(UTF_8));
+    }
+
+    @After
+    public void cleanUp() throws Exception {
+        workingCopyManager.closeAll();
+        Files.deleteIfExists(file.toPath());
+    }
+
+    @Test
+    public void compareReconcileLatency() throws Exception {
+        // the editor saves the file and asks to reconcile it
+        long[] perRequest = new long[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            Files.write(file.toPath(), insertComment(i).getBytes(UTF_8));
+            long start = System.nanoTime();
+            ReconcileResult result = reconciler.reconcile(project, FQN);
+            perRequest[i] = System.nanoTime() - start;
+            assertThat(result.getProblems()).isEmpty();
+        }
+
+        // the editor sends its changes to the opened session
+        Files.write(file.toPath(), content.getBytes(UTF_8));
+        String session = workingCopyManager.openSession(project, FQN);
+        workingCopyManager.reconcile(session);
+        long[] withSession = new long[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            ReconcileResult result = workingCopyManager.applyChanges(session, Collections.singletonList(commentChange(i)));
+            withSession[i] = System.nanoTime() - start;
+            assertThat(result.getProblems()).isEmpty();
+        }
+
+        System.out.printf("Reconcile of %d characters, median: per request %d ms, editor session %d ms%n",
+                          content.length(), median(perRequest), median(withSession));
+    }
+
+    private String insertComment(int iteration) {
+        int offset = content.lastIndexOf('}');
+        return content.substring(0, offset) + comment(iteration) + content.substring(offset);
+    }
+
+    private Change commentChange(int iteration) {
+        // replaces comment inserted by the previous iteration
+        Change change = mock(Change.class);
+        when(change.getOffset()).thenReturn(content.lastIndexOf('}'));
+        when(change.getLength()).thenReturn(iteration == 0 ? 0 : comment(iteration - 1).length());
+        when(change.getText()).thenReturn(comment(iteration));
+        return change;
+    }
+
+    private static String comment(int iteration) {
+        return "// change " + iteration + "\n";
+    }
+
+    private static long median(long[] durations) {
+        long[] sorted = durations.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2] / 1_000_000;
+    }
+
+    private static String generateClass(int methods) {
+        StringBuilder source = new StringBuilder("package p1;\n\nimport java.util.ArrayList;\nimport java.util.List;\n\n")
+                .append("public class ReconcileBenchmark {\n");
+        for (int i = 0; i < methods; i++) {
+            source.append("    private List<String> field").append(i).append(" = new ArrayList<>();\n\n")
+                  .append("    public int method").append(i).append("(String value) {\n")
+                  .append("        field").append(i).append(".add(value);\n")
+                  .append("        return field").append(i).append(".size() + value.length();\n")
+                  .append("    }\n\n");
+        }
+        return source.append("}\n").toString();
+    }
+}
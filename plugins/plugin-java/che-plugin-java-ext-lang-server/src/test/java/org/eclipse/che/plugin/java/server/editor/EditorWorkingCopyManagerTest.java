@@ -0,0 +1,149 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.java.server.editor;
+
+import org.eclipse.che.api.core.BadRequestException;
+import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.ide.ext.java.shared.dto.Change;
+import org.eclipse.che.ide.ext.java.shared.dto.ReconcileResult;
+import org.eclipse.che.jdt.javaeditor.JavaReconciler;
+import org.eclipse.jdt.core.IBuffer;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaProject;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import java.util.Collections;
+
+import static java.util.Arrays.asList;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+
+/**
+ * Tests for {@link EditorWorkingCopyManager}
+ */
+@Listeners(value = {MockitoTestNGListener.class})
+public class EditorWorkingCopyManagerTest {
+
+    @Mock
+    private JavaReconciler   reconciler;
+    @Mock
+    private IJavaProject     javaProject;
+    @Mock
+    private ICompilationUnit workingCopy;
+    @Mock
+    private IBuffer          buffer;
+
+    private EditorWorkingCopyManager manager;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        when(reconciler.getWorkingCopy(javaProject, "p1.X")).thenReturn(workingCopy);
+        when(workingCopy.getBuffer()).thenReturn(buffer);
+        when(buffer.getLength()).thenReturn(100);
+        when(reconciler.reconcile(workingCopy)).then(invocation -> mock(ReconcileResult.class));
+        manager = new EditorWorkingCopyManager(reconciler, 15);
+    }
+
+    @Test
+    public void shouldReconcileAgainWhenContentIsNotChanged() throws Exception {
+        String session = manager.openSession(javaProject, "p1.X");
+
+        ReconcileResult first = manager.reconcile(session);
+        ReconcileResult second = manager.reconcile(session);
+
+        // problems may be changed by changes of other files
+        assertNotSame(second, first);
+        verify(reconciler, times(2)).reconcile(workingCopy);
+    }
+
+    @Test
+    public void shouldApplyChangesToWorkingCopyAndReconcileIt() throws Exception {
+        String session = manager.openSession(javaProject, "p1.X");
+        ReconcileResult before = manager.reconcile(session);
+
+        ReconcileResult after = manager.applyChanges(session, asList(change(10, 0, "int i;"), change(20, 5, null)));
+
+        assertNotSame(after, before);
+        verify(buffer).replace(10, 0, "int i;");
+        verify(buffer).replace(20, 5, "");
+        verify(reconciler, times(2)).reconcile(workingCopy);
+    }
+
+    @Test(expectedExceptions = BadRequestException.class)
+    public void shouldRejectChangeOutOfContent() throws Exception {
+        String session = manager.openSession(javaProject, "p1.X");
+
+        manager.applyChanges(session, Collections.singletonList(change(95, 10, "")));
+    }
+
+    @Test
+    public void shouldNotApplyAnyChangeWhenOneOfThemIsOutOfContent() throws Exception {
+        String session = manager.openSession(javaProject, "p1.X");
+
+        try {
+            manager.applyChanges(session, asList(change(0, 50, ""), change(60, 10, "")));
+        } catch (BadRequestException ignored) {
+        }
+
+        verify(buffer, never()).replace(anyInt(), anyInt(), anyString());
+    }
+
+    @Test
+    public void shouldCheckChangeAgainstContentModifiedByPreviousChanges() throws Exception {
+        String session = manager.openSession(javaProject, "p1.X");
+
+        manager.applyChanges(session, asList(change(100, 0, "0123456789"), change(105, 5, "")));
+
+        verify(buffer).replace(105, 5, "");
+    }
+
+    @Test(expectedExceptions = NotFoundException.class)
+    public void shouldNotOpenSessionForUnknownType() throws Exception {
+        manager.openSession(javaProject, "p1.Unknown");
+    }
+
+    @Test
+    public void shouldDiscardWorkingCopyWhenSessionIsClosed() throws Exception {
+        String session = manager.openSession(javaProject, "p1.X");
+
+        manager.closeSession(session);
+
+        assertEquals(manager.getSize(), 0);
+        verify(reconciler).discardWorkingCopy(workingCopy);
+    }
+
+    @Test(expectedExceptions = NotFoundException.class)
+    public void shouldNotReconcileClosedSession() throws Exception {
+        String session = manager.openSession(javaProject, "p1.X");
+        manager.closeSession(session);
+
+        manager.reconcile(session);
+    }
+
+    private static Change change(int offset, int length, String text) {
+        Change change = mock(Change.class);
+        when(change.getOffset()).thenReturn(offset);
+        when(change.getLength()).thenReturn(length);
+        when(change.getText()).thenReturn(text);
+        return change;
+    }
+}
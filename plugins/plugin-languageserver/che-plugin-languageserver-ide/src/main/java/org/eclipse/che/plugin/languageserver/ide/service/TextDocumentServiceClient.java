@@ -44,6 +44,7 @@ import org.eclipse.che.ide.api.machine.WsAgentStateController;
 import org.eclipse.che.ide.api.notification.NotificationManager;
 import org.eclipse.che.ide.api.notification.StatusNotification;
 import org.eclipse.che.ide.dto.JsonSerializable;
+import org.eclipse.che.ide.jsonrpc.RequestTransmitter;
 import org.eclipse.che.ide.rest.AsyncRequestFactory;
 import org.eclipse.che.ide.rest.DtoUnmarshallerFactory;
 import org.eclipse.che.ide.rest.Unmarshallable;
@@ -61,10 +62,14 @@ import io.typefox.lsapi.CompletionItem;
 
 
 /**
+ * Interactive requests (completion, hover, signature help) are sent over JSON RPC, so a new completion
+ * request cancels the previous one which is still computed by the language server.
+ *
  * @author Anatolii Bazko
  */
 @Singleton
 public class TextDocumentServiceClient {
+    private static final String WS_AGENT_ENDPOINT = "ws-agent";
 
     private final DtoUnmarshallerFactory      unmarshallerFactory;
     private final AsyncRequestFactory         asyncRequestFactory;
@@ -72,6 +77,7 @@ public class TextDocumentServiceClient {
     private final NotificationManager         notificationManager;
     private final PublishDiagnosticsProcessor publishDiagnosticsProcessor;
     private final ShowMessageProcessor        showMessageProcessor;
+    private final RequestTransmitter          requestTransmitter;
 
     @Inject
     public TextDocumentServiceClient(
@@ -81,7 +87,8 @@ public class TextDocumentServiceClient {
             final AsyncRequestFactory asyncRequestFactory,
             final WsAgentStateController wsAgentStateController,
             final PublishDiagnosticsProcessor publishDiagnosticsProcessor,
-            final ShowMessageProcessor showMessageProcessor) {
+            final ShowMessageProcessor showMessageProcessor,
+            final RequestTransmitter requestTransmitter) {
         this.unmarshallerFactory = unmarshallerFactory;
         this.notificationManager = notificationManager;
         this.appContext = appContext;
@@ -95,6 +102,7 @@ public class TextDocumentServiceClient {
             }
         });
         this.showMessageProcessor = showMessageProcessor;
+        this.requestTransmitter = requestTransmitter;
     }
 
     /**
@@ -104,10 +112,7 @@ public class TextDocumentServiceClient {
      * @return
      */
     public Promise<CompletionListDTO> completion(TextDocumentPositionParamsDTO position) {
-        String requestUrl = appContext.getDevMachine().getWsAgentBaseUrl() + "/languageserver/textDocument/completion";
-        Unmarshallable<CompletionListDTO> unmarshaller = unmarshallerFactory.newUnmarshaller(CompletionListDTO.class);
-        return asyncRequestFactory.createPostRequest(requestUrl, null).header(ACCEPT, APPLICATION_JSON)
-                                  .header(CONTENT_TYPE, APPLICATION_JSON).data(((JsonSerializable)position).toJson()).send(unmarshaller);
+        return requestTransmitter.transmitOneToOne(WS_AGENT_ENDPOINT, "textDocument/completion", position, CompletionListDTO.class);
     }
 
     /**
@@ -117,11 +122,7 @@ public class TextDocumentServiceClient {
      * @return
      */
     public Promise<CompletionItemDTO> resolveCompletionItem(CompletionItemDTO completionItem) {
-        String requestUrl = appContext.getDevMachine().getWsAgentBaseUrl() + "/languageserver/textDocument/completionItem/resolve";
-        Unmarshallable<CompletionItemDTO> unmarshaller = unmarshallerFactory.newUnmarshaller(CompletionItemDTO.class);
-        return asyncRequestFactory.createPostRequest(requestUrl, completionItem)
-                                  .header(ACCEPT, APPLICATION_JSON)
-                                  .header(CONTENT_TYPE, APPLICATION_JSON).send(unmarshaller);
+        return requestTransmitter.transmitOneToOne(WS_AGENT_ENDPOINT, "completionItem/resolve", completionItem, CompletionItemDTO.class);
     }
 
     /**
@@ -176,12 +177,7 @@ public class TextDocumentServiceClient {
      * @return
      */
     public Promise<HoverDTO> hover(TextDocumentPositionParamsDTO params) {
-        String requestUrl = appContext.getDevMachine().getWsAgentBaseUrl() + "/languageserver/textDocument/hover";
-        Unmarshallable<HoverDTO> unmarshaller = unmarshallerFactory.newUnmarshaller(HoverDTO.class);
-        return asyncRequestFactory.createPostRequest(requestUrl, params)
-                                  .header(ACCEPT, APPLICATION_JSON)
-                                  .header(CONTENT_TYPE, APPLICATION_JSON)
-                                  .send(unmarshaller);
+        return requestTransmitter.transmitOneToOne(WS_AGENT_ENDPOINT, "textDocument/hover", params, HoverDTO.class);
     }
 
     /**
@@ -191,12 +187,7 @@ public class TextDocumentServiceClient {
      * @return
      */
     public Promise<SignatureHelpDTO> signatureHelp(TextDocumentPositionParamsDTO params) {
-        String requestUrl = appContext.getDevMachine().getWsAgentBaseUrl() + "/languageserver/textDocument/signatureHelp";
-        Unmarshallable<SignatureHelpDTO> unmarshaller = unmarshallerFactory.newUnmarshaller(SignatureHelpDTO.class);
-        return asyncRequestFactory.createPostRequest(requestUrl, params)
-                                  .header(ACCEPT, APPLICATION_JSON)
-                                  .header(CONTENT_TYPE, APPLICATION_JSON)
-                                  .send(unmarshaller);
+        return requestTransmitter.transmitOneToOne(WS_AGENT_ENDPOINT, "textDocument/signatureHelp", params, SignatureHelpDTO.class);
     }
 
     /**
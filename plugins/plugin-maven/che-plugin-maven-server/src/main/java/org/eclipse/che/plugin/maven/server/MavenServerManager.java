@@ -93,22 +93,50 @@ public class MavenServerManager extends RmiObjectWrapper<MavenRemoteServer> {
         return new MavenServerWrapper() {
             @Override
             protected MavenServer create() throws RemoteException {
-                MavenSettings mavenSettings = new MavenSettings();
-                //TODO add more user settings
-                mavenSettings.setMavenHome(new File(System.getenv("M2_HOME")));
-                mavenSettings.setUserSettings(new File(System.getProperty("user.home"), ".m2/settings.xml"));
-                // Setting Global maven setting
-                // for more maven info settings visit https://maven.apache.org/settings.html
-                mavenSettings.setGlobalSettings(new File(System.getenv("M2_HOME"), "conf/settings.xml"));
-                mavenSettings.setLoggingLevel(MavenTerminal.LEVEL_INFO);
-                if (localRepository != null) {
-                    mavenSettings.setLocalRepository(localRepository);
-                }
-                return MavenServerManager.this.getOrCreateWrappedObject().createServer(mavenSettings);
+                return MavenServerManager.this.getOrCreateWrappedObject().createServer(createMavenSettings());
             }
         };
     }
 
+    /**
+     * Creates maven server which works in its own process. The process is started on the first
+     * call of the server and it is restarted if it dies.
+     *
+     * @param processName
+     *         unique name of the process
+     * @see #stopMavenServerProcess(String)
+     */
+    public MavenServerWrapper createMavenServer(String processName) {
+        return new MavenServerWrapper() {
+            @Override
+            protected MavenServer create() throws RemoteException {
+                return acquireRemoteServer(processName).createServer(createMavenSettings());
+            }
+        };
+    }
+
+    /**
+     * Stops process of the maven server created with {@link #createMavenServer(String)}.
+     */
+    public void stopMavenServerProcess(String processName) {
+        client.stop(this, processName);
+    }
+
+    private MavenSettings createMavenSettings() {
+        MavenSettings mavenSettings = new MavenSettings();
+        //TODO add more user settings
+        mavenSettings.setMavenHome(new File(System.getenv("M2_HOME")));
+        mavenSettings.setUserSettings(new File(System.getProperty("user.home"), ".m2/settings.xml"));
+        // Setting Global maven setting
+        // for more maven info settings visit https://maven.apache.org/settings.html
+        mavenSettings.setGlobalSettings(new File(System.getenv("M2_HOME"), "conf/settings.xml"));
+        mavenSettings.setLoggingLevel(MavenTerminal.LEVEL_INFO);
+        if (localRepository != null) {
+            mavenSettings.setLocalRepository(localRepository);
+        }
+        return mavenSettings;
+    }
+
     /**
      * For test use only. Sets the path to local maven repository
      *
@@ -130,12 +158,23 @@ public class MavenServerManager extends RmiObjectWrapper<MavenRemoteServer> {
 
     @Override
     protected MavenRemoteServer create() throws RemoteException {
+        return acquireRemoteServer("");
+    }
+
+    private MavenRemoteServer acquireRemoteServer(String processName) throws RemoteException {
         MavenRemoteServer server;
         try {
-            server = client.acquire(this, "");
+            server = client.acquire(this, processName);
         } catch (Exception e) {
             throw new RemoteException("Can't start maven server", e);
         }
+        exportListeners();
+        server.configure(rmiLogger, rmiDownloadListener);
+
+        return server;
+    }
+
+    private synchronized void exportListeners() throws RemoteException {
         if (!loggerExported) {
             Remote loggerRemote = UnicastRemoteObject.exportObject(rmiLogger, 0);
             if (!(loggerExported = loggerRemote != null)) {
@@ -148,10 +187,6 @@ public class MavenServerManager extends RmiObjectWrapper<MavenRemoteServer> {
                 throw new RemoteException("Can't export download listener");
             }
         }
-
-        server.configure(rmiLogger, rmiDownloadListener);
-
-        return server;
     }
 
     @Override
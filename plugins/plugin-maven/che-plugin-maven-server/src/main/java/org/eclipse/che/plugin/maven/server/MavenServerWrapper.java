@@ -144,6 +144,22 @@ public abstract class MavenServerWrapper extends RmiObjectWrapper<MavenServer> {
 
     }
 
+    /**
+     * Checks that the maven server responds, starts the server if it isn't started yet.
+     *
+     * @return {@code false} if the server can't be started or doesn't respond
+     */
+    public boolean ping() {
+        try {
+            getOrCreateWrappedObject().getLocalRepository();
+            return true;
+        } catch (RemoteException | RuntimeException e) {
+            LOG.debug(e.getMessage(), e);
+            onError();
+            return false;
+        }
+    }
+
     public void dispose() {
         MavenServer wrapped = getWrapped();
         if (wrapped != null) {
@@ -10,56 +10,272 @@
  *******************************************************************************/
 package org.eclipse.che.plugin.maven.server;
 
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
+import com.google.inject.name.Named;
 
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
-import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 /**
- *
- * Manages and cache MavenServerWrapper instances
+ * Manages pool of MavenServerWrapper instances. Each server of the pool works in its own process,
+ * so long resolving of projects doesn't slow down other maven requests.
+ * <p>
+ * At least {@code minSize} servers are started at agent start and kept alive, at most {@code maxSize} servers
+ * may exist at the same time. When all servers are busy and the pool is full the caller waits until some server is released.
+ * Servers of {@link ServerType#RESOLVE} type may take at most {@code maxSize - 1} servers, so one server is always
+ * available for downloading of artifacts and computing of effective pom. Idle servers are checked periodically,
+ * server which doesn't respond is replaced. Process of the server is restarted after {@code maxResolutions}
+ * resolutions to free memory held by maven.
  *
  * @author Evgen Vidolob
  */
 @Singleton
 public class MavenWrapperManager {
+    private static final Logger LOG = LoggerFactory.getLogger(MavenWrapperManager.class);
 
+    private static final long HEALTH_CHECK_INTERVAL_SEC = 60;
 
-    private final MavenServerManager    serverManager;
-    private final Map<ServerType, MavenServerWrapper> cache = new HashMap<>();
-    private final Set<MavenServerWrapper> usedServers = new HashSet<>();
+    private final MavenServerManager                    serverManager;
+    private final int                                   minSize;
+    private final int                                   maxSize;
+    private final int                                   maxResolutions;
+    private final Deque<PooledServer>                   idle = new ArrayDeque<>();
+    private final Map<MavenServerWrapper, PooledServer> busy = new HashMap<>();
 
+    private int                      size;
+    private int                      busyResolve;
+    private int                      nextId;
+    private ScheduledExecutorService executor;
 
-    @Inject
     public MavenWrapperManager(MavenServerManager serverManager) {
+        this(serverManager, 0, 3, 0);
+    }
+
+    /**
+     * @param minSize
+     *         number of servers which are started at agent start and kept alive
+     * @param maxSize
+     *         maximum number of servers
+     * @param maxResolutions
+     *         number of resolutions after which process of the server is restarted, 0 means never restart
+     */
+    @Inject
+    public MavenWrapperManager(MavenServerManager serverManager,
+                               @Named("che.maven.server.pool.min_size") int minSize,
+                               @Named("che.maven.server.pool.max_size") int maxSize,
+                               @Named("che.maven.server.pool.max_resolutions") int maxResolutions) {
         this.serverManager = serverManager;
+        this.maxSize = Math.max(1, maxSize);
+        this.minSize = Math.min(Math.max(0, minSize), this.maxSize);
+        this.maxResolutions = maxResolutions;
+    }
+
+    @PostConstruct
+    public void start() {
+        executor = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+                                                                      .setNameFormat("MavenServerPool-%d")
+                                                                      .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
+                                                                      .setDaemon(true)
+                                                                      .build());
+        executor.execute(this::ensureMinSize);
+        executor.scheduleWithFixedDelay(this::checkIdleServers, HEALTH_CHECK_INTERVAL_SEC, HEALTH_CHECK_INTERVAL_SEC, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+        List<PooledServer> servers;
+        synchronized (this) {
+            servers = new ArrayList<>(idle);
+            idle.clear();
+            size -= servers.size();
+        }
+        servers.forEach(this::destroy);
+    }
+
+    /**
+     * Takes server from the pool, waits if all servers are busy and the pool is full.
+     * Server must be returned to the pool with {@link #release(MavenServerWrapper)}.
+     */
+    public MavenServerWrapper getMavenServer(ServerType type) {
+        PooledServer server;
+        synchronized (this) {
+            try {
+                while (!canAcquire(type)) {
+                    wait();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while waiting for maven server");
+            }
+            server = idle.pollFirst();
+            if (server == null) {
+                server = new PooledServer("maven-server-" + nextId++);
+                size++;
+            }
+            server.type = type;
+            busy.put(server.wrapper, server);
+            if (type == ServerType.RESOLVE) {
+                busyResolve++;
+            }
+        }
+        return server.wrapper;
+    }
+
+    /** Returns server to the pool. */
+    public void release(MavenServerWrapper wrapper) {
+        PooledServer server;
+        synchronized (this) {
+            server = busy.remove(wrapper);
+            if (server == null) {
+                LOG.warn("Released maven server doesn't belong to the pool");
+                return;
+            }
+            if (server.type == ServerType.RESOLVE) {
+                busyResolve--;
+                server.resolutions++;
+            }
+        }
+
+        if (maxResolutions > 0 && server.resolutions >= maxResolutions) {
+            LOG.debug("Restarting maven server {} after {} resolutions", server.name, server.resolutions);
+            destroy(server);
+            synchronized (this) {
+                size--;
+                notifyAll();
+            }
+            scheduleEnsureMinSize();
+            return;
+        }
+
+        wrapper.reset();
+        synchronized (this) {
+            idle.addFirst(server);
+            notifyAll();
+        }
+    }
+
+    /** Returns number of servers in the pool. */
+    @VisibleForTesting
+    synchronized int getSize() {
+        return size;
     }
 
-    public synchronized MavenServerWrapper getMavenServer(ServerType type) {
-        MavenServerWrapper wrapper = cache.get(type);
-        if (wrapper == null) {
-            wrapper = serverManager.createMavenServer();
-            cache.put(type, wrapper);
+    /** Returns number of servers which aren't used at the moment. */
+    @VisibleForTesting
+    synchronized int getIdleSize() {
+        return idle.size();
+    }
+
+    /** Checks idle servers and replaces the ones which don't respond. */
+    @VisibleForTesting
+    void checkIdleServers() {
+        List<PooledServer> servers;
+        synchronized (this) {
+            servers = new ArrayList<>(idle);
+        }
+        for (PooledServer server : servers) {
+            boolean taken;
+            synchronized (this) {
+                // the server may be taken while previous one is checked
+                taken = !idle.remove(server);
+            }
+            if (taken) {
+                continue;
+            }
+            if (server.wrapper.ping()) {
+                synchronized (this) {
+                    idle.addLast(server);
+                    notifyAll();
+                }
+            } else {
+                LOG.warn("Maven server {} doesn't respond and will be replaced", server.name);
+                destroy(server);
+                synchronized (this) {
+                    size--;
+                    notifyAll();
+                }
+            }
         }
+        ensureMinSize();
+    }
 
-        if (usedServers.contains(wrapper)) {
-            //need to warn here
-            return serverManager.createMavenServer();
+    private boolean canAcquire(ServerType type) {
+        if (type == ServerType.RESOLVE && maxSize > 1 && busyResolve >= maxSize - 1) {
+            return false;
         }
+        return !idle.isEmpty() || size < maxSize;
+    }
 
-        usedServers.add(wrapper);
-        return wrapper;
+    private void scheduleEnsureMinSize() {
+        if (executor != null && !executor.isShutdown()) {
+            executor.execute(this::ensureMinSize);
+        }
     }
 
-    public synchronized void release(MavenServerWrapper wrapper) {
-        if (usedServers.contains(wrapper)) {
-            wrapper.reset();
-            usedServers.remove(wrapper);
-        } else {
-            wrapper.dispose();
+    private void ensureMinSize() {
+        while (true) {
+            PooledServer server;
+            synchronized (this) {
+                if (size >= minSize) {
+                    return;
+                }
+                server = new PooledServer("maven-server-" + nextId++);
+                size++;
+            }
+            if (!server.wrapper.ping()) {
+                LOG.warn("Can't start maven server {}", server.name);
+                destroy(server);
+                synchronized (this) {
+                    size--;
+                    notifyAll();
+                }
+                return;
+            }
+            synchronized (this) {
+                idle.addLast(server);
+                notifyAll();
+            }
+        }
+    }
+
+    private void destroy(PooledServer server) {
+        try {
+            server.wrapper.dispose();
+        } catch (RuntimeException e) {
+            LOG.debug(e.getMessage(), e);
+        }
+        serverManager.stopMavenServerProcess(server.name);
+    }
+
+    private class PooledServer {
+        final String             name;
+        final MavenServerWrapper wrapper;
+
+        ServerType type;
+        int        resolutions;
+
+        PooledServer(String name) {
+            this.name = name;
+            this.wrapper = serverManager.createMavenServer(name);
         }
     }
 
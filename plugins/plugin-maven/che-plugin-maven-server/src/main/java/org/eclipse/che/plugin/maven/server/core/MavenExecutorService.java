@@ -11,7 +11,9 @@
 package org.eclipse.che.plugin.maven.server.core;
 
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.inject.Inject;
 import com.google.inject.Singleton;
+import com.google.inject.name.Named;
 
 import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
 import org.slf4j.Logger;
@@ -24,6 +26,8 @@ import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 
 /**
+ * Thread pool for maven tasks. Size of the pool limits number of maven projects resolved at the same time.
+ *
  * @author Evgen Vidolob
  */
 @Singleton
@@ -34,10 +38,18 @@ public class MavenExecutorService {
     private final ExecutorService service;
 
     public MavenExecutorService() {
+        this(1);
+    }
+
+    @Inject
+    public MavenExecutorService(@Named("che.maven.server.resolve_threads") int threads) {
+        if (threads <= 0) {
+            threads = Runtime.getRuntime().availableProcessors();
+        }
         ThreadFactory threadFactory = new ThreadFactoryBuilder().setNameFormat("Maven Executor - %d")
                                                                 .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
                                                                 .build();
-        service = Executors.newFixedThreadPool(1, threadFactory);
+        service = Executors.newFixedThreadPool(threads, threadFactory);
     }
 
     public void submit(Runnable task) {
@@ -22,6 +22,7 @@ import org.eclipse.che.plugin.maven.server.MavenServerManager;
 import org.eclipse.che.plugin.maven.server.MavenServerWrapper;
 import org.eclipse.che.plugin.maven.server.MavenWrapperManager;
 import org.eclipse.che.plugin.maven.server.core.project.MavenProject;
+import org.eclipse.che.plugin.maven.server.core.project.MavenProjectCache;
 import org.eclipse.che.plugin.maven.server.core.project.MavenProjectModifications;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IWorkspace;
@@ -66,6 +67,7 @@ public class MavenProjectManager {
     private final MavenTerminal         terminal;
     private final MavenProgressNotifier mavenNotifier;
     private final Provider<IWorkspace>  workspaceProvider;
+    private final MavenProjectCache     projectCache;
 
     private final ReentrantReadWriteLock readWriteLock = new ReentrantReadWriteLock();
     private final Lock                   readLock      = readWriteLock.readLock();
@@ -73,13 +75,23 @@ public class MavenProjectManager {
 
     private final MavenProjectListener dispatcher;
 
-    @Inject
     public MavenProjectManager(MavenWrapperManager wrapperManager,
                                MavenServerManager serverManager,
                                MavenTerminal terminal,
                                MavenProgressNotifier mavenNotifier,
                                EclipseWorkspaceProvider workspaceProvider) {
+        this(wrapperManager, serverManager, terminal, mavenNotifier, workspaceProvider, new MavenProjectCache(null));
+    }
+
+    @Inject
+    public MavenProjectManager(MavenWrapperManager wrapperManager,
+                               MavenServerManager serverManager,
+                               MavenTerminal terminal,
+                               MavenProgressNotifier mavenNotifier,
+                               EclipseWorkspaceProvider workspaceProvider,
+                               MavenProjectCache projectCache) {
         this.wrapperManager = wrapperManager;
+        this.projectCache = projectCache;
         this.serverManager = serverManager;
         this.terminal = terminal;
         this.mavenNotifier = mavenNotifier;
@@ -113,12 +125,22 @@ public class MavenProjectManager {
     }
 
     public void resolveMavenProject(IProject project, MavenProject mavenProject) {
+        List<MavenProject> parents = findParentProjects(mavenProject);
+        MavenProjectModifications restored = projectCache.restore(mavenProject, parents);
+        if (restored != null) {
+            dispatcher.projectResolved(mavenProject, restored);
+            return;
+        }
+
         MavenServerWrapper mavenServer = wrapperManager.getMavenServer(MavenWrapperManager.ServerType.RESOLVE);
         try {
 
             mavenNotifier.setText("Resolving project: " + mavenProject.getName());
             mavenServer.customize(copyWorkspaceCache(), terminal, mavenNotifier, false, true);
             MavenProjectModifications modifications = mavenProject.resolve(project, mavenServer, serverManager);
+            if (mavenProject.getProblems().isEmpty()) {
+                projectCache.store(mavenProject, parents);
+            }
             dispatcher.projectResolved(mavenProject, modifications);
 
         } finally {
@@ -158,6 +180,16 @@ public class MavenProjectManager {
 
     }
 
+    private List<MavenProject> findParentProjects(MavenProject mavenProject) {
+        List<MavenProject> parents = new ArrayList<>();
+        MavenProject parent = findParentProject(mavenProject);
+        while (parent != null && !parents.contains(parent)) {
+            parents.add(parent);
+            parent = findParentProject(parent);
+        }
+        return parents;
+    }
+
     private void internalAddMavenProject(IProject project, boolean recursive, UpdateState state, Deque<MavenProject> stack) {
         MavenProject mavenProject = new MavenProject(project, workspaceProvider.get());
         MavenProject potentialParent = null;
@@ -280,6 +312,7 @@ public class MavenProjectManager {
         }
 
         state.remove(removedModule);
+        projectCache.remove(removedModule);
 
     }
 
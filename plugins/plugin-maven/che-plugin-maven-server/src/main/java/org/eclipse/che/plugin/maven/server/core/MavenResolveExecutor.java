@@ -0,0 +1,165 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.maven.server.core;
+
+import org.eclipse.che.plugin.maven.server.core.project.MavenProject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Executor for resolving of {@link MavenProject}s. Unlike {@link MavenTaskExecutor} it performs tasks concurrently
+ * using all threads of {@link MavenExecutorService}. Task of the project is started only when tasks of all its
+ * parents are finished, so modules of the same parent are resolved in parallel once the parent is resolved.
+ * Task submitted for the project which is resolved at the moment is started after the current one is finished.
+ */
+public class MavenResolveExecutor {
+    private static final Logger LOG = LoggerFactory.getLogger(MavenResolveExecutor.class);
+
+    private final MavenExecutorService                 service;
+    private final MavenProgressNotifier                notifier;
+    private final Function<MavenProject, MavenProject> parentFinder;
+
+    private final Map<MavenProject, MavenProjectTask> pending = new LinkedHashMap<>();
+    private final Set<MavenProject>                   running = new HashSet<>();
+
+    private int done;
+
+    /**
+     * @param service
+     *         executor service which performs tasks
+     * @param notifier
+     *         notifier of resolving progress
+     * @param parentFinder
+     *         returns parent of the project or {@code null} when project has no parent in the workspace
+     */
+    public MavenResolveExecutor(MavenExecutorService service,
+                                MavenProgressNotifier notifier,
+                                Function<MavenProject, MavenProject> parentFinder) {
+        this.service = service;
+        this.notifier = notifier;
+        this.parentFinder = parentFinder;
+    }
+
+    /**
+     * Schedules task for the project. If the task for this project is waiting for execution it is replaced by the new one.
+     */
+    public void submitTask(MavenProject project, MavenProjectTask task) {
+        submitTasks(Collections.singletonMap(project, task));
+    }
+
+    /**
+     * Schedules tasks for the projects. Tasks should be submitted together to be sure
+     * that the task of the parent is performed before tasks of its modules.
+     */
+    public void submitTasks(Map<MavenProject, MavenProjectTask> tasks) {
+        if (tasks.isEmpty()) {
+            return;
+        }
+        synchronized (pending) {
+            if (pending.isEmpty() && running.isEmpty()) {
+                done = 0;
+                notifier.start();
+            }
+            pending.putAll(tasks);
+            runReadyTasks();
+        }
+    }
+
+    /** Removes all tasks which are not started yet. */
+    public void stop() {
+        synchronized (pending) {
+            pending.clear();
+            if (running.isEmpty()) {
+                pending.notifyAll();
+                notifier.stop();
+            }
+        }
+    }
+
+    /**
+     * Waits for ends of all submitted tasks.
+     * For test only.
+     */
+    public void waitForEndAllTasks() {
+        synchronized (pending) {
+            try {
+                while (!pending.isEmpty() || !running.isEmpty()) {
+                    pending.wait();
+                }
+            } catch (InterruptedException e) {
+                LOG.debug(e.getMessage(), e);
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void runReadyTasks() {
+        for (Iterator<Map.Entry<MavenProject, MavenProjectTask>> it = pending.entrySet().iterator(); it.hasNext(); ) {
+            final Map.Entry<MavenProject, MavenProjectTask> entry = it.next();
+            final MavenProject project = entry.getKey();
+            if (isReady(project)) {
+                running.add(project);
+                final MavenProjectTask task = entry.getValue();
+                it.remove();
+                service.submit(() -> runTask(project, task));
+            }
+        }
+    }
+
+    private boolean isReady(MavenProject project) {
+        if (running.contains(project)) {
+            return false;
+        }
+        final Set<MavenProject> visited = new HashSet<>();
+        MavenProject parent = parentFinder.apply(project);
+        while (parent != null && visited.add(parent)) {
+            if (pending.containsKey(parent) || running.contains(parent)) {
+                return false;
+            }
+            parent = parentFinder.apply(parent);
+        }
+        return true;
+    }
+
+    private void runTask(MavenProject project, MavenProjectTask task) {
+        String failure = null;
+        try {
+            task.perform();
+        } catch (Throwable throwable) {
+            LOG.error(throwable.getMessage(), throwable);
+            failure = throwable.getMessage() != null ? throwable.getMessage() : throwable.getClass().getName();
+        } finally {
+            synchronized (pending) {
+                running.remove(project);
+                done++;
+                if (failure == null) {
+                    notifier.setText("Resolved project: " + project.getName());
+                } else {
+                    notifier.setText("Failed to resolve project: " + project.getName() + ". " + failure);
+                }
+                notifier.setPercent((double)done / (double)(done + running.size() + pending.size()));
+                runReadyTasks();
+                if (pending.isEmpty() && running.isEmpty()) {
+                    pending.notifyAll();
+                    notifier.stop();
+                }
+            }
+        }
+    }
+}
@@ -45,6 +45,7 @@ import org.slf4j.LoggerFactory;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -65,8 +66,8 @@ public class MavenWorkspace {
     private final MavenCommunication        communication;
     private final ClasspathManager          classpathManager;
 
-    private MavenTaskExecutor resolveExecutor;
-    private MavenTaskExecutor classPathExecutor;
+    private MavenResolveExecutor resolveExecutor;
+    private MavenTaskExecutor    classPathExecutor;
 
     private Set<MavenProject> projectsToResolve = new CopyOnWriteArraySet<>();
 
@@ -84,7 +85,7 @@ public class MavenWorkspace {
         this.communication = communication;
         this.classpathManager = classpathManager;
         this.manager = manager;
-        resolveExecutor = new MavenTaskExecutor(executorService, notifier);
+        resolveExecutor = new MavenResolveExecutor(executorService, notifier, manager::findParentProject);
         eventService.subscribe(new EventSubscriber<ProjectDeletedEvent>() {
             @Override
             public void onEvent(ProjectDeletedEvent event) {
@@ -154,13 +155,15 @@ public class MavenWorkspace {
         Set<MavenProject> needResolve = new HashSet<>(projectsToResolve);
         projectsToResolve.clear();
 
+        Map<MavenProject, MavenProjectTask> tasks = new LinkedHashMap<>();
         for (MavenProject mavenProject : needResolve) {
 
-            resolveExecutor.submitTask(new MavenProjectResolveTask(mavenProject, manager, () -> {
+            tasks.put(mavenProject, new MavenProjectResolveTask(mavenProject, manager, () -> {
                 addSourcesFromBuildHelperPlugin(mavenProject);
                 classpathManager.updateClasspath(mavenProject);
             }));
         }
+        resolveExecutor.submitTasks(tasks);
 
     }
 
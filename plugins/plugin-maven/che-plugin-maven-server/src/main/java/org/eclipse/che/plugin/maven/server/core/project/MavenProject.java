@@ -30,6 +30,7 @@ import org.eclipse.core.runtime.Path;
 import org.jdom.Element;
 
 import java.io.File;
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
@@ -254,6 +255,20 @@ public class MavenProject {
         return result;
     }
 
+    /** Returns current state of the project, used by {@link MavenProjectCache}. */
+    Info getInfo() {
+        return info;
+    }
+
+    /**
+     * Replaces state of the project with state restored by {@link MavenProjectCache}.
+     *
+     * @return the modification types that applied to this project
+     */
+    MavenProjectModifications restoreInfo(Info restoredInfo) {
+        return setInfo(restoredInfo.clone());
+    }
+
     private MavenProjectModifications setInfo(Info newInfo) {
         MavenProjectModifications modifications = info.generateChanges(newInfo);
         info = newInfo;
@@ -352,7 +367,9 @@ public class MavenProject {
     }
 
 
-    private static class Info implements Cloneable {
+    static class Info implements Cloneable, Serializable {
+        private static final long serialVersionUID = 1L;
+
         public MavenKey mavenKey;
         public MavenKey parentKey;
 
@@ -379,7 +396,7 @@ public class MavenProject {
         public Map<String, String> modulesNameToPath;
 
         public Set<MavenKey> unresolvedArtifacts;
-        public List<MavenProjectProblem> problemsCache;
+        public transient List<MavenProjectProblem> problemsCache;
 
         public Info clone() {
             try {
@@ -0,0 +1,231 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.maven.server.core.project;
+
+import com.google.common.hash.Hashing;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.google.inject.name.Named;
+
+import org.eclipse.che.maven.data.MavenArtifact;
+import org.eclipse.che.maven.data.MavenConstants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Stores resolved state of maven projects on disk, so projects which weren't changed
+ * aren't resolved by maven again after restart of the workspace agent.
+ * <p>
+ * Snapshot of the project is valid while content of its pom.xml, pom.xml files of its parents
+ * and pom.xml files of workspace projects it depends on are the same as at the moment of resolving
+ * and all resolved dependencies still exist. Snapshot is used only for the first resolving of the project
+ * after start of the agent, next resolving of the project (e.g. after reimport) always invokes maven.
+ */
+@Singleton
+public class MavenProjectCache {
+    private static final Logger LOG = LoggerFactory.getLogger(MavenProjectCache.class);
+
+    private static final String SNAPSHOT_EXTENSION = ".bin";
+
+    private final File        cacheDir;
+    private final Set<String> restoreAttempted = ConcurrentHashMap.newKeySet();
+
+    /**
+     * @param cacheDir
+     *         directory to store snapshots in, if it is {@code null} nothing is stored
+     */
+    @Inject
+    public MavenProjectCache(@Named("che.maven.server.cache.dir") String cacheDir) {
+        this.cacheDir = cacheDir == null ? null : new File(cacheDir);
+    }
+
+    /**
+     * Restores resolved state of the project from the snapshot.
+     *
+     * @param project
+     *         project to restore
+     * @param parents
+     *         parents of the project which exist in the workspace
+     * @return modifications applied to the project or {@code null} if there is no valid snapshot of the project
+     */
+    public MavenProjectModifications restore(MavenProject project, List<MavenProject> parents) {
+        if (cacheDir == null || !restoreAttempted.add(getPath(project))) {
+            return null;
+        }
+        File file = getSnapshotFile(project);
+        if (!file.exists()) {
+            return null;
+        }
+
+        Snapshot snapshot;
+        try (ObjectInputStream in = new ObjectInputStream(new BufferedInputStream(new InflaterInputStream(new FileInputStream(file))))) {
+            snapshot = (Snapshot)in.readObject();
+        } catch (IOException | ClassNotFoundException | ClassCastException e) {
+            LOG.debug("Can't read snapshot of maven project " + getPath(project), e);
+            deleteSnapshot(file);
+            return null;
+        }
+
+        if (!getPath(project).equals(snapshot.projectPath) || !isValid(snapshot, project, parents)) {
+            deleteSnapshot(file);
+            return null;
+        }
+        return project.restoreInfo(snapshot.info);
+    }
+
+    /**
+     * Stores resolved state of the project.
+     *
+     * @param project
+     *         resolved project
+     * @param parents
+     *         parents of the project which exist in the workspace
+     */
+    public void store(MavenProject project, List<MavenProject> parents) {
+        if (cacheDir == null) {
+            return;
+        }
+        MavenProject.Info info = project.getInfo();
+        Snapshot snapshot = new Snapshot(getPath(project), collectInputs(project, parents, info), info);
+
+        File file = getSnapshotFile(project);
+        try {
+            Files.createDirectories(cacheDir.toPath());
+            File tmp = File.createTempFile(file.getName(), ".tmp", cacheDir);
+            try (ObjectOutputStream out = new ObjectOutputStream(new BufferedOutputStream(new DeflaterOutputStream(new FileOutputStream(tmp))))) {
+                out.writeObject(snapshot);
+            } catch (IOException e) {
+                deleteSnapshot(tmp);
+                throw e;
+            }
+            Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            LOG.warn("Can't store snapshot of maven project {}: {}", getPath(project), e.getMessage());
+        }
+    }
+
+    /** Removes snapshot of the project. */
+    public void remove(MavenProject project) {
+        if (cacheDir != null) {
+            deleteSnapshot(getSnapshotFile(project));
+        }
+    }
+
+    private boolean isValid(Snapshot snapshot, MavenProject project, List<MavenProject> parents) {
+        if (!snapshot.inputs.containsKey(project.getPomFile().getPath())) {
+            return false;
+        }
+        for (MavenProject parent : parents) {
+            if (!snapshot.inputs.containsKey(parent.getPomFile().getPath())) {
+                return false;
+            }
+        }
+        for (Map.Entry<String, String> input : snapshot.inputs.entrySet()) {
+            if (!Objects.equals(input.getValue(), hash(new File(input.getKey())))) {
+                return false;
+            }
+        }
+        for (MavenArtifact dependency : nullToEmpty(snapshot.info.dependencies)) {
+            File dependencyFile = dependency.getFile();
+            if (dependency.isResolved() && dependencyFile != null && !dependencyFile.exists()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static HashMap<String, String> collectInputs(MavenProject project, List<MavenProject> parents, MavenProject.Info info) {
+        HashMap<String, String> inputs = new HashMap<>();
+        addInput(inputs, project.getPomFile());
+        for (MavenProject parent : parents) {
+            addInput(inputs, parent.getPomFile());
+        }
+        // dependencies on workspace projects are resolved to their pom.xml files
+        for (MavenArtifact dependency : nullToEmpty(info.dependencies)) {
+            File dependencyFile = dependency.getFile();
+            if (dependencyFile != null && MavenConstants.POM_FILE_NAME.equals(dependencyFile.getName())) {
+                addInput(inputs, dependencyFile);
+            }
+        }
+        return inputs;
+    }
+
+    private static void addInput(Map<String, String> inputs, File pom) {
+        inputs.put(pom.getPath(), hash(pom));
+    }
+
+    private static String hash(File file) {
+        if (!file.isFile()) {
+            return null;
+        }
+        try {
+            return Hashing.sha1().hashBytes(Files.readAllBytes(file.toPath())).toString();
+        } catch (IOException e) {
+            LOG.debug(e.getMessage(), e);
+            return null;
+        }
+    }
+
+    private static List<MavenArtifact> nullToEmpty(List<MavenArtifact> dependencies) {
+        return dependencies == null ? Collections.emptyList() : dependencies;
+    }
+
+    private File getSnapshotFile(MavenProject project) {
+        return new File(cacheDir, Hashing.sha1().hashString(getPath(project), UTF_8).toString() + SNAPSHOT_EXTENSION);
+    }
+
+    private static String getPath(MavenProject project) {
+        return project.getProject().getFullPath().toOSString();
+    }
+
+    private static void deleteSnapshot(File file) {
+        if (file.exists() && !file.delete()) {
+            LOG.warn("Can't delete snapshot of maven project {}", file);
+        }
+    }
+
+    private static class Snapshot implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        final String                  projectPath;
+        final HashMap<String, String> inputs;
+        final MavenProject.Info       info;
+
+        Snapshot(String projectPath, HashMap<String, String> inputs, MavenProject.Info info) {
+            this.projectPath = projectPath;
+            this.inputs = inputs;
+            this.info = info;
+        }
+    }
+}
@@ -11,14 +11,17 @@
 package org.eclipse.che.plugin.maven.server.inject;
 
 import com.google.inject.AbstractModule;
+import com.google.inject.Provides;
 import com.google.inject.Singleton;
 import com.google.inject.multibindings.Multibinder;
+import com.google.inject.name.Named;
 
 import org.eclipse.che.api.project.server.handlers.ProjectHandler;
 import org.eclipse.che.api.project.server.type.ProjectTypeDef;
 import org.eclipse.che.api.project.server.type.ValueProviderFactory;
 import org.eclipse.che.inject.DynaModule;
 import org.eclipse.che.maven.server.MavenTerminal;
+import org.eclipse.che.plugin.maven.server.MavenWrapperManager;
 import org.eclipse.che.plugin.maven.server.PomModificationDetector;
 import org.eclipse.che.plugin.maven.server.core.MavenProgressNotifier;
 import org.eclipse.che.plugin.maven.server.core.MavenServerNotifier;
@@ -33,6 +36,8 @@ import org.eclipse.che.plugin.maven.server.projecttype.handler.MavenProjectInitH
 import org.eclipse.che.plugin.maven.server.projecttype.handler.SimpleGeneratorStrategy;
 import org.eclipse.che.plugin.maven.server.rest.MavenServerService;
 
+import java.nio.file.Paths;
+
 import static com.google.inject.multibindings.Multibinder.newSetBinder;
 
 /** @author Artem Zatsarynnyi */
@@ -46,6 +51,8 @@ public class MavenModule extends AbstractModule {
         //bind maven project type only if maven installed on dev machine
         if(System.getenv("M2_HOME") != null) {
             newSetBinder(binder(), ProjectTypeDef.class).addBinding().to(MavenProjectType.class);
+            //start maven server processes at agent start
+            bind(MavenWrapperManager.class).asEagerSingleton();
         }
 
         Multibinder<ProjectHandler> projectHandlerMultibinder = newSetBinder(binder(), ProjectHandler.class);
@@ -64,4 +71,11 @@ public class MavenModule extends AbstractModule {
         bind(PomChangeListener.class).asEagerSingleton();
         bind(PomModificationDetector.class).asEagerSingleton();
     }
+
+    @Provides
+    @Named("che.maven.server.cache.dir")
+    @Singleton
+    protected String provideCacheDir(@Named("che.workspace.metadata") String wsMetadata) {
+        return Paths.get(System.getProperty("user.home"), wsMetadata, "maven").toString();
+    }
 }
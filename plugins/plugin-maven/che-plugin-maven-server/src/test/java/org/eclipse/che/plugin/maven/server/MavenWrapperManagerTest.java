@@ -0,0 +1,108 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.maven.server;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.eclipse.che.plugin.maven.server.MavenWrapperManager.ServerType.DOWNLOAD;
+import static org.eclipse.che.plugin.maven.server.MavenWrapperManager.ServerType.RESOLVE;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.fail;
+
+/**
+ * Tests for {@link MavenWrapperManager}
+ */
+public class MavenWrapperManagerTest {
+
+    private MavenServerManager serverManager;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        serverManager = mock(MavenServerManager.class);
+        when(serverManager.createMavenServer(anyString())).then(invocation -> {
+            MavenServerWrapper wrapper = mock(MavenServerWrapper.class);
+            when(wrapper.ping()).thenReturn(true);
+            return wrapper;
+        });
+    }
+
+    @Test
+    public void shouldReuseReleasedServer() throws Exception {
+        MavenWrapperManager manager = new MavenWrapperManager(serverManager, 0, 3, 0);
+
+        MavenServerWrapper first = manager.getMavenServer(RESOLVE);
+        manager.release(first);
+        MavenServerWrapper second = manager.getMavenServer(DOWNLOAD);
+
+        assertSame(second, first);
+        assertEquals(manager.getSize(), 1);
+        verify(first).reset();
+    }
+
+    @Test
+    public void shouldKeepServerForDownloadingWhenProjectsAreResolved() throws Exception {
+        MavenWrapperManager manager = new MavenWrapperManager(serverManager, 0, 2, 0);
+        MavenServerWrapper resolve = manager.getMavenServer(RESOLVE);
+        CompletableFuture<MavenServerWrapper> waitingResolve = CompletableFuture.supplyAsync(() -> manager.getMavenServer(RESOLVE));
+
+        MavenServerWrapper download = manager.getMavenServer(DOWNLOAD);
+
+        assertNotSame(download, resolve);
+        try {
+            waitingResolve.get(500, TimeUnit.MILLISECONDS);
+            fail("Second resolving must wait for release of the first one");
+        } catch (TimeoutException ignored) {
+        }
+        manager.release(resolve);
+        assertSame(waitingResolve.get(10, TimeUnit.SECONDS), resolve);
+    }
+
+    @Test
+    public void shouldRestartServerAfterMaxResolutions() throws Exception {
+        MavenWrapperManager manager = new MavenWrapperManager(serverManager, 0, 3, 2);
+
+        MavenServerWrapper server = manager.getMavenServer(RESOLVE);
+        manager.release(server);
+        assertSame(manager.getMavenServer(RESOLVE), server);
+        manager.release(server);
+
+        assertEquals(manager.getSize(), 0);
+        verify(server).dispose();
+        verify(serverManager).stopMavenServerProcess("maven-server-0");
+        assertNotSame(manager.getMavenServer(RESOLVE), server);
+    }
+
+    @Test
+    public void shouldReplaceServerWhichDoesNotRespond() throws Exception {
+        MavenWrapperManager manager = new MavenWrapperManager(serverManager, 1, 3, 0);
+        MavenServerWrapper server = manager.getMavenServer(DOWNLOAD);
+        manager.release(server);
+        when(server.ping()).thenReturn(false);
+
+        manager.checkIdleServers();
+
+        assertEquals(manager.getSize(), 1);
+        assertEquals(manager.getIdleSize(), 1);
+        verify(server).dispose();
+        assertNotSame(manager.getMavenServer(DOWNLOAD), server);
+    }
+}
@@ -0,0 +1,180 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.maven.server;
+
+import com.google.gson.JsonObject;
+import com.google.inject.Provider;
+
+import org.eclipse.che.api.project.server.ProjectRegistry;
+import org.eclipse.che.commons.lang.IoUtil;
+import org.eclipse.che.maven.data.MavenArtifact;
+import org.eclipse.che.maven.server.MavenTerminal;
+import org.eclipse.che.plugin.maven.server.core.EclipseWorkspaceProvider;
+import org.eclipse.che.plugin.maven.server.core.MavenCommunication;
+import org.eclipse.che.plugin.maven.server.core.MavenExecutorService;
+import org.eclipse.che.plugin.maven.server.core.MavenProjectManager;
+import org.eclipse.che.plugin.maven.server.core.MavenWorkspace;
+import org.eclipse.che.plugin.maven.server.core.classpath.ClasspathManager;
+import org.eclipse.che.plugin.maven.server.core.project.MavenProject;
+import org.eclipse.che.plugin.maven.server.rmi.MavenServerManagerTest;
+import org.eclipse.che.plugin.maven.shared.MessageType;
+import org.eclipse.che.plugin.maven.shared.dto.NotificationMessage;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.jar.JarOutputStream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.fest.assertions.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Compares time of sequential and parallel resolving of generated multi-module project.
+ * Dependencies of modules are taken from generated local repository, so network isn't used.
+ * Number of modules may be changed with {@code maven.resolve.benchmark.modules} system property.
+ * The benchmark is excluded from the build, run it explicitly with {@code -Dtest=ParallelResolveBenchmarkTest}.
+ */
+public class ParallelResolveBenchmarkTest extends BaseTest {
+    private static final Logger LOG = LoggerFactory.getLogger(ParallelResolveBenchmarkTest.class);
+
+    private static final int MODULES   = Integer.getInteger("maven.resolve.benchmark.modules", 20);
+    private static final int LIBRARIES = 10;
+
+    private File localRepository;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        localRepository = new File(new File("target/benchmarkRepo").getAbsolutePath());
+        if (localRepository.exists()) {
+            IoUtil.deleteRecursive(localRepository);
+        }
+        for (int i = 0; i < LIBRARIES; i++) {
+            createLibrary("lib" + i);
+        }
+        mavenServerManager.setLocalRepository(localRepository);
+        createReactor();
+    }
+
+    @Test
+    public void compareSequentialAndParallelResolving() throws Exception {
+        long sequential = resolveReactor(1);
+        long parallel = resolveReactor(4);
+
+        LOG.info("Resolving of {} modules: sequential {} ms, parallel {} ms", MODULES, sequential, parallel);
+    }
+
+    private long resolveReactor(int threads) throws Exception {
+        Provider<ProjectRegistry> projectRegistryProvider = (Provider<ProjectRegistry>)mock(Provider.class);
+        when(projectRegistryProvider.get()).thenReturn(projectRegistry);
+        MavenServerManagerTest.MyMavenServerProgressNotifier mavenNotifier = new MavenServerManagerTest.MyMavenServerProgressNotifier();
+        MavenTerminal terminal = (level, message, throwable) -> {
+            if (throwable != null) {
+                throwable.printStackTrace();
+            }
+        };
+        MavenWrapperManager wrapperManager = new MavenWrapperManager(mavenServerManager);
+        MavenProjectManager projectManager =
+                new MavenProjectManager(wrapperManager, mavenServerManager, terminal, mavenNotifier, new EclipseWorkspaceProvider());
+        MavenExecutorService executorService = new MavenExecutorService(threads);
+        MavenWorkspace mavenWorkspace = new MavenWorkspace(projectManager, mavenNotifier, executorService, projectRegistryProvider,
+                                                           new MavenCommunication() {
+                                                               @Override
+                                                               public void sendUpdateMassage(Set<MavenProject> updated,
+                                                                                             List<MavenProject> removed) {
+                                                               }
+
+                                                               @Override
+                                                               public void sendNotification(NotificationMessage message) {
+                                                               }
+
+                                                               @Override
+                                                               public void send(JsonObject object, MessageType type) {
+                                                               }
+                                                           },
+                                                           new ClasspathManager(root.getAbsolutePath(), wrapperManager, projectManager,
+                                                                                terminal, mavenNotifier),
+                                                           eventService,
+                                                           new EclipseWorkspaceProvider());
+        try {
+            IProject parent = ResourcesPlugin.getWorkspace().getRoot().getProject("reactor");
+            long start = System.currentTimeMillis();
+            mavenWorkspace.update(Collections.singletonList(parent));
+            mavenWorkspace.waitForUpdate();
+            long time = System.currentTimeMillis() - start;
+
+            assertThat(projectManager.getAllProjects()).hasSize(MODULES + 1);
+            for (int i = 0; i < MODULES; i++) {
+                IProject module = ResourcesPlugin.getWorkspace().getRoot().getProject("reactor/module" + i);
+                List<MavenArtifact> dependencies = projectManager.findMavenProject(module).getDependencies();
+                assertThat(dependencies).onProperty("artifactId").contains("lib" + (i % LIBRARIES), "lib" + ((i + 1) % LIBRARIES));
+                assertThat(dependencies).onProperty("resolved").excludes(false);
+            }
+            return time;
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    private void createReactor() throws Exception {
+        StringBuilder modules = new StringBuilder("<modules>");
+        for (int i = 0; i < MODULES; i++) {
+            modules.append("<module>module").append(i).append("</module>");
+        }
+        modules.append("</modules>");
+        createTestProject("reactor", "<groupId>benchmark</groupId>" +
+                                     "<artifactId>reactor</artifactId>" +
+                                     "<version>1.0</version>" +
+                                     "<packaging>pom</packaging>" +
+                                     modules);
+
+        for (int i = 0; i < MODULES; i++) {
+            createTestProject("reactor/module" + i, "<parent>" +
+                                                   "    <groupId>benchmark</groupId>" +
+                                                   "    <artifactId>reactor</artifactId>" +
+                                                   "    <version>1.0</version>" +
+                                                   "</parent>" +
+                                                   "<artifactId>module" + i + "</artifactId>" +
+                                                   "<dependencies>" +
+                                                   dependency("lib" + (i % LIBRARIES)) +
+                                                   dependency("lib" + ((i + 1) % LIBRARIES)) +
+                                                   "</dependencies>");
+        }
+    }
+
+    private static String dependency(String artifactId) {
+        return "<dependency>" +
+               "    <groupId>benchmark.libs</groupId>" +
+               "    <artifactId>" + artifactId + "</artifactId>" +
+               "    <version>1.0</version>" +
+               "</dependency>";
+    }
+
+    private void createLibrary(String artifactId) throws Exception {
+        File dir = new File(localRepository, "benchmark/libs/" + artifactId + "/1.0");
+        dir.mkdirs();
+        Files.write(new File(dir, artifactId + "-1.0.pom").toPath(),
+                    getPomContent("<groupId>benchmark.libs</groupId>" +
+                                  "<artifactId>" + artifactId + "</artifactId>" +
+                                  "<version>1.0</version>").getBytes(UTF_8));
+        new JarOutputStream(new FileOutputStream(new File(dir, artifactId + "-1.0.jar"))).close();
+    }
+}
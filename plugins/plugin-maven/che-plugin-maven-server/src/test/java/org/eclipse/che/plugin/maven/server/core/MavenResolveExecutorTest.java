@@ -0,0 +1,156 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.maven.server.core;
+
+import org.eclipse.che.plugin.maven.server.core.project.MavenProject;
+import org.eclipse.che.plugin.maven.server.rmi.MavenServerManagerTest;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Arrays.asList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests for {@link MavenResolveExecutor}
+ */
+public class MavenResolveExecutorTest {
+
+    private MavenExecutorService            executorService;
+    private MavenResolveExecutor            executor;
+    private Map<MavenProject, MavenProject> parents;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        parents = new HashMap<>();
+        executorService = new MavenExecutorService(4);
+        executor = new MavenResolveExecutor(executorService,
+                                            new MavenServerManagerTest.MyMavenServerProgressNotifier(),
+                                            parents::get);
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+        executorService.shutdown();
+    }
+
+    @Test
+    public void shouldResolveParentBeforeModules() throws Exception {
+        MavenProject parent = project("parent");
+        MavenProject module1 = project("module1");
+        MavenProject module2 = project("module2");
+        MavenProject subModule = project("subModule");
+        parents.put(module1, parent);
+        parents.put(module2, parent);
+        parents.put(subModule, module1);
+        List<MavenProject> resolved = new CopyOnWriteArrayList<>();
+        Map<MavenProject, MavenProjectTask> tasks = new LinkedHashMap<>();
+        for (MavenProject project : asList(subModule, module2, module1, parent)) {
+            tasks.put(project, () -> resolved.add(project));
+        }
+
+        executor.submitTasks(tasks);
+        executor.waitForEndAllTasks();
+
+        assertEquals(resolved.size(), 4);
+        assertEquals(resolved.get(0), parent);
+        assertTrue(resolved.indexOf(module1) < resolved.indexOf(subModule));
+    }
+
+    @Test
+    public void shouldResolveModulesConcurrently() throws Exception {
+        MavenProject parent = project("parent");
+        MavenProject module1 = project("module1");
+        MavenProject module2 = project("module2");
+        parents.put(module1, parent);
+        parents.put(module2, parent);
+        CountDownLatch modulesStarted = new CountDownLatch(2);
+        List<Boolean> concurrent = new CopyOnWriteArrayList<>();
+
+        executor.submitTask(parent, () -> {});
+        for (MavenProject module : asList(module1, module2)) {
+            executor.submitTask(module, () -> {
+                modulesStarted.countDown();
+                try {
+                    concurrent.add(modulesStarted.await(10, TimeUnit.SECONDS));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        executor.waitForEndAllTasks();
+
+        assertEquals(concurrent, asList(true, true));
+    }
+
+    @Test
+    public void shouldResolveProjectAgainWhenItIsSubmittedDuringResolving() throws Exception {
+        MavenProject project = project("project");
+        CountDownLatch firstStarted = new CountDownLatch(1);
+        CountDownLatch secondSubmitted = new CountDownLatch(1);
+        List<String> resolved = new CopyOnWriteArrayList<>();
+
+        executor.submitTask(project, () -> {
+            firstStarted.countDown();
+            try {
+                secondSubmitted.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            resolved.add("first");
+        });
+        firstStarted.await(10, TimeUnit.SECONDS);
+        executor.submitTask(project, () -> resolved.add("second"));
+        secondSubmitted.countDown();
+        executor.waitForEndAllTasks();
+
+        assertEquals(resolved, asList("first", "second"));
+    }
+
+    @Test
+    public void shouldReportFailedProjectAndResolveOtherProjects() throws Exception {
+        MavenProgressNotifier notifier = mock(MavenProgressNotifier.class);
+        executor = new MavenResolveExecutor(executorService, notifier, parents::get);
+        MavenProject parent = project("parent");
+        MavenProject module = project("module");
+        parents.put(module, parent);
+        List<MavenProject> resolved = new CopyOnWriteArrayList<>();
+        Map<MavenProject, MavenProjectTask> tasks = new LinkedHashMap<>();
+        tasks.put(parent, () -> {
+            throw new IllegalStateException("Broken pom");
+        });
+        tasks.put(module, () -> resolved.add(module));
+
+        executor.submitTasks(tasks);
+        executor.waitForEndAllTasks();
+
+        verify(notifier).setText("Failed to resolve project: parent. Broken pom");
+        assertEquals(resolved, asList(module));
+    }
+
+    private static MavenProject project(String name) {
+        MavenProject project = mock(MavenProject.class);
+        when(project.getName()).thenReturn(name);
+        return project;
+    }
+}
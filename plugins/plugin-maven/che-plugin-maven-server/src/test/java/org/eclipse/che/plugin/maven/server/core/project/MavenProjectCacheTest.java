@@ -0,0 +1,135 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.maven.server.core.project;
+
+import org.eclipse.che.commons.lang.IoUtil;
+import org.eclipse.che.maven.data.MavenArtifact;
+import org.eclipse.che.maven.data.MavenKey;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IWorkspace;
+import org.eclipse.core.runtime.Path;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Collections;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Arrays.asList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+
+/**
+ * Tests for {@link MavenProjectCache}
+ */
+public class MavenProjectCacheTest {
+
+    private File         root;
+    private File         cacheDir;
+    private File         dependency;
+    private MavenProject parent;
+    private MavenProject module;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        root = Files.createTempDirectory("maven-cache").toFile();
+        cacheDir = new File(root, "cache");
+        dependency = new File(root, "junit.jar");
+        Files.write(dependency.toPath(), new byte[] {1});
+        parent = project("parent");
+        module = project("parent/module");
+        module.restoreInfo(resolvedInfo());
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+        IoUtil.deleteRecursive(root);
+    }
+
+    @Test
+    public void shouldRestoreStoredProjectAfterRestart() throws Exception {
+        new MavenProjectCache(cacheDir.getPath()).store(module, Collections.singletonList(parent));
+        MavenProject restarted = project("parent/module");
+
+        assertNotNull(new MavenProjectCache(cacheDir.getPath()).restore(restarted, Collections.singletonList(parent)));
+        assertEquals(restarted.getMavenKey(), new MavenKey("test", "module", "1"));
+        assertEquals(restarted.getDependencies().size(), 1);
+        assertEquals(restarted.getDependencies().get(0).getFile(), dependency);
+    }
+
+    @Test
+    public void shouldNotRestoreProjectWhenPomIsChanged() throws Exception {
+        new MavenProjectCache(cacheDir.getPath()).store(module, Collections.singletonList(parent));
+        writePom("parent/module", "<changed/>");
+
+        assertNull(new MavenProjectCache(cacheDir.getPath()).restore(project("parent/module"), Collections.singletonList(parent)));
+    }
+
+    @Test
+    public void shouldNotRestoreProjectWhenParentPomIsChanged() throws Exception {
+        new MavenProjectCache(cacheDir.getPath()).store(module, Collections.singletonList(parent));
+        writePom("parent", "<changed/>");
+
+        assertNull(new MavenProjectCache(cacheDir.getPath()).restore(project("parent/module"), Collections.singletonList(parent)));
+    }
+
+    @Test
+    public void shouldNotRestoreProjectWhenDependencyIsRemoved() throws Exception {
+        new MavenProjectCache(cacheDir.getPath()).store(module, Collections.singletonList(parent));
+        Files.delete(dependency.toPath());
+
+        assertNull(new MavenProjectCache(cacheDir.getPath()).restore(project("parent/module"), Collections.singletonList(parent)));
+    }
+
+    @Test
+    public void shouldRestoreProjectOnlyOnce() throws Exception {
+        new MavenProjectCache(cacheDir.getPath()).store(module, Collections.singletonList(parent));
+        MavenProjectCache cache = new MavenProjectCache(cacheDir.getPath());
+
+        assertNotNull(cache.restore(project("parent/module"), Collections.singletonList(parent)));
+        assertNull(cache.restore(project("parent/module"), Collections.singletonList(parent)));
+    }
+
+    private MavenProject.Info resolvedInfo() {
+        MavenProject.Info info = new MavenProject.Info();
+        info.mavenKey = new MavenKey("test", "module", "1");
+        info.parentKey = new MavenKey("test", "parent", "1");
+        info.sources = asList("src/main/java");
+        info.dependencies = asList(new MavenArtifact("junit", "junit", "4.12", "4.12", "jar", null, "test", false, "jar",
+                                                     dependency, null, true, false));
+        return info;
+    }
+
+    private MavenProject project(String path) throws Exception {
+        File pom = new File(root, path + "/pom.xml");
+        if (!pom.exists()) {
+            writePom(path, "<project/>");
+        }
+        IFile pomFile = mock(IFile.class);
+        when(pomFile.getLocation()).thenReturn(new Path(pom.getAbsolutePath()));
+        IProject project = mock(IProject.class);
+        when(project.getFile("pom.xml")).thenReturn(pomFile);
+        when(project.getFullPath()).thenReturn(new Path("/" + path));
+        return new MavenProject(project, mock(IWorkspace.class));
+    }
+
+    private void writePom(String path, String content) throws Exception {
+        File pom = new File(root, path + "/pom.xml");
+        Files.createDirectories(pom.getParentFile().toPath());
+        Files.write(pom.toPath(), content.getBytes(UTF_8));
+    }
+}
@@ -17,6 +17,7 @@ import org.eclipse.che.api.core.jsonrpc.RequestTransmitter;
 import org.eclipse.che.api.project.shared.dto.event.GitCheckoutEventDto;
 import org.eclipse.che.api.project.shared.dto.event.GitCheckoutEventDto.Type;
 import org.eclipse.che.api.vfs.Path;
+import org.eclipse.che.api.vfs.VirtualFile;
 import org.eclipse.che.api.vfs.VirtualFileSystemProvider;
 import org.eclipse.che.api.vfs.watcher.FileWatcherManager;
 import org.slf4j.Logger;
@@ -34,7 +35,6 @@ import static java.nio.file.Files.isDirectory;
 import static java.util.regex.Pattern.compile;
 import static org.eclipse.che.api.project.shared.dto.event.GitCheckoutEventDto.Type.BRANCH;
 import static org.eclipse.che.api.project.shared.dto.event.GitCheckoutEventDto.Type.REVISION;
-import static org.eclipse.che.api.vfs.watcher.FileWatcherManager.EMPTY_CONSUMER;
 import static org.eclipse.che.dto.server.DtoFactory.newDto;
 import static org.slf4j.LoggerFactory.getLogger;
 
@@ -51,16 +51,21 @@ public class GitCheckoutDetector {
     private final VirtualFileSystemProvider vfsProvider;
     private final RequestTransmitter        transmitter;
     private final FileWatcherManager        manager;
+    private final GitConnectionFactory      gitConnectionFactory;
 
     private final Set<String> endpointIds = newConcurrentHashSet();
 
     private int id;
 
     @Inject
-    public GitCheckoutDetector(VirtualFileSystemProvider vfsProvider, RequestTransmitter transmitter, FileWatcherManager manager) {
+    public GitCheckoutDetector(VirtualFileSystemProvider vfsProvider,
+                               RequestTransmitter transmitter,
+                               FileWatcherManager manager,
+                               GitConnectionFactory gitConnectionFactory) {
         this.vfsProvider = vfsProvider;
         this.transmitter = transmitter;
         this.manager = manager;
+        this.gitConnectionFactory = gitConnectionFactory;
     }
 
     @Inject
@@ -98,11 +103,12 @@ public class GitCheckoutDetector {
     }
 
     private Consumer<String> deleteConsumer() {
-        return EMPTY_CONSUMER;
+        return this::refreshRepository;
     }
 
     private Consumer<String> fsEventConsumer() {
         return it -> {
+            refreshRepository(it);
             try {
                 String content = vfsProvider.getVirtualFileSystem()
                                             .getRoot()
@@ -119,6 +125,20 @@ public class GitCheckoutDetector {
         };
     }
 
+    /** HEAD may be changed by command line git, so connection factory has to read the repository again. */
+    private void refreshRepository(String headPath) {
+        try {
+            VirtualFile workDir = vfsProvider.getVirtualFileSystem()
+                                             .getRoot()
+                                             .getChild(Path.of(headPath).getParent().getParent());
+            if (workDir != null) {
+                gitConnectionFactory.refresh(workDir.toIoFile());
+            }
+        } catch (ServerException e) {
+            LOG.debug("Unable to refresh git repository of {}. {}", headPath, e.getMessage());
+        }
+    }
+
     private Consumer<String> transmitConsumer(Type type, String name) {
         return id -> transmitter.transmitOneToNone(id, OUTGOING_METHOD, newDto(GitCheckoutEventDto.class).withName(name).withType(type));
     }
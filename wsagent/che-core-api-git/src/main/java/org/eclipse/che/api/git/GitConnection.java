@@ -404,6 +404,20 @@ public interface GitConnection extends Closeable {
      */
     Status status(StatusFormat format) throws GitException;
 
+    /**
+     * Get status of the given paths of working tree, other files are not checked and are not included in the status.
+     *
+     * @param format
+     *         the format of the ouput
+     * @param paths
+     *         paths relative to working tree, status of a folder includes all its content,
+     *         status of the whole working tree is returned if list is empty
+     * @return status.
+     * @throws GitException
+     *         if any error occurs
+     */
+    Status status(StatusFormat format, List<String> paths) throws GitException;
+
     /**
      * Create new tag.
      *
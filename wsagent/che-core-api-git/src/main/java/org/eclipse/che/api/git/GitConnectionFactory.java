@@ -71,5 +71,16 @@ public abstract class GitConnectionFactory {
      */
     public abstract GitConnection getConnection(File workDir, LineConsumerFactory outputPublisherFactory) throws GitException;
 
+    /**
+     * Notifies factory that Git repository located in <code>workDir</code> was changed outside of connections,
+     * so state of the repository which may be kept by the factory has to be read again.
+     * Does nothing by default.
+     *
+     * @param workDir
+     *         repository directory
+     */
+    public void refresh(File workDir) {
+    }
+
     public abstract CredentialsLoader getCredentialsLoader();
 }
\ No newline at end of file
@@ -50,5 +50,6 @@ public class GitModule extends AbstractModule {
         //bind(GitConnectionFactory.class).to(NativeGitConnectionFactory.class);
 
         bind(GitCheckoutDetector.class).asEagerSingleton();
+        bind(GitStatusTracker.class).asEagerSingleton();
     }
 }
@@ -103,6 +103,9 @@ public class GitService {
     @Inject
     private ProjectRegistry projectRegistry;
 
+    @Inject
+    private GitStatusTracker gitStatusTracker;
+
     @QueryParam("projectPath")
     private String projectPath;
 
@@ -410,9 +413,7 @@ public class GitService {
     @Path("status")
     @Produces({MediaType.APPLICATION_JSON, MediaType.TEXT_PLAIN})
     public Status status(@QueryParam("format") StatusFormat format) throws ApiException {
-        try (GitConnection gitConnection = getGitConnection()) {
-            return gitConnection.status(format);
-        }
+        return gitStatusTracker.getStatus(projectPath, format);
     }
 
     @POST
@@ -0,0 +1,601 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.git;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.inject.Inject;
+import com.google.inject.name.Named;
+
+import org.eclipse.che.api.core.ApiException;
+import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.jsonrpc.RequestHandlerConfigurator;
+import org.eclipse.che.api.core.jsonrpc.RequestTransmitter;
+import org.eclipse.che.api.core.websocket.impl.WebSocketSessionRegistry;
+import org.eclipse.che.api.git.exception.GitException;
+import org.eclipse.che.api.git.shared.Status;
+import org.eclipse.che.api.git.shared.StatusFormat;
+import org.eclipse.che.api.project.server.ProjectRegistry;
+import org.eclipse.che.api.project.server.RegisteredProject;
+import org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType;
+import org.eclipse.che.api.project.shared.dto.event.GitStatusChangedEventDto;
+import org.eclipse.che.api.vfs.VirtualFile;
+import org.eclipse.che.api.vfs.VirtualFileFilter;
+import org.eclipse.che.api.vfs.impl.file.FileWatcherNotificationHandler;
+import org.eclipse.che.api.vfs.impl.file.FileWatcherNotificationListener;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
+import org.slf4j.Logger;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Singleton;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import static com.google.common.collect.Sets.newConcurrentHashSet;
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.emptyList;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.stream.Collectors.toList;
+import static org.eclipse.che.dto.server.DtoFactory.newDto;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Keeps git status of projects in memory and updates it incrementally.
+ *
+ * <p>Files changed in working tree are collected from file watcher events and only status of these files is checked
+ * when status of the project is needed. The whole working tree is checked when project is tracked for the first time,
+ * when index, HEAD or ignore rules of the repository are changed and periodically to reconcile the model with changes
+ * missed by the watcher. Paths excluded from watching, e.g. {@code node_modules}, are checked on each update since
+ * the watcher doesn't report their changes.
+ *
+ * <p>Clients which call {@code track:git-status} with a project path are notified about files which status was
+ * changed with {@code event:git-status-changed}, so they don't need to poll the status of the project.
+ * Clients are unsubscribed when their web socket session is closed and need to call {@code track:git-status}
+ * again after reconnect.
+ */
+@Singleton
+public class GitStatusTracker {
+    private static final Logger LOG = getLogger(GitStatusTracker.class);
+
+    private static final String TRACK_METHOD    = "track:git-status";
+    private static final String UNTRACK_METHOD  = "untrack:git-status";
+    private static final String OUTGOING_METHOD = "event:git-status-changed";
+
+    private static final String GIT_DIR    = ".git";
+    private static final String GIT_IGNORE = ".gitignore";
+
+    /** When more files are changed it is cheaper to check the whole working tree. */
+    private static final int MAX_CHANGED_FILES = 500;
+
+    @Inject(optional = true)
+    @Named("che.git.status.full_scan_interval_ms")
+    private long fullScanIntervalMs = 300_000;
+
+    @Inject(optional = true)
+    @Named("che.git.status.notification_delay_ms")
+    private long notificationDelayMs = 500;
+
+    private final GitConnectionFactory            connectionFactory;
+    private final ProjectRegistry                 projectRegistry;
+    private final FileWatcherNotificationHandler  notificationHandler;
+    private final RequestTransmitter              transmitter;
+    private final WebSocketSessionRegistry        sessionRegistry;
+    private final Set<PathMatcher>                watcherExcludes;
+    private final Map<String, TrackedProject>     projects;
+    private final FileWatcherNotificationListener listener;
+    private final ScheduledExecutorService        executor;
+
+    @Inject
+    public GitStatusTracker(GitConnectionFactory connectionFactory,
+                            ProjectRegistry projectRegistry,
+                            FileWatcherNotificationHandler notificationHandler,
+                            RequestTransmitter transmitter,
+                            WebSocketSessionRegistry sessionRegistry,
+                            @Named("vfs.index_filter_matcher") Set<PathMatcher> watcherExcludes) {
+        this.connectionFactory = connectionFactory;
+        this.projectRegistry = projectRegistry;
+        this.notificationHandler = notificationHandler;
+        this.transmitter = transmitter;
+        this.sessionRegistry = sessionRegistry;
+        this.watcherExcludes = watcherExcludes;
+        this.projects = new ConcurrentHashMap<>();
+        this.listener = new FileWatcherNotificationListener(VirtualFileFilter.ACCEPT_ALL) {
+            @Override
+            public void onFileWatcherEvent(VirtualFile virtualFile, FileWatcherEventType eventType) {
+                onFileChanged(virtualFile.getPath().toString());
+            }
+        };
+        this.executor = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder().setNameFormat("GitStatusTracker")
+                                                                                             .setUncaughtExceptionHandler(
+                                                                                                     LoggingUncaughtExceptionHandler
+                                                                                                             .getInstance())
+                                                                                             .setDaemon(true)
+                                                                                             .build());
+    }
+
+    @Inject
+    public void configureHandler(RequestHandlerConfigurator configurator) {
+        configurator.newConfiguration()
+                    .methodName(TRACK_METHOD)
+                    .paramsAsString()
+                    .noResult()
+                    .withConsumer(this::subscribe);
+        configurator.newConfiguration()
+                    .methodName(UNTRACK_METHOD)
+                    .paramsAsString()
+                    .noResult()
+                    .withConsumer(this::unsubscribe);
+    }
+
+    @PostConstruct
+    public void start() {
+        notificationHandler.addNotificationListener(listener);
+        if (fullScanIntervalMs > 0) {
+            executor.scheduleWithFixedDelay(this::reconcileSubscribedProjects, fullScanIntervalMs, fullScanIntervalMs, MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        notificationHandler.removeNotificationListener(listener);
+        executor.shutdownNow();
+    }
+
+    /**
+     * Returns git status of the project.
+     * Project is tracked since the first call, then only files changed since the previous call are checked.
+     *
+     * @param projectPath
+     *         workspace related path of the project
+     * @param format
+     *         the format of the output
+     * @throws NotFoundException
+     *         when project doesn't exist
+     * @throws GitException
+     *         when project is not a git repository or status can't be read
+     */
+    public Status getStatus(String projectPath, StatusFormat format) throws ApiException {
+        final TrackedProject project = track(projectPath);
+        synchronized (project) {
+            update(project);
+            return project.toStatus(format);
+        }
+    }
+
+    /** Starts sending changes of status of the project to the endpoint. */
+    public void subscribe(String endpointId, String projectPath) {
+        try {
+            track(projectPath).subscribers.add(endpointId);
+        } catch (ApiException e) {
+            LOG.warn("Unable to track git status of project {}. {}", projectPath, e.getMessage());
+        }
+    }
+
+    /** Stops sending changes of status of the project to the endpoint. */
+    public void unsubscribe(String endpointId, String projectPath) {
+        for (TrackedProject project : projects.values()) {
+            if (project.path.equals(projectPath)) {
+                project.subscribers.remove(endpointId);
+            }
+        }
+    }
+
+    @VisibleForTesting
+    void setIntervals(long fullScanIntervalMs, long notificationDelayMs) {
+        this.fullScanIntervalMs = fullScanIntervalMs;
+        this.notificationDelayMs = notificationDelayMs;
+    }
+
+    private TrackedProject track(String projectPath) throws ApiException {
+        final RegisteredProject registered = projectRegistry.getProject(projectPath);
+        if (registered == null || registered.getBaseFolder() == null) {
+            throw new NotFoundException(format("Project '%s' doesn't exist", projectPath));
+        }
+        return projects.computeIfAbsent(registered.getPath(), path -> new TrackedProject(path, registered.getBaseFolder()
+                                                                                                         .getVirtualFile()
+                                                                                                         .toIoFile()));
+    }
+
+    private void onFileChanged(String path) {
+        for (TrackedProject project : projects.values()) {
+            if (path.startsWith(project.path + '/')) {
+                final String file = path.substring(project.path.length() + 1);
+                if (file.equals(GIT_DIR) || file.startsWith(GIT_DIR + '/')) {
+                    if (!file.startsWith(GIT_DIR + "/objects/") && !file.startsWith(GIT_DIR + "/logs/")) {
+                        project.requireFullScan();
+                    }
+                } else if (file.equals(GIT_IGNORE) || file.endsWith('/' + GIT_IGNORE)) {
+                    project.requireFullScan();
+                } else {
+                    project.addChangedFile(file);
+                }
+                if (!project.subscribers.isEmpty()) {
+                    scheduleNotification(project);
+                }
+            }
+        }
+    }
+
+    private void scheduleNotification(TrackedProject project) {
+        if (project.scheduleNotification()) {
+            executor.schedule(() -> notifySubscribers(project), notificationDelayMs, MILLISECONDS);
+        }
+    }
+
+    private void reconcileSubscribedProjects() {
+        for (TrackedProject project : projects.values()) {
+            removeClosedSubscribers(project);
+            if (!project.subscribers.isEmpty()) {
+                project.requireFullScan();
+                notifySubscribers(project);
+            }
+        }
+    }
+
+    private void notifySubscribers(TrackedProject project) {
+        project.notificationScheduled.set(false);
+        removeClosedSubscribers(project);
+        if (project.subscribers.isEmpty()) {
+            return;
+        }
+        final GitStatusChangedEventDto event;
+        synchronized (project) {
+            final Set<String> changed;
+            try {
+                changed = update(project);
+            } catch (GitException e) {
+                LOG.debug("Unable to update git status of project {}. {}", project.path, e.getMessage());
+                return;
+            }
+            if (changed.isEmpty()) {
+                return;
+            }
+            event = project.toEvent(changed);
+        }
+        for (String endpointId : project.subscribers) {
+            transmitter.transmitOneToNone(endpointId, OUTGOING_METHOD, event);
+        }
+    }
+
+    /** Web socket session of the endpoint is removed from the registry when it is closed. */
+    private void removeClosedSubscribers(TrackedProject project) {
+        project.subscribers.removeIf(endpointId -> !sessionRegistry.get(endpointId).isPresent());
+    }
+
+    /**
+     * Brings status of the project up to date.
+     *
+     * @return files which status was changed
+     */
+    private Set<String> update(TrackedProject project) throws GitException {
+        final List<Object> stamp = repositoryStamp(project.workDir);
+        final Set<String> changedFiles = project.takeChangedFiles();
+        final boolean fullScan = project.fullScanRequired.getAndSet(false)
+                                 || project.files == null
+                                 || !stamp.equals(project.stamp)
+                                 || changedFiles.size() > MAX_CHANGED_FILES
+                                 || fullScanIntervalMs > 0 && System.currentTimeMillis() - project.lastFullScan >= fullScanIntervalMs;
+        final Set<String> checkedPaths = new TreeSet<>(changedFiles);
+        if (!fullScan) {
+            for (String file : changedFiles) {
+                if (new File(project.workDir, file).isDirectory()) {
+                    // new excluded items of a folder are reported only as modification of the folder
+                    project.unwatchedPaths.addAll(findUnwatchedPaths(project, file, 1));
+                }
+            }
+            for (Iterator<String> it = project.unwatchedPaths.iterator(); it.hasNext(); ) {
+                final String path = it.next();
+                checkedPaths.add(path);
+                if (!new File(project.workDir, path).exists()) {
+                    it.remove();
+                }
+            }
+        }
+        if (!fullScan && checkedPaths.isEmpty()) {
+            return new HashSet<>();
+        }
+
+        final Status status;
+        try (GitConnection connection = connectionFactory.getConnection(project.workDir)) {
+            status = connection.status(StatusFormat.PORCELAIN, fullScan ? emptyList() : new ArrayList<>(checkedPaths));
+        } catch (GitException e) {
+            projects.remove(project.path, project);
+            throw e;
+        }
+
+        final Map<String, EnumSet<Change>> files = fullScan ? new TreeMap<>() : new TreeMap<>(project.files);
+        final Set<String> untrackedFolders = new TreeSet<>(status.getUntrackedFolders());
+        if (fullScan) {
+            project.stamp = stamp;
+            project.lastFullScan = System.currentTimeMillis();
+            project.unwatchedPaths = findUnwatchedPaths(project, "", Integer.MAX_VALUE);
+        } else {
+            files.keySet().removeIf(file -> isAffected(file, checkedPaths));
+            project.untrackedFolders.stream()
+                                    .filter(folder -> !isAffected(folder, checkedPaths) && !containsAny(folder, checkedPaths))
+                                    .forEach(untrackedFolders::add);
+        }
+        for (Change change : Change.values()) {
+            for (String file : change.getter.apply(status)) {
+                files.computeIfAbsent(file, f -> EnumSet.noneOf(Change.class)).add(change);
+            }
+        }
+
+        final Set<String> changed = new TreeSet<>();
+        if (project.files != null) {
+            for (String file : union(project.files.keySet(), files.keySet())) {
+                if (!Objects.equals(project.files.get(file), files.get(file))) {
+                    changed.add(file);
+                }
+            }
+        }
+        if (!Objects.equals(project.branchName, status.getBranchName())) {
+            changed.addAll(files.keySet());
+        }
+        project.files = files;
+        project.untrackedFolders = untrackedFolders;
+        project.branchName = status.getBranchName();
+        project.repositoryState = status.getRepositoryState();
+        return changed;
+    }
+
+    /**
+     * Finds files and folders of the working tree which are excluded from watching, the same matchers as the watcher
+     * use are applied to paths relative to the workspace root. Content of excluded folders isn't visited.
+     *
+     * @param folder
+     *         path of the folder relative to working tree to start search from
+     * @param maxDepth
+     *         the maximum number of levels of folders to visit
+     * @return paths relative to working tree
+     */
+    private Set<String> findUnwatchedPaths(TrackedProject project, String folder, int maxDepth) {
+        final Set<String> unwatched = new HashSet<>();
+        if (watcherExcludes.isEmpty()) {
+            return unwatched;
+        }
+        final Path workDir = project.workDir.toPath();
+        final Path projectPath = Paths.get(project.path.substring(1));
+        try {
+            final Set<FileVisitOption> options = EnumSet.noneOf(FileVisitOption.class);
+            Files.walkFileTree(workDir.resolve(folder), options, maxDepth, new SimpleFileVisitor<Path>() {
+                @Override
+                public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+                    final Path relative = workDir.relativize(dir);
+                    if (relative.toString().equals(GIT_DIR)) {
+                        return FileVisitResult.SKIP_SUBTREE;
+                    }
+                    if (!relative.toString().isEmpty() && isExcluded(projectPath.resolve(relative))) {
+                        unwatched.add(relative.toString());
+                        return FileVisitResult.SKIP_SUBTREE;
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                    final Path relative = workDir.relativize(file);
+                    if (!relative.toString().equals(GIT_DIR) && isExcluded(projectPath.resolve(relative))) {
+                        unwatched.add(relative.toString());
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFileFailed(Path file, IOException e) {
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (IOException e) {
+            LOG.debug("Unable to find paths excluded from watching in project {}. {}", project.path, e.getMessage());
+        }
+        return unwatched;
+    }
+
+    private boolean isExcluded(Path path) {
+        for (PathMatcher exclude : watcherExcludes) {
+            if (exclude.matches(path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Whether the file is the same as or inside any of the paths. */
+    private static boolean isAffected(String file, Collection<String> paths) {
+        for (String path : paths) {
+            if (file.equals(path) || file.startsWith(path + '/')) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Whether any of the paths is inside the folder. */
+    private static boolean containsAny(String folder, Collection<String> paths) {
+        for (String path : paths) {
+            if (path.startsWith(folder + '/')) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Set<String> union(Set<String> first, Set<String> second) {
+        final Set<String> union = new HashSet<>(first);
+        union.addAll(second);
+        return union;
+    }
+
+    /**
+     * Identifies state of the index and current commit of the repository. Git commands which change them
+     * may be run right before the status is requested, so it is checked without waiting for watcher events.
+     */
+    private static List<Object> repositoryStamp(File workDir) {
+        final Path gitDir = workDir.toPath().resolve(GIT_DIR);
+        final List<Object> stamp = new ArrayList<>();
+        addFileStamp(stamp, gitDir.resolve("index"));
+        addFileStamp(stamp, gitDir.resolve("HEAD"));
+        addFileStamp(stamp, gitDir.resolve("packed-refs"));
+        try {
+            final String head = new String(Files.readAllBytes(gitDir.resolve("HEAD")), UTF_8).trim();
+            if (head.startsWith("ref: ")) {
+                addFileStamp(stamp, gitDir.resolve(head.substring(5)));
+            }
+        } catch (IOException ignored) {
+            // not a repository, status request fails
+        }
+        return stamp;
+    }
+
+    private static void addFileStamp(List<Object> stamp, Path file) {
+        try {
+            stamp.add(Files.getLastModifiedTime(file));
+            stamp.add(Files.size(file));
+        } catch (NoSuchFileException e) {
+            stamp.add(null);
+        } catch (IOException e) {
+            stamp.add(e.getMessage());
+        }
+    }
+
+    private enum Change {
+        ADDED(Status::getAdded, Status::setAdded, GitStatusChangedEventDto::withAdded),
+        CHANGED(Status::getChanged, Status::setChanged, GitStatusChangedEventDto::withChanged),
+        REMOVED(Status::getRemoved, Status::setRemoved, GitStatusChangedEventDto::withRemoved),
+        MISSING(Status::getMissing, Status::setMissing, GitStatusChangedEventDto::withMissing),
+        MODIFIED(Status::getModified, Status::setModified, GitStatusChangedEventDto::withModified),
+        UNTRACKED(Status::getUntracked, Status::setUntracked, GitStatusChangedEventDto::withUntracked),
+        CONFLICTING(Status::getConflicting, Status::setConflicting, GitStatusChangedEventDto::withConflicting);
+
+        final Function<Status, List<String>>                                                          getter;
+        final BiConsumer<Status, List<String>>                                                        setter;
+        final BiFunction<GitStatusChangedEventDto, List<String>, GitStatusChangedEventDto>            eventSetter;
+
+        Change(Function<Status, List<String>> getter,
+               BiConsumer<Status, List<String>> setter,
+               BiFunction<GitStatusChangedEventDto, List<String>, GitStatusChangedEventDto> eventSetter) {
+            this.getter = getter;
+            this.setter = setter;
+            this.eventSetter = eventSetter;
+        }
+    }
+
+    private static class TrackedProject {
+        final String      path;
+        final File        workDir;
+        final Set<String>   subscribers;
+        final Set<String>   changedFiles;
+        final AtomicBoolean fullScanRequired;
+        final AtomicBoolean notificationScheduled;
+
+        // guarded by the project, watcher events don't wait for it while status is checked
+        Map<String, EnumSet<Change>> files;
+        Set<String>                  untrackedFolders;
+        Set<String>                  unwatchedPaths;
+        String                       branchName;
+        String                       repositoryState;
+        List<Object>                 stamp;
+        long                         lastFullScan;
+
+        TrackedProject(String path, File workDir) {
+            this.path = path;
+            this.workDir = workDir;
+            this.subscribers = newConcurrentHashSet();
+            this.changedFiles = newConcurrentHashSet();
+            this.fullScanRequired = new AtomicBoolean();
+            this.notificationScheduled = new AtomicBoolean();
+            this.untrackedFolders = new TreeSet<>();
+            this.unwatchedPaths = new HashSet<>();
+        }
+
+        void addChangedFile(String file) {
+            changedFiles.add(file);
+        }
+
+        /** Files added while they are taken are either returned or kept for the next call. */
+        Set<String> takeChangedFiles() {
+            final Set<String> files = new HashSet<>();
+            for (Iterator<String> it = changedFiles.iterator(); it.hasNext(); ) {
+                files.add(it.next());
+                it.remove();
+            }
+            return files;
+        }
+
+        void requireFullScan() {
+            fullScanRequired.set(true);
+        }
+
+        boolean scheduleNotification() {
+            return notificationScheduled.compareAndSet(false, true);
+        }
+
+        Status toStatus(StatusFormat format) {
+            final StatusPage status = new StatusPage();
+            status.setFormat(format);
+            status.setBranchName(branchName);
+            status.setRepositoryState(repositoryState);
+            status.setClean(files.isEmpty());
+            for (Change change : Change.values()) {
+                change.setter.accept(status, filesWith(change, files.keySet()));
+            }
+            status.setUntrackedFolders(new ArrayList<>(untrackedFolders));
+            return status;
+        }
+
+        GitStatusChangedEventDto toEvent(Set<String> changed) {
+            GitStatusChangedEventDto event = newDto(GitStatusChangedEventDto.class).withProjectPath(path)
+                                                                                   .withBranchName(branchName)
+                                                                                   .withClean(files.isEmpty())
+                                                                                   .withFiles(new ArrayList<>(changed));
+            for (Change change : Change.values()) {
+                event = change.eventSetter.apply(event, filesWith(change, changed));
+            }
+            return event;
+        }
+
+        private List<String> filesWith(Change change, Collection<String> of) {
+            return of.stream()
+                     .filter(file -> files.containsKey(file) && files.get(file).contains(change))
+                     .collect(toList());
+        }
+    }
+}
@@ -0,0 +1,270 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.git;
+
+import com.google.common.collect.ImmutableList;
+
+import org.eclipse.che.api.core.jsonrpc.RequestTransmitter;
+import org.eclipse.che.api.core.util.LineConsumerFactory;
+import org.eclipse.che.api.core.websocket.impl.WebSocketSessionRegistry;
+import org.eclipse.che.api.git.shared.Status;
+import org.eclipse.che.api.git.shared.StatusFormat;
+import org.eclipse.che.api.project.server.FolderEntry;
+import org.eclipse.che.api.project.server.ProjectRegistry;
+import org.eclipse.che.api.project.server.RegisteredProject;
+import org.eclipse.che.api.project.shared.dto.event.GitStatusChangedEventDto;
+import org.eclipse.che.api.vfs.Path;
+import org.eclipse.che.api.vfs.VirtualFile;
+import org.eclipse.che.api.vfs.impl.file.FileWatcherNotificationHandler;
+import org.eclipse.che.api.vfs.impl.file.FileWatcherNotificationListener;
+import org.eclipse.che.commons.lang.IoUtil;
+import org.mockito.ArgumentCaptor;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import javax.websocket.Session;
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.PathMatcher;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType.MODIFIED;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests for {@link GitStatusTracker}
+ */
+public class GitStatusTrackerTest {
+    private static final String PROJECT = "/project";
+
+    private File                            workDir;
+    private GitConnection                   connection;
+    private RequestTransmitter              transmitter;
+    private WebSocketSessionRegistry        sessionRegistry;
+    private FileWatcherNotificationListener listener;
+    private GitStatusTracker                tracker;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        workDir = Files.createTempDirectory("status-tracker").toFile();
+        final File gitDir = new File(workDir, ".git");
+        Files.createDirectories(gitDir.toPath().resolve("refs/heads"));
+        Files.write(gitDir.toPath().resolve("HEAD"), "ref: refs/heads/master\n".getBytes(UTF_8));
+        Files.write(gitDir.toPath().resolve("index"), new byte[] {1});
+
+        final VirtualFile projectFile = mock(VirtualFile.class);
+        when(projectFile.toIoFile()).thenReturn(workDir);
+        final FolderEntry baseFolder = mock(FolderEntry.class);
+        when(baseFolder.getVirtualFile()).thenReturn(projectFile);
+        final RegisteredProject project = mock(RegisteredProject.class);
+        when(project.getPath()).thenReturn(PROJECT);
+        when(project.getBaseFolder()).thenReturn(baseFolder);
+        final ProjectRegistry projectRegistry = mock(ProjectRegistry.class);
+        when(projectRegistry.getProject(PROJECT)).thenReturn(project);
+
+        connection = mock(GitConnection.class);
+        final GitConnectionFactory connectionFactory = mock(GitConnectionFactory.class);
+        when(connectionFactory.getConnection(eq(workDir), any(LineConsumerFactory.class))).thenReturn(connection);
+
+        final FileWatcherNotificationHandler notificationHandler = mock(FileWatcherNotificationHandler.class);
+        transmitter = mock(RequestTransmitter.class);
+        sessionRegistry = mock(WebSocketSessionRegistry.class);
+        when(sessionRegistry.get(any())).thenReturn(Optional.empty());
+        final PathMatcher nodeModules = path -> path.getFileName() != null && path.getFileName().toString().equals("node_modules");
+        tracker = new GitStatusTracker(connectionFactory,
+                                       projectRegistry,
+                                       notificationHandler,
+                                       transmitter,
+                                       sessionRegistry,
+                                       Collections.singleton(nodeModules));
+        tracker.setIntervals(0, 0);
+        tracker.start();
+        final ArgumentCaptor<FileWatcherNotificationListener> captor = ArgumentCaptor.forClass(FileWatcherNotificationListener.class);
+        verify(notificationHandler).addNotificationListener(captor.capture());
+        listener = captor.getValue();
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        tracker.stop();
+        IoUtil.deleteRecursive(workDir);
+    }
+
+    @Test
+    public void shouldCheckWholeWorkingTreeOnFirstRequest() throws Exception {
+        when(connection.status(any(StatusFormat.class), eq(Collections.emptyList()))).thenReturn(status(ImmutableList.of("a"),
+                                                                                                         ImmutableList.of()));
+
+        final Status status = tracker.getStatus(PROJECT, StatusFormat.SHORT);
+
+        assertEquals(status.getModified(), ImmutableList.of("a"));
+        assertEquals(status.getFormat(), StatusFormat.SHORT);
+        assertFalse(status.isClean());
+    }
+
+    @Test
+    public void shouldNotCheckWorkingTreeWhenNothingIsChanged() throws Exception {
+        when(connection.status(any(StatusFormat.class), eq(Collections.emptyList()))).thenReturn(status(ImmutableList.of("a"),
+                                                                                                         ImmutableList.of()));
+
+        tracker.getStatus(PROJECT, StatusFormat.SHORT);
+        final Status status = tracker.getStatus(PROJECT, StatusFormat.SHORT);
+
+        assertEquals(status.getModified(), ImmutableList.of("a"));
+        verify(connection, times(1)).status(any(StatusFormat.class), any());
+    }
+
+    @Test
+    public void shouldCheckOnlyChangedFiles() throws Exception {
+        when(connection.status(any(StatusFormat.class), eq(Collections.emptyList()))).thenReturn(status(ImmutableList.of("a", "b"),
+                                                                                                         ImmutableList.of()));
+        when(connection.status(any(StatusFormat.class), eq(ImmutableList.of("a")))).thenReturn(status(ImmutableList.of(),
+                                                                                                       ImmutableList.of()));
+        when(connection.status(any(StatusFormat.class), eq(ImmutableList.of("c")))).thenReturn(status(ImmutableList.of(),
+                                                                                                       ImmutableList.of("c")));
+        tracker.getStatus(PROJECT, StatusFormat.SHORT);
+
+        fileChanged("a");
+        Status status = tracker.getStatus(PROJECT, StatusFormat.SHORT);
+        assertEquals(status.getModified(), ImmutableList.of("b"));
+
+        fileChanged("c");
+        status = tracker.getStatus(PROJECT, StatusFormat.SHORT);
+        assertEquals(status.getModified(), ImmutableList.of("b"));
+        assertEquals(status.getUntracked(), ImmutableList.of("c"));
+    }
+
+    @Test
+    public void shouldCheckWholeWorkingTreeWhenRepositoryIsChanged() throws Exception {
+        when(connection.status(any(StatusFormat.class), eq(Collections.emptyList()))).thenReturn(status(ImmutableList.of("a"),
+                                                                                                         ImmutableList.of()))
+                                                                                      .thenReturn(status(ImmutableList.of(),
+                                                                                                         ImmutableList.of()));
+        tracker.getStatus(PROJECT, StatusFormat.SHORT);
+
+        fileChanged(".git/index");
+        final Status status = tracker.getStatus(PROJECT, StatusFormat.SHORT);
+
+        assertTrue(status.getModified().isEmpty());
+        assertTrue(status.isClean());
+        verify(connection, times(2)).status(any(StatusFormat.class), eq(Collections.emptyList()));
+    }
+
+    @Test
+    public void shouldIgnoreChangesOfGitObjects() throws Exception {
+        when(connection.status(any(StatusFormat.class), eq(Collections.emptyList()))).thenReturn(status(ImmutableList.of("a"),
+                                                                                                         ImmutableList.of()));
+        tracker.getStatus(PROJECT, StatusFormat.SHORT);
+
+        fileChanged(".git/objects/ab/cdef");
+        tracker.getStatus(PROJECT, StatusFormat.SHORT);
+
+        verify(connection, times(1)).status(any(StatusFormat.class), any());
+    }
+
+    @Test
+    public void shouldCheckPathsExcludedFromWatchingOnEachUpdate() throws Exception {
+        Files.createDirectories(workDir.toPath().resolve("web/node_modules/lib"));
+        when(connection.status(any(StatusFormat.class), eq(Collections.emptyList()))).thenReturn(status(ImmutableList.of("a"),
+                                                                                                         ImmutableList.of()));
+        when(connection.status(any(StatusFormat.class), eq(ImmutableList.of("web/node_modules"))))
+                .thenReturn(status(ImmutableList.of("web/node_modules/lib/index.js"), ImmutableList.of()));
+        tracker.getStatus(PROJECT, StatusFormat.SHORT);
+
+        final Status status = tracker.getStatus(PROJECT, StatusFormat.SHORT);
+
+        assertEquals(status.getModified(), ImmutableList.of("a", "web/node_modules/lib/index.js"));
+    }
+
+    @Test
+    public void shouldNotifyOnlySubscribersWithOpenSession() throws Exception {
+        when(sessionRegistry.get("open")).thenReturn(Optional.of(mock(Session.class)));
+        when(connection.status(any(StatusFormat.class), eq(Collections.emptyList()))).thenReturn(status(ImmutableList.of("a", "b"),
+                                                                                                         ImmutableList.of()));
+        when(connection.status(any(StatusFormat.class), eq(ImmutableList.of("a")))).thenReturn(status(ImmutableList.of(),
+                                                                                                       ImmutableList.of()));
+        tracker.subscribe("open", PROJECT);
+        tracker.subscribe("closed", PROJECT);
+        tracker.getStatus(PROJECT, StatusFormat.SHORT);
+
+        fileChanged("a");
+
+        verify(transmitter, timeout(5000)).transmitOneToNone(eq("open"), any(), any(GitStatusChangedEventDto.class));
+        verify(transmitter, never()).transmitOneToNone(eq("closed"), any(), any(GitStatusChangedEventDto.class));
+    }
+
+    @Test
+    public void shouldCollectChangedFilesWhileStatusIsChecked() throws Exception {
+        final CountDownLatch statusStarted = new CountDownLatch(1);
+        final CountDownLatch fileCollected = new CountDownLatch(1);
+        when(connection.status(any(StatusFormat.class), eq(Collections.emptyList()))).thenAnswer(invocation -> {
+            statusStarted.countDown();
+            fileCollected.await(5, SECONDS);
+            return status(ImmutableList.of(), ImmutableList.of());
+        });
+        when(connection.status(any(StatusFormat.class), eq(ImmutableList.of("a")))).thenReturn(status(ImmutableList.of("a"),
+                                                                                                       ImmutableList.of()));
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            final Future<Status> first = executor.submit(() -> tracker.getStatus(PROJECT, StatusFormat.SHORT));
+            assertTrue(statusStarted.await(5, SECONDS));
+
+            // watcher event is not blocked by the running status check
+            executor.submit(() -> fileChanged("a")).get(1, SECONDS);
+            fileCollected.countDown();
+            first.get(5, SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(tracker.getStatus(PROJECT, StatusFormat.SHORT).getModified(), ImmutableList.of("a"));
+    }
+
+    private void fileChanged(String file) {
+        final VirtualFile virtualFile = mock(VirtualFile.class);
+        when(virtualFile.getPath()).thenReturn(Path.of(PROJECT + '/' + file));
+        listener.onFileWatcherEvent(virtualFile, MODIFIED);
+    }
+
+    private static Status status(List<String> modified, List<String> untracked) {
+        final StatusPage status = new StatusPage();
+        status.setBranchName("master");
+        status.setClean(modified.isEmpty() && untracked.isEmpty());
+        status.setAdded(ImmutableList.of());
+        status.setChanged(ImmutableList.of());
+        status.setRemoved(ImmutableList.of());
+        status.setMissing(ImmutableList.of());
+        status.setModified(modified);
+        status.setUntracked(untracked);
+        status.setUntrackedFolders(ImmutableList.of());
+        status.setConflicting(ImmutableList.of());
+        return status;
+    }
+}
@@ -273,4 +273,27 @@ public class StatusTest {
         assertTrue(status.getUntracked().isEmpty());
         assertTrue(status.getUntrackedFolders().isEmpty());
     }
+
+    @Test(dataProvider = "GitConnectionFactory", dataProviderClass = org.eclipse.che.git.impl.GitConnectionFactoryProvider.class)
+    public void testStatusOfPaths(GitConnectionFactory connectionFactory) throws Exception {
+        //given
+        GitConnection connection = connectToInitializedGitRepository(connectionFactory, repository);
+        addFile(connection, "a", "a content");
+        addFile(connection, "b", "b content");
+        //add "a" and "b"
+        connection.add(AddParams.create(ImmutableList.of("a", "b")));
+        //modify "a" and "b"
+        addFile(connection, "a", "new content of a");
+        addFile(connection, "b", "new content of b");
+        //when
+        final Status status = connection.status(StatusFormat.SHORT, ImmutableList.of("a"));
+        //then
+        assertEquals(status.getModified(), ImmutableList.of("a"));
+        assertTrue(status.getUntracked().isEmpty());
+        assertTrue(status.getChanged().isEmpty());
+        assertTrue(status.getConflicting().isEmpty());
+        assertTrue(status.getMissing().isEmpty());
+        assertTrue(status.getRemoved().isEmpty());
+        assertTrue(status.getUntrackedFolders().isEmpty());
+    }
 }
@@ -0,0 +1,57 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.languageserver.shared;
+
+import org.eclipse.che.dto.shared.DTO;
+
+/**
+ * Usage statistics of a started language server.
+ */
+@DTO
+public interface LanguageServerMetricsDto {
+    String getLanguageId();
+
+    void setLanguageId(String languageId);
+
+    String getProject();
+
+    void setProject(String project);
+
+    /** Time when the server was started in milliseconds since epoch. */
+    long getStartedAt();
+
+    void setStartedAt(long startedAt);
+
+    /** Time in milliseconds it took to launch and initialize the server. */
+    long getStartupTime();
+
+    void setStartupTime(long startupTime);
+
+    /** Time when the server was used last time in milliseconds since epoch. */
+    long getLastUsed();
+
+    void setLastUsed(long lastUsed);
+
+    /** Number of requests answered by the server. */
+    long getRequests();
+
+    void setRequests(long requests);
+
+    /** Average time in milliseconds the server takes to answer a request. */
+    long getAverageLatency();
+
+    void setAverageLatency(long averageLatency);
+
+    /** Max time in milliseconds the server took to answer a request. */
+    long getMaxLatency();
+
+    void setMaxLatency(long maxLatency);
+}
@@ -0,0 +1,34 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.languageserver.shared;
+
+import org.eclipse.che.dto.shared.DTO;
+
+/**
+ * Statistics of merging of text document changes before they are sent to language servers.
+ */
+@DTO
+public interface TextDocumentChangeMetricsDto {
+    /** Number of changes received from editors. */
+    long getReceived();
+
+    void setReceived(long received);
+
+    /** Number of {@code textDocument/didChange} notifications sent to language servers. */
+    long getSent();
+
+    void setSent(long sent);
+
+    /** Number of received changes which were merged into other changes instead of being sent separately. */
+    long getCoalesced();
+
+    void setCoalesced(long coalesced);
+}
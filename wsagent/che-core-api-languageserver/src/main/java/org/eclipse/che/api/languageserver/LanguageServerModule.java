@@ -15,6 +15,7 @@ import org.eclipse.che.api.languageserver.messager.PublishDiagnosticsParamsMesse
 import org.eclipse.che.api.languageserver.messager.ShowMessageMessenger;
 import org.eclipse.che.api.languageserver.registry.LanguageServerRegistry;
 import org.eclipse.che.api.languageserver.registry.LanguageServerRegistryImpl;
+import org.eclipse.che.api.languageserver.registry.LanguageServerWarmUpSubscriber;
 import org.eclipse.che.api.languageserver.registry.ServerInitializer;
 import org.eclipse.che.api.languageserver.registry.ServerInitializerImpl;
 import org.eclipse.che.api.languageserver.service.LanguageRegistryService;
@@ -37,5 +38,6 @@ public class LanguageServerModule extends AbstractModule {
         bind(PublishDiagnosticsParamsMessenger.class);
         bind(ShowMessageMessenger.class);
         bind(InitializeEventMessenger.class);
+        bind(LanguageServerWarmUpSubscriber.class);
     }
 }
@@ -0,0 +1,126 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.languageserver.registry;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Usage statistics of a started language server.
+ * Also used by {@link LanguageServerRegistryImpl} to find idle servers.
+ */
+public class LanguageServerMetrics {
+    private final String      languageId;
+    private final String      projectPath;
+    private final long        startedAt;
+    private final long        startupTime;
+    private final AtomicLong  requests;
+    private final AtomicLong  totalLatency;
+    private final AtomicLong  maxLatency;
+    private final Set<String> openDocuments;
+
+    private volatile long lastUsed;
+
+    public LanguageServerMetrics(String languageId, String projectPath, long startupTime) {
+        this.languageId = languageId;
+        this.projectPath = projectPath;
+        this.startupTime = startupTime;
+        this.startedAt = System.currentTimeMillis();
+        this.lastUsed = startedAt;
+        this.requests = new AtomicLong();
+        this.totalLatency = new AtomicLong();
+        this.maxLatency = new AtomicLong();
+        this.openDocuments = ConcurrentHashMap.newKeySet();
+    }
+
+    public String getLanguageId() {
+        return languageId;
+    }
+
+    public String getProjectPath() {
+        return projectPath;
+    }
+
+    /** Returns time when the server was started in milliseconds since epoch. */
+    public long getStartedAt() {
+        return startedAt;
+    }
+
+    /** Returns time in milliseconds it took to launch and initialize the server. */
+    public long getStartupTime() {
+        return startupTime;
+    }
+
+    /** Returns time when the server was used last time in milliseconds since epoch. */
+    public long getLastUsed() {
+        return lastUsed;
+    }
+
+    /** Returns number of requests answered by the server. */
+    public long getRequests() {
+        return requests.get();
+    }
+
+    /** Returns average time in milliseconds the server takes to answer a request. */
+    public long getAverageLatency() {
+        final long count = requests.get();
+        return count == 0 ? 0 : totalLatency.get() / count;
+    }
+
+    /** Returns max time in milliseconds the server took to answer a request. */
+    public long getMaxLatency() {
+        return maxLatency.get();
+    }
+
+    /** Returns number of documents which are open in the editor. */
+    public int getOpenDocuments() {
+        return openDocuments.size();
+    }
+
+    boolean hasOpenDocuments() {
+        return !openDocuments.isEmpty();
+    }
+
+    void documentOpened(String uri) {
+        openDocuments.add(uri);
+        touch();
+    }
+
+    void documentClosed(String uri) {
+        openDocuments.remove(uri);
+        touch();
+    }
+
+    void touch() {
+        lastUsed = System.currentTimeMillis();
+    }
+
+    void addRequest(long latency) {
+        requests.incrementAndGet();
+        totalLatency.addAndGet(latency);
+        maxLatency.accumulateAndGet(latency, Math::max);
+        touch();
+    }
+
+    @Override
+    public String toString() {
+        return "LanguageServerMetrics{" +
+               "languageId='" + languageId + '\'' +
+               ", projectPath='" + projectPath + '\'' +
+               ", startupTime=" + startupTime +
+               ", requests=" + requests +
+               ", averageLatency=" + getAverageLatency() +
+               ", maxLatency=" + maxLatency +
+               ", openDocuments=" + openDocuments.size() +
+               '}';
+    }
+}
@@ -36,4 +36,30 @@ public interface LanguageServerRegistry {
     List<LanguageDescription> getSupportedLanguages();
 
     Map<ProjectExtensionKey, LanguageServerDescription> getInitializedLanguages();
+
+    /**
+     * Starts in background language servers which are able to serve files of the project,
+     * so the first request to the server doesn't wait for its start.
+     */
+    void warmUp(String projectPath);
+
+    /**
+     * Records time the server took to answer a request.
+     */
+    void onRequestCompleted(LanguageServer server, long latency);
+
+    /**
+     * Records that the document is open in the editor, server which has open documents is not shut down when it is idle.
+     */
+    void onDocumentOpened(LanguageServer server, String uri);
+
+    /**
+     * Records that the document is closed in the editor.
+     */
+    void onDocumentClosed(LanguageServer server, String uri);
+
+    /**
+     * Returns usage statistics of started servers.
+     */
+    List<LanguageServerMetrics> getServerMetrics();
 }
@@ -13,10 +13,14 @@ package org.eclipse.che.api.languageserver.registry;
 import io.typefox.lsapi.ServerCapabilities;
 import io.typefox.lsapi.services.LanguageServer;
 
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.inject.Inject;
 import com.google.inject.Provider;
 import com.google.inject.Singleton;
+import com.google.inject.name.Named;
 
+import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.languageserver.exception.LanguageServerException;
 import org.eclipse.che.api.languageserver.launcher.LanguageServerLauncher;
@@ -24,25 +28,61 @@ import org.eclipse.che.api.languageserver.shared.ProjectExtensionKey;
 import org.eclipse.che.api.languageserver.shared.model.LanguageDescription;
 import org.eclipse.che.api.project.server.FolderEntry;
 import org.eclipse.che.api.project.server.ProjectManager;
+import org.eclipse.che.api.project.server.RegisteredProject;
 import org.eclipse.che.api.project.server.VirtualFileEntry;
 import org.eclipse.che.commons.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import javax.annotation.PreDestroy;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 import static com.google.common.io.Files.getFileExtension;
+import static java.lang.String.format;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 import static org.eclipse.che.api.languageserver.shared.ProjectExtensionKey.createProjectKey;
 
+/**
+ * Starts language servers on demand and manages their lifecycle.
+ *
+ * <p>Server is started on the first request for a file of the project or in advance by {@link #warmUp(String)}.
+ * Servers which are not used longer than idle timeout are shut down and started again when they are needed.
+ * Number of running servers may be limited, the least recently used server is shut down to start a new one.
+ * Servers which have open documents are never shut down, since a restarted server doesn't know about them.
+ */
 @Singleton
 public class LanguageServerRegistryImpl implements LanguageServerRegistry, ServerInitializerObserver {
+    private static final Logger LOG = LoggerFactory.getLogger(LanguageServerRegistryImpl.class);
+
     public final static String PROJECT_FOLDER_PATH = "/projects";
 
+    private static final long IDLE_CHECK_PERIOD_MS = 60_000;
+
+    /** Time in milliseconds after which not used server is shut down, 0 disables idle shutdown. */
+    @Inject(optional = true)
+    @Named("che.languageserver.idle_timeout_ms")
+    private long idleTimeoutMs = 0;
+
+    /** Max number of running servers, 0 means no limit. */
+    @Inject(optional = true)
+    @Named("che.languageserver.max_servers")
+    private int maxServers = 0;
+
     /**
      * Available {@link LanguageServerLauncher} by extension.
      */
@@ -53,8 +93,31 @@ public class LanguageServerRegistryImpl implements LanguageServerRegistry, Serve
      */
     private final ConcurrentHashMap<ProjectExtensionKey, LanguageServer> projectToServer;
 
+    /**
+     * Usage statistics of started {@link LanguageServer}.
+     */
+    private final ConcurrentHashMap<LanguageServer, LanguageServerMetrics> serverMetrics;
+
+    /**
+     * Locks to start only one server of the language for the project at a time.
+     */
+    private final ConcurrentHashMap<String, Object> startLocks;
+
+    /**
+     * Servers are looked up under read lock and shut down under write lock,
+     * so a server which is returned by {@link #findServer(String)} is not shut down as idle at the same time.
+     */
+    private final ReentrantReadWriteLock serversLock;
+
+    /**
+     * Guards {@link #startingServers}, so the limit of running servers is checked for all projects and languages at once.
+     */
+    private final Object limitLock;
+    private       int    startingServers;
+
     private final Provider<ProjectManager> projectManagerProvider;
     private final ServerInitializer        initializer;
+    private final ScheduledExecutorService executor;
 
     @Inject
     public LanguageServerRegistryImpl(Set<LanguageServerLauncher> languageServerLaunchers,
@@ -64,6 +127,13 @@ public class LanguageServerRegistryImpl implements LanguageServerRegistry, Serve
         this.initializer = initializer;
         this.extensionToLauncher = new ConcurrentHashMap<>();
         this.projectToServer = new ConcurrentHashMap<>();
+        this.serverMetrics = new ConcurrentHashMap<>();
+        this.startLocks = new ConcurrentHashMap<>();
+        this.serversLock = new ReentrantReadWriteLock();
+        this.limitLock = new Object();
+        this.executor = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder().setNameFormat("LanguageServerRegistry")
+                                                                                             .setDaemon(true)
+                                                                                             .build());
         this.initializer.addObserver(this);
 
         for (LanguageServerLauncher launcher : languageServerLaunchers) {
@@ -72,6 +142,7 @@ public class LanguageServerRegistryImpl implements LanguageServerRegistry, Serve
                 extensionToLauncher.get(extension).add(launcher);
             }
         }
+        executor.scheduleWithFixedDelay(this::shutdownIdleServers, IDLE_CHECK_PERIOD_MS, IDLE_CHECK_PERIOD_MS, MILLISECONDS);
     }
 
     @Override
@@ -87,20 +158,227 @@ public class LanguageServerRegistryImpl implements LanguageServerRegistry, Serve
     @Nullable
     protected LanguageServer findServer(String extension, String projectPath) throws LanguageServerException {
         ProjectExtensionKey projectKey = createProjectKey(projectPath, extension);
+        List<LanguageServerLauncher> launchers = extensionToLauncher.get(extension);
+        if (launchers == null || launchers.isEmpty()) {
+            return null;
+        }
 
-        for (LanguageServerLauncher launcher : extensionToLauncher.get(extension)) {
-            if (!projectToServer.containsKey(projectKey)) {
-                synchronized (launcher) {
-                    if (!projectToServer.containsKey(projectKey)) {
-                        LanguageServer server = initializer.initialize(launcher, projectPath);
-                        projectToServer.put(projectKey, server);
+        LanguageServer server = getStartedServer(projectKey);
+        if (server == null) {
+            server = startServer(launchers.get(0), projectPath, projectKey);
+        }
+        return server;
+    }
+
+    /** Returns started server and marks it as used, {@code null} if server is not started. */
+    private LanguageServer getStartedServer(ProjectExtensionKey projectKey) {
+        serversLock.readLock().lock();
+        try {
+            LanguageServer server = projectToServer.get(projectKey);
+            if (server != null) {
+                LanguageServerMetrics metrics = serverMetrics.get(server);
+                if (metrics != null) {
+                    metrics.touch();
+                }
+            }
+            return server;
+        } finally {
+            serversLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Starts the server holding lock only for the language of the project,
+     * so servers for other projects and languages may be started at the same time.
+     */
+    private LanguageServer startServer(LanguageServerLauncher launcher,
+                                       String projectPath,
+                                       ProjectExtensionKey projectKey) throws LanguageServerException {
+        String languageId = launcher.getLanguageDescription().getLanguageId();
+        synchronized (startLocks.computeIfAbsent(projectPath + ':' + languageId, key -> new Object())) {
+            LanguageServer server = getStartedServer(projectKey);
+            if (server != null) {
+                return server;
+            }
+            reserveServer();
+            try {
+                long start = System.nanoTime();
+                server = initializer.initialize(launcher, projectPath);
+                long startupTime = NANOSECONDS.toMillis(System.nanoTime() - start);
+
+                serversLock.writeLock().lock();
+                try {
+                    projectToServer.put(projectKey, server);
+                    serverMetrics.putIfAbsent(server, new LanguageServerMetrics(languageId, projectPath, startupTime));
+                } finally {
+                    serversLock.writeLock().unlock();
+                }
+                LOG.info("Language server {} for project {} started in {} ms", languageId, projectPath, startupTime);
+                return server;
+            } finally {
+                synchronized (limitLock) {
+                    startingServers--;
+                    limitLock.notifyAll();
+                }
+            }
+        }
+    }
+
+    /**
+     * Counts the server which is going to be started. If the limit is reached the least recently used server is shut down,
+     * if all running servers have open documents then servers which are starting at the moment are awaited.
+     *
+     * @throws LanguageServerException
+     *         if the limit is reached and all running servers have open documents
+     */
+    private void reserveServer() throws LanguageServerException {
+        synchronized (limitLock) {
+            while (maxServers > 0 && serverMetrics.size() + startingServers >= maxServers) {
+                Optional<Map.Entry<LanguageServer, LanguageServerMetrics>> leastRecentlyUsed =
+                        serverMetrics.entrySet()
+                                     .stream()
+                                     .filter(e -> !e.getValue().hasOpenDocuments())
+                                     .min(Comparator.comparingLong(e -> e.getValue().getLastUsed()));
+                if (leastRecentlyUsed.isPresent()) {
+                    LanguageServerMetrics metrics = leastRecentlyUsed.get().getValue();
+                    if (shutdownServer(leastRecentlyUsed.get().getKey(), m -> !m.hasOpenDocuments())) {
+                        LOG.info("Shut down least recently used language server {} for project {}, limit of {} servers reached",
+                                 metrics.getLanguageId(), metrics.getProjectPath(), maxServers);
+                    }
+                } else if (startingServers > 0) {
+                    try {
+                        limitLock.wait();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new LanguageServerException("Interrupted while waiting for language servers to start", e);
                     }
+                } else {
+                    throw new LanguageServerException(format("Limit of %d language servers is reached, " +
+                                                             "all running servers have open documents", maxServers));
                 }
             }
-            return projectToServer.get(projectKey);
+            startingServers++;
+        }
+    }
+
+    @Override
+    public void warmUp(String projectPath) {
+        Set<LanguageServerLauncher> launchers = new LinkedHashSet<>();
+        extensionToLauncher.values().forEach(launchers::addAll);
+        for (LanguageServerLauncher launcher : launchers) {
+            if (launcher.isAbleToLaunch() && isProjectOfLanguage(projectPath, launcher.getLanguageDescription())) {
+                String extension = launcher.getLanguageDescription().getFileExtensions().get(0);
+                executor.execute(() -> {
+                    try {
+                        findServer(extension, projectPath);
+                    } catch (LanguageServerException e) {
+                        LOG.warn("Unable to warm up language server for project {}. {}", projectPath, e.getMessage());
+                    }
+                });
+            }
+        }
+    }
+
+    /**
+     * Checks whether project type or mixins match the language or there are files of the language in the project root.
+     */
+    protected boolean isProjectOfLanguage(String projectPath, LanguageDescription language) {
+        RegisteredProject project;
+        try {
+            project = projectManagerProvider.get().getProject(projectPath.substring(PROJECT_FOLDER_PATH.length()));
+        } catch (ServerException | NotFoundException e) {
+            return false;
+        }
+        if (project == null) {
+            return false;
+        }
+        if (language.getLanguageId().equals(project.getType()) || project.getMixins().contains(language.getLanguageId())) {
+            return true;
         }
+        try {
+            return project.getBaseFolder() != null
+                   && project.getBaseFolder()
+                             .getChildFiles()
+                             .stream()
+                             .anyMatch(file -> language.getFileExtensions().contains(getFileExtension(file.getName())));
+        } catch (ServerException e) {
+            return false;
+        }
+    }
 
-        return null;
+    @Override
+    public void onRequestCompleted(LanguageServer server, long latency) {
+        LanguageServerMetrics metrics = serverMetrics.get(server);
+        if (metrics != null) {
+            metrics.addRequest(latency);
+        }
+    }
+
+    @Override
+    public void onDocumentOpened(LanguageServer server, String uri) {
+        LanguageServerMetrics metrics = serverMetrics.get(server);
+        if (metrics != null) {
+            metrics.documentOpened(uri);
+        }
+    }
+
+    @Override
+    public void onDocumentClosed(LanguageServer server, String uri) {
+        LanguageServerMetrics metrics = serverMetrics.get(server);
+        if (metrics != null) {
+            metrics.documentClosed(uri);
+        }
+    }
+
+    @Override
+    public List<LanguageServerMetrics> getServerMetrics() {
+        return new ArrayList<>(serverMetrics.values());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @VisibleForTesting
+    void setLimits(long idleTimeoutMs, int maxServers) {
+        this.idleTimeoutMs = idleTimeoutMs;
+        this.maxServers = maxServers;
+    }
+
+    @VisibleForTesting
+    void shutdownIdleServers() {
+        if (idleTimeoutMs <= 0) {
+            return;
+        }
+        long idleSince = System.currentTimeMillis() - idleTimeoutMs;
+        serverMetrics.forEach((server, metrics) -> {
+            if (shutdownServer(server, m -> m.getLastUsed() < idleSince && !m.hasOpenDocuments())) {
+                LOG.info("Shut down language server {} for project {}, it is not used for {} ms",
+                         metrics.getLanguageId(), metrics.getProjectPath(), idleTimeoutMs);
+            }
+        });
+    }
+
+    /**
+     * Shuts down the server if it is still running and matches the condition at the moment it is removed from the registry.
+     *
+     * @return {@code true} if the server is shut down
+     */
+    private boolean shutdownServer(LanguageServer server, Predicate<LanguageServerMetrics> condition) {
+        serversLock.writeLock().lock();
+        try {
+            LanguageServerMetrics metrics = serverMetrics.get(server);
+            if (metrics == null || !condition.test(metrics)) {
+                return false;
+            }
+            serverMetrics.remove(server);
+            projectToServer.values().removeIf(started -> started == server);
+        } finally {
+            serversLock.writeLock().unlock();
+        }
+        initializer.shutdownServer(server);
+        return true;
     }
 
 
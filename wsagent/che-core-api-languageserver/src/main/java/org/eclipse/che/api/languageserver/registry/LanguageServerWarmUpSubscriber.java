@@ -0,0 +1,61 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.languageserver.registry;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.google.inject.name.Named;
+
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.core.notification.EventSubscriber;
+import org.eclipse.che.api.project.server.ProjectCreatedEvent;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+/**
+ * Warms up language servers for created and imported projects when {@code che.languageserver.warmup} is enabled.
+ *
+ * @see LanguageServerRegistry#warmUp(String)
+ */
+@Singleton
+public class LanguageServerWarmUpSubscriber implements EventSubscriber<ProjectCreatedEvent> {
+
+    @Inject(optional = true)
+    @Named("che.languageserver.warmup")
+    private boolean enabled = false;
+
+    private final EventService           eventService;
+    private final LanguageServerRegistry registry;
+
+    @Inject
+    public LanguageServerWarmUpSubscriber(EventService eventService, LanguageServerRegistry registry) {
+        this.eventService = eventService;
+        this.registry = registry;
+    }
+
+    @Override
+    public void onEvent(ProjectCreatedEvent event) {
+        if (enabled) {
+            registry.warmUp(LanguageServerRegistryImpl.PROJECT_FOLDER_PATH + event.getProjectPath());
+        }
+    }
+
+    @PostConstruct
+    public void subscribe() {
+        eventService.subscribe(this);
+    }
+
+    @PreDestroy
+    public void unsubscribe() {
+        eventService.unsubscribe(this);
+    }
+}
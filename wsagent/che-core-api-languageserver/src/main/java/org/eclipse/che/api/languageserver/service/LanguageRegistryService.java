@@ -16,9 +16,12 @@ import com.google.inject.Singleton;
 import org.eclipse.che.api.languageserver.DtoConverter;
 import org.eclipse.che.api.languageserver.exception.LanguageServerException;
 import org.eclipse.che.api.languageserver.registry.LanguageServerDescription;
+import org.eclipse.che.api.languageserver.registry.LanguageServerMetrics;
 import org.eclipse.che.api.languageserver.registry.LanguageServerRegistry;
 import org.eclipse.che.api.languageserver.registry.LanguageServerRegistryImpl;
+import org.eclipse.che.api.languageserver.shared.LanguageServerMetricsDto;
 import org.eclipse.che.api.languageserver.shared.ProjectExtensionKey;
+import org.eclipse.che.api.languageserver.shared.TextDocumentChangeMetricsDto;
 import org.eclipse.che.api.languageserver.shared.lsapi.InitializeResultDTO;
 import org.eclipse.che.api.languageserver.shared.lsapi.LanguageDescriptionDTO;
 
@@ -39,11 +42,13 @@ import static org.eclipse.che.dto.server.DtoFactory.newDto;
 @Path("languageserver")
 public class LanguageRegistryService {
 
-	private final LanguageServerRegistry registry;
+	private final LanguageServerRegistry       registry;
+	private final TextDocumentChangeAggregator changeAggregator;
 
 	@Inject
-	public LanguageRegistryService(LanguageServerRegistry registry) {
+	public LanguageRegistryService(LanguageServerRegistry registry, TextDocumentChangeAggregator changeAggregator) {
 		this.registry = registry;
+		this.changeAggregator = changeAggregator;
 	}
 
 	@GET
@@ -86,4 +91,50 @@ public class LanguageRegistryService {
         //in most cases starts new LS if not already started
         registry.findServer(TextDocumentService.prefixURI(path));
     }
+
+	/**
+	 * Starts in background language servers which are able to serve files of the project.
+	 */
+	@POST
+	@Path("warmup")
+	public void warmUp(@QueryParam("project") String project) {
+		registry.warmUp(LanguageServerRegistryImpl.PROJECT_FOLDER_PATH + project);
+	}
+
+	@GET
+	@Produces(MediaType.APPLICATION_JSON)
+	@Path("metrics")
+	public List<LanguageServerMetricsDto> getMetrics() {
+		return registry.getServerMetrics()
+					   .stream()
+					   .map(LanguageRegistryService::asDto)
+					   .collect(toList());
+	}
+
+	/**
+	 * Returns how many text document changes were merged before they were sent to language servers.
+	 */
+	@GET
+	@Produces(MediaType.APPLICATION_JSON)
+	@Path("metrics/changes")
+	public TextDocumentChangeMetricsDto getChangeMetrics() {
+		TextDocumentChangeMetricsDto dto = newDto(TextDocumentChangeMetricsDto.class);
+		dto.setReceived(changeAggregator.getReceivedChanges());
+		dto.setSent(changeAggregator.getSentChanges());
+		dto.setCoalesced(changeAggregator.getCoalescedChanges());
+		return dto;
+	}
+
+	private static LanguageServerMetricsDto asDto(LanguageServerMetrics metrics) {
+		LanguageServerMetricsDto dto = newDto(LanguageServerMetricsDto.class);
+		dto.setLanguageId(metrics.getLanguageId());
+		dto.setProject(metrics.getProjectPath().substring(LanguageServerRegistryImpl.PROJECT_FOLDER_PATH.length()));
+		dto.setStartedAt(metrics.getStartedAt());
+		dto.setStartupTime(metrics.getStartupTime());
+		dto.setLastUsed(metrics.getLastUsed());
+		dto.setRequests(metrics.getRequests());
+		dto.setAverageLatency(metrics.getAverageLatency());
+		dto.setMaxLatency(metrics.getMaxLatency());
+		return dto;
+	}
 }
@@ -0,0 +1,226 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.languageserver.service;
+
+import io.typefox.lsapi.services.LanguageServer;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.google.inject.name.Named;
+
+import org.eclipse.che.api.languageserver.shared.lsapi.DidChangeTextDocumentParamsDTO;
+import org.eclipse.che.api.languageserver.shared.lsapi.PositionDTO;
+import org.eclipse.che.api.languageserver.shared.lsapi.TextDocumentContentChangeEventDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Collects changes of text documents and forwards them to language servers in batches.
+ *
+ * <p>Changes of a document received within a short delay after the first not sent change are merged into a
+ * single {@code textDocument/didChange} notification. Consecutive typed characters are merged into a single
+ * content change, full content change replaces all the previous ones. Version of the document in the sent
+ * notification is the version after the last merged change, or the previously sent version plus one if the
+ * received version is not greater, so versions sent to a language server strictly increase.
+ *
+ * <p>Requests which depend on the content of the document (completion, hover, etc.) must call {@link #flush(String)}
+ * before they are sent to the language server.
+ */
+@Singleton
+public class TextDocumentChangeAggregator {
+    private static final Logger LOG = LoggerFactory.getLogger(TextDocumentChangeAggregator.class);
+
+    /** Time in milliseconds changes of a document are collected before they are sent, 0 disables merging. */
+    @Inject(optional = true)
+    @Named("che.languageserver.did_change_delay_ms")
+    private long delayMs = 150;
+
+    private final ScheduledExecutorService   scheduler;
+    private final Map<String, PendingChange> pending;
+    private final Map<String, Integer>       versions;
+    private final AtomicLong                 receivedChanges;
+    private final AtomicLong                 sentChanges;
+
+    @Inject
+    public TextDocumentChangeAggregator() {
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder().setNameFormat("TextDocumentChangeAggregator")
+                                                                                              .setDaemon(true)
+                                                                                              .build());
+        this.pending = new HashMap<>();
+        this.versions = new HashMap<>();
+        this.receivedChanges = new AtomicLong();
+        this.sentChanges = new AtomicLong();
+    }
+
+    @VisibleForTesting
+    TextDocumentChangeAggregator(long delayMs) {
+        this();
+        this.delayMs = delayMs;
+    }
+
+    /**
+     * Adds change of the document, the change is sent to the language server
+     * with other changes of the document received within a short period of time.
+     */
+    public synchronized void change(LanguageServer server, DidChangeTextDocumentParamsDTO change) {
+        receivedChanges.incrementAndGet();
+        final String uri = change.getTextDocument().getUri();
+        final PendingChange existing = pending.get(uri);
+        if (existing != null && existing.server == server) {
+            existing.merge(change);
+            return;
+        }
+        if (existing != null) {
+            // document is served by another language server now
+            send(uri);
+        }
+        if (delayMs <= 0) {
+            pending.put(uri, new PendingChange(server, change, null));
+            send(uri);
+            return;
+        }
+        final ScheduledFuture<?> flushTask = scheduler.schedule(() -> flush(uri), delayMs, MILLISECONDS);
+        pending.put(uri, new PendingChange(server, change, flushTask));
+    }
+
+    /** Sends changes of the document which are not sent yet. */
+    public synchronized void flush(String uri) {
+        if (pending.containsKey(uri)) {
+            send(uri);
+        }
+    }
+
+    /** Sends pending changes of the document and forgets its version, must be called when the document is closed. */
+    public synchronized void close(String uri) {
+        flush(uri);
+        versions.remove(uri);
+    }
+
+    /** Returns number of received changes. */
+    public long getReceivedChanges() {
+        return receivedChanges.get();
+    }
+
+    /** Returns number of {@code textDocument/didChange} notifications sent to language servers. */
+    public long getSentChanges() {
+        return sentChanges.get();
+    }
+
+    /** Returns number of received changes which were merged into other changes instead of being sent separately. */
+    public long getCoalescedChanges() {
+        return receivedChanges.get() - sentChanges.get() - getPendingChanges();
+    }
+
+    private synchronized long getPendingChanges() {
+        return pending.values().stream().mapToLong(p -> p.merged).sum();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        synchronized (this) {
+            new ArrayList<>(pending.keySet()).forEach(this::send);
+        }
+        scheduler.shutdownNow();
+        LOG.info("Text document changes received: {}, sent: {}, coalesced: {}",
+                 getReceivedChanges(), getSentChanges(), getCoalescedChanges());
+    }
+
+    private void send(String uri) {
+        final PendingChange change = pending.remove(uri);
+        if (change.flushTask != null) {
+            change.flushTask.cancel(false);
+        }
+        final Integer lastVersion = versions.get(uri);
+        final int version = change.params.getTextDocument().getVersion();
+        if (lastVersion != null && version <= lastVersion) {
+            // language server expects version to increase after each change
+            change.params.getTextDocument().setVersion(lastVersion + 1);
+        }
+        versions.put(uri, change.params.getTextDocument().getVersion());
+        sentChanges.incrementAndGet();
+        LOG.debug("Sending {} merged changes of document {}", change.merged, uri);
+        try {
+            change.server.getTextDocumentService().didChange(change.params);
+        } catch (RuntimeException e) {
+            LOG.warn("Unable to send changes of document {} to language server. {}", uri, e.getMessage());
+        }
+    }
+
+    private static boolean isInsert(TextDocumentContentChangeEventDTO change) {
+        return change.getRange() != null
+               && change.getRange().getStart().getLine() == change.getRange().getEnd().getLine()
+               && change.getRange().getStart().getCharacter() == change.getRange().getEnd().getCharacter()
+               && change.getText() != null
+               && change.getText().indexOf('\n') == -1
+               && change.getText().indexOf('\r') == -1;
+    }
+
+    private static class PendingChange {
+        final LanguageServer                 server;
+        final DidChangeTextDocumentParamsDTO params;
+        final ScheduledFuture<?>             flushTask;
+
+        int merged;
+
+        PendingChange(LanguageServer server, DidChangeTextDocumentParamsDTO params, ScheduledFuture<?> flushTask) {
+            this.server = server;
+            this.params = params;
+            this.flushTask = flushTask;
+            this.merged = 1;
+        }
+
+        void merge(DidChangeTextDocumentParamsDTO change) {
+            merged++;
+            if (change.getTextDocument().getVersion() > params.getTextDocument().getVersion()) {
+                params.getTextDocument().setVersion(change.getTextDocument().getVersion());
+            }
+            final List<TextDocumentContentChangeEventDTO> contentChanges = new ArrayList<>(params.getContentChanges());
+            for (TextDocumentContentChangeEventDTO next : change.getContentChanges()) {
+                if (next.getRange() == null) {
+                    // full content of the document, previous changes don't matter
+                    contentChanges.clear();
+                    contentChanges.add(next);
+                    continue;
+                }
+                final TextDocumentContentChangeEventDTO last = contentChanges.isEmpty() ? null
+                                                                                        : contentChanges.get(contentChanges.size() - 1);
+                if (last != null && isInsert(last) && isInsert(next) && continues(last, next)) {
+                    last.setText(last.getText() + next.getText());
+                } else {
+                    contentChanges.add(next);
+                }
+            }
+            params.setContentChanges(contentChanges);
+        }
+
+        /** Checks whether {@code next} insert starts where {@code last} insert ends. */
+        private static boolean continues(TextDocumentContentChangeEventDTO last, TextDocumentContentChangeEventDTO next) {
+            final PositionDTO lastStart = last.getRange().getStart();
+            final PositionDTO nextStart = next.getRange().getStart();
+            return lastStart.getLine() == nextStart.getLine()
+                   && lastStart.getCharacter() + last.getText().length() == nextStart.getCharacter();
+        }
+    }
+}
@@ -21,8 +21,14 @@ import io.typefox.lsapi.TextEdit;
 import io.typefox.lsapi.impl.LocationImpl;
 import io.typefox.lsapi.services.LanguageServer;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
+import com.google.inject.name.Named;
+
+import org.eclipse.che.api.core.jsonrpc.RequestHandlerConfigurator;
 
 import org.eclipse.che.api.languageserver.exception.LanguageServerException;
 import org.eclipse.che.api.languageserver.registry.LanguageServerRegistry;
@@ -39,31 +45,72 @@ import org.eclipse.che.api.languageserver.shared.lsapi.DocumentSymbolParamsDTO;
 import org.eclipse.che.api.languageserver.shared.lsapi.ReferenceParamsDTO;
 import org.eclipse.che.api.languageserver.shared.lsapi.TextDocumentPositionParamsDTO;
 
+import javax.annotation.PreDestroy;
 import javax.ws.rs.Consumes;
 import javax.ws.rs.POST;
 import javax.ws.rs.Path;
 import javax.ws.rs.Produces;
 import javax.ws.rs.core.MediaType;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
 
+import static java.lang.String.format;
 import static java.util.Collections.emptyList;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 
 /**
  * REST API for the textDocument/* services defined in https://github.com/Microsoft/vscode-languageserver-protocol
  * Dispatches onto the {@link LanguageServerRegistryImpl}.
+ *
+ * <p>The same requests are also available over JSON RPC, e.g. {@code textDocument/completion}, in that case they
+ * don't occupy a thread while language server computes the result and may be cancelled by the client with
+ * {@code $/cancelRequest}. Each request has a deadline, request which is not answered in time is cancelled
+ * in the language server. A new completion request for the document over JSON RPC cancels the previous one
+ * of the same client if it is still pending, REST requests are never superseded.
+ *
+ * <p>Changes of documents are sent to language servers in batches by {@link TextDocumentChangeAggregator}.
  */
 @Singleton
 @Path("languageserver/textDocument")
 public class TextDocumentService {
 
     private static final String FILE_PROJECTS = "file:///projects";
+    private static final Gson   GSON          = new Gson();
+
+    /** Deadline of interactive requests (completion, hover, signature help), 0 means no deadline. */
+    @Inject(optional = true)
+    @Named("che.languageserver.completion_timeout_ms")
+    long completionTimeoutMs = 5_000;
+
+    /** Deadline of the rest of requests (references, formatting, etc.), 0 means no deadline. */
+    @Inject(optional = true)
+    @Named("che.languageserver.request_timeout_ms")
+    long requestTimeoutMs = 30_000;
 
-    private final LanguageServerRegistry languageServerRegistry;
+    private final LanguageServerRegistry            languageServerRegistry;
+    private final TextDocumentChangeAggregator      changeAggregator;
+    private final ScheduledExecutorService          deadlines;
+    private final Map<String, CompletableFuture<?>> pendingCompletions;
 
     @Inject
-    public TextDocumentService(LanguageServerRegistry languageServerRegistry) {
+    public TextDocumentService(LanguageServerRegistry languageServerRegistry, TextDocumentChangeAggregator changeAggregator) {
         this.languageServerRegistry = languageServerRegistry;
+        this.changeAggregator = changeAggregator;
+        this.deadlines = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder().setNameFormat("LanguageServerDeadlines")
+                                                                                              .setDaemon(true)
+                                                                                              .build());
+        this.pendingCompletions = new ConcurrentHashMap<>();
     }
 
     static String prefixURI(String relativePath) {
@@ -77,6 +124,70 @@ public class TextDocumentService {
         return uri;
     }
 
+    @Inject
+    public void configureMethods(RequestHandlerConfigurator configurator) {
+        configurator.newConfiguration()
+                    .methodName("textDocument/completion")
+                    .paramsAsDto(TextDocumentPositionParamsDTO.class)
+                    .resultAsDto(JsonElement.class)
+                    .withAsyncFunction((endpointId, params) -> toJson(() -> completionAsync(endpointId, params)));
+        configurator.newConfiguration()
+                    .methodName("completionItem/resolve")
+                    .paramsAsDto(CompletionItemDTO.class)
+                    .resultAsDto(JsonElement.class)
+                    .withAsyncFunction((endpointId, params) -> toJson(() -> resolveCompletionItemAsync(params)));
+        configurator.newConfiguration()
+                    .methodName("textDocument/hover")
+                    .paramsAsDto(TextDocumentPositionParamsDTO.class)
+                    .resultAsDto(JsonElement.class)
+                    .withAsyncFunction((endpointId, params) -> toJson(() -> hoverAsync(params)));
+        configurator.newConfiguration()
+                    .methodName("textDocument/signatureHelp")
+                    .paramsAsDto(TextDocumentPositionParamsDTO.class)
+                    .resultAsDto(JsonElement.class)
+                    .withAsyncFunction((endpointId, params) -> toJson(() -> signatureHelpAsync(params)));
+        configurator.newConfiguration()
+                    .methodName("textDocument/documentSymbol")
+                    .paramsAsDto(DocumentSymbolParamsDTO.class)
+                    .resultAsDto(JsonElement.class)
+                    .withAsyncFunction((endpointId, params) -> toJson(() -> documentSymbolAsync(params)));
+        configurator.newConfiguration()
+                    .methodName("textDocument/references")
+                    .paramsAsDto(ReferenceParamsDTO.class)
+                    .resultAsDto(JsonElement.class)
+                    .withAsyncFunction((endpointId, params) -> toJson(() -> referencesAsync(params)));
+        configurator.newConfiguration()
+                    .methodName("textDocument/definition")
+                    .paramsAsDto(TextDocumentPositionParamsDTO.class)
+                    .resultAsDto(JsonElement.class)
+                    .withAsyncFunction((endpointId, params) -> toJson(() -> definitionAsync(params)));
+        configurator.newConfiguration()
+                    .methodName("textDocument/formatting")
+                    .paramsAsDto(DocumentFormattingParamsDTO.class)
+                    .resultAsDto(JsonElement.class)
+                    .withAsyncFunction((endpointId, params) -> toJson(() -> formattingAsync(params)));
+        configurator.newConfiguration()
+                    .methodName("textDocument/rangeFormatting")
+                    .paramsAsDto(DocumentRangeFormattingParamsDTO.class)
+                    .resultAsDto(JsonElement.class)
+                    .withAsyncFunction((endpointId, params) -> toJson(() -> rangeFormattingAsync(params)));
+        configurator.newConfiguration()
+                    .methodName("textDocument/onTypeFormatting")
+                    .paramsAsDto(DocumentOnTypeFormattingParamsDTO.class)
+                    .resultAsDto(JsonElement.class)
+                    .withAsyncFunction((endpointId, params) -> toJson(() -> onTypeFormattingAsync(params)));
+        configurator.newConfiguration()
+                    .methodName("textDocument/documentHighlight")
+                    .paramsAsDto(TextDocumentPositionParamsDTO.class)
+                    .resultAsDto(JsonElement.class)
+                    .withAsyncFunction((endpointId, params) -> toJson(() -> documentHighlightAsync(params)));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        deadlines.shutdownNow();
+    }
+
     @POST
     @Path("completion")
     @Consumes(MediaType.APPLICATION_JSON)
@@ -84,14 +195,7 @@ public class TextDocumentService {
     public CompletionList completion(TextDocumentPositionParamsDTO textDocumentPositionParams) throws InterruptedException,
                                                                                                       ExecutionException,
                                                                                                       LanguageServerException {
-        textDocumentPositionParams.getTextDocument().setUri(prefixURI(textDocumentPositionParams.getTextDocument().getUri()));
-        textDocumentPositionParams.setUri(prefixURI(textDocumentPositionParams.getUri()));
-        LanguageServer server = getServer(textDocumentPositionParams.getTextDocument().getUri());
-        if (server == null) {
-            return null;
-        }
-        return server.getTextDocumentService()
-                     .completion(textDocumentPositionParams).get();
+        return await(completionAsync(null, textDocumentPositionParams));
     }
 
     @POST
@@ -101,13 +205,7 @@ public class TextDocumentService {
     public List<? extends SymbolInformation> documentSymbol(DocumentSymbolParamsDTO documentSymbolParams) throws ExecutionException,
                                                                                                                  InterruptedException,
                                                                                                                  LanguageServerException {
-        documentSymbolParams.getTextDocument().setUri(prefixURI(documentSymbolParams.getTextDocument().getUri()));
-        LanguageServer server = getServer(documentSymbolParams.getTextDocument().getUri());
-        if (server == null) {
-            return emptyList();
-        }
-
-        return server.getTextDocumentService().documentSymbol(documentSymbolParams).get();
+        return await(documentSymbolAsync(documentSymbolParams));
     }
 
     @POST
@@ -117,19 +215,7 @@ public class TextDocumentService {
     public List<? extends Location> references(ReferenceParamsDTO params) throws ExecutionException,
                                                                                  InterruptedException,
                                                                                  LanguageServerException {
-        params.getTextDocument().setUri(prefixURI(params.getTextDocument().getUri()));
-        LanguageServer server = getServer(params.getTextDocument().getUri());
-        if (server == null) {
-            return emptyList();
-        }
-
-        List<? extends Location> locations = server.getTextDocumentService().references(params).get();
-        locations.forEach(o -> {
-            if (o instanceof LocationImpl) {
-                ((LocationImpl)o).setUri(removePrefixUri(o.getUri()));
-            }
-        });
-        return locations;
+        return await(referencesAsync(params));
     }
 
 
@@ -140,19 +226,7 @@ public class TextDocumentService {
     public List<? extends Location> definition(TextDocumentPositionParamsDTO params) throws ExecutionException,
                                                                                             InterruptedException,
                                                                                             LanguageServerException {
-        params.getTextDocument().setUri(prefixURI(params.getTextDocument().getUri()));
-        LanguageServer server = getServer(params.getTextDocument().getUri());
-        if (server == null) {
-            return emptyList();
-        }
-
-        List<? extends Location> locations = server.getTextDocumentService().definition(params).get();
-        locations.forEach(o -> {
-            if (o instanceof LocationImpl) {
-                ((LocationImpl)o).setUri(removePrefixUri(o.getUri()));
-            }
-        });
-        return locations;
+        return await(definitionAsync(params));
     }
 
 
@@ -163,12 +237,7 @@ public class TextDocumentService {
     public CompletionItem resolveCompletionItem(CompletionItemDTO unresolved) throws InterruptedException,
                                                                                      ExecutionException,
                                                                                      LanguageServerException {
-        LanguageServer server = getServer(prefixURI(unresolved.getTextDocumentIdentifier().getUri()));
-        if (server != null) {
-            return server.getTextDocumentService().resolveCompletionItem(unresolved).get();
-        } else {
-            return unresolved;
-        }
+        return await(resolveCompletionItemAsync(unresolved));
     }
 
     @POST
@@ -177,14 +246,7 @@ public class TextDocumentService {
     @Produces(MediaType.APPLICATION_JSON)
     public Hover hover(TextDocumentPositionParamsDTO positionParams)
             throws LanguageServerException, ExecutionException, InterruptedException {
-        positionParams.getTextDocument().setUri(prefixURI(positionParams.getTextDocument().getUri()));
-        positionParams.setUri(prefixURI(positionParams.getUri()));
-        LanguageServer server = getServer(positionParams.getTextDocument().getUri());
-        if (server != null) {
-            return server.getTextDocumentService().hover(positionParams).get();
-        } else {
-            return null;
-        }
+        return await(hoverAsync(positionParams));
     }
 
     @POST
@@ -193,14 +255,7 @@ public class TextDocumentService {
     @Produces(MediaType.APPLICATION_JSON)
     public SignatureHelp signatureHelp(TextDocumentPositionParamsDTO positionParams)
             throws LanguageServerException, ExecutionException, InterruptedException {
-        positionParams.getTextDocument().setUri(prefixURI(positionParams.getTextDocument().getUri()));
-        positionParams.setUri(prefixURI(positionParams.getUri()));
-        LanguageServer server = getServer(positionParams.getTextDocument().getUri());
-        if (server != null) {
-            return server.getTextDocumentService().signatureHelp(positionParams).get();
-        } else {
-            return null;
-        }
+        return await(signatureHelpAsync(positionParams));
     }
 
     @POST
@@ -209,13 +264,7 @@ public class TextDocumentService {
     @Produces(MediaType.APPLICATION_JSON)
     public List<? extends TextEdit> formatting(DocumentFormattingParamsDTO params)
             throws InterruptedException, ExecutionException, LanguageServerException {
-        params.getTextDocument().setUri(prefixURI(params.getTextDocument().getUri()));
-        LanguageServer server = getServer(params.getTextDocument().getUri());
-        if (server == null) {
-            return emptyList();
-        }
-        return server.getTextDocumentService().formatting(params).get();
-
+        return await(formattingAsync(params));
     }
 
     @POST
@@ -224,13 +273,7 @@ public class TextDocumentService {
     @Produces(MediaType.APPLICATION_JSON)
     public List<? extends TextEdit> rangeFormatting(DocumentRangeFormattingParamsDTO params)
             throws InterruptedException, ExecutionException, LanguageServerException {
-        params.getTextDocument().setUri(prefixURI(params.getTextDocument().getUri()));
-        LanguageServer server = getServer(params.getTextDocument().getUri());
-        if (server == null) {
-            return emptyList();
-        }
-        return server.getTextDocumentService().rangeFormatting(params).get();
-
+        return await(rangeFormattingAsync(params));
     }
 
     @POST
@@ -239,13 +282,7 @@ public class TextDocumentService {
     @Produces(MediaType.APPLICATION_JSON)
     public List<? extends TextEdit> onTypeFormatting(DocumentOnTypeFormattingParamsDTO params)
             throws InterruptedException, ExecutionException, LanguageServerException {
-        params.getTextDocument().setUri(prefixURI(params.getTextDocument().getUri()));
-        LanguageServer server = getServer(params.getTextDocument().getUri());
-        if (server == null) {
-            return emptyList();
-        }
-        return server.getTextDocumentService().onTypeFormatting(params).get();
-
+        return await(onTypeFormattingAsync(params));
     }
 
     @POST
@@ -256,7 +293,7 @@ public class TextDocumentService {
         change.setUri(prefixURI(change.getUri()));
         LanguageServer server = getServer(change.getTextDocument().getUri());
         if (server != null) {
-            server.getTextDocumentService().didChange(change);
+            changeAggregator.change(server, change);
         }
     }
 
@@ -268,6 +305,7 @@ public class TextDocumentService {
         openEvent.setUri(prefixURI(openEvent.getUri()));
         LanguageServer server = getServer(openEvent.getTextDocument().getUri());
         if (server != null) {
+            languageServerRegistry.onDocumentOpened(server, openEvent.getTextDocument().getUri());
             server.getTextDocumentService().didOpen(openEvent);
         }
     }
@@ -278,7 +316,9 @@ public class TextDocumentService {
     public void didClose(DidCloseTextDocumentParamsDTO closeEvent) throws LanguageServerException {
         closeEvent.getTextDocument().setUri(prefixURI(closeEvent.getTextDocument().getUri()));
         LanguageServer server = getServer(closeEvent.getTextDocument().getUri());
+        changeAggregator.close(closeEvent.getTextDocument().getUri());
         if (server != null) {
+            languageServerRegistry.onDocumentClosed(server, closeEvent.getTextDocument().getUri());
             server.getTextDocumentService().didClose(closeEvent);
         }
     }
@@ -288,7 +328,7 @@ public class TextDocumentService {
     @Consumes(MediaType.APPLICATION_JSON)
     public void didSave(DidSaveTextDocumentParamsDTO saveEvent) throws LanguageServerException {
         saveEvent.getTextDocument().setUri(prefixURI(saveEvent.getTextDocument().getUri()));
-        LanguageServer server = getServer(saveEvent.getTextDocument().getUri());
+        LanguageServer server = getUpToDateServer(saveEvent.getTextDocument().getUri());
         if (server != null) {
             server.getTextDocumentService().didSave(saveEvent);
         }
@@ -297,17 +337,258 @@ public class TextDocumentService {
     @POST
     @Path("documentHighlight")
     @Consumes(MediaType.APPLICATION_JSON)
-	public DocumentHighlight documentHighlight(TextDocumentPositionParamsDTO positionParams)
-			throws LanguageServerException, InterruptedException, ExecutionException {
-    	positionParams.getTextDocument().setUri(prefixURI(positionParams.getTextDocument().getUri()));
-    	LanguageServer server = getServer(positionParams.getTextDocument().getUri());
-    	if (server != null) {
-    		return server.getTextDocumentService().documentHighlight(positionParams).get();
-    	}
-    	return null;
+    public DocumentHighlight documentHighlight(TextDocumentPositionParamsDTO positionParams)
+            throws LanguageServerException, InterruptedException, ExecutionException {
+        return await(documentHighlightAsync(positionParams));
+    }
+
+    /**
+     * Sends completion request to the language server.
+     *
+     * @param endpointId
+     *         JSON RPC endpoint of the client, pending completion of the document requested by the same endpoint
+     *         is cancelled, {@code null} if previous completions should not be cancelled
+     */
+    CompletableFuture<CompletionList> completionAsync(String endpointId, TextDocumentPositionParamsDTO params)
+            throws LanguageServerException {
+        params.getTextDocument().setUri(prefixURI(params.getTextDocument().getUri()));
+        params.setUri(prefixURI(params.getUri()));
+        LanguageServer server = getUpToDateServer(params.getTextDocument().getUri());
+        if (server == null) {
+            return completedFuture(null);
+        }
+        CompletableFuture<CompletionList> completion = withDeadline(server,
+                                                                    server.getTextDocumentService().completion(params),
+                                                                    completionTimeoutMs,
+                                                                    "completion");
+        if (endpointId != null) {
+            supersede(endpointId + ' ' + params.getTextDocument().getUri(), completion);
+        }
+        return completion;
+    }
+
+    private CompletableFuture<List<? extends SymbolInformation>> documentSymbolAsync(DocumentSymbolParamsDTO params)
+            throws LanguageServerException {
+        params.getTextDocument().setUri(prefixURI(params.getTextDocument().getUri()));
+        LanguageServer server = getUpToDateServer(params.getTextDocument().getUri());
+        if (server == null) {
+            return completedFuture(emptyList());
+        }
+        return withDeadline(server, server.getTextDocumentService().documentSymbol(params), requestTimeoutMs, "documentSymbol");
+    }
+
+    private CompletableFuture<List<? extends Location>> referencesAsync(ReferenceParamsDTO params) throws LanguageServerException {
+        params.getTextDocument().setUri(prefixURI(params.getTextDocument().getUri()));
+        LanguageServer server = getUpToDateServer(params.getTextDocument().getUri());
+        if (server == null) {
+            return completedFuture(emptyList());
+        }
+        return withDeadline(server,
+                            server.getTextDocumentService().references(params),
+                            requestTimeoutMs,
+                            "references",
+                            TextDocumentService::removePrefixUri);
+    }
+
+    private CompletableFuture<List<? extends Location>> definitionAsync(TextDocumentPositionParamsDTO params)
+            throws LanguageServerException {
+        params.getTextDocument().setUri(prefixURI(params.getTextDocument().getUri()));
+        LanguageServer server = getUpToDateServer(params.getTextDocument().getUri());
+        if (server == null) {
+            return completedFuture(emptyList());
+        }
+        return withDeadline(server,
+                            server.getTextDocumentService().definition(params),
+                            requestTimeoutMs,
+                            "definition",
+                            TextDocumentService::removePrefixUri);
+    }
+
+    private CompletableFuture<CompletionItem> resolveCompletionItemAsync(CompletionItemDTO unresolved) throws LanguageServerException {
+        LanguageServer server = getUpToDateServer(prefixURI(unresolved.getTextDocumentIdentifier().getUri()));
+        if (server == null) {
+            return completedFuture(unresolved);
+        }
+        return withDeadline(server, server.getTextDocumentService().resolveCompletionItem(unresolved), completionTimeoutMs, "resolve");
+    }
+
+    private CompletableFuture<Hover> hoverAsync(TextDocumentPositionParamsDTO params) throws LanguageServerException {
+        params.getTextDocument().setUri(prefixURI(params.getTextDocument().getUri()));
+        params.setUri(prefixURI(params.getUri()));
+        LanguageServer server = getUpToDateServer(params.getTextDocument().getUri());
+        if (server == null) {
+            return completedFuture(null);
+        }
+        return withDeadline(server, server.getTextDocumentService().hover(params), completionTimeoutMs, "hover");
+    }
+
+    private CompletableFuture<SignatureHelp> signatureHelpAsync(TextDocumentPositionParamsDTO params) throws LanguageServerException {
+        params.getTextDocument().setUri(prefixURI(params.getTextDocument().getUri()));
+        params.setUri(prefixURI(params.getUri()));
+        LanguageServer server = getUpToDateServer(params.getTextDocument().getUri());
+        if (server == null) {
+            return completedFuture(null);
+        }
+        return withDeadline(server, server.getTextDocumentService().signatureHelp(params), completionTimeoutMs, "signatureHelp");
+    }
+
+    private CompletableFuture<List<? extends TextEdit>> formattingAsync(DocumentFormattingParamsDTO params)
+            throws LanguageServerException {
+        params.getTextDocument().setUri(prefixURI(params.getTextDocument().getUri()));
+        LanguageServer server = getUpToDateServer(params.getTextDocument().getUri());
+        if (server == null) {
+            return completedFuture(emptyList());
+        }
+        return withDeadline(server, server.getTextDocumentService().formatting(params), requestTimeoutMs, "formatting");
+    }
+
+    private CompletableFuture<List<? extends TextEdit>> rangeFormattingAsync(DocumentRangeFormattingParamsDTO params)
+            throws LanguageServerException {
+        params.getTextDocument().setUri(prefixURI(params.getTextDocument().getUri()));
+        LanguageServer server = getUpToDateServer(params.getTextDocument().getUri());
+        if (server == null) {
+            return completedFuture(emptyList());
+        }
+        return withDeadline(server, server.getTextDocumentService().rangeFormatting(params), requestTimeoutMs, "rangeFormatting");
+    }
+
+    private CompletableFuture<List<? extends TextEdit>> onTypeFormattingAsync(DocumentOnTypeFormattingParamsDTO params)
+            throws LanguageServerException {
+        params.getTextDocument().setUri(prefixURI(params.getTextDocument().getUri()));
+        LanguageServer server = getUpToDateServer(params.getTextDocument().getUri());
+        if (server == null) {
+            return completedFuture(emptyList());
+        }
+        return withDeadline(server, server.getTextDocumentService().onTypeFormatting(params), requestTimeoutMs, "onTypeFormatting");
+    }
+
+    private CompletableFuture<DocumentHighlight> documentHighlightAsync(TextDocumentPositionParamsDTO params)
+            throws LanguageServerException {
+        params.getTextDocument().setUri(prefixURI(params.getTextDocument().getUri()));
+        LanguageServer server = getUpToDateServer(params.getTextDocument().getUri());
+        if (server == null) {
+            return completedFuture(null);
+        }
+        return withDeadline(server, server.getTextDocumentService().documentHighlight(params), requestTimeoutMs, "documentHighlight");
     }
 
     private LanguageServer getServer(String uri) throws LanguageServerException {
         return languageServerRegistry.findServer(uri);
     }
+
+    /** Returns server for the document, changes of the document which are not sent to the server yet are sent first. */
+    private LanguageServer getUpToDateServer(String uri) throws LanguageServerException {
+        changeAggregator.flush(uri);
+        return getServer(uri);
+    }
+
+    private <T> CompletableFuture<T> withDeadline(LanguageServer server, CompletableFuture<T> request, long timeoutMs, String method) {
+        return withDeadline(server, request, timeoutMs, method, Function.identity());
+    }
+
+    /**
+     * Returns future which is completed with the mapped result of the language server request or with {@link TimeoutException}
+     * when the deadline passes. When returned future is completed before the request, e.g. it is cancelled or timed out,
+     * the request is cancelled as well, so the language server may stop computing the result.
+     * Time the server takes to answer the request is recorded in the registry.
+     */
+    private <T, R> CompletableFuture<R> withDeadline(LanguageServer server,
+                                                     CompletableFuture<T> request,
+                                                     long timeoutMs,
+                                                     String method,
+                                                     Function<? super T, ? extends R> mapper) {
+        final CompletableFuture<R> result = new CompletableFuture<>();
+        final long start = System.nanoTime();
+        request.whenComplete((value, error) -> {
+            if (!request.isCancelled()) {
+                languageServerRegistry.onRequestCompleted(server, NANOSECONDS.toMillis(System.nanoTime() - start));
+            }
+            if (error != null) {
+                result.completeExceptionally(error);
+                return;
+            }
+            try {
+                result.complete(mapper.apply(value));
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+        });
+        if (timeoutMs > 0) {
+            final ScheduledFuture<?> deadline = deadlines.schedule(
+                    () -> result.completeExceptionally(new TimeoutException(format("Language server didn't respond to '%s' request in %d ms",
+                                                                                   method,
+                                                                                   timeoutMs))),
+                    timeoutMs,
+                    MILLISECONDS);
+            result.whenComplete((value, error) -> deadline.cancel(false));
+        }
+        result.whenComplete((value, error) -> {
+            if (!request.isDone()) {
+                request.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    /** Cancels pending completion request with the same key, the client is not interested in its result anymore. */
+    private void supersede(String key, CompletableFuture<?> completion) {
+        final CompletableFuture<?> previous = pendingCompletions.put(key, completion);
+        if (previous != null) {
+            previous.cancel(true);
+        }
+        completion.whenComplete((value, error) -> pendingCompletions.remove(key, completion));
+    }
+
+    /**
+     * Waits for the result of the request. Request which is cancelled or is not answered before the deadline
+     * fails with {@link LanguageServerException}.
+     */
+    private static <T> T await(CompletableFuture<T> request) throws InterruptedException, ExecutionException, LanguageServerException {
+        try {
+            return request.get();
+        } catch (CancellationException e) {
+            throw new LanguageServerException("Language server request is cancelled", e);
+        } catch (InterruptedException e) {
+            request.cancel(true);
+            throw e;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof TimeoutException) {
+                throw new LanguageServerException(e.getCause().getMessage(), e.getCause());
+            }
+            throw e;
+        }
+    }
+
+    /** Converts result of the request into JSON, cancellation of the returned future cancels the request. */
+    private static <T> CompletableFuture<JsonElement> toJson(AsyncRequest<T> asyncRequest) {
+        final CompletableFuture<T> request;
+        try {
+            request = asyncRequest.send();
+        } catch (LanguageServerException e) {
+            final CompletableFuture<JsonElement> failed = new CompletableFuture<>();
+            failed.completeExceptionally(e);
+            return failed;
+        }
+        final CompletableFuture<JsonElement> json = request.thenApply(GSON::toJsonTree);
+        json.whenComplete((value, error) -> {
+            if (json.isCancelled()) {
+                request.cancel(true);
+            }
+        });
+        return json;
+    }
+
+    private static List<? extends Location> removePrefixUri(List<? extends Location> locations) {
+        locations.forEach(o -> {
+            if (o instanceof LocationImpl) {
+                ((LocationImpl)o).setUri(removePrefixUri(o.getUri()));
+            }
+        });
+        return locations;
+    }
+
+    @FunctionalInterface
+    private interface AsyncRequest<T> {
+        CompletableFuture<T> send() throws LanguageServerException;
+    }
 }
@@ -17,6 +17,7 @@ import io.typefox.lsapi.services.LanguageServer;
 import io.typefox.lsapi.services.TextDocumentService;
 import io.typefox.lsapi.services.WindowService;
 
+import org.eclipse.che.api.languageserver.exception.LanguageServerException;
 import org.eclipse.che.api.languageserver.launcher.LanguageServerLauncher;
 import org.eclipse.che.api.languageserver.shared.model.LanguageDescription;
 import org.mockito.Mock;
@@ -27,17 +28,25 @@ import org.testng.annotations.Test;
 
 import java.util.Collections;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
+import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotEquals;
 import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertTrue;
 
 /**
  * @author Anatoliy Bazko
@@ -103,4 +112,120 @@ public class LanguageServerRegistryImplTest {
         verify(initializer).initialize(eq(languageServerLauncher), eq(PROJECT_PATH));
         verify(registry).onServerInitialized(eq(languageServer), eq(serverCapabilities), eq(languageDescription), eq(PROJECT_PATH));
     }
+
+    @Test
+    public void shouldShutdownLeastRecentlyUsedServerWhenLimitIsReached() throws Exception {
+        LanguageServer anotherServer = mock(LanguageServer.class);
+        when(initializer.initialize(any(LanguageServerLauncher.class), anyString())).thenReturn(languageServer, anotherServer);
+        registry.setLimits(0, 1);
+
+        LanguageServer first = registry.findServer("txt", "/projects/first");
+        LanguageServer second = registry.findServer("txt", "/projects/second");
+
+        assertNotEquals(first, second);
+        verify(initializer).shutdownServer(first);
+        verify(initializer, never()).shutdownServer(second);
+        assertEquals(registry.getServerMetrics().size(), 1);
+        assertEquals(registry.getServerMetrics().get(0).getProjectPath(), "/projects/second");
+    }
+
+    @Test
+    public void shouldShutdownIdleServers() throws Exception {
+        LanguageServer server = registry.findServer(PREFIX + FILE_PATH);
+        registry.setLimits(1, 0);
+        Thread.sleep(10);
+
+        registry.shutdownIdleServers();
+
+        verify(initializer).shutdownServer(server);
+        assertEquals(registry.getServerMetrics().size(), 0);
+        assertEquals(registry.getInitializedLanguages().size(), 0);
+    }
+
+    @Test
+    public void shouldNotShutdownIdleServerWithOpenDocuments() throws Exception {
+        LanguageServer server = registry.findServer(PREFIX + FILE_PATH);
+        registry.onDocumentOpened(server, PREFIX + FILE_PATH);
+        registry.setLimits(1, 0);
+        Thread.sleep(10);
+
+        registry.shutdownIdleServers();
+
+        verify(initializer, never()).shutdownServer(server);
+        assertEquals(registry.getServerMetrics().size(), 1);
+    }
+
+    @Test
+    public void shouldShutdownIdleServerWhenItsDocumentsAreClosed() throws Exception {
+        LanguageServer server = registry.findServer(PREFIX + FILE_PATH);
+        registry.onDocumentOpened(server, PREFIX + FILE_PATH);
+        registry.onDocumentClosed(server, PREFIX + FILE_PATH);
+        registry.setLimits(1, 0);
+        Thread.sleep(10);
+
+        registry.shutdownIdleServers();
+
+        verify(initializer).shutdownServer(server);
+    }
+
+    @Test(expectedExceptions = LanguageServerException.class)
+    public void shouldNotShutdownServerWithOpenDocumentsWhenLimitIsReached() throws Exception {
+        LanguageServer anotherServer = mock(LanguageServer.class);
+        when(initializer.initialize(any(LanguageServerLauncher.class), anyString())).thenReturn(languageServer, anotherServer);
+        registry.setLimits(0, 1);
+        LanguageServer first = registry.findServer("txt", "/projects/first");
+        registry.onDocumentOpened(first, "file:///projects/first/test.txt");
+
+        try {
+            registry.findServer("txt", "/projects/second");
+        } finally {
+            verify(initializer, never()).shutdownServer(first);
+        }
+    }
+
+    @Test
+    public void shouldCountStartingServersAgainstLimit() throws Exception {
+        LanguageServer anotherServer = mock(LanguageServer.class);
+        CountDownLatch firstStarting = new CountDownLatch(1);
+        CountDownLatch releaseFirst = new CountDownLatch(1);
+        when(initializer.initialize(any(LanguageServerLauncher.class), eq("/projects/first"))).thenAnswer(invocation -> {
+            firstStarting.countDown();
+            releaseFirst.await();
+            return languageServer;
+        });
+        when(initializer.initialize(any(LanguageServerLauncher.class), eq("/projects/second"))).thenReturn(anotherServer);
+        registry.setLimits(0, 1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<LanguageServer> first = executor.submit(() -> registry.findServer("txt", "/projects/first"));
+            assertTrue(firstStarting.await(5, SECONDS));
+            Future<LanguageServer> second = executor.submit(() -> registry.findServer("txt", "/projects/second"));
+
+            releaseFirst.countDown();
+
+            assertEquals(first.get(5, SECONDS), languageServer);
+            assertEquals(second.get(5, SECONDS), anotherServer);
+        } finally {
+            executor.shutdownNow();
+        }
+        verify(initializer).shutdownServer(languageServer);
+        assertEquals(registry.getServerMetrics().size(), 1);
+        assertEquals(registry.getServerMetrics().get(0).getProjectPath(), "/projects/second");
+    }
+
+    @Test
+    public void shouldRecordServerMetrics() throws Exception {
+        LanguageServer server = registry.findServer(PREFIX + FILE_PATH);
+
+        registry.onRequestCompleted(server, 10);
+        registry.onRequestCompleted(server, 30);
+
+        assertEquals(registry.getServerMetrics().size(), 1);
+        LanguageServerMetrics metrics = registry.getServerMetrics().get(0);
+        assertEquals(metrics.getLanguageId(), "id");
+        assertEquals(metrics.getProjectPath(), PROJECT_PATH);
+        assertEquals(metrics.getRequests(), 2);
+        assertEquals(metrics.getAverageLatency(), 20);
+        assertEquals(metrics.getMaxLatency(), 30);
+    }
 }
@@ -0,0 +1,187 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.languageserver.service;
+
+import io.typefox.lsapi.DidChangeTextDocumentParams;
+import io.typefox.lsapi.services.LanguageServer;
+import io.typefox.lsapi.services.TextDocumentService;
+
+import org.eclipse.che.api.languageserver.shared.lsapi.DidChangeTextDocumentParamsDTO;
+import org.eclipse.che.api.languageserver.shared.lsapi.PositionDTO;
+import org.eclipse.che.api.languageserver.shared.lsapi.RangeDTO;
+import org.eclipse.che.api.languageserver.shared.lsapi.TextDocumentContentChangeEventDTO;
+import org.eclipse.che.api.languageserver.shared.lsapi.VersionedTextDocumentIdentifierDTO;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import static java.util.Collections.singletonList;
+import static org.eclipse.che.dto.server.DtoFactory.newDto;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+
+/**
+ * Tests for {@link TextDocumentChangeAggregator}
+ */
+@Listeners(MockitoTestNGListener.class)
+public class TextDocumentChangeAggregatorTest {
+    private static final String URI = "file:///projects/p/Test.java";
+
+    @Mock
+    private LanguageServer      server;
+    @Mock
+    private TextDocumentService textDocumentService;
+
+    private TextDocumentChangeAggregator aggregator;
+
+    @BeforeMethod
+    public void setUp() {
+        when(server.getTextDocumentService()).thenReturn(textDocumentService);
+        aggregator = new TextDocumentChangeAggregator(60_000);
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        aggregator.shutdown();
+    }
+
+    @Test
+    public void shouldMergeTypedCharactersIntoSingleChange() {
+        aggregator.change(server, insert(1, 0, 4, "a"));
+        aggregator.change(server, insert(2, 0, 5, "b"));
+        aggregator.change(server, insert(3, 0, 6, "c"));
+
+        verify(textDocumentService, never()).didChange(any());
+
+        aggregator.flush(URI);
+
+        DidChangeTextDocumentParams sent = captureSent();
+        assertEquals(sent.getTextDocument().getVersion(), 3);
+        assertEquals(sent.getContentChanges().size(), 1);
+        assertEquals(sent.getContentChanges().get(0).getText(), "abc");
+        assertEquals(sent.getContentChanges().get(0).getRange().getStart().getCharacter(), 4);
+        assertEquals(aggregator.getReceivedChanges(), 3);
+        assertEquals(aggregator.getSentChanges(), 1);
+        assertEquals(aggregator.getCoalescedChanges(), 2);
+    }
+
+    @Test
+    public void shouldKeepChangesWhichCanNotBeMergedInOrder() {
+        aggregator.change(server, insert(1, 0, 4, "a"));
+        aggregator.change(server, insert(2, 3, 0, "b"));
+
+        aggregator.flush(URI);
+
+        DidChangeTextDocumentParams sent = captureSent();
+        assertEquals(sent.getContentChanges().size(), 2);
+        assertEquals(sent.getContentChanges().get(0).getText(), "a");
+        assertEquals(sent.getContentChanges().get(1).getText(), "b");
+    }
+
+    @Test
+    public void shouldReplacePreviousChangesWithFullContentChange() {
+        aggregator.change(server, insert(1, 0, 4, "a"));
+        aggregator.change(server, fullChange(2, "full content"));
+
+        aggregator.flush(URI);
+
+        DidChangeTextDocumentParams sent = captureSent();
+        assertEquals(sent.getContentChanges().size(), 1);
+        assertNull(sent.getContentChanges().get(0).getRange());
+        assertEquals(sent.getContentChanges().get(0).getText(), "full content");
+    }
+
+    @Test
+    public void shouldIncreaseVersionOfDocumentWhenReceivedVersionIsNotGreater() {
+        aggregator.change(server, insert(5, 0, 4, "a"));
+        aggregator.flush(URI);
+        aggregator.change(server, insert(4, 0, 5, "b"));
+        aggregator.flush(URI);
+        aggregator.change(server, insert(6, 0, 6, "c"));
+        aggregator.flush(URI);
+
+        ArgumentCaptor<DidChangeTextDocumentParams> captor = ArgumentCaptor.forClass(DidChangeTextDocumentParams.class);
+        verify(textDocumentService, times(3)).didChange(captor.capture());
+        assertEquals(captor.getAllValues().get(1).getTextDocument().getVersion(), 6);
+        assertEquals(captor.getAllValues().get(2).getTextDocument().getVersion(), 7);
+    }
+
+    @Test
+    public void shouldSendChangesWhenDelayIsOver() {
+        aggregator.shutdown();
+        aggregator = new TextDocumentChangeAggregator(50);
+
+        aggregator.change(server, insert(1, 0, 4, "a"));
+        aggregator.change(server, insert(2, 0, 5, "b"));
+
+        verify(textDocumentService, timeout(5_000)).didChange(any());
+        assertEquals(aggregator.getSentChanges(), 1);
+    }
+
+    @Test
+    public void shouldSendChangesBeforeDocumentIsClosed() {
+        aggregator.change(server, insert(1, 0, 4, "a"));
+
+        aggregator.close(URI);
+
+        verify(textDocumentService).didChange(any());
+    }
+
+    private DidChangeTextDocumentParams captureSent() {
+        ArgumentCaptor<DidChangeTextDocumentParams> captor = ArgumentCaptor.forClass(DidChangeTextDocumentParams.class);
+        verify(textDocumentService).didChange(captor.capture());
+        return captor.getValue();
+    }
+
+    private static DidChangeTextDocumentParamsDTO insert(int version, int line, int character, String text) {
+        RangeDTO range = newDto(RangeDTO.class);
+        range.setStart(position(line, character));
+        range.setEnd(position(line, character));
+        TextDocumentContentChangeEventDTO contentChange = newDto(TextDocumentContentChangeEventDTO.class);
+        contentChange.setRange(range);
+        contentChange.setRangeLength(0);
+        contentChange.setText(text);
+        return change(version, contentChange);
+    }
+
+    private static DidChangeTextDocumentParamsDTO fullChange(int version, String text) {
+        TextDocumentContentChangeEventDTO contentChange = newDto(TextDocumentContentChangeEventDTO.class);
+        contentChange.setText(text);
+        return change(version, contentChange);
+    }
+
+    private static DidChangeTextDocumentParamsDTO change(int version, TextDocumentContentChangeEventDTO contentChange) {
+        VersionedTextDocumentIdentifierDTO document = newDto(VersionedTextDocumentIdentifierDTO.class);
+        document.setUri(URI);
+        document.setVersion(version);
+        DidChangeTextDocumentParamsDTO change = newDto(DidChangeTextDocumentParamsDTO.class);
+        change.setTextDocument(document);
+        change.setContentChanges(singletonList(contentChange));
+        return change;
+    }
+
+    private static PositionDTO position(int line, int character) {
+        PositionDTO position = newDto(PositionDTO.class);
+        position.setLine(line);
+        position.setCharacter(character);
+        return position;
+    }
+}
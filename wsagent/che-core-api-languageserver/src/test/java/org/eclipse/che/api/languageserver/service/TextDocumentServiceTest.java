@@ -0,0 +1,156 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.languageserver.service;
+
+import io.typefox.lsapi.CompletionList;
+import io.typefox.lsapi.Hover;
+import io.typefox.lsapi.services.LanguageServer;
+
+import org.eclipse.che.api.languageserver.exception.LanguageServerException;
+import org.eclipse.che.api.languageserver.registry.LanguageServerRegistry;
+import org.eclipse.che.api.languageserver.shared.lsapi.PositionDTO;
+import org.eclipse.che.api.languageserver.shared.lsapi.TextDocumentIdentifierDTO;
+import org.eclipse.che.api.languageserver.shared.lsapi.TextDocumentPositionParamsDTO;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.CompletableFuture;
+
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static org.eclipse.che.dto.server.DtoFactory.newDto;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+/**
+ * Tests for {@link TextDocumentService}
+ */
+@Listeners(MockitoTestNGListener.class)
+public class TextDocumentServiceTest {
+    private static final String PATH = "/p/Test.java";
+
+    @Mock
+    private LanguageServerRegistry                       registry;
+    @Mock
+    private TextDocumentChangeAggregator                 changeAggregator;
+    @Mock
+    private LanguageServer                               server;
+    @Mock
+    private io.typefox.lsapi.services.TextDocumentService serverDocumentService;
+
+    private TextDocumentService service;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        when(registry.findServer(anyString())).thenReturn(server);
+        when(server.getTextDocumentService()).thenReturn(serverDocumentService);
+        service = new TextDocumentService(registry, changeAggregator);
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    public void shouldReturnResultOfLanguageServer() throws Exception {
+        final Hover hover = mock(Hover.class);
+        when(serverDocumentService.hover(any())).thenReturn(completedFuture(hover));
+
+        assertSame(service.hover(position()), hover);
+    }
+
+    @Test
+    public void shouldFailAndCancelRequestWhichIsNotAnsweredBeforeDeadline() throws Exception {
+        final CompletableFuture<Hover> request = new CompletableFuture<>();
+        when(serverDocumentService.hover(any())).thenReturn(request);
+        service.completionTimeoutMs = 50;
+
+        try {
+            service.hover(position());
+            fail("Request is expected to fail when deadline passes");
+        } catch (LanguageServerException ignored) {
+        }
+
+        // request is cancelled by the thread which fails the result
+        for (int i = 0; i < 50 && !request.isCancelled(); i++) {
+            Thread.sleep(100);
+        }
+        assertTrue(request.isCancelled());
+    }
+
+    @Test
+    public void shouldCancelRequestInLanguageServerWhenResultIsCancelled() throws Exception {
+        final CompletableFuture<CompletionList> request = new CompletableFuture<>();
+        when(serverDocumentService.completion(any())).thenReturn(request);
+
+        service.completionAsync("client", position()).cancel(true);
+
+        assertTrue(request.isCancelled());
+    }
+
+    @Test
+    public void shouldCancelPendingCompletionOfDocumentRequestedBySameClient() throws Exception {
+        final CompletableFuture<CompletionList> first = new CompletableFuture<>();
+        final CompletableFuture<CompletionList> second = new CompletableFuture<>();
+        when(serverDocumentService.completion(any())).thenReturn(first, second);
+
+        service.completionAsync("client", position());
+        service.completionAsync("client", position());
+
+        assertTrue(first.isCancelled());
+        assertFalse(second.isCancelled());
+    }
+
+    @Test
+    public void shouldNotCancelPendingCompletionRequestedByOtherClient() throws Exception {
+        final CompletableFuture<CompletionList> first = new CompletableFuture<>();
+        when(serverDocumentService.completion(any())).thenReturn(first, new CompletableFuture<>());
+
+        service.completionAsync("client", position());
+        service.completionAsync("other client", position());
+
+        assertFalse(first.isCancelled());
+    }
+
+    @Test
+    public void shouldNotCancelPendingCompletionRequestedOverRest() throws Exception {
+        final CompletableFuture<CompletionList> first = new CompletableFuture<>();
+        when(serverDocumentService.completion(any())).thenReturn(first, new CompletableFuture<>());
+
+        service.completionAsync(null, position());
+        service.completionAsync(null, position());
+
+        assertFalse(first.isCancelled());
+    }
+
+    private static TextDocumentPositionParamsDTO position() {
+        final TextDocumentIdentifierDTO document = newDto(TextDocumentIdentifierDTO.class);
+        document.setUri(PATH);
+        final PositionDTO position = newDto(PositionDTO.class);
+        position.setLine(1);
+        position.setCharacter(1);
+        final TextDocumentPositionParamsDTO params = newDto(TextDocumentPositionParamsDTO.class);
+        params.setTextDocument(document);
+        params.setUri(PATH);
+        params.setPosition(position);
+        return params;
+    }
+}
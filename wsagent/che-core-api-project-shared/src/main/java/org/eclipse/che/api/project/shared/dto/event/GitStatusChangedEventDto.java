@@ -0,0 +1,71 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.project.shared.dto.event;
+
+import com.google.common.annotations.Beta;
+
+import org.eclipse.che.dto.shared.DTO;
+
+import java.util.List;
+
+/**
+ * To transfer changes of git status of a project. Only files which status was changed are sent,
+ * file from {@link #getFiles()} which is not in any other list is not modified anymore.
+ */
+@Beta
+@DTO
+public interface GitStatusChangedEventDto {
+    /** Workspace related path of the project. */
+    String getProjectPath();
+
+    GitStatusChangedEventDto withProjectPath(String projectPath);
+
+    String getBranchName();
+
+    GitStatusChangedEventDto withBranchName(String branchName);
+
+    boolean isClean();
+
+    GitStatusChangedEventDto withClean(boolean clean);
+
+    /** Files which status was changed, paths are relative to the project. */
+    List<String> getFiles();
+
+    GitStatusChangedEventDto withFiles(List<String> files);
+
+    List<String> getAdded();
+
+    GitStatusChangedEventDto withAdded(List<String> added);
+
+    List<String> getChanged();
+
+    GitStatusChangedEventDto withChanged(List<String> changed);
+
+    List<String> getRemoved();
+
+    GitStatusChangedEventDto withRemoved(List<String> removed);
+
+    List<String> getMissing();
+
+    GitStatusChangedEventDto withMissing(List<String> missing);
+
+    List<String> getModified();
+
+    GitStatusChangedEventDto withModified(List<String> modified);
+
+    List<String> getUntracked();
+
+    GitStatusChangedEventDto withUntracked(List<String> untracked);
+
+    List<String> getConflicting();
+
+    GitStatusChangedEventDto withConflicting(List<String> conflicting);
+}
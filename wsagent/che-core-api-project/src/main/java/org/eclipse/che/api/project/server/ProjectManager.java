@@ -42,6 +42,7 @@ import org.eclipse.che.api.vfs.VirtualFileSystemProvider;
 import org.eclipse.che.api.vfs.impl.file.FileTreeWatcher;
 import org.eclipse.che.api.vfs.impl.file.FileWatcherNotificationHandler;
 import org.eclipse.che.api.vfs.impl.file.FileWatcherNotificationListener;
+import org.eclipse.che.api.vfs.impl.file.LocalVirtualFileSystem;
 import org.eclipse.che.api.vfs.search.Searcher;
 import org.eclipse.che.api.vfs.search.SearcherProvider;
 import org.eclipse.che.api.vfs.watcher.FileWatcherManager;
@@ -161,10 +162,17 @@ public class ProjectManager {
 
     public void addWatchExcludeMatcher(PathMatcher matcher) {
         fileWatcher.addExcludeMatcher(matcher);
+        if (vfs instanceof LocalVirtualFileSystem) {
+            // changes of excluded folders aren't reported, so their children can't be cached
+            ((LocalVirtualFileSystem)vfs).addChildrenCacheExcludeMatcher(matcher);
+        }
     }
 
     public void removeWatchExcludeMatcher(PathMatcher matcher) {
         fileWatcher.removeExcludeMatcher(matcher);
+        if (vfs instanceof LocalVirtualFileSystem) {
+            ((LocalVirtualFileSystem)vfs).removeChildrenCacheExcludeMatcher(matcher);
+        }
     }
 
     /**
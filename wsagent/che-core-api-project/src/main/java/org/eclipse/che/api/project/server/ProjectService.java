@@ -30,6 +30,7 @@ import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.core.rest.Service;
 import org.eclipse.che.api.core.rest.annotations.Description;
 import org.eclipse.che.api.core.rest.annotations.GenerateLink;
+import org.eclipse.che.api.core.rest.shared.dto.ServiceError;
 import org.eclipse.che.api.project.server.importer.ProjectImportOutputWSLineConsumer;
 import org.eclipse.che.api.project.server.notification.ProjectItemModifiedEvent;
 import org.eclipse.che.api.project.server.type.ProjectTypeResolution;
@@ -70,9 +71,12 @@ import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.MultivaluedMap;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
 import javax.ws.rs.core.UriInfo;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -83,6 +87,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.eclipse.che.api.project.server.DtoConverter.asDto;
 import static org.eclipse.che.api.project.shared.Constants.LINK_REL_CREATE_BATCH_PROJECTS;
 import static org.eclipse.che.api.project.shared.Constants.LINK_REL_CREATE_PROJECT;
@@ -900,6 +905,85 @@ public class ProjectService extends Service {
         return items;
     }
 
+    @GET
+    @Path("/search-stream/{path:.*}")
+    @Produces(MediaType.APPLICATION_JSON)
+    @ApiOperation(value = "Search for resources and stream results",
+                  notes = "Same as search but without limit of number of results. Results are retrieved page by page " +
+                          "and each page is written to response as soon as it is found. If search fails after results " +
+                          "are started to be written then the last element of the array is ServiceError which describes " +
+                          "the failure",
+                  response = ItemReference.class,
+                  responseContainer = "List")
+    @ApiResponses({@ApiResponse(code = 200, message = "OK"),
+                   @ApiResponse(code = 403, message = "User not authorized to call this operation"),
+                   @ApiResponse(code = 409, message = "Conflict error"),
+                   @ApiResponse(code = 500, message = "Internal Server Error")})
+    public Response searchStream(@ApiParam(value = "Path to resource, i.e. where to search?", required = true)
+                                 @PathParam("path") String path,
+                                 @ApiParam(value = "Resource name")
+                                 @QueryParam("name") String name,
+                                 @ApiParam(value = "Search keywords")
+                                 @QueryParam("text") String text,
+                                 @ApiParam(value = "Number of items retrieved from index at once")
+                                 @QueryParam("pageSize") @DefaultValue("100") int pageSize) throws ConflictException,
+                                                                                                   ServerException {
+        if (pageSize < 1) {
+            throw new ConflictException(String.format("Invalid 'pageSize' parameter: %d.", pageSize));
+        }
+
+        final Searcher searcher;
+        try {
+            searcher = projectManager.getSearcher();
+        } catch (NotFoundException e) {
+            LOG.warn(e.getLocalizedMessage());
+            return Response.ok(Collections.emptyList(), MediaType.APPLICATION_JSON_TYPE).build();
+        }
+
+        final QueryExpression expr = new QueryExpression()
+                .setPath(path.startsWith("/") ? path : ('/' + path))
+                .setName(name)
+                .setText(text)
+                .setMaxItems(pageSize);
+        final FolderEntry root = projectManager.getProjectsRoot();
+        // first page is retrieved before response is started, so failure of search results in error response
+        final SearchResult firstPage = searcher.search(expr);
+
+        final StreamingOutput output = outputStream -> {
+            final Writer writer = new OutputStreamWriter(outputStream, UTF_8);
+            writer.write('[');
+            boolean first = true;
+            try {
+                SearchResult result = firstPage;
+                while (result != null) {
+                    for (SearchResultEntry searchResultEntry : result.getResults()) {
+                        final VirtualFileEntry child = root.getChild(searchResultEntry.getFilePath());
+                        if (child != null && child.isFile()) {
+                            if (!first) {
+                                writer.write(',');
+                            }
+                            writer.write(DtoFactory.getInstance().toJson(injectFileLinks(asDto((FileEntry)child))));
+                            first = false;
+                        }
+                    }
+                    writer.flush();
+                    final QueryExpression nextPageExpr = result.getNextPageQueryExpression().orNull();
+                    result = nextPageExpr == null ? null : searcher.search(nextPageExpr);
+                }
+            } catch (ServerException e) {
+                // status of response is sent already, so error is reported with the last element
+                LOG.error(e.getLocalizedMessage(), e);
+                if (!first) {
+                    writer.write(',');
+                }
+                writer.write(DtoFactory.getInstance().toJson(newDto(ServiceError.class).withMessage(e.getLocalizedMessage())));
+            }
+            writer.write(']');
+            writer.flush();
+        };
+        return Response.ok(output, MediaType.APPLICATION_JSON_TYPE).build();
+    }
+
     private void logProjectCreatedEvent(@NotNull String projectName, @NotNull String projectType) {
         LOG.info("EVENT#project-created# PROJECT#{}# TYPE#{}# WS#{}# USER#{}# PAAS#default#",
                  projectName,
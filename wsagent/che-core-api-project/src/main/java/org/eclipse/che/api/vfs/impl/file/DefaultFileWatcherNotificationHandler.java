@@ -24,6 +24,7 @@ import java.io.File;
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
 
+import static org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType.MODIFIED;
 import static org.eclipse.che.api.vfs.Path.ROOT;
 
 @Singleton
@@ -41,7 +42,14 @@ public class DefaultFileWatcherNotificationHandler implements FileWatcherNotific
 
     @Override
     public void handleFileWatcherEvent(FileWatcherEventType eventType, File watchRoot, String subPath, boolean isDir) {
-        VirtualFile virtualFile = convertToVirtualFile(watchRoot, subPath, isDir);
+        LocalVirtualFileSystem virtualFileSystem = getVirtualFileSystem();
+        if (virtualFileSystem == null) {
+            return;
+        }
+        if (eventType != MODIFIED) {
+            virtualFileSystem.invalidateChildrenCache(ROOT.newPath(Path.of(subPath)), isDir);
+        }
+        VirtualFile virtualFile = convertToVirtualFile(virtualFileSystem, watchRoot, subPath, isDir);
         if (virtualFile == null) {
             return;
         }
@@ -70,9 +78,17 @@ public class DefaultFileWatcherNotificationHandler implements FileWatcherNotific
         return fileWatcherNotificationListeners.remove(fileWatcherNotificationListener);
     }
 
-    private VirtualFile convertToVirtualFile(File root, String subPath, boolean isDir) {
+    private LocalVirtualFileSystem getVirtualFileSystem() {
+        try {
+            return (LocalVirtualFileSystem)virtualFileSystemProvider.getVirtualFileSystem(true);
+        } catch (ServerException e) {
+            LOG.warn(e.getMessage());
+        }
+        return null;
+    }
+
+    private VirtualFile convertToVirtualFile(LocalVirtualFileSystem virtualFileSystem, File root, String subPath, boolean isDir) {
         try {
-            LocalVirtualFileSystem virtualFileSystem = (LocalVirtualFileSystem)virtualFileSystemProvider.getVirtualFileSystem(true);
             Path vfsPath = Path.of(subPath);
             VirtualFile virtualFile = virtualFileSystem.getRoot().getChild(vfsPath);
             if (virtualFile == null) {
@@ -10,6 +10,7 @@
  *******************************************************************************/
 package org.eclipse.che.api.vfs.impl.file;
 
+import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
@@ -52,11 +53,16 @@ import java.io.FileOutputStream;
 import java.io.FilenameFilter;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static com.google.common.base.Strings.isNullOrEmpty;
 import static com.google.common.collect.Lists.newArrayList;
@@ -81,6 +87,7 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
 
     private static final long WAIT_FOR_FILE_LOCK_TIMEOUT = 60000; // 60 seconds
     private static final int  FILE_LOCK_MAX_THREADS      = 1024;
+    private static final int  CHILDREN_CACHE_MAX_SIZE    = 4096;
 
     private static final String   VFS_SERVICE_DIR        = ".vfs";
     private static final String   FILE_LOCKS_DIR         = VFS_SERVICE_DIR + File.separatorChar + "locks";
@@ -136,11 +143,36 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
     private final FileMetadataSerializer                  metadataSerializer;
     private final LoadingCache<Path, Map<String, String>> metadataCache;
 
-    @SuppressWarnings("unchecked")
+    /* Cache of names of folder children, null if caching is disabled. */
+    private final Cache<Path, String[]> childrenNamesCache;
+    /* Incremented on each invalidation of children cache, listing which overlaps with invalidation isn't cached. */
+    private final AtomicLong            childrenCacheInvalidations;
+    /* Children of folders matched by any of these matchers aren't cached, these folders aren't watched for changes. */
+    private final List<PathMatcher>     childrenCacheExcludes;
+
     public LocalVirtualFileSystem(File ioRoot,
                                   ArchiverFactory archiverFactory,
                                   SearcherProvider searcherProvider,
                                   AbstractVirtualFileSystemProvider.CloseCallback closeCallback) {
+        this(ioRoot, archiverFactory, searcherProvider, closeCallback, false, Collections.emptySet());
+    }
+
+    /**
+     * @param cacheChildren
+     *         if {@code true} names of folder children are cached. Cache is updated by this virtual file system when it
+     *         changes tree structure and must be notified with {@link #invalidateChildrenCache(Path, boolean)} about
+     *         changes made by third party, e.g. with events of {@link FileTreeWatcher}.
+     * @param cacheExcludes
+     *         matchers of paths (relative to {@code ioRoot}) which aren't watched for changes, children of matched folders
+     *         aren't cached
+     */
+    @SuppressWarnings("unchecked")
+    public LocalVirtualFileSystem(File ioRoot,
+                                  ArchiverFactory archiverFactory,
+                                  SearcherProvider searcherProvider,
+                                  AbstractVirtualFileSystemProvider.CloseCallback closeCallback,
+                                  boolean cacheChildren,
+                                  Set<PathMatcher> cacheExcludes) {
         this.ioRoot = ioRoot;
         this.archiverFactory = archiverFactory;
         this.searcherProvider = searcherProvider;
@@ -162,6 +194,18 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
                                     .maximumSize(256)
                                     .expireAfterAccess(10, MINUTES)
                                     .build(new FilePropertiesCacheLoader());
+
+        if (cacheChildren) {
+            childrenNamesCache = CacheBuilder.newBuilder()
+                                             .concurrencyLevel(8)
+                                             .maximumSize(CHILDREN_CACHE_MAX_SIZE)
+                                             .expireAfterAccess(10, MINUTES)
+                                             .build();
+        } else {
+            childrenNamesCache = null;
+        }
+        childrenCacheInvalidations = new AtomicLong();
+        childrenCacheExcludes = new CopyOnWriteArrayList<>(cacheExcludes);
     }
 
     @Override
@@ -177,6 +221,9 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
     @Override
     public void close() throws ServerException {
         cleanUpCaches();
+        if (childrenNamesCache != null) {
+            childrenNamesCache.invalidateAll();
+        }
         if (searcherProvider != null) {
             Searcher searcher = searcherProvider.getSearcher(this, false);
             if (searcher != null) {
@@ -210,6 +257,48 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
         metadataCache.invalidateAll();
     }
 
+    /**
+     * Invalidates cached names of children of the item with specified path and of its parent after the item is created,
+     * removed or replaced. If the item is a folder cached names of children of its descendants are invalidated as well,
+     * since the whole subtree is created or removed with it. Does nothing if caching of children is disabled.
+     */
+    public void invalidateChildrenCache(Path path, boolean folder) {
+        if (childrenNamesCache == null) {
+            return;
+        }
+        childrenCacheInvalidations.incrementAndGet();
+        childrenNamesCache.invalidate(path);
+        if (!path.isRoot()) {
+            childrenNamesCache.invalidate(path.getParent());
+        }
+        if (folder) {
+            childrenNamesCache.asMap().keySet().removeIf(cached -> cached.isChild(path));
+        }
+    }
+
+    /** Children of folders matched by {@code matcher} aren't cached from now, e.g. when these folders aren't watched. */
+    public void addChildrenCacheExcludeMatcher(PathMatcher matcher) {
+        childrenCacheExcludes.add(matcher);
+        if (childrenNamesCache != null) {
+            childrenCacheInvalidations.incrementAndGet();
+            childrenNamesCache.asMap().keySet().removeIf(this::isExcludedFromChildrenCache);
+        }
+    }
+
+    public void removeChildrenCacheExcludeMatcher(PathMatcher matcher) {
+        childrenCacheExcludes.remove(matcher);
+    }
+
+    private boolean isExcludedFromChildrenCache(Path path) {
+        final java.nio.file.Path relativePath = Paths.get("", path.elements());
+        for (PathMatcher exclude : childrenCacheExcludes) {
+            if (exclude.matches(relativePath)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /** Used in tests. Need this to check state of PathLockFactory. All locks MUST be released at the end of request lifecycle. */
     PathLockFactory getPathLockFactory() {
         return pathLockFactory;
@@ -243,7 +332,7 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
         return newArrayList(path.elements()).contains(".vfs");
     }
 
-    synchronized List<VirtualFile> getChildren(LocalVirtualFile parent, VirtualFileFilter filter) throws ServerException {
+    List<VirtualFile> getChildren(LocalVirtualFile parent, VirtualFileFilter filter) throws ServerException {
         if (parent.isFolder()) {
             final List<VirtualFile> children = doGetChildren(parent, DOT_VFS_DIR_FILTER, filter);
             Collections.sort(children);
@@ -259,10 +348,7 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
             ioFileFilter = IoUtil.ANY_FILTER;
         }
 
-        final String[] names = parent.toIoFile().list(ioFileFilter);
-        if (names == null) {
-            throw new ServerException(String.format("Unable get children of '%s'", parent.getPath()));
-        }
+        final String[] names = listNames(parent, ioFileFilter);
 
         if (vfsFilter == null) {
             vfsFilter = VirtualFileFilter.ACCEPT_ALL;
@@ -281,6 +367,37 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
     }
 
 
+    /**
+     * Lists names of children of folder without any locking, directory listing is atomic on the file system level. So
+     * listing of different folders (and even of the same folder) may be performed concurrently.
+     */
+    private String[] listNames(LocalVirtualFile parent, FilenameFilter ioFileFilter) throws ServerException {
+        if (childrenNamesCache != null && ioFileFilter == DOT_VFS_DIR_FILTER && !isExcludedFromChildrenCache(parent.getPath())) {
+            final Path path = parent.getPath();
+            String[] names = childrenNamesCache.getIfPresent(path);
+            if (names == null) {
+                final long invalidations = childrenCacheInvalidations.get();
+                names = doListNames(parent, ioFileFilter);
+                childrenNamesCache.put(path, names);
+                if (invalidations != childrenCacheInvalidations.get()) {
+                    // tree is changed while folder is listed, listed names might be already stale
+                    childrenNamesCache.invalidate(path);
+                }
+            }
+            return names;
+        }
+        return doListNames(parent, ioFileFilter);
+    }
+
+    private String[] doListNames(LocalVirtualFile parent, FilenameFilter ioFileFilter) throws ServerException {
+        final String[] names = parent.toIoFile().list(ioFileFilter);
+        if (names == null) {
+            throw new ServerException(String.format("Unable get children of '%s'", parent.getPath()));
+        }
+        return names;
+    }
+
+
     LocalVirtualFile createFile(LocalVirtualFile parent, String name, InputStream content)
             throws ForbiddenException, ConflictException, ServerException {
         checkName(name);
@@ -309,6 +426,7 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
                 doUpdateContent(newVirtualFile, content);
             }
 
+            invalidateChildrenCache(newPath, false);
             addInSearcher(newVirtualFile);
 
             return newVirtualFile;
@@ -330,6 +448,7 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
                     throw new ConflictException(String.format("Item '%s' already exists", newPath));
                 }
             }
+            invalidateChildrenCache(newPath, true);
 
             return new LocalVirtualFile(newIoFile, newPath, this);
         } else {
@@ -360,6 +479,7 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
 
             doCopy(source, destination);
 
+            invalidateChildrenCache(destination.getPath(), destination.isFolder());
             addInSearcher(destination);
 
             return destination;
@@ -421,11 +541,13 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
             }
 
             doCopy(virtualFile, newVirtualFile);
+            invalidateChildrenCache(newPath, newVirtualFile.isFolder());
             addInSearcher(newVirtualFile);
 
             final Path path = virtualFile.getPath();
             final boolean isFile = virtualFile.isFile();
             doDelete(virtualFile, lockToken);
+            invalidateChildrenCache(path, !isFile);
             deleteInSearcher(path, isFile);
 
             return newVirtualFile;
@@ -477,11 +599,13 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
         }
 
         doCopy(virtualFile, newVirtualFile);
+        invalidateChildrenCache(newPath, newVirtualFile.isFolder());
         addInSearcher(newVirtualFile);
 
         final Path path = virtualFile.getPath();
         final boolean isFile = virtualFile.isFile();
         doDelete(virtualFile, lockToken);
+        invalidateChildrenCache(path, !isFile);
         deleteInSearcher(path, isFile);
 
         return newVirtualFile;
@@ -556,6 +680,7 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
         final boolean isFile = virtualFile.isFile();
 
         doDelete(virtualFile, lockToken);
+        invalidateChildrenCache(path, !isFile);
 
         deleteInSearcher(path, isFile);
     }
@@ -615,6 +740,7 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
 
         if (parent.isFolder()) {
             extract(archiverFactory.createArchiver(parent, "zip"), zipped, overwrite, stripNumber);
+            invalidateChildrenCache(parent.getPath(), true);
             addInSearcher(parent);
         } else {
             throw new ForbiddenException(String.format("Unable import zip content. Item '%s' is not a folder", parent.getPath()));
@@ -640,6 +766,7 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
 
         if (parent.isFolder()) {
             extract(archiverFactory.createArchiver(parent, "tar"), tarArchive, overwrite, stripNumber);
+            invalidateChildrenCache(parent.getPath(), true);
             addInSearcher(parent);
         } else {
             throw new ForbiddenException(String.format("Unable import tar archive. Item '%s' is not a folder", parent.getPath()));
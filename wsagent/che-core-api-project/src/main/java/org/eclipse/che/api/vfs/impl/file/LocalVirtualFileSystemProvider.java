@@ -16,15 +16,31 @@ import org.eclipse.che.api.vfs.ArchiverFactory;
 import org.eclipse.che.api.vfs.VirtualFileSystem;
 import org.eclipse.che.api.vfs.search.SearcherProvider;
 
-import javax.inject.Inject;
+import com.google.inject.Inject;
+
 import javax.inject.Named;
 import javax.inject.Singleton;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
+import java.nio.file.PathMatcher;
+import java.util.Collections;
+import java.util.Set;
 
 @Singleton
 public class LocalVirtualFileSystemProvider extends AbstractVirtualFileSystemProvider {
+    public static final String CACHE_CHILDREN_PROPERTY = "che.vfs.local.cache_children";
+
+    /** Enables caching of folder children, cache is kept in sync with file system by {@link FileTreeWatcher} events. */
+    @Inject(optional = true)
+    @Named(CACHE_CHILDREN_PROPERTY)
+    private boolean cacheChildren = false;
+
+    /** Paths which aren't watched by {@link FileTreeWatcher}, children of these folders aren't cached. */
+    @Inject(optional = true)
+    @Named("vfs.index_filter_matcher")
+    private Set<PathMatcher> cacheChildrenExcludes = Collections.emptySet();
+
     private final File             rootDirectory;
     private final SearcherProvider searcherProvider;
 
@@ -38,6 +54,7 @@ public class LocalVirtualFileSystemProvider extends AbstractVirtualFileSystemPro
 
     @Override
     protected VirtualFileSystem createVirtualFileSystem(CloseCallback closeCallback) throws ServerException {
-        return new LocalVirtualFileSystem(rootDirectory, new ArchiverFactory(), searcherProvider, closeCallback);
+        return new LocalVirtualFileSystem(rootDirectory, new ArchiverFactory(), searcherProvider, closeCallback, cacheChildren,
+                                          cacheChildrenExcludes);
     }
 }
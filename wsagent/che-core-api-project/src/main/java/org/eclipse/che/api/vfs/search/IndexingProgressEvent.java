@@ -0,0 +1,91 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.search;
+
+import org.eclipse.che.api.core.notification.EventOrigin;
+
+/**
+ * Published periodically while {@link Searcher} indexes files of virtual file system and once again when indexing is done.
+ */
+@EventOrigin("vfs")
+public class IndexingProgressEvent {
+    private String  path;
+    private long    indexedFiles;
+    private long    bytesRead;
+    private long    elapsedTimeMillis;
+    private boolean done;
+
+    public IndexingProgressEvent(String path, long indexedFiles, long bytesRead, long elapsedTimeMillis, boolean done) {
+        this.path = path;
+        this.indexedFiles = indexedFiles;
+        this.bytesRead = bytesRead;
+        this.elapsedTimeMillis = elapsedTimeMillis;
+        this.done = done;
+    }
+
+    public IndexingProgressEvent() {
+    }
+
+    /** Path of the folder which is indexed. */
+    public String getPath() {
+        return path;
+    }
+
+    public void setPath(String path) {
+        this.path = path;
+    }
+
+    /** Number of files added in index so far. */
+    public long getIndexedFiles() {
+        return indexedFiles;
+    }
+
+    public void setIndexedFiles(long indexedFiles) {
+        this.indexedFiles = indexedFiles;
+    }
+
+    /** Total length of files added in index so far. */
+    public long getBytesRead() {
+        return bytesRead;
+    }
+
+    public void setBytesRead(long bytesRead) {
+        this.bytesRead = bytesRead;
+    }
+
+    public long getElapsedTimeMillis() {
+        return elapsedTimeMillis;
+    }
+
+    public void setElapsedTimeMillis(long elapsedTimeMillis) {
+        this.elapsedTimeMillis = elapsedTimeMillis;
+    }
+
+    /** Returns {@code true} if indexing is finished. */
+    public boolean isDone() {
+        return done;
+    }
+
+    public void setDone(boolean done) {
+        this.done = done;
+    }
+
+    @Override
+    public String toString() {
+        return "IndexingProgressEvent{" +
+               "path='" + path + '\'' +
+               ", indexedFiles=" + indexedFiles +
+               ", bytesRead=" + bytesRead +
+               ", elapsedTimeMillis=" + elapsedTimeMillis +
+               ", done=" + done +
+               '}';
+    }
+}
@@ -17,6 +17,7 @@ public class QueryExpression {
     private String text;
     private int    skipCount;
     private int    maxItems;
+    private String continuationToken;
 
     /** Optional file path parameter. Only file with the specified path or children are included in result. */
     public String getPath() {
@@ -68,6 +69,20 @@ public class QueryExpression {
         return this;
     }
 
+    /**
+     * Opaque token which points to position in search results after which next page starts. Token is taken from {@link
+     * SearchResult#getContinuationToken()} of the previous page and if it is set then {@link #getSkipCount() skip count} is
+     * not used for finding start of page.
+     */
+    public String getContinuationToken() {
+        return continuationToken;
+    }
+
+    public QueryExpression setContinuationToken(String continuationToken) {
+        this.continuationToken = continuationToken;
+        return this;
+    }
+
     @Override
     public String toString() {
         return "QueryExpression{" +
@@ -76,6 +91,7 @@ public class QueryExpression {
                ", path='" + path + '\'' +
                ", skipCount=" + skipCount +
                ", maxItems=" + maxItems +
+               ", continuationToken='" + continuationToken + '\'' +
                '}';
     }
 }
@@ -11,26 +11,61 @@
 package org.eclipse.che.api.vfs.search.impl;
 
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.inject.Inject;
 
 import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
 import org.eclipse.che.api.vfs.VirtualFileFilter;
 import org.eclipse.che.api.vfs.VirtualFileFilters;
 import org.eclipse.che.api.vfs.VirtualFileSystem;
+import org.eclipse.che.api.vfs.search.IndexingProgressEvent;
 import org.eclipse.che.api.vfs.search.MediaTypeFilter;
 import org.eclipse.che.api.vfs.search.Searcher;
 import org.eclipse.che.api.vfs.search.SearcherProvider;
 
 import javax.annotation.PreDestroy;
+import javax.inject.Named;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
 import java.util.concurrent.atomic.AtomicReference;
 
 import static com.google.common.collect.Lists.newArrayList;
 
 public abstract class AbstractLuceneSearcherProvider implements SearcherProvider {
+    public static final String INDEXING_BATCH_SIZE_PROPERTY      = "che.vfs.index.batch_size";
+    public static final String INDEXING_FLUSH_DELAY_MS_PROPERTY  = "che.vfs.index.flush_delay_ms";
+    public static final String INDEXING_BUILDER_THREADS_PROPERTY = "che.vfs.index.document_builder_threads";
+    public static final String INDEXING_PARALLELISM_PROPERTY     = "che.vfs.index.parallelism";
+
+    /** Max number of pending index changes, zero or negative value means that index is updated synchronously. */
+    @Inject(optional = true)
+    @Named(INDEXING_BATCH_SIZE_PROPERTY)
+    private int indexingBatchSize = 0;
+
+    @Inject(optional = true)
+    @Named(INDEXING_FLUSH_DELAY_MS_PROPERTY)
+    private long indexingFlushDelayMs = 500;
+
+    @Inject(optional = true)
+    @Named(INDEXING_BUILDER_THREADS_PROPERTY)
+    private int indexingBuilderThreads = Runtime.getRuntime().availableProcessors();
+
+    /** Number of threads which crawl file system and index files at searcher initialization. */
+    @Inject(optional = true)
+    @Named(INDEXING_PARALLELISM_PROPERTY)
+    private int indexingParallelism = Runtime.getRuntime().availableProcessors();
+
+    /** Used for publishing {@link IndexingProgressEvent}s, may be {@code null}. */
+    @Inject(optional = true)
+    private EventService eventService;
+
+    private ForkJoinPool indexingPool;
+
     protected final VirtualFileFilter excludeFileIndexFilters;
     protected final AtomicReference<Searcher> searcherReference = new AtomicReference<>();
     private final ExecutorService executor;
@@ -66,17 +101,40 @@ public abstract class AbstractLuceneSearcherProvider implements SearcherProvider
         Searcher cachedSearcher = searcherReference.get();
         if (cachedSearcher == null && create) {
             LuceneSearcher searcher = createLuceneSearcher(() -> searcherReference.set(null));
+            if (indexingBatchSize > 0) {
+                searcher.enableIndexingQueue(indexingBatchSize, indexingFlushDelayMs, indexingBuilderThreads);
+            }
             if (searcherReference.compareAndSet(null, searcher)) {
-                searcher.initAsynchronously(executor, virtualFileSystem);
+                searcher.initAsynchronously(executor, getIndexingPool(), virtualFileSystem, this::publishProgress);
             }
             cachedSearcher = searcherReference.get();
         }
         return cachedSearcher;
     }
 
+    private synchronized ForkJoinPool getIndexingPool() {
+        if (indexingPool == null) {
+            indexingPool = new ForkJoinPool(Math.max(1, indexingParallelism), pool -> {
+                final ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                thread.setName("LuceneSearcherIndexingThread-" + thread.getPoolIndex());
+                return thread;
+            }, LoggingUncaughtExceptionHandler.getInstance(), false);
+        }
+        return indexingPool;
+    }
+
+    private void publishProgress(IndexingProgressEvent event) {
+        if (eventService != null) {
+            eventService.publish(event);
+        }
+    }
+
     @PreDestroy
-    void stop() {
+    synchronized void stop() {
         executor.shutdownNow();
+        if (indexingPool != null) {
+            indexingPool.shutdownNow();
+        }
     }
 
     @Override
@@ -10,9 +10,10 @@
  *******************************************************************************/
 package org.eclipse.che.api.vfs.search.impl;
 
+import com.google.inject.Inject;
+
 import org.eclipse.che.api.vfs.VirtualFileFilters;
 
-import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Singleton;
 import java.io.File;
@@ -26,6 +27,13 @@ import static com.google.common.collect.Sets.newHashSet;
 
 @Singleton
 public class FSLuceneSearcherProvider extends AbstractLuceneSearcherProvider {
+    public static final String PERSISTENT_INDEX_PROPERTY = "che.vfs.index.persistent";
+
+    /** If {@code true} index is kept between restarts of workspace agent and only changed files are reindexed at startup. */
+    @Inject(optional = true)
+    @Named(PERSISTENT_INDEX_PROPERTY)
+    private boolean persistentIndex = false;
+
     private final File indexRootDirectory;
 
     /**
@@ -45,6 +53,6 @@ public class FSLuceneSearcherProvider extends AbstractLuceneSearcherProvider {
 
     @Override
     protected LuceneSearcher createLuceneSearcher(CloseCallback closeCallback) {
-        return new FSLuceneSearcher(indexRootDirectory, excludeFileIndexFilters, closeCallback);
+        return new FSLuceneSearcher(indexRootDirectory, excludeFileIndexFilters, closeCallback, persistentIndex);
     }
 }
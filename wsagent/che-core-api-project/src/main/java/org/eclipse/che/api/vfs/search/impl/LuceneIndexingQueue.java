@@ -0,0 +1,246 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.search.impl;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.vfs.VirtualFile;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Collects index operations of {@link LuceneSearcher} and applies them to the index in batches.
+ * <p>
+ * Operations are merged by path, e.g. few updates of the same file result in single update of index document and removal of
+ * folder discards all pending operations for items inside of it. Pending operations are flushed when number of them reaches
+ * {@code maxBatchSize} or after {@code flushDelayMillis} since the previous flush, whatever comes first. Documents are built
+ * concurrently with pool of {@code documentBuilderThreads} threads, {@link org.apache.lucene.index.IndexWriter} is thread safe.
+ * If producers are faster than index then queue grows up to twice {@code maxBatchSize} and after that the producer's thread
+ * flushes the queue itself.
+ */
+class LuceneIndexingQueue {
+    private static final Logger LOG = LoggerFactory.getLogger(LuceneIndexingQueue.class);
+
+    private final LuceneSearcher                 searcher;
+    private final int                            maxBatchSize;
+    private final Map<String, IndexingOperation> pending;
+    private final Object                         flushLock;
+    private final AtomicBoolean                  flushScheduled;
+    private final AtomicBoolean                  closed;
+    private final ScheduledExecutorService       flusher;
+    private final ExecutorService                documentBuilders;
+
+    LuceneIndexingQueue(LuceneSearcher searcher, int maxBatchSize, long flushDelayMillis, int documentBuilderThreads) {
+        if (maxBatchSize < 1 || flushDelayMillis < 1 || documentBuilderThreads < 1) {
+            throw new IllegalArgumentException();
+        }
+        this.searcher = searcher;
+        this.maxBatchSize = maxBatchSize;
+        pending = new LinkedHashMap<>();
+        flushLock = new Object();
+        flushScheduled = new AtomicBoolean();
+        closed = new AtomicBoolean();
+        flusher = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+                                                                     .setDaemon(true)
+                                                                     .setUncaughtExceptionHandler(
+                                                                             LoggingUncaughtExceptionHandler.getInstance())
+                                                                     .setNameFormat("LuceneIndexingQueueFlusher")
+                                                                     .build());
+        documentBuilders = Executors.newFixedThreadPool(documentBuilderThreads,
+                                                        new ThreadFactoryBuilder()
+                                                                .setDaemon(true)
+                                                                .setUncaughtExceptionHandler(
+                                                                        LoggingUncaughtExceptionHandler.getInstance())
+                                                                .setNameFormat("LuceneDocumentBuilder-%d")
+                                                                .build());
+        flusher.scheduleWithFixedDelay(this::flushQuietly, flushDelayMillis, flushDelayMillis, MILLISECONDS);
+    }
+
+    /** Schedules (re)indexing of file. */
+    void update(VirtualFile virtualFile) throws ServerException {
+        enqueue(virtualFile.getPath().toString(), new IndexingOperation(virtualFile));
+    }
+
+    /** Schedules removal of file or folder with all its descendants from index. */
+    void delete(String path, boolean isFile) throws ServerException {
+        if (isFile) {
+            enqueue(path, new IndexingOperation(path, true));
+        } else {
+            final String treePrefix = path + '/';
+            synchronized (pending) {
+                pending.keySet().removeIf(pendingPath -> pendingPath.startsWith(treePrefix));
+            }
+            enqueue(treePrefix, new IndexingOperation(path, false));
+        }
+    }
+
+    /** Gets number of operations which are not applied to the index yet. */
+    int size() {
+        synchronized (pending) {
+            return pending.size();
+        }
+    }
+
+    private void enqueue(String key, IndexingOperation operation) throws ServerException {
+        if (closed.get()) {
+            LOG.debug("Indexing queue is closed, skip indexing of {}", key);
+            return;
+        }
+        final int size;
+        synchronized (pending) {
+            // remove before put to move merged operation at the end of queue
+            pending.remove(key);
+            pending.put(key, operation);
+            size = pending.size();
+        }
+        if (size >= 2 * maxBatchSize) {
+            flush();
+        } else if (size >= maxBatchSize && flushScheduled.compareAndSet(false, true)) {
+            flusher.execute(this::flushQuietly);
+        }
+    }
+
+    /**
+     * Applies all pending operations to the index and refreshes index readers so changes become visible for search.
+     *
+     * @throws ServerException
+     *         if any error occurs while updating index, other operations of the batch are applied anyway
+     */
+    void flush() throws ServerException {
+        synchronized (flushLock) {
+            flushScheduled.set(false);
+            final List<IndexingOperation> batch;
+            synchronized (pending) {
+                if (pending.isEmpty()) {
+                    return;
+                }
+                batch = new ArrayList<>(pending.values());
+                pending.clear();
+            }
+            // Pending operations for items inside of removed folder were discarded when removal was queued, so all
+            // remaining operations were queued after removal and must be applied after it.
+            final List<Callable<Void>> fileOperations = new ArrayList<>(batch.size());
+            ServerException error = null;
+            for (IndexingOperation operation : batch) {
+                if (operation.isTreeRemoval()) {
+                    try {
+                        operation.apply(searcher);
+                    } catch (ServerException e) {
+                        error = e;
+                    }
+                } else {
+                    fileOperations.add(() -> {
+                        operation.apply(searcher);
+                        return null;
+                    });
+                }
+            }
+            try {
+                for (Future<Void> future : documentBuilders.invokeAll(fileOperations)) {
+                    try {
+                        future.get();
+                    } catch (ExecutionException e) {
+                        final Throwable cause = e.getCause();
+                        if (cause instanceof OutOfMemoryError) {
+                            throw (OutOfMemoryError)cause;
+                        }
+                        error = cause instanceof ServerException ? (ServerException)cause : new ServerException(cause);
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ServerException("Interrupted while indexing files");
+            }
+            searcher.refresh();
+            LOG.debug("Applied {} indexing operations", batch.size());
+            if (error != null) {
+                throw error;
+            }
+        }
+    }
+
+    /** Same as {@link #flush()} but errors are logged instead of being thrown. */
+    void flushQuietly() {
+        try {
+            flush();
+        } catch (ServerException e) {
+            LOG.error(e.getMessage(), e);
+        }
+    }
+
+    /** Stops background flushing and applies operations which are not applied yet. Operations queued after close are ignored. */
+    void close() {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        flusher.shutdown();
+        try {
+            if (!flusher.awaitTermination(10, SECONDS)) {
+                LOG.warn("Unable terminate indexing queue flusher");
+            }
+            flushQuietly();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            documentBuilders.shutdownNow();
+            synchronized (pending) {
+                pending.clear();
+            }
+        }
+    }
+
+    private static class IndexingOperation {
+        private final VirtualFile virtualFile;
+        private final String      path;
+        private final boolean     isFile;
+
+        IndexingOperation(VirtualFile virtualFile) {
+            this.virtualFile = virtualFile;
+            this.path = null;
+            this.isFile = true;
+        }
+
+        IndexingOperation(String path, boolean isFile) {
+            this.virtualFile = null;
+            this.path = path;
+            this.isFile = isFile;
+        }
+
+        boolean isTreeRemoval() {
+            return !isFile;
+        }
+
+        void apply(LuceneSearcher searcher) throws ServerException {
+            if (virtualFile != null) {
+                searcher.indexFile(virtualFile);
+            } else {
+                searcher.deleteFromIndex(path, isFile);
+            }
+        }
+    }
+}
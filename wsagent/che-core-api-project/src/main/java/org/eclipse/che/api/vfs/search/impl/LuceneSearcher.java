@@ -17,10 +17,14 @@ import org.apache.lucene.analysis.core.LowerCaseFilter;
 import org.apache.lucene.analysis.core.WhitespaceTokenizer;
 import org.apache.lucene.document.Document;
 import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StoredField;
 import org.apache.lucene.document.StringField;
 import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexReader;
 import org.apache.lucene.index.IndexWriter;
 import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.IndexableField;
+import org.apache.lucene.index.MultiFields;
 import org.apache.lucene.index.Term;
 import org.apache.lucene.queryparser.classic.ParseException;
 import org.apache.lucene.queryparser.classic.QueryParser;
@@ -34,6 +38,7 @@ import org.apache.lucene.search.SearcherFactory;
 import org.apache.lucene.search.SearcherManager;
 import org.apache.lucene.search.TopDocs;
 import org.apache.lucene.store.Directory;
+import org.apache.lucene.util.Bits;
 import org.apache.lucene.util.IOUtils;
 import org.eclipse.che.api.core.ForbiddenException;
 import org.eclipse.che.api.core.ServerException;
@@ -41,6 +46,7 @@ import org.eclipse.che.api.vfs.VirtualFile;
 import org.eclipse.che.api.vfs.VirtualFileFilter;
 import org.eclipse.che.api.vfs.VirtualFileFilters;
 import org.eclipse.che.api.vfs.VirtualFileSystem;
+import org.eclipse.che.api.vfs.search.IndexingProgressEvent;
 import org.eclipse.che.api.vfs.search.MediaTypeFilter;
 import org.eclipse.che.api.vfs.search.QueryExpression;
 import org.eclipse.che.api.vfs.search.SearchResult;
@@ -53,12 +59,20 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
+import java.util.Base64;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
 
 import static com.google.common.collect.Lists.newArrayList;
+import static com.google.common.collect.Sets.newHashSet;
+import static java.nio.charset.StandardCharsets.UTF_8;
 
 /**
  * Lucene based searcher.
@@ -66,11 +80,16 @@ import static com.google.common.collect.Lists.newArrayList;
  * @author andrew00x
  */
 public abstract class LuceneSearcher implements Searcher {
-    private static final Logger LOG          = LoggerFactory.getLogger(LuceneSearcher.class);
-    private static final int    RESULT_LIMIT = 1000;
-    private static final String PATH_FIELD   = "path";
-    private static final String NAME_FIELD   = "name";
-    private static final String TEXT_FIELD   = "text";
+    private static final Logger LOG            = LoggerFactory.getLogger(LuceneSearcher.class);
+    private static final int    RESULT_LIMIT   = 1000;
+    private static final String PATH_FIELD     = "path";
+    private static final String NAME_FIELD     = "name";
+    private static final String TEXT_FIELD     = "text";
+    private static final String LENGTH_FIELD   = "length";
+    private static final String MODIFIED_FIELD = "modified";
+
+    /** Number of indexed files between two indexing progress notifications. */
+    private static final int PROGRESS_STEP = 1000;
 
     private final List<VirtualFileFilter>                      excludeFileIndexFilters;
     private final AbstractLuceneSearcherProvider.CloseCallback closeCallback;
@@ -78,6 +97,8 @@ public abstract class LuceneSearcher implements Searcher {
     private IndexWriter     luceneIndexWriter;
     private SearcherManager searcherManager;
 
+    private volatile LuceneIndexingQueue indexingQueue;
+
     private boolean closed = true;
 
     protected LuceneSearcher() {
@@ -148,6 +169,90 @@ public abstract class LuceneSearcher implements Searcher {
         }
     }
 
+    /**
+     * Same as {@link #initAsynchronously(ExecutorService, VirtualFileSystem)} but files are crawled and added in index
+     * concurrently with {@code indexingPool}, see {@link ParallelTreeIndexer}. If {@link #isIndexPersistent() index is
+     * persistent} then index which is left from the previous run is reconciled with the virtual file system: only files
+     * which length or modification date differ from ones saved in index are reindexed and removed files are deleted from
+     * index.
+     *
+     * @param executor
+     *         executor which runs and waits for indexing
+     * @param indexingPool
+     *         pool which performs indexing
+     * @param progressListener
+     *         listener of indexing progress, may be {@code null}
+     */
+    public void initAsynchronously(ExecutorService executor,
+                                   ForkJoinPool indexingPool,
+                                   VirtualFileSystem virtualFileSystem,
+                                   Consumer<IndexingProgressEvent> progressListener) throws ServerException {
+        doInit();
+        if (!executor.isShutdown()) {
+            executor.execute(() -> {
+                try {
+                    final Map<String, IndexedFile> indexedFiles = isIndexPersistent() ? readIndexedFiles() : null;
+                    new ParallelTreeIndexer(this, virtualFileSystem.getRoot(), indexedFiles, PROGRESS_STEP, progressListener)
+                            .index(indexingPool);
+                    if (indexedFiles != null) {
+                        commit();
+                    }
+                } catch (ServerException e) {
+                    LOG.error(e.getMessage());
+                }
+            });
+        }
+    }
+
+    /**
+     * Returns {@code true} if index outlives this searcher and may be reused after restart. Default implementation returns
+     * {@code false}.
+     */
+    protected boolean isIndexPersistent() {
+        return false;
+    }
+
+    /** Reads length and modification date of all files which are present in index. */
+    Map<String, IndexedFile> readIndexedFiles() throws ServerException {
+        final Set<String> fieldsToLoad = newHashSet(PATH_FIELD, LENGTH_FIELD, MODIFIED_FIELD);
+        final Map<String, IndexedFile> indexedFiles = new ConcurrentHashMap<>();
+        IndexSearcher luceneSearcher = null;
+        try {
+            searcherManager.maybeRefresh();
+            luceneSearcher = searcherManager.acquire();
+            final IndexReader reader = luceneSearcher.getIndexReader();
+            final Bits liveDocs = MultiFields.getLiveDocs(reader);
+            for (int i = 0, maxDoc = reader.maxDoc(); i < maxDoc; i++) {
+                if (liveDocs == null || liveDocs.get(i)) {
+                    final Document doc = reader.document(i, fieldsToLoad);
+                    final IndexableField length = doc.getField(LENGTH_FIELD);
+                    final IndexableField modified = doc.getField(MODIFIED_FIELD);
+                    indexedFiles.put(doc.get(PATH_FIELD),
+                                     new IndexedFile(length == null ? -1 : length.numericValue().longValue(),
+                                                     modified == null ? -1 : modified.numericValue().longValue()));
+                }
+            }
+            return indexedFiles;
+        } catch (IOException e) {
+            throw new ServerException(e.getMessage(), e);
+        } finally {
+            try {
+                searcherManager.release(luceneSearcher);
+            } catch (IOException e) {
+                LOG.error(e.getMessage());
+            }
+        }
+    }
+
+    /** Commits all changes of index to the storage. */
+    void commit() throws ServerException {
+        try {
+            getIndexWriter().commit();
+        } catch (IOException e) {
+            throw new ServerException(e.getMessage(), e);
+        }
+    }
+
     protected final synchronized void doInit() throws ServerException {
         try {
             luceneIndexWriter = new IndexWriter(makeDirectory(), new IndexWriterConfig(makeAnalyzer()));
@@ -158,8 +263,39 @@ public abstract class LuceneSearcher implements Searcher {
         }
     }
 
-    public final synchronized void close() {
-        if (!closed) {
+    /**
+     * Switches this searcher to batched indexing. Added, updated and removed files are not written in index immediately but
+     * collected and applied in batches, see {@link LuceneIndexingQueue}. Pending changes are always applied before search.
+     *
+     * @param maxBatchSize
+     *         number of pending changes which triggers update of index
+     * @param flushDelayMillis
+     *         max delay between receiving change and update of index
+     * @param documentBuilderThreads
+     *         number of threads which read files and build index documents
+     */
+    public synchronized void enableIndexingQueue(int maxBatchSize, long flushDelayMillis, int documentBuilderThreads) {
+        if (indexingQueue == null) {
+            indexingQueue = new LuceneIndexingQueue(this, maxBatchSize, flushDelayMillis, documentBuilderThreads);
+        }
+    }
+
+    public final void close() {
+        final LuceneIndexingQueue queue;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            queue = indexingQueue;
+        }
+        if (queue != null) {
+            // Pending operations are applied out of the monitor, document builders need it to get index writer.
+            queue.close();
+        }
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
             try {
                 IOUtils.close(getIndexWriter(), getIndexWriter().getDirectory(), searcherManager);
                 afterClose();
@@ -190,15 +326,26 @@ public abstract class LuceneSearcher implements Searcher {
         IndexSearcher luceneSearcher = null;
         try {
             final long startTime = System.currentTimeMillis();
+            if (indexingQueue != null) {
+                // failure to index some file must not fail search, it is logged by queue
+                indexingQueue.flushQuietly();
+            }
             searcherManager.maybeRefresh();
             luceneSearcher = searcherManager.acquire();
 
             Query luceneQuery = createLuceneQuery(query);
 
             ScoreDoc after = null;
-            final int numSkipDocs = Math.max(0, query.getSkipCount());
-            if (numSkipDocs > 0) {
-                after = skipScoreDocs(luceneSearcher, luceneQuery, numSkipDocs);
+            final int numSkipDocs;
+            if (query.getContinuationToken() != null) {
+                final ContinuationToken token = ContinuationToken.parse(query.getContinuationToken());
+                after = token.getScoreDoc();
+                numSkipDocs = token.getPosition();
+            } else {
+                numSkipDocs = Math.max(0, query.getSkipCount());
+                if (numSkipDocs > 0) {
+                    after = skipScoreDocs(luceneSearcher, luceneQuery, numSkipDocs);
+                }
             }
 
             final int numDocs = query.getMaxItems() > 0 ? Math.min(query.getMaxItems(), RESULT_LIMIT) : RESULT_LIMIT;
@@ -214,16 +361,20 @@ public abstract class LuceneSearcher implements Searcher {
 
             final long elapsedTimeMillis = System.currentTimeMillis() - startTime;
 
-            boolean hasMoreToRetrieve = numSkipDocs + topDocs.scoreDocs.length + 1 < totalHitsNum;
+            boolean hasMoreToRetrieve = numSkipDocs + topDocs.scoreDocs.length < totalHitsNum;
             QueryExpression nextPageQueryExpression = null;
-            if (hasMoreToRetrieve) {
-                nextPageQueryExpression = createNextPageQuery(query, numSkipDocs + topDocs.scoreDocs.length);
+            String continuationToken = null;
+            if (hasMoreToRetrieve && topDocs.scoreDocs.length > 0) {
+                final int newSkipCount = numSkipDocs + topDocs.scoreDocs.length;
+                continuationToken = new ContinuationToken(topDocs.scoreDocs[topDocs.scoreDocs.length - 1], newSkipCount).toString();
+                nextPageQueryExpression = createNextPageQuery(query, newSkipCount).setContinuationToken(continuationToken);
             }
 
             return SearchResult.aSearchResult()
                                .withResults(results)
                                .withTotalHits(totalHitsNum)
                                .withNextPageQueryExpression(nextPageQueryExpression)
+                               .withContinuationToken(continuationToken)
                                .withElapsedTimeMillis(elapsedTimeMillis)
                                .build();
         } catch (IOException | ParseException e) {
@@ -258,6 +409,48 @@ public abstract class LuceneSearcher implements Searcher {
         return luceneQuery;
     }
 
+    /**
+     * Position in search results: last hit of previous page and number of hits before next page. Lucene document ids may
+     * change when index is updated between requests of pages, so paging with token is as consistent as {@link
+     * IndexSearcher#searchAfter(ScoreDoc, Query, int)} is but it doesn't need to re-score all hits of previous pages.
+     */
+    private static class ContinuationToken {
+        private final ScoreDoc scoreDoc;
+        private final int      position;
+
+        ContinuationToken(ScoreDoc scoreDoc, int position) {
+            this.scoreDoc = scoreDoc;
+            this.position = position;
+        }
+
+        static ContinuationToken parse(String token) throws ServerException {
+            try {
+                final String[] parts = new String(Base64.getUrlDecoder().decode(token), UTF_8).split(":");
+                if (parts.length != 3) {
+                    throw new IllegalArgumentException();
+                }
+                return new ContinuationToken(new ScoreDoc(Integer.parseInt(parts[0]), Float.intBitsToFloat(Integer.parseInt(parts[1]))),
+                                             Integer.parseInt(parts[2]));
+            } catch (IllegalArgumentException e) {
+                throw new ServerException(String.format("Invalid continuation token '%s'", token));
+            }
+        }
+
+        ScoreDoc getScoreDoc() {
+            return scoreDoc;
+        }
+
+        int getPosition() {
+            return position;
+        }
+
+        @Override
+        public String toString() {
+            final String token = scoreDoc.doc + ":" + Float.floatToIntBits(scoreDoc.score) + ":" + position;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(token.getBytes(UTF_8));
+        }
+    }
+
     private ScoreDoc skipScoreDocs(IndexSearcher luceneSearcher, Query luceneQuery, int numSkipDocs) throws IOException {
         final int readFrameSize = Math.min(numSkipDocs, RESULT_LIMIT);
         ScoreDoc scoreDoc = null;
@@ -323,6 +516,15 @@ public abstract class LuceneSearcher implements Searcher {
     }
 
     protected void addFile(VirtualFile virtualFile) throws ServerException {
+        if (indexingQueue != null) {
+            indexingQueue.update(virtualFile);
+        } else {
+            indexFile(virtualFile);
+        }
+    }
+
+    /** Writes document for file in index immediately. */
+    void indexFile(VirtualFile virtualFile) throws ServerException {
         if (virtualFile.exists()) {
             try (Reader fContentReader = shouldIndexContent(virtualFile)
                                          ? new BufferedReader(new InputStreamReader(virtualFile.getContent()))
@@ -342,6 +544,15 @@ public abstract class LuceneSearcher implements Searcher {
 
     @Override
     public final void delete(String path, boolean isFile) throws ServerException {
+        if (indexingQueue != null) {
+            indexingQueue.delete(path, isFile);
+        } else {
+            deleteFromIndex(path, isFile);
+        }
+    }
+
+    /** Removes document of file or documents of all files inside of folder from index immediately. */
+    void deleteFromIndex(String path, boolean isFile) throws ServerException {
         try {
             if (isFile) {
                 Term term = new Term(PATH_FIELD, path);
@@ -360,6 +571,10 @@ public abstract class LuceneSearcher implements Searcher {
 
     @Override
     public final void update(VirtualFile virtualFile) throws ServerException {
+        if (indexingQueue != null) {
+            indexingQueue.update(virtualFile);
+            return;
+        }
         doUpdate(new Term(PATH_FIELD, virtualFile.getPath().toString()), virtualFile);
     }
 
@@ -378,16 +593,43 @@ public abstract class LuceneSearcher implements Searcher {
         }
     }
 
+    /** Makes changes of index visible for search. */
+    void refresh() throws ServerException {
+        try {
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            throw new ServerException(e.getMessage(), e);
+        }
+    }
+
     protected Document createDocument(VirtualFile virtualFile, Reader reader) throws ServerException {
         final Document doc = new Document();
         doc.add(new StringField(PATH_FIELD, virtualFile.getPath().toString(), Field.Store.YES));
         doc.add(new TextField(NAME_FIELD, virtualFile.getName(), Field.Store.YES));
+        doc.add(new StoredField(LENGTH_FIELD, virtualFile.getLength()));
+        doc.add(new StoredField(MODIFIED_FIELD, virtualFile.getLastModificationDate()));
         if (reader != null) {
             doc.add(new TextField(TEXT_FIELD, reader));
         }
         return doc;
     }
 
+    /** State of file at the moment when it was added in index. */
+    static class IndexedFile {
+        private final long length;
+        private final long lastModificationDate;
+
+        IndexedFile(long length, long lastModificationDate) {
+            this.length = length;
+            this.lastModificationDate = lastModificationDate;
+        }
+
+        /** Returns {@code true} if file was not changed since it was added in index. */
+        boolean isUpToDate(VirtualFile virtualFile) throws ServerException {
+            return length == virtualFile.getLength() && lastModificationDate == virtualFile.getLastModificationDate();
+        }
+    }
+
     private boolean shouldIndexContent(VirtualFile virtualFile) {
         for (VirtualFileFilter indexFilter : excludeFileIndexFilters) {
             if (indexFilter.accept(virtualFile)) {
@@ -0,0 +1,154 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.search.impl;
+
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.vfs.VirtualFile;
+import org.eclipse.che.api.vfs.search.IndexingProgressEvent;
+import org.eclipse.che.api.vfs.search.impl.LuceneSearcher.IndexedFile;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Adds all files of folder in index of {@link LuceneSearcher} with fork/join pool. Each sub-folder is crawled with separate
+ * task and files are written in {@link org.apache.lucene.index.IndexWriter} concurrently. Progress of indexing is reported
+ * to listener each {@code progressStep} files and once again when all files are indexed.
+ * <p>
+ * If state of files which are already present in index is provided then only new and changed files are indexed and files
+ * which are not found in the tree are removed from index.
+ */
+class ParallelTreeIndexer {
+    private static final Logger LOG = LoggerFactory.getLogger(ParallelTreeIndexer.class);
+
+    private final LuceneSearcher                  searcher;
+    private final VirtualFile                     tree;
+    private final Map<String, IndexedFile>        indexedFiles;
+    private final int                             progressStep;
+    private final Consumer<IndexingProgressEvent> progressListener;
+    private final AtomicLong                      filesCounter;
+    private final AtomicLong                      bytesCounter;
+
+    private long startTime;
+
+    /**
+     * @param indexedFiles
+     *         state of files which are already present in index, mutable and thread safe map, {@code null} if index is empty
+     */
+    ParallelTreeIndexer(LuceneSearcher searcher,
+                        VirtualFile tree,
+                        Map<String, IndexedFile> indexedFiles,
+                        int progressStep,
+                        Consumer<IndexingProgressEvent> progressListener) {
+        this.searcher = searcher;
+        this.tree = tree;
+        this.indexedFiles = indexedFiles;
+        this.progressStep = progressStep;
+        this.progressListener = progressListener;
+        filesCounter = new AtomicLong();
+        bytesCounter = new AtomicLong();
+    }
+
+    /** Indexes the tree with specified pool and waits until all files are indexed. */
+    void index(ForkJoinPool pool) throws ServerException {
+        startTime = System.currentTimeMillis();
+        pool.invoke(new FolderIndexingTask(tree));
+        if (indexedFiles != null) {
+            // files which are left were removed since they were indexed
+            for (String removed : indexedFiles.keySet()) {
+                searcher.deleteFromIndex(removed, true);
+            }
+            LOG.debug("Removed {} files from index", indexedFiles.size());
+        }
+        searcher.refresh();
+        final IndexingProgressEvent result = createEvent(true);
+        LOG.debug("Indexed {} files from {}, time: {} ms", result.getIndexedFiles(), tree.getPath(), result.getElapsedTimeMillis());
+        if (progressListener != null) {
+            progressListener.accept(result);
+        }
+    }
+
+    private IndexingProgressEvent createEvent(boolean done) {
+        return new IndexingProgressEvent(tree.getPath().toString(),
+                                         filesCounter.get(),
+                                         bytesCounter.get(),
+                                         System.currentTimeMillis() - startTime,
+                                         done);
+    }
+
+    private class FolderIndexingTask extends RecursiveAction {
+        private final VirtualFile folder;
+
+        FolderIndexingTask(VirtualFile folder) {
+            this.folder = folder;
+        }
+
+        @Override
+        protected void compute() {
+            try {
+                if (!folder.exists()) {
+                    return;
+                }
+                final List<FolderIndexingTask> subTasks = new ArrayList<>();
+                for (VirtualFile child : folder.getChildren()) {
+                    if (child.isFolder()) {
+                        final FolderIndexingTask subTask = new FolderIndexingTask(child);
+                        subTask.fork();
+                        subTasks.add(subTask);
+                    } else {
+                        indexFile(child);
+                    }
+                }
+                for (FolderIndexingTask subTask : subTasks) {
+                    subTask.join();
+                }
+            } catch (ServerException e) {
+                LOG.error(String.format("Unable index folder '%s'. %s", folder.getPath(), e.getMessage()));
+                if (indexedFiles != null) {
+                    // keep what is already indexed for folder which can't be read
+                    final String folderPrefix = folder.getPath().toString() + '/';
+                    indexedFiles.keySet().removeIf(path -> path.startsWith(folderPrefix));
+                }
+            }
+        }
+
+        private void indexFile(VirtualFile file) {
+            try {
+                if (indexedFiles != null) {
+                    final IndexedFile indexed = indexedFiles.remove(file.getPath().toString());
+                    if (indexed != null && indexed.isUpToDate(file)) {
+                        return;
+                    }
+                }
+                searcher.indexFile(file);
+                final long length = file.getLength();
+                final long bytes = bytesCounter.addAndGet(length);
+                final long files = filesCounter.incrementAndGet();
+                if (progressListener != null && files % progressStep == 0) {
+                    progressListener.accept(new IndexingProgressEvent(tree.getPath().toString(),
+                                                                      files,
+                                                                      bytes,
+                                                                      System.currentTimeMillis() - startTime,
+                                                                      false));
+                }
+            } catch (ServerException e) {
+                LOG.error(String.format("Unable index file '%s'. %s", file.getPath(), e.getMessage()));
+            }
+        }
+    }
+}
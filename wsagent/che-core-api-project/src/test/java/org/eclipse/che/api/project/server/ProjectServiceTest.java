@@ -110,7 +110,9 @@ import java.util.stream.IntStream;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
 
+import static com.google.common.collect.Sets.newHashSet;
 import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Collections.singletonList;
 import static javax.ws.rs.HttpMethod.DELETE;
 import static javax.ws.rs.HttpMethod.GET;
@@ -1980,6 +1982,32 @@ public class ProjectServiceTest {
         Assert.assertTrue(result.get(0).getPath().equals("/my_project/c/test.txt"));
     }
 
+    @Test
+    public void testSearchStreamRetrievesAllPages() throws Exception {
+        RegisteredProject myProject = pm.getProject("my_project");
+        myProject.getBaseFolder().createFolder("a/b").createFile("test.txt", "searchhit".getBytes(Charset.defaultCharset()));
+        myProject.getBaseFolder().createFolder("x/y").createFile("test.txt", "searchhit".getBytes(Charset.defaultCharset()));
+        myProject.getBaseFolder().createFolder("c").createFile("test.txt", "hello".getBytes(Charset.defaultCharset()));
+
+        ByteArrayContainerResponseWriter writer = new ByteArrayContainerResponseWriter();
+        ContainerResponse response = launcher.service(GET,
+                                                      "http://localhost:8080/api/project/search-stream/my_project?text=searchhit&pageSize=1",
+                                                      "http://localhost:8080/api", null, null, writer, null);
+        assertEquals(response.getStatus(), 200, "Error: " + response.getEntity());
+        List<ItemReference> result = DtoFactory.getInstance().createListDtoFromJson(new String(writer.getBody(), UTF_8),
+                                                                                    ItemReference.class);
+        Set<String> paths = result.stream().map(ItemReference::getPath).collect(Collectors.toSet());
+        assertEquals(paths, newHashSet("/my_project/a/b/test.txt", "/my_project/x/y/test.txt"));
+    }
+
+    @Test
+    public void testSearchStreamFailsWithInvalidPageSize() throws Exception {
+        ContainerResponse response = launcher.service(GET,
+                                                      "http://localhost:8080/api/project/search-stream/my_project?text=searchhit&pageSize=0",
+                                                      "http://localhost:8080/api", null, null, null);
+        assertEquals(response.getStatus(), 409);
+    }
+
     private void validateFileLinks(ItemReference item) {
         Link link = item.getLink("delete");
         assertNotNull(link);
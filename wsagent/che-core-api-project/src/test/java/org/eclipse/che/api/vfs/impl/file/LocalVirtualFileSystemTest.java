@@ -13,6 +13,8 @@ package org.eclipse.che.api.vfs.impl.file;
 import org.eclipse.che.api.core.util.FileCleaner;
 import org.eclipse.che.api.vfs.AbstractVirtualFileSystemProvider;
 import org.eclipse.che.api.vfs.ArchiverFactory;
+import org.eclipse.che.api.vfs.Path;
+import org.eclipse.che.api.vfs.VirtualFile;
 import org.eclipse.che.api.vfs.search.Searcher;
 import org.eclipse.che.api.vfs.search.SearcherProvider;
 import org.eclipse.che.commons.lang.IoUtil;
@@ -22,6 +24,12 @@ import org.junit.Before;
 import org.junit.Test;
 
 import java.io.File;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static com.google.common.collect.Lists.newArrayList;
+import static java.util.Collections.emptySet;
+import static org.junit.Assert.assertEquals;
 
 import static org.mockito.Matchers.anyBoolean;
 import static org.mockito.Matchers.eq;
@@ -64,4 +72,53 @@ public class LocalVirtualFileSystemTest {
         fileSystem.close();
         verify(searcher).close();
     }
-}
\ No newline at end of file
+
+    @Test
+    public void updatesCachedChildrenWhenTreeIsChangedThroughFileSystem() throws Exception {
+        LocalVirtualFileSystem cachingFileSystem = createCachingFileSystem();
+        LocalVirtualFile root = cachingFileSystem.getRoot();
+        root.createFolder("a");
+        assertEquals(newArrayList("a"), getChildrenNames(root));
+
+        VirtualFile file = root.createFile("b", "content");
+        assertEquals(newArrayList("a", "b"), getChildrenNames(root));
+
+        file.delete();
+        assertEquals(newArrayList("a"), getChildrenNames(root));
+    }
+
+    @Test
+    public void updatesCachedChildrenOnlyAfterInvalidationWhenTreeIsChangedExternally() throws Exception {
+        LocalVirtualFileSystem cachingFileSystem = createCachingFileSystem();
+        LocalVirtualFile root = cachingFileSystem.getRoot();
+        root.createFolder("a");
+        assertEquals(newArrayList("a"), getChildrenNames(root));
+
+        assertEquals(true, new File(testDirectory, "b").mkdir());
+        assertEquals(newArrayList("a"), getChildrenNames(root));
+
+        cachingFileSystem.invalidateChildrenCache(Path.of("/b"), true);
+        assertEquals(newArrayList("a", "b"), getChildrenNames(root));
+    }
+
+    @Test
+    public void doesNotCacheChildrenOfExcludedFolders() throws Exception {
+        LocalVirtualFileSystem cachingFileSystem = createCachingFileSystem();
+        cachingFileSystem.addChildrenCacheExcludeMatcher(path -> path.endsWith("node_modules"));
+        VirtualFile excluded = cachingFileSystem.getRoot().createFolder("node_modules");
+        excluded.createFolder("a");
+        assertEquals(newArrayList("a"), getChildrenNames(excluded));
+
+        assertEquals(true, new File(testDirectory, "node_modules/b").mkdir());
+        assertEquals(newArrayList("a", "b"), getChildrenNames(excluded));
+    }
+
+    private LocalVirtualFileSystem createCachingFileSystem() {
+        assertEquals(true, testDirectory.mkdirs());
+        return new LocalVirtualFileSystem(testDirectory, mock(ArchiverFactory.class), null, closeCallback, true, emptySet());
+    }
+
+    private List<String> getChildrenNames(VirtualFile folder) throws Exception {
+        return folder.getChildren().stream().map(VirtualFile::getName).collect(Collectors.toList());
+    }
+}
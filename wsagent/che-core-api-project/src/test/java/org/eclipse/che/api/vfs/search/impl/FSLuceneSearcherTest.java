@@ -12,11 +12,16 @@ package org.eclipse.che.api.vfs.search.impl;
 
 import com.google.common.base.Optional;
 
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+
 import org.eclipse.che.api.vfs.ArchiverFactory;
 import org.eclipse.che.api.vfs.VirtualFile;
 import org.eclipse.che.api.vfs.VirtualFileFilter;
 import org.eclipse.che.api.vfs.VirtualFileSystem;
 import org.eclipse.che.api.vfs.impl.memory.MemoryVirtualFileSystem;
+import org.eclipse.che.api.vfs.search.IndexingProgressEvent;
 import org.eclipse.che.api.vfs.search.QueryExpression;
 import org.eclipse.che.api.vfs.search.SearchResult;
 import org.eclipse.che.commons.lang.IoUtil;
@@ -30,8 +35,15 @@ import org.testng.annotations.Test;
 import java.io.File;
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
 
 import static com.google.common.collect.Lists.newArrayList;
+import static com.google.common.collect.Sets.newHashSet;
+import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.argThat;
 import static org.mockito.Mockito.mock;
@@ -336,6 +348,150 @@ public class FSLuceneSearcherTest {
         assertTrue(Collections.disjoint(firstPage.getFilePaths(), lastPage.getFilePaths()));
     }
 
+    @Test
+    public void appliesQueuedChangesBeforeSearch() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        VirtualFile folder = virtualFileSystem.getRoot().createFolder("folder");
+        VirtualFile file = folder.createFile("xxx.txt", TEST_CONTENT[2]);
+        searcher.enableIndexingQueue(100, 60000, 2);
+        searcher.init(virtualFileSystem);
+
+        List<String> paths = searcher.search(new QueryExpression().setText("be")).getFilePaths();
+        assertEquals(newArrayList("/folder/xxx.txt"), paths);
+
+        file.updateContent(TEST_CONTENT[1]);
+        searcher.update(file);
+        searcher.add(folder.createFile("zzz.txt", TEST_CONTENT[1]));
+
+        paths = searcher.search(new QueryExpression().setText("be")).getFilePaths();
+        assertTrue(paths.isEmpty());
+        paths = searcher.search(new QueryExpression().setText("should")).getFilePaths();
+        assertEquals(newHashSet("/folder/xxx.txt", "/folder/zzz.txt"), newHashSet(paths));
+    }
+
+    @Test
+    public void discardsQueuedChangesOfFilesInsideOfRemovedFolder() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        searcher.enableIndexingQueue(100, 60000, 2);
+        searcher.init(virtualFileSystem);
+        VirtualFile folder = virtualFileSystem.getRoot().createFolder("folder");
+        searcher.add(folder.createFile("xxx.txt", TEST_CONTENT[2]));
+        searcher.add(virtualFileSystem.getRoot().createFile("yyy.txt", TEST_CONTENT[2]));
+
+        searcher.delete("/folder", false);
+
+        List<String> paths = searcher.search(new QueryExpression().setText("be")).getFilePaths();
+        assertEquals(newArrayList("/yyy.txt"), paths);
+    }
+
+    @Test
+    public void appliesQueuedChangesWhenSearcherIsClosed() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        FSLuceneSearcher persistentSearcher = new FSLuceneSearcher(indexDirectory, filter, closeCallback, true);
+        persistentSearcher.enableIndexingQueue(100, 60000, 2);
+        persistentSearcher.init(virtualFileSystem);
+        persistentSearcher.add(virtualFileSystem.getRoot().createFile("xxx.txt", TEST_CONTENT[2]));
+
+        persistentSearcher.close();
+
+        try (Directory directory = FSDirectory.open(indexDirectory.toPath());
+             DirectoryReader reader = DirectoryReader.open(directory)) {
+            assertEquals(1, reader.numDocs());
+        }
+    }
+
+    @Test
+    public void initializesIndexInParallelAndReportsProgress() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        for (int i = 0; i < 10; i++) {
+            VirtualFile folder = virtualFileSystem.getRoot().createFolder("folder" + i).createFolder("nested");
+            folder.createFile("xxx.txt", TEST_CONTENT[2]);
+            folder.createFile("zzz.txt", TEST_CONTENT[1]);
+        }
+        List<IndexingProgressEvent> events = initInParallel(searcher, virtualFileSystem);
+
+        List<String> paths = searcher.search(new QueryExpression().setText("should")).getFilePaths();
+        assertEquals(10, paths.size());
+        IndexingProgressEvent lastEvent = events.get(events.size() - 1);
+        assertTrue(lastEvent.isDone());
+        assertEquals(20, lastEvent.getIndexedFiles());
+        assertEquals(10 * (TEST_CONTENT[2].length() + TEST_CONTENT[1].length()), lastEvent.getBytesRead());
+    }
+
+    @Test
+    public void reindexesOnlyChangedFilesWhenIndexIsPersistent() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        VirtualFile folder = virtualFileSystem.getRoot().createFolder("folder");
+        VirtualFile changed = folder.createFile("xxx.txt", TEST_CONTENT[2]);
+        VirtualFile removed = folder.createFile("yyy.txt", TEST_CONTENT[0]);
+        folder.createFile("zzz.txt", TEST_CONTENT[1]);
+        FSLuceneSearcher persistentSearcher = new FSLuceneSearcher(indexDirectory, filter, closeCallback, true);
+        initInParallel(persistentSearcher, virtualFileSystem);
+        persistentSearcher.close();
+        assertTrue(indexDirectory.exists());
+
+        changed.updateContent(TEST_CONTENT[3]);
+        removed.delete();
+        persistentSearcher = new FSLuceneSearcher(indexDirectory, filter, closeCallback, true);
+        List<IndexingProgressEvent> events;
+        try {
+            events = initInParallel(persistentSearcher, virtualFileSystem);
+
+            assertEquals(1, events.get(events.size() - 1).getIndexedFiles());
+            assertEquals(newArrayList("/folder/xxx.txt"),
+                         persistentSearcher.search(new QueryExpression().setText("mission")).getFilePaths());
+            assertTrue(persistentSearcher.search(new QueryExpression().setText("spaceflight")).getFilePaths().isEmpty());
+            assertTrue(persistentSearcher.search(new QueryExpression().setText("be")).getFilePaths().isEmpty());
+            assertEquals(newArrayList("/folder/zzz.txt"),
+                         persistentSearcher.search(new QueryExpression().setText("should")).getFilePaths());
+        } finally {
+            persistentSearcher.close();
+        }
+    }
+
+    @Test
+    public void retrievesAllPagesWithContinuationToken() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        for (int i = 0; i < 100; i++) {
+            virtualFileSystem.getRoot().createFile(String.format("file%02d", i), TEST_CONTENT[i % TEST_CONTENT.length]);
+        }
+        searcher.init(virtualFileSystem);
+
+        Set<String> paths = newHashSet();
+        int pages = 0;
+        QueryExpression query = new QueryExpression().setText("spaceflight").setMaxItems(10);
+        while (query != null) {
+            SearchResult page = searcher.search(query);
+            paths.addAll(page.getFilePaths());
+            pages++;
+            if (page.getContinuationToken().isPresent()) {
+                query = new QueryExpression().setText("spaceflight")
+                                             .setMaxItems(10)
+                                             .setContinuationToken(page.getContinuationToken().get());
+            } else {
+                query = null;
+            }
+        }
+
+        assertEquals(25, paths.size());
+        assertEquals(3, pages);
+    }
+
+    private List<IndexingProgressEvent> initInParallel(LuceneSearcher luceneSearcher, VirtualFileSystem virtualFileSystem)
+            throws Exception {
+        List<IndexingProgressEvent> events = new CopyOnWriteArrayList<>();
+        ForkJoinPool indexingPool = new ForkJoinPool(4);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            luceneSearcher.initAsynchronously(executor, indexingPool, virtualFileSystem, events::add);
+        } finally {
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, SECONDS));
+            indexingPool.shutdown();
+        }
+        return events;
+    }
+
     private VirtualFileSystem virtualFileSystem() throws Exception {
         return new MemoryVirtualFileSystem(mock(ArchiverFactory.class), null);
     }
@@ -0,0 +1,147 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.git.impl.jgit;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import org.eclipse.jgit.lib.AnyObjectId;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.Ref;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.revwalk.RevObject;
+import org.eclipse.jgit.revwalk.RevSort;
+import org.eclipse.jgit.revwalk.RevWalk;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.unmodifiableMap;
+
+/**
+ * Knows which branches contain each commit of the repository.
+ *
+ * <p>Asking for every commit of the log which branches contain it walks the history once per commit and branch.
+ * Instead the index is computed once for the current state of branches: the history is walked in topological order
+ * from the tips of all the branches and the set of branches which contain a commit is propagated from children
+ * to parents as a bit set. Computed index is cached per repository and reused until any branch is created, removed
+ * or moved.
+ *
+ * <p>Branches are the same as listed by {@code git branch --all}: local and remote-tracking branches and the detached
+ * {@code HEAD}, names are full ref names sorted alphabetically.
+ */
+class CommitBranchesIndex {
+    private static final int MAX_CACHED_REPOSITORIES = 10;
+
+    private static final Cache<String, CommitBranchesIndex> INDEXES = CacheBuilder.newBuilder()
+                                                                                  .maximumSize(MAX_CACHED_REPOSITORIES)
+                                                                                  .build();
+
+    /**
+     * Returns index for the current state of branches of the repository.
+     * Cached index is returned if branches were not changed since it was computed.
+     */
+    static CommitBranchesIndex of(Repository repository) throws IOException {
+        final Map<String, ObjectId> branches = readBranches(repository);
+        final String key = repository.getDirectory().getAbsolutePath();
+        CommitBranchesIndex index = INDEXES.getIfPresent(key);
+        if (index == null || !index.branches.equals(branches)) {
+            index = new CommitBranchesIndex(repository, branches);
+            INDEXES.put(key, index);
+        }
+        return index;
+    }
+
+    private final Map<String, ObjectId> branches;
+    private final String[]              names;
+    private final Map<ObjectId, BitSet> commits;
+
+    private CommitBranchesIndex(Repository repository, Map<String, ObjectId> branches) throws IOException {
+        this.branches = unmodifiableMap(branches);
+        this.names = branches.keySet().toArray(new String[branches.size()]);
+        this.commits = new HashMap<>();
+
+        try (RevWalk walk = new RevWalk(repository)) {
+            walk.setRetainBody(false);
+            walk.sort(RevSort.TOPO);
+            // bits of a commit are complete when it is reached, topological order emits all children before parents
+            final Map<RevCommit, BitSet> pending = new HashMap<>();
+            int i = 0;
+            for (ObjectId tip : branches.values()) {
+                final RevObject object = walk.peel(walk.parseAny(tip));
+                if (object instanceof RevCommit) {
+                    final RevCommit commit = (RevCommit)object;
+                    pending.computeIfAbsent(commit, c -> new BitSet(names.length)).set(i);
+                    walk.markStart(commit);
+                }
+                i++;
+            }
+            // most commits are contained in the same branches, so equal sets are shared
+            final Map<BitSet, BitSet> distinct = new HashMap<>();
+            for (RevCommit commit : walk) {
+                final BitSet bits = distinct.computeIfAbsent(pending.remove(commit), b -> b);
+                commits.put(commit.copy(), bits);
+                for (RevCommit parent : commit.getParents()) {
+                    pending.merge(parent, bits, CommitBranchesIndex::union);
+                }
+            }
+        }
+    }
+
+    /** Returns names of branches which contain the commit or empty list if no branch contains it. */
+    List<String> getBranches(AnyObjectId commit) {
+        final BitSet bits = commits.get(commit);
+        if (bits == null) {
+            return emptyList();
+        }
+        final List<String> result = new ArrayList<>(bits.cardinality());
+        for (int i = bits.nextSetBit(0); i >= 0; i = bits.nextSetBit(i + 1)) {
+            result.add(names[i]);
+        }
+        return result;
+    }
+
+    /** Returns number of commits contained in at least one branch. */
+    int size() {
+        return commits.size();
+    }
+
+    /** Sets may be shared between commits, so they are never modified once propagated. */
+    private static BitSet union(BitSet current, BitSet added) {
+        final BitSet union = (BitSet)current.clone();
+        union.or(added);
+        return union.equals(current) ? current : union;
+    }
+
+    private static Map<String, ObjectId> readBranches(Repository repository) throws IOException {
+        final Map<String, ObjectId> branches = new TreeMap<>();
+        final Ref head = repository.exactRef(Constants.HEAD);
+        if (head != null && !head.isSymbolic() && head.getObjectId() != null) {
+            branches.put(Constants.HEAD, head.getObjectId());
+        }
+        for (String prefix : new String[] {Constants.R_HEADS, Constants.R_REMOTES}) {
+            for (Ref ref : repository.getRefDatabase().getRefs(prefix).values()) {
+                if (ref.getObjectId() != null) {
+                    branches.put(ref.getName(), ref.getObjectId());
+                }
+            }
+        }
+        return branches;
+    }
+}
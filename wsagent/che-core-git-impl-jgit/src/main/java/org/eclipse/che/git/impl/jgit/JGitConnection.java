@@ -93,6 +93,7 @@ import org.eclipse.jgit.api.RebaseResult;
 import org.eclipse.jgit.api.ResetCommand;
 import org.eclipse.jgit.api.ResetCommand.ResetType;
 import org.eclipse.jgit.api.RmCommand;
+import org.eclipse.jgit.api.StatusCommand;
 import org.eclipse.jgit.api.TagCommand;
 import org.eclipse.jgit.api.TransportCommand;
 import org.eclipse.jgit.api.errors.CheckoutConflictException;
@@ -729,10 +730,11 @@ class JGitConnection implements GitConnection {
                 logCommand.addPath(filePath);
             }
             Iterator<RevCommit> revIterator = logCommand.call().iterator();
+            CommitBranchesIndex branchesIndex = CommitBranchesIndex.of(repository);
             List<Revision> commits = new ArrayList<>();
             while (revIterator.hasNext()) {
                 RevCommit commit = revIterator.next();
-                Revision revision = getRevision(commit, filePath);
+                Revision revision = getRevision(commit, filePath, branchesIndex);
                 commits.add(revision);
             }
             return new LogPage(commits);
@@ -747,7 +749,7 @@ class JGitConnection implements GitConnection {
         }
     }
 
-    private Revision getRevision(RevCommit commit, String filePath) throws GitAPIException, IOException {
+    private Revision getRevision(RevCommit commit, String filePath, CommitBranchesIndex branchesIndex) throws IOException {
         List<String> commitParentsList = Stream.of(commit.getParents())
                                                .map(RevCommit::getName)
                                                .collect(Collectors.toList());
@@ -757,7 +759,7 @@ class JGitConnection implements GitConnection {
                                      .withCommitTime((long)commit.getCommitTime() * 1000)
                                      .withCommitter(getCommitCommitter(commit))
                                      .withAuthor(getCommitAuthor(commit))
-                                     .withBranches(getBranchesOfCommit(commit, ListMode.ALL))
+                                     .withBranches(getBranchesOfCommit(commit, branchesIndex))
                                      .withCommitParent(commitParentsList)
                                      .withDiffCommitFile(getCommitDiffFiles(commit, filePath));
     }
@@ -774,14 +776,11 @@ class JGitConnection implements GitConnection {
                                     .withEmail(authorIdentity.getEmailAddress());
     }
 
-    private List<Branch> getBranchesOfCommit(RevCommit commit, ListMode mode) throws GitAPIException {
-        List<Ref> branches = getGit().branchList()
-                                     .setListMode(mode)
-                                     .setContains(commit.getName())
-                                     .call();
-        return branches.stream()
-                       .map(branch -> newDto(Branch.class).withName(branch.getName()))
-                       .collect(Collectors.toList());
+    private List<Branch> getBranchesOfCommit(RevCommit commit, CommitBranchesIndex branchesIndex) {
+        return branchesIndex.getBranches(commit)
+                            .stream()
+                            .map(branch -> newDto(Branch.class).withName(branch))
+                            .collect(Collectors.toList());
     }
 
     private List<DiffCommitFile> getCommitDiffFiles(RevCommit revCommit, String pattern) throws IOException {
@@ -1462,11 +1461,18 @@ class JGitConnection implements GitConnection {
 
     @Override
     public Status status(StatusFormat format) throws GitException {
+        return status(format, Collections.emptyList());
+    }
+
+    @Override
+    public Status status(StatusFormat format, List<String> paths) throws GitException {
         if (!RepositoryCache.FileKey.isGitRepository(getRepository().getDirectory(), FS.DETECTED)) {
             throw new GitException("Not a git repository");
         }
         String branchName = getCurrentBranch();
-        return new JGitStatusImpl(branchName, getGit().status(), format);
+        StatusCommand statusCommand = getGit().status();
+        paths.forEach(statusCommand::addPath);
+        return new JGitStatusImpl(branchName, statusCommand, format);
     }
 
     @Override
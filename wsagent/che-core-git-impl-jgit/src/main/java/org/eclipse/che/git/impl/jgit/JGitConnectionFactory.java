@@ -11,18 +11,21 @@
  *******************************************************************************/
 package org.eclipse.che.git.impl.jgit;
 
+import com.google.inject.Inject;
+import com.google.inject.name.Named;
+
 import org.eclipse.che.api.core.util.LineConsumerFactory;
 import org.eclipse.che.api.git.CredentialsLoader;
 import org.eclipse.che.api.git.GitConnectionFactory;
 import org.eclipse.che.api.git.exception.GitException;
 import org.eclipse.che.api.git.GitUserResolver;
 import org.eclipse.che.plugin.ssh.key.script.SshKeyProvider;
-import org.eclipse.jgit.internal.storage.file.FileRepository;
 import org.eclipse.jgit.lib.Constants;
 import org.eclipse.jgit.lib.Repository;
 import org.eclipse.jgit.transport.UserAgent;
 
-import javax.inject.Inject;
+import javax.annotation.PreDestroy;
+import javax.inject.Singleton;
 import javax.net.ssl.HttpsURLConnection;
 import javax.net.ssl.SSLContext;
 import javax.net.ssl.TrustManager;
@@ -34,22 +37,30 @@ import java.security.NoSuchAlgorithmException;
 
 /**
  * JGit implementation for GitConnectionFactory
+ *
+ * <p>Repositories are shared between connections to the same working directory
+ * and stay open while they are used, see {@link JGitRepositoryCache}.
  * 
  * @author Tareq Sharafy (tareq.sha@gmail.com)
  */
+@Singleton
 public class JGitConnectionFactory extends GitConnectionFactory {
 
     private static final String USER_AGENT = "git/2.1.0";
 
-    private final CredentialsLoader credentialsLoader;
-    private final SshKeyProvider    sshKeyProvider;
-    private final GitUserResolver   userResolver;
+    private static final long DEFAULT_REPOSITORY_IDLE_TIMEOUT_MS = 60_000;
+
+    private final CredentialsLoader   credentialsLoader;
+    private final SshKeyProvider      sshKeyProvider;
+    private final GitUserResolver     userResolver;
+    private final JGitRepositoryCache repositoryCache;
 
     @Inject
     public JGitConnectionFactory(CredentialsLoader credentialsLoader, SshKeyProvider sshKeyProvider, GitUserResolver userResolver) throws GitException {
         this.credentialsLoader = credentialsLoader;
         this.sshKeyProvider = sshKeyProvider;
         this.userResolver = userResolver;
+        this.repositoryCache = new JGitRepositoryCache(DEFAULT_REPOSITORY_IDLE_TIMEOUT_MS);
 
         UserAgent.set(USER_AGENT);
         // Install the all-trusting trust manager
@@ -76,6 +87,15 @@ public class JGitConnectionFactory extends GitConnectionFactory {
         }
     }
 
+    /**
+     * Sets time in milliseconds after which repository which is not used by any connection is closed,
+     * 0 disables sharing of repositories between connections.
+     */
+    @Inject(optional = true)
+    public void setRepositoryIdleTimeout(@Named("che.git.repository_idle_timeout_ms") long idleTimeoutMs) {
+        repositoryCache.setIdleTimeout(idleTimeoutMs);
+    }
+
     @Override
     public JGitConnection getConnection(File workDir, LineConsumerFactory outputPublisherFactory) throws GitException {
         Repository gitRepo = createRepository(workDir);
@@ -84,9 +104,19 @@ public class JGitConnectionFactory extends GitConnectionFactory {
         return conn;
     }
 
-    private static Repository createRepository(File workDir) throws GitException {
+    @Override
+    public void refresh(File workDir) {
+        repositoryCache.refresh(new File(workDir, Constants.DOT_GIT));
+    }
+
+    @PreDestroy
+    public void closeRepositories() {
+        repositoryCache.close();
+    }
+
+    private Repository createRepository(File workDir) throws GitException {
         try {
-            return new FileRepository(new File(workDir, Constants.DOT_GIT));
+            return repositoryCache.acquire(new File(workDir, Constants.DOT_GIT));
         } catch (IOException e) {
             throw new GitException(e.getMessage(), e);
         }
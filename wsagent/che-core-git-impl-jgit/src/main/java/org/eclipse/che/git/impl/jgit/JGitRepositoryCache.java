@@ -0,0 +1,227 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.git.impl.jgit;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import org.eclipse.jgit.internal.storage.file.FileRepository;
+import org.eclipse.jgit.lib.Repository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Keeps repositories opened by {@link JGitConnectionFactory}, so connections to the same repository share
+ * loaded configuration, references and pack indexes instead of reading them from disk for each connection.
+ *
+ * <p>Each repository returned by {@link #acquire(File)} must be closed when it is not needed anymore, cached
+ * repository counts its users and is closed for real only when it is removed from the cache and not used.
+ * Repository is removed from the cache when it was not used longer than idle timeout, when its {@code .git}
+ * directory is re-created or the files which are read when repository is opened are changed, or by
+ * {@link #refresh(File)}. Idle repositories are closed by a background task, so their pack files are not kept
+ * open when no repository is acquired anymore. {@link #close()} must be called when the cache is not needed.
+ */
+class JGitRepositoryCache {
+    private static final Logger LOG = LoggerFactory.getLogger(JGitRepositoryCache.class);
+
+    private static final long MIN_EVICTION_PERIOD_MS = 100;
+
+    /** Files and folders of the {@code .git} directory which are read when repository is opened. */
+    private static final String[] STAMPED_FILES = {"config", "HEAD", "packed-refs", "objects/pack"};
+
+    private final Map<File, CachedRepository> repositories;
+    private final ScheduledExecutorService    evictor;
+
+    private long               idleTimeoutMs;
+    private ScheduledFuture<?> evictionTask;
+
+    /**
+     * @param idleTimeoutMs
+     *         time in milliseconds after which not used repository is closed, 0 disables caching
+     */
+    JGitRepositoryCache(long idleTimeoutMs) {
+        this.repositories = new HashMap<>();
+        this.evictor = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder().setNameFormat("JGitRepositoryCacheEvictor")
+                                                                                            .setDaemon(true)
+                                                                                            .build());
+        setIdleTimeout(idleTimeoutMs);
+    }
+
+    synchronized void setIdleTimeout(long idleTimeoutMs) {
+        this.idleTimeoutMs = idleTimeoutMs;
+        if (evictionTask != null) {
+            evictionTask.cancel(false);
+            evictionTask = null;
+        }
+        if (idleTimeoutMs <= 0) {
+            clear();
+            return;
+        }
+        final long period = Math.max(MIN_EVICTION_PERIOD_MS, idleTimeoutMs / 2);
+        evictionTask = evictor.scheduleWithFixedDelay(this::evictIdle, period, period, MILLISECONDS);
+    }
+
+    /**
+     * Returns repository located in the {@code gitDir} directory.
+     * Repositories which don't exist yet are not cached as they may be created or cloned by the caller.
+     */
+    synchronized Repository acquire(File gitDir) throws IOException {
+        final File key = gitDir.toPath().toAbsolutePath().normalize().toFile();
+        final List<Object> stamp = stamp(key);
+        if (idleTimeoutMs <= 0 || stamp == null) {
+            return new FileRepository(key);
+        }
+        final long now = System.currentTimeMillis();
+        CachedRepository repository = repositories.get(key);
+        if (repository != null && !repository.stamp.equals(stamp)) {
+            evict(repository);
+            repository = null;
+        }
+        if (repository == null) {
+            repository = new CachedRepository(key, stamp);
+            repositories.put(key, repository);
+        }
+        repository.users++;
+        repository.lastUsed = now;
+        return repository;
+    }
+
+    /** Removes repository located in the {@code gitDir} directory from the cache, so it is opened again on next use. */
+    synchronized void refresh(File gitDir) {
+        final CachedRepository repository = repositories.get(gitDir.toPath().toAbsolutePath().normalize().toFile());
+        if (repository != null) {
+            evict(repository);
+        }
+    }
+
+    /** Removes all repositories from the cache, repositories which are in use are closed when they are released. */
+    synchronized void clear() {
+        new ArrayList<>(repositories.values()).forEach(this::evict);
+    }
+
+    /** Stops closing of idle repositories and closes all the cached ones. */
+    synchronized void close() {
+        evictor.shutdownNow();
+        clear();
+    }
+
+    /** Returns number of cached repositories. */
+    synchronized int size() {
+        return repositories.size();
+    }
+
+    private synchronized void release(CachedRepository repository) {
+        if (repository.users > 0) {
+            repository.users--;
+        }
+        repository.lastUsed = System.currentTimeMillis();
+        if (repository.users == 0 && repositories.get(repository.key) != repository) {
+            repository.closeRepository();
+        }
+    }
+
+    private synchronized void evictIdle() {
+        final long now = System.currentTimeMillis();
+        for (CachedRepository repository : new ArrayList<>(repositories.values())) {
+            if (repository.users == 0 && now - repository.lastUsed >= idleTimeoutMs) {
+                try {
+                    evict(repository);
+                } catch (RuntimeException e) {
+                    LOG.warn("Unable to close repository {}. {}", repository.key, e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void evict(CachedRepository repository) {
+        repositories.remove(repository.key, repository);
+        if (repository.users == 0) {
+            repository.closeRepository();
+        }
+    }
+
+    /**
+     * Identifies state of the {@code .git} directory. It is changed when the directory is re-created and when
+     * configuration, HEAD, packed references or set of pack files are changed. Modification time of the directory
+     * itself is not used as it is changed by any lock file, e.g. {@code index.lock} taken by almost every command.
+     */
+    private static List<Object> stamp(File gitDir) {
+        final BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(gitDir.toPath(), BasicFileAttributes.class);
+        } catch (IOException e) {
+            return null;
+        }
+        if (!attributes.isDirectory()) {
+            return null;
+        }
+        // creation time is not used as it falls back to modification time where it is not supported
+        final List<Object> stamp = new ArrayList<>();
+        stamp.add(attributes.fileKey());
+        for (String file : STAMPED_FILES) {
+            stamp.add(stamp(gitDir.toPath().resolve(file)));
+        }
+        return stamp;
+    }
+
+    private static List<Object> stamp(Path file) {
+        try {
+            final BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+            return Arrays.asList(attributes.fileKey(), attributes.lastModifiedTime());
+        } catch (IOException e) {
+            // e.g. there are no packed references yet
+            return null;
+        }
+    }
+
+    private class CachedRepository extends FileRepository {
+        final File         key;
+        final List<Object> stamp;
+
+        int     users;
+        long    lastUsed;
+        boolean closed;
+
+        CachedRepository(File key, List<Object> stamp) throws IOException {
+            super(key);
+            this.key = key;
+            this.stamp = stamp;
+        }
+
+        /** Releases the repository, it stays open while it is cached. */
+        @Override
+        public void close() {
+            release(this);
+        }
+
+        void closeRepository() {
+            if (!closed) {
+                closed = true;
+                super.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,111 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.git.impl.jgit;
+
+import org.eclipse.che.commons.lang.IoUtil;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.api.ListBranchCommand.ListMode;
+import org.eclipse.jgit.api.MergeCommand;
+import org.eclipse.jgit.lib.Ref;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.testng.Assert.assertEquals;
+
+/**
+ * Compares time of decorating log with branches of each commit listed by git and with {@link CommitBranchesIndex}.
+ * Number of branches of generated repository may be changed with {@code git.branches.benchmark.branches} system property.
+ * The benchmark is excluded from the build, run it explicitly with {@code -Dtest=CommitBranchesIndexBenchmarkTest}.
+ */
+public class CommitBranchesIndexBenchmarkTest {
+    private static final Logger LOG = LoggerFactory.getLogger(CommitBranchesIndexBenchmarkTest.class);
+
+    private static final int BRANCHES           = Integer.getInteger("git.branches.benchmark.branches", 100);
+    private static final int COMMITS_PER_BRANCH = 3;
+
+    private File directory;
+    private Git  git;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        directory = Files.createTempDirectory("commit-branches-benchmark").toFile();
+        git = Git.init().setDirectory(directory).call();
+        git.commit().setMessage("initial").setAllowEmpty(true).call();
+        // every branch starts from the previous state of master, gets some commits and every second one is merged back
+        for (int i = 0; i < BRANCHES; i++) {
+            final String branch = "branch-" + i;
+            git.branchCreate().setName(branch).call();
+            git.checkout().setName(branch).call();
+            for (int j = 0; j < COMMITS_PER_BRANCH; j++) {
+                git.commit().setMessage(branch + '-' + j).setAllowEmpty(true).call();
+            }
+            git.checkout().setName("master").call();
+            git.commit().setMessage("master-" + i).setAllowEmpty(true).call();
+            if (i % 2 == 0) {
+                git.merge()
+                   .include(git.getRepository().exactRef("refs/heads/" + branch))
+                   .setFastForward(MergeCommand.FastForwardMode.NO_FF)
+                   .call();
+            }
+        }
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        git.close();
+        IoUtil.deleteRecursive(directory);
+    }
+
+    @Test
+    public void compareListingBranchesOfEachCommitAndIndex() throws Exception {
+        final List<RevCommit> log = new ArrayList<>();
+        git.log().all().call().forEach(log::add);
+
+        long start = System.nanoTime();
+        final List<List<String>> listed = new ArrayList<>();
+        for (RevCommit commit : log) {
+            listed.add(listBranchesContaining(commit));
+        }
+        final long listingTime = (System.nanoTime() - start) / 1_000_000;
+
+        start = System.nanoTime();
+        final CommitBranchesIndex index = CommitBranchesIndex.of(git.getRepository());
+        final List<List<String>> indexed = new ArrayList<>();
+        for (RevCommit commit : log) {
+            indexed.add(index.getBranches(commit));
+        }
+        final long indexTime = (System.nanoTime() - start) / 1_000_000;
+
+        assertEquals(indexed, listed);
+        LOG.info("Branches of {} commits of {} branches: listed for each commit in {} ms, indexed in {} ms",
+                 log.size(), BRANCHES, listingTime, indexTime);
+    }
+
+    private List<String> listBranchesContaining(RevCommit commit) throws Exception {
+        return git.branchList()
+                  .setListMode(ListMode.ALL)
+                  .setContains(commit.getName())
+                  .call()
+                  .stream()
+                  .map(Ref::getName)
+                  .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,149 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.git.impl.jgit;
+
+import org.eclipse.che.commons.lang.IoUtil;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.api.ListBranchCommand.ListMode;
+import org.eclipse.jgit.api.MergeCommand;
+import org.eclipse.jgit.lib.Ref;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests for {@link CommitBranchesIndex}
+ */
+public class CommitBranchesIndexTest {
+    private static final int BRANCHES          = 40;
+    private static final int COMMITS_PER_BRANCH = 3;
+
+    private File            directory;
+    private Git             git;
+    private List<RevCommit> commits;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        directory = Files.createTempDirectory("commit-branches-index").toFile();
+        git = Git.init().setDirectory(directory).call();
+        commits = new ArrayList<>();
+        commit("initial");
+        // every branch starts from the previous state of master, gets some commits and every second one is merged back
+        for (int i = 0; i < BRANCHES; i++) {
+            final String branch = "branch-" + i;
+            git.branchCreate().setName(branch).call();
+            git.checkout().setName(branch).call();
+            for (int j = 0; j < COMMITS_PER_BRANCH; j++) {
+                commit(branch + '-' + j);
+            }
+            git.checkout().setName("master").call();
+            commit("master-" + i);
+            if (i % 2 == 0) {
+                git.merge()
+                   .include(git.getRepository().exactRef("refs/heads/" + branch))
+                   .setFastForward(MergeCommand.FastForwardMode.NO_FF)
+                   .call();
+                commits.add(git.log().setMaxCount(1).call().iterator().next());
+            }
+        }
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        git.close();
+        IoUtil.deleteRecursive(directory);
+    }
+
+    @Test
+    public void shouldContainSameBranchesAsListedByGit() throws Exception {
+        final CommitBranchesIndex index = CommitBranchesIndex.of(git.getRepository());
+
+        assertEquals(index.size(), commits.size());
+        for (RevCommit commit : commits) {
+            assertEquals(index.getBranches(commit), listBranchesContaining(commit));
+        }
+    }
+
+    @Test
+    public void shouldContainDetachedHead() throws Exception {
+        final RevCommit detached = commits.get(1);
+        git.checkout().setName(detached.getName()).call();
+
+        final CommitBranchesIndex index = CommitBranchesIndex.of(git.getRepository());
+
+        assertTrue(index.getBranches(detached).contains("HEAD"));
+        assertEquals(index.getBranches(detached), listBranchesContaining(detached));
+        assertEquals(index.getBranches(commits.get(commits.size() - 1)), listBranchesContaining(commits.get(commits.size() - 1)));
+    }
+
+    @Test
+    public void shouldReuseIndexUntilBranchesAreChanged() throws Exception {
+        final CommitBranchesIndex index = CommitBranchesIndex.of(git.getRepository());
+
+        assertSame(CommitBranchesIndex.of(git.getRepository()), index);
+
+        git.branchCreate().setName("new-branch").setStartPoint(commits.get(0)).call();
+        final CommitBranchesIndex changed = CommitBranchesIndex.of(git.getRepository());
+
+        assertNotSame(changed, index);
+        assertTrue(changed.getBranches(commits.get(0)).contains("refs/heads/new-branch"));
+
+        final RevCommit commit = commit("moves master");
+        final CommitBranchesIndex moved = CommitBranchesIndex.of(git.getRepository());
+
+        assertNotSame(moved, changed);
+        assertEquals(moved.getBranches(commit), listBranchesContaining(commit));
+    }
+
+    @Test
+    public void shouldDecorateLogWithSameBranchesAsListedForEachCommit() throws Exception {
+        final List<List<String>> listed = new ArrayList<>();
+        for (RevCommit commit : commits) {
+            listed.add(listBranchesContaining(commit));
+        }
+
+        final CommitBranchesIndex index = CommitBranchesIndex.of(git.getRepository());
+        final List<List<String>> indexed = new ArrayList<>();
+        for (RevCommit commit : commits) {
+            indexed.add(index.getBranches(commit));
+        }
+
+        assertEquals(indexed, listed);
+    }
+
+    private RevCommit commit(String message) throws Exception {
+        final RevCommit commit = git.commit().setMessage(message).setAllowEmpty(true).call();
+        commits.add(commit);
+        return commit;
+    }
+
+    private List<String> listBranchesContaining(RevCommit commit) throws Exception {
+        return git.branchList()
+                  .setListMode(ListMode.ALL)
+                  .setContains(commit.getName())
+                  .call()
+                  .stream()
+                  .map(Ref::getName)
+                  .collect(Collectors.toList());
+    }
+}
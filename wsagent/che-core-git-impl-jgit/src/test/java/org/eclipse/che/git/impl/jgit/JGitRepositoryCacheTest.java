@@ -0,0 +1,177 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.git.impl.jgit;
+
+import org.eclipse.che.commons.lang.IoUtil;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.Repository;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+
+/**
+ * Tests for {@link JGitRepositoryCache}
+ */
+public class JGitRepositoryCacheTest {
+    private File                workDir;
+    private File                gitDir;
+    private JGitRepositoryCache cache;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        workDir = Files.createTempDirectory("repository-cache").toFile();
+        gitDir = new File(workDir, Constants.DOT_GIT);
+        Git.init().setDirectory(workDir).call().close();
+        cache = new JGitRepositoryCache(60_000);
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        cache.close();
+        IoUtil.deleteRecursive(workDir);
+    }
+
+    @Test
+    public void shouldShareRepositoryBetweenConnections() throws Exception {
+        final Repository first = cache.acquire(gitDir);
+        final Repository second = cache.acquire(new File(workDir, "src/../" + Constants.DOT_GIT));
+        first.close();
+        second.close();
+
+        assertSame(second, first);
+        assertSame(cache.acquire(gitDir), first);
+        assertEquals(cache.size(), 1);
+    }
+
+    @Test
+    public void shouldNotCacheRepositoryWhichDoesNotExist() throws Exception {
+        final File notRepository = Files.createTempDirectory(workDir.toPath(), "folder").toFile();
+
+        final Repository first = cache.acquire(new File(notRepository, Constants.DOT_GIT));
+        final Repository second = cache.acquire(new File(notRepository, Constants.DOT_GIT));
+
+        assertNotSame(second, first);
+        assertEquals(cache.size(), 0);
+    }
+
+    @Test
+    public void shouldReopenRepositoryWhenItIsRecreated() throws Exception {
+        final Repository repository = cache.acquire(gitDir);
+        repository.close();
+
+        IoUtil.deleteRecursive(gitDir);
+        Git.init().setDirectory(workDir).call().close();
+
+        assertNotSame(cache.acquire(gitDir), repository);
+        assertEquals(cache.size(), 1);
+    }
+
+    @Test
+    public void shouldReopenRepositoryAfterRefresh() throws Exception {
+        final Repository repository = cache.acquire(gitDir);
+        repository.close();
+
+        cache.refresh(workDir.toPath().resolve(Constants.DOT_GIT).toFile());
+
+        assertEquals(cache.size(), 0);
+        assertNotSame(cache.acquire(gitDir), repository);
+    }
+
+    @Test
+    public void shouldNotReopenRepositoryWhenLockFileIsTakenAndReleased() throws Exception {
+        final Repository repository = cache.acquire(gitDir);
+        repository.close();
+        final Path lock = gitDir.toPath().resolve("index.lock");
+        final Path gitDirPath = gitDir.toPath();
+        final FileTime modified = Files.getLastModifiedTime(gitDirPath);
+
+        Files.createFile(lock);
+        Files.delete(lock);
+        Files.setLastModifiedTime(gitDirPath, FileTime.fromMillis(modified.toMillis() + 10_000));
+
+        assertSame(cache.acquire(gitDir), repository);
+    }
+
+    @Test
+    public void shouldReopenRepositoryWhenConfigIsChanged() throws Exception {
+        final Repository repository = cache.acquire(gitDir);
+        repository.close();
+
+        touch(gitDir.toPath().resolve(Constants.CONFIG));
+
+        assertNotSame(cache.acquire(gitDir), repository);
+    }
+
+    @Test
+    public void shouldReopenRepositoryWhenPackedRefsAreCreated() throws Exception {
+        final Repository repository = cache.acquire(gitDir);
+        repository.close();
+
+        Files.createFile(gitDir.toPath().resolve(Constants.PACKED_REFS));
+
+        assertNotSame(cache.acquire(gitDir), repository);
+    }
+
+    @Test
+    public void shouldCloseRepositoryWhichIsNotUsedLongerThanIdleTimeout() throws Exception {
+        cache.close();
+        cache = new JGitRepositoryCache(1);
+        final Repository repository = cache.acquire(gitDir);
+        repository.close();
+
+        waitUntilCacheIsEmpty();
+
+        assertEquals(cache.size(), 0);
+        assertNotSame(cache.acquire(gitDir), repository);
+    }
+
+    @Test
+    public void shouldNotCloseRepositoryWhichIsUsed() throws Exception {
+        cache.close();
+        cache = new JGitRepositoryCache(1);
+        final Repository repository = cache.acquire(gitDir);
+
+        Thread.sleep(300);
+
+        assertEquals(cache.size(), 1);
+        assertSame(cache.acquire(gitDir), repository);
+    }
+
+    @Test
+    public void shouldNotCacheRepositoriesWhenIdleTimeoutIsZero() throws Exception {
+        cache.setIdleTimeout(0);
+
+        assertNotSame(cache.acquire(gitDir), cache.acquire(gitDir));
+        assertEquals(cache.size(), 0);
+    }
+
+    private void waitUntilCacheIsEmpty() throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + 5_000;
+        while (cache.size() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private static void touch(Path file) throws Exception {
+        final FileTime modified = Files.getLastModifiedTime(file);
+        Files.setLastModifiedTime(file, FileTime.fromMillis(modified.toMillis() + 10_000));
+    }
+}
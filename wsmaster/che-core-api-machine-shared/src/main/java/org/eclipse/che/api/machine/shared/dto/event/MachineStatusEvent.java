@@ -61,4 +61,14 @@ public interface MachineStatusEvent {
     String getMachineName();
 
     MachineStatusEvent withMachineName(String machineName);
+
+    /**
+     * Returns time in milliseconds which start of the machine took.
+     * Set for {@link EventType#RUNNING} events only.
+     */
+    long getStartDuration();
+
+    void setStartDuration(long startDuration);
+
+    MachineStatusEvent withStartDuration(long startDuration);
 }
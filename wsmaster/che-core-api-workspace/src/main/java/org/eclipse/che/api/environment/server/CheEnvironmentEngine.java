@@ -11,6 +11,8 @@
 package org.eclipse.che.api.environment.server;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.common.util.concurrent.Uninterruptibles;
 
 import org.eclipse.che.api.agent.server.AgentRegistry;
 import org.eclipse.che.api.agent.server.exception.AgentException;
@@ -66,7 +68,9 @@ import org.eclipse.che.commons.env.EnvironmentContext;
 import org.eclipse.che.commons.lang.IoUtil;
 import org.eclipse.che.commons.lang.NameGenerator;
 import org.eclipse.che.commons.lang.Size;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
 import org.eclipse.che.commons.lang.concurrent.StripedLocks;
+import org.eclipse.che.commons.lang.concurrent.ThreadLocalPropagateContext;
 import org.eclipse.che.commons.lang.concurrent.Unlocker;
 import org.slf4j.Logger;
 
@@ -79,12 +83,20 @@ import java.io.File;
 import java.io.IOException;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.regex.Pattern;
 
 import static java.lang.String.format;
@@ -125,7 +137,24 @@ public class CheEnvironmentEngine {
     private final AgentRegistry                  agentRegistry;
     private final WorkspaceSharedPool            sharedPool;
 
+    @com.google.inject.Inject(optional = true)
+    @Named("che.workspace.parallel_machine_start")
+    private boolean parallelMachineStart = false;
+
+    @com.google.inject.Inject(optional = true)
+    @Named("che.workspace.parallel_machine_start.threads")
+    private int parallelMachineStartThreads = 8;
+
+    @com.google.inject.Inject(optional = true)
+    @Named("che.workspace.logs.max_file_size_bytes")
+    private long maxLogsFileSize = 10 * 1024 * 1024;
+
+    @com.google.inject.Inject(optional = true)
+    @Named("che.workspace.logs.max_rotated_files")
+    private int maxRotatedLogsFiles = 3;
+
     private volatile boolean isPreDestroyInvoked;
+    private ExecutorService  parallelStartExecutor;
 
     @Inject
     public CheEnvironmentEngine(SnapshotDao snapshotDao,
@@ -212,6 +241,38 @@ public class CheEnvironmentEngine {
                                                   machineId, workspaceId)));
     }
 
+    /**
+     * Returns last lines of logs of specific machine from environment of specific workspace.
+     * Logs are read from the end of the log file, so the whole file is not read.
+     *
+     * @param workspaceId
+     *         ID of workspace that owns environment machines
+     * @param machineId
+     *         ID of machine
+     * @param lines
+     *         max number of lines to return
+     * @return last lines of machine logs
+     * @throws EnvironmentNotRunningException
+     *         if environment is not running
+     * @throws NotFoundException
+     *         if machine is not found in the environment or its logs are not available
+     * @throws ServerException
+     *         if logs can not be read
+     */
+    public List<String> getMachineLogs(String workspaceId, String machineId, int lines) throws NotFoundException,
+                                                                                               ServerException {
+        getMachine(workspaceId, machineId);
+        File logsFile = getMachineLogsFile(machineId);
+        if (!logsFile.isFile()) {
+            throw new NotFoundException(format("Logs of machine '%s' are not available", machineId));
+        }
+        try {
+            return ConcurrentFileLineConsumer.tail(logsFile, lines);
+        } catch (IOException e) {
+            throw new ServerException(format("Unable read logs of machine '%s'. %s", machineId, e.getMessage()), e);
+        }
+    }
+
     /**
      * Starts provided environment.
      *
@@ -578,10 +639,12 @@ public class CheEnvironmentEngine {
                   internalEnv);
 
         List<String> servicesOrder = startStrategy.order(internalEnv);
+        Map<String, Set<String>> dependencies = startStrategy.dependencies(internalEnv);
 
         normalizeNames(internalEnv);
 
         EnvironmentHolder environmentHolder = new EnvironmentHolder(servicesOrder,
+                                                                    dependencies,
                                                                     internalEnv,
                                                                     envConfig,
                                                                     messageConsumer,
@@ -732,10 +795,12 @@ public class CheEnvironmentEngine {
             throws ServerException,
                    EnvironmentException {
         // Starting all machines in environment one by one by getting configs
-        // from the corresponding starting queue.
+        // from the corresponding starting queue, or concurrently in order
+        // defined by dependencies between machines if parallel start is enabled.
         // Config will be null only if there are no machines left in the queue
         String envName;
         MessageConsumer<MachineLogMessage> envLogger;
+        Map<String, Set<String>> dependencies;
         String creator = EnvironmentContext.getCurrent().getSubject().getUserId();
         try (@SuppressWarnings("unused") Unlocker u = stripedLocks.readLock(workspaceId)) {
             EnvironmentHolder environmentHolder = environments.get(workspaceId);
@@ -744,126 +809,30 @@ public class CheEnvironmentEngine {
             }
             envName = environmentHolder.name;
             envLogger = environmentHolder.logger;
+            dependencies = environmentHolder.dependencies;
         }
 
+        QueuedMachineStarter queuedMachineStarter = machineName -> startQueuedMachine(namespace,
+                                                                                      workspaceId,
+                                                                                      envName,
+                                                                                      envLogger,
+                                                                                      creator,
+                                                                                      devMachineName,
+                                                                                      networkId,
+                                                                                      recover,
+                                                                                      startedHandler,
+                                                                                      machineName);
         try {
             machineProvider.createNetwork(networkId);
 
-            String machineName = queuePeekOrFail(workspaceId);
-            while (machineName != null) {
-                boolean isDev = devMachineName.equals(machineName);
-                // Environment start is failed when any machine start is failed, so if any error
-                // occurs during machine creation then environment start fail is reported and
-                // start resources such as queue and descriptor must be cleaned up
-
-                CheServiceImpl service;
-                @Nullable ExtendedMachine extendedMachine;
-                try (@SuppressWarnings("unused") Unlocker u = stripedLocks.readLock(workspaceId)) {
-                    EnvironmentHolder environmentHolder = environments.get(workspaceId);
-                    if (environmentHolder == null) {
-                        throw new ServerException("Environment start is interrupted.");
-                    }
-                    service = environmentHolder.environment.getServices().get(machineName);
-                    extendedMachine = environmentHolder.environmentConfig.getMachines().get(machineName);
-                }
-                // should not happen
-                if (service == null) {
-                    LOG.error("Start of machine with name {} in workspace {} failed. Machine not found in start queue",
-                              machineName, workspaceId);
-                    throw new ServerException(
-                            format("Environment of workspace with ID '%s' failed due to internal error", workspaceId));
-                }
-
-                final String finalMachineName = machineName;
-                // needed to reuse startInstance method and
-                // create machine instances by different implementation-specific providers
-                MachineStarter machineStarter = (machineLogger, machineSource) -> {
-                    CheServiceImpl serviceWithNormalizedSource = normalizeServiceSource(service, machineSource);
-                    return machineProvider.startService(namespace,
-                                                        workspaceId,
-                                                        envName,
-                                                        finalMachineName,
-                                                        isDev,
-                                                        networkId,
-                                                        serviceWithNormalizedSource,
-                                                        machineLogger);
-                };
-
-                MachineImpl machine =
-                        MachineImpl.builder()
-                                   .setConfig(MachineConfigImpl.builder()
-                                                               .setDev(isDev)
-                                                               .setLimits(new MachineLimitsImpl(
-                                                                       bytesToMB(service.getMemLimit())))
-                                                               .setType("docker")
-                                                               .setName(machineName)
-                                                               .setEnvVariables(service.getEnvironment())
-                                                               .build())
-                                   .setId(service.getId())
-                                   .setWorkspaceId(workspaceId)
-                                   .setStatus(MachineStatus.CREATING)
-                                   .setEnvName(envName)
-                                   .setOwner(creator)
-                                   .build();
-
-                checkInterruption(workspaceId, envName);
-                Instance instance = startInstance(recover,
-                                                  envLogger,
-                                                  machine,
-                                                  machineStarter);
-                checkInterruption(workspaceId, envName);
-
-                startedHandler.started(instance, extendedMachine);
-                checkInterruption(workspaceId, envName);
-
-                // Machine destroying is an expensive operation which must be
-                // performed outside of the lock, this section checks if
-                // the environment wasn't stopped while it is starting and sets
-                // polled flag to true if the environment wasn't stopped.
-                // Also polls the proceeded machine configuration from the queue
-                boolean queuePolled = false;
-                try (@SuppressWarnings("unused") Unlocker u = stripedLocks.writeLock(workspaceId)) {
-                    ensurePreDestroyIsNotExecuted();
-                    EnvironmentHolder environmentHolder = environments.get(workspaceId);
-                    if (environmentHolder != null) {
-                        final Queue<String> queue = environmentHolder.startQueue;
-                        if (queue != null) {
-                            queue.poll();
-                            queuePolled = true;
-                        }
-                    }
-                }
-
-                // If machine config is not polled from the queue
-                // then environment was stopped and newly created machine
-                // must be destroyed
-                if (!queuePolled) {
-                    try {
-                        eventService.publish(newDto(MachineStatusEvent.class)
-                                                     .withEventType(MachineStatusEvent.EventType.DESTROYING)
-                                                     .withDev(isDev)
-                                                     .withMachineName(machineName)
-                                                     .withMachineId(instance.getId())
-                                                     .withWorkspaceId(workspaceId));
-
-                        instance.destroy();
-
-                        removeMachine(workspaceId, instance.getId());
-
-                        eventService.publish(newDto(MachineStatusEvent.class)
-                                                     .withEventType(MachineStatusEvent.EventType.DESTROYED)
-                                                     .withDev(isDev)
-                                                     .withMachineName(machineName)
-                                                     .withMachineId(instance.getId())
-                                                     .withWorkspaceId(workspaceId));
-                    } catch (MachineException e) {
-                        LOG.error(e.getLocalizedMessage(), e);
-                    }
-                    throw new ServerException("Workspace '" + workspaceId +
-                                              "' start interrupted. Workspace stopped before all its machines started");
+            if (parallelMachineStart && dependencies.size() > 1) {
+                startInParallel(workspaceId, envName, dependencies, queuedMachineStarter);
+            } else {
+                String machineName = queuePeekOrFail(workspaceId);
+                while (machineName != null) {
+                    queuedMachineStarter.start(machineName);
+                    machineName = queuePeekOrFail(workspaceId);
                 }
-
-                machineName = queuePeekOrFail(workspaceId);
             }
         } catch (RuntimeException | ServerException | EnvironmentStartInterruptedException e) {
             boolean interrupted = Thread.interrupted();
@@ -891,6 +860,219 @@ public class CheEnvironmentEngine {
         }
     }
 
+    /**
+     * Starts machine from machine queue of environment and removes it from the queue.
+     */
+    private void startQueuedMachine(String namespace,
+                                    String workspaceId,
+                                    String envName,
+                                    MessageConsumer<MachineLogMessage> envLogger,
+                                    String creator,
+                                    String devMachineName,
+                                    String networkId,
+                                    boolean recover,
+                                    MachineStartedHandler startedHandler,
+                                    String machineName) throws ServerException,
+                                                               EnvironmentException {
+        boolean isDev = devMachineName.equals(machineName);
+        // Environment start is failed when any machine start is failed, so if any error
+        // occurs during machine creation then environment start fail is reported and
+        // start resources such as queue and descriptor must be cleaned up
+
+        CheServiceImpl service;
+        @Nullable ExtendedMachine extendedMachine;
+        try (@SuppressWarnings("unused") Unlocker u = stripedLocks.readLock(workspaceId)) {
+            EnvironmentHolder environmentHolder = environments.get(workspaceId);
+            if (environmentHolder == null) {
+                throw new ServerException("Environment start is interrupted.");
+            }
+            service = environmentHolder.environment.getServices().get(machineName);
+            extendedMachine = environmentHolder.environmentConfig.getMachines().get(machineName);
+        }
+        // should not happen
+        if (service == null) {
+            LOG.error("Start of machine with name {} in workspace {} failed. Machine not found in start queue",
+                      machineName, workspaceId);
+            throw new ServerException(
+                    format("Environment of workspace with ID '%s' failed due to internal error", workspaceId));
+        }
+
+        // needed to reuse startInstance method and
+        // create machine instances by different implementation-specific providers
+        MachineStarter machineStarter = (machineLogger, machineSource) -> {
+            CheServiceImpl serviceWithNormalizedSource = normalizeServiceSource(service, machineSource);
+            return machineProvider.startService(namespace,
+                                                workspaceId,
+                                                envName,
+                                                machineName,
+                                                isDev,
+                                                networkId,
+                                                serviceWithNormalizedSource,
+                                                machineLogger);
+        };
+
+        MachineImpl machine =
+                MachineImpl.builder()
+                           .setConfig(MachineConfigImpl.builder()
+                                                       .setDev(isDev)
+                                                       .setLimits(new MachineLimitsImpl(
+                                                               bytesToMB(service.getMemLimit())))
+                                                       .setType("docker")
+                                                       .setName(machineName)
+                                                       .setEnvVariables(service.getEnvironment())
+                                                       .build())
+                           .setId(service.getId())
+                           .setWorkspaceId(workspaceId)
+                           .setStatus(MachineStatus.CREATING)
+                           .setEnvName(envName)
+                           .setOwner(creator)
+                           .build();
+
+        checkInterruption(workspaceId, envName);
+        Instance instance = startInstance(recover,
+                                          envLogger,
+                                          machine,
+                                          machineStarter);
+        checkInterruption(workspaceId, envName);
+
+        startedHandler.started(instance, extendedMachine);
+        checkInterruption(workspaceId, envName);
+
+        // Machine destroying is an expensive operation which must be
+        // performed outside of the lock, this section checks if
+        // the environment wasn't stopped while it is starting and sets
+        // polled flag to true if the environment wasn't stopped.
+        // Also removes the proceeded machine configuration from the queue
+        boolean queuePolled = false;
+        try (@SuppressWarnings("unused") Unlocker u = stripedLocks.writeLock(workspaceId)) {
+            ensurePreDestroyIsNotExecuted();
+            EnvironmentHolder environmentHolder = environments.get(workspaceId);
+            if (environmentHolder != null) {
+                final Queue<String> queue = environmentHolder.startQueue;
+                if (queue != null) {
+                    queue.remove(machineName);
+                    queuePolled = true;
+                }
+            }
+        }
+
+        // If machine config is not polled from the queue
+        // then environment was stopped and newly created machine
+        // must be destroyed
+        if (!queuePolled) {
+            try {
+                eventService.publish(newDto(MachineStatusEvent.class)
+                                             .withEventType(MachineStatusEvent.EventType.DESTROYING)
+                                             .withDev(isDev)
+                                             .withMachineName(machineName)
+                                             .withMachineId(instance.getId())
+                                             .withWorkspaceId(workspaceId));
+
+                instance.destroy();
+
+                removeMachine(workspaceId, instance.getId());
+
+                eventService.publish(newDto(MachineStatusEvent.class)
+                                             .withEventType(MachineStatusEvent.EventType.DESTROYED)
+                                             .withDev(isDev)
+                                             .withMachineName(machineName)
+                                             .withMachineId(instance.getId())
+                                             .withWorkspaceId(workspaceId));
+            } catch (MachineException e) {
+                LOG.error(e.getLocalizedMessage(), e);
+            }
+            throw new ServerException("Workspace '" + workspaceId +
+                                      "' start interrupted. Workspace stopped before all its machines started");
+        }
+    }
+
+    /**
+     * Starts machines of environment concurrently, each machine is started as soon as all machines
+     * it depends on are started. If start of any machine fails, machines which are not started yet
+     * are not started at all and starting ones are interrupted, method returns when all
+     * the started tasks are finished, so all the created machines are in the environment.
+     */
+    private void startInParallel(String workspaceId,
+                                 String envName,
+                                 Map<String, Set<String>> dependencies,
+                                 QueuedMachineStarter queuedMachineStarter) throws ServerException,
+                                                                                   EnvironmentException {
+        Map<String, Set<String>> notStarted = new HashMap<>();
+        dependencies.forEach((machineName, machineDependencies) -> notStarted.put(machineName,
+                                                                                  new HashSet<>(machineDependencies)));
+        BlockingQueue<ParallelStartTask> finished = new LinkedBlockingQueue<>();
+        List<ParallelStartTask> tasks = new ArrayList<>();
+        int running = 0;
+        Exception error = null;
+        try {
+            while (!notStarted.isEmpty() || running > 0) {
+                for (Iterator<Map.Entry<String, Set<String>>> it = notStarted.entrySet().iterator(); it.hasNext(); ) {
+                    Map.Entry<String, Set<String>> entry = it.next();
+                    if (entry.getValue().isEmpty()) {
+                        queuePeekOrFail(workspaceId);
+                        ParallelStartTask task = new ParallelStartTask(entry.getKey(), queuedMachineStarter, finished);
+                        getParallelStartExecutor().execute(ThreadLocalPropagateContext.wrap(task));
+                        tasks.add(task);
+                        running++;
+                        it.remove();
+                    }
+                }
+                // should not happen, cycles are checked by start strategy
+                if (running == 0) {
+                    throw new ServerException(format("Start order of machines '%s' can't be evaluated",
+                                                     notStarted.keySet()));
+                }
+                ParallelStartTask task = finished.take();
+                running--;
+                if (task.error != null) {
+                    error = task.error;
+                    break;
+                }
+                notStarted.values().forEach(machineDependencies -> machineDependencies.remove(task.machineName));
+            }
+        } catch (InterruptedException e) {
+            error = new EnvironmentStartInterruptedException(workspaceId, envName);
+        } catch (RuntimeException | ServerException e) {
+            error = e;
+        }
+
+        if (error != null) {
+            // fail fast, interrupt starting machines and don't start the rest, but wait for
+            // the interrupted starts, so the environment is destroyed with all its machines
+            tasks.forEach(ParallelStartTask::cancel);
+            while (running > 0) {
+                Uninterruptibles.takeUninterruptibly(finished);
+                running--;
+            }
+            try {
+                throw error;
+            } catch (ServerException | EnvironmentException | RuntimeException rethrow) {
+                throw rethrow;
+            } catch (Exception wrap) {
+                throw new ServerException(wrap.getMessage(), wrap);
+            }
+        }
+    }
+
+    private synchronized ExecutorService getParallelStartExecutor() {
+        if (parallelStartExecutor == null) {
+            parallelStartExecutor = Executors.newFixedThreadPool(parallelMachineStartThreads,
+                                                                 new ThreadFactoryBuilder().setNameFormat("ParallelMachineStart-%d")
+                                                                                           .setUncaughtExceptionHandler(
+                                                                                                   LoggingUncaughtExceptionHandler
+                                                                                                           .getInstance())
+                                                                                           .setDaemon(true)
+                                                                                           .build());
+        }
+        return parallelStartExecutor;
+    }
+
+    @VisibleForTesting
+    void setParallelMachineStart(boolean parallelMachineStart, int threads) {
+        this.parallelMachineStart = parallelMachineStart;
+        this.parallelMachineStartThreads = threads;
+    }
+
     private void checkInterruption(String workspaceId, String envName) throws EnvironmentStartInterruptedException {
         if (Thread.interrupted()) {
             throw new EnvironmentStartInterruptedException(workspaceId, envName);
@@ -906,6 +1088,7 @@ public class CheEnvironmentEngine {
 
         LineConsumer machineLogger = null;
         Instance instance = null;
+        long startTime = System.currentTimeMillis();
         try {
             addMachine(machine);
 
@@ -957,12 +1140,16 @@ public class CheEnvironmentEngine {
 
             replaceMachine(instance);
 
+            long startDuration = System.currentTimeMillis() - startTime;
+            LOG.debug("Machine {} of workspace {} started in {}ms",
+                      machine.getConfig().getName(), machine.getWorkspaceId(), startDuration);
             eventService.publish(newDto(MachineStatusEvent.class)
                                          .withEventType(MachineStatusEvent.EventType.RUNNING)
                                          .withDev(machine.getConfig().isDev())
                                          .withMachineName(machine.getConfig().getName())
                                          .withMachineId(instance.getId())
-                                         .withWorkspaceId(machine.getWorkspaceId()));
+                                         .withWorkspaceId(machine.getWorkspaceId())
+                                         .withStartDuration(startDuration));
 
             return instance;
         } catch (ApiException | RuntimeException e) {
@@ -1005,6 +1192,62 @@ public class CheEnvironmentEngine {
         }
     }
 
+    private interface QueuedMachineStarter {
+        void start(String machineName) throws ServerException, EnvironmentException;
+    }
+
+    /**
+     * Starts a single machine of environment on the parallel start pool and reports itself
+     * to the {@code finished} queue, even if it was cancelled before it is run.
+     */
+    private static class ParallelStartTask implements Runnable {
+        final String                           machineName;
+        final QueuedMachineStarter             starter;
+        final BlockingQueue<ParallelStartTask> finished;
+
+        volatile Exception error;
+
+        private boolean cancelled;
+        private Thread  thread;
+
+        ParallelStartTask(String machineName,
+                          QueuedMachineStarter starter,
+                          BlockingQueue<ParallelStartTask> finished) {
+            this.machineName = machineName;
+            this.starter = starter;
+            this.finished = finished;
+        }
+
+        @Override
+        public void run() {
+            try {
+                synchronized (this) {
+                    if (cancelled) {
+                        return;
+                    }
+                    thread = Thread.currentThread();
+                }
+                starter.start(machineName);
+            } catch (Exception e) {
+                error = e;
+            } finally {
+                synchronized (this) {
+                    thread = null;
+                    // pool thread must not be left interrupted by cancellation
+                    Thread.interrupted();
+                }
+                finished.add(this);
+            }
+        }
+
+        synchronized void cancel() {
+            cancelled = true;
+            if (thread != null) {
+                thread.interrupt();
+            }
+        }
+    }
+
     private interface MachineStarter {
         Instance startMachine(LineConsumer machineLogger,
                               MachineSource machineSource) throws ServerException,
@@ -1201,6 +1444,11 @@ public class CheEnvironmentEngine {
     @SuppressWarnings("unused")
     void cleanup() {
         isPreDestroyInvoked = true;
+        synchronized (this) {
+            if (parallelStartExecutor != null) {
+                parallelStartExecutor.shutdown();
+            }
+        }
         final java.io.File[] files = machineLogsDir.listFiles();
         if (files != null && files.length > 0) {
             for (java.io.File f : files) {
@@ -1223,7 +1471,9 @@ public class CheEnvironmentEngine {
             }
         };
         try {
-            return new ConcurrentCompositeLineConsumer(new ConcurrentFileLineConsumer(getMachineLogsFile(machineId)),
+            return new ConcurrentCompositeLineConsumer(new ConcurrentFileLineConsumer(getMachineLogsFile(machineId),
+                                                                                      maxLogsFileSize,
+                                                                                      maxRotatedLogsFiles),
                                                        lineConsumer);
         } catch (IOException e) {
             throw new MachineException(format("Unable create log file '%s' for machine '%s'.",
@@ -1312,6 +1562,7 @@ public class CheEnvironmentEngine {
 
     private static class EnvironmentHolder {
         final Queue<String>                      startQueue;
+        final Map<String, Set<String>>           dependencies;
         final CheServicesEnvironmentImpl         environment;
         final MessageConsumer<MachineLogMessage> logger;
         final String                             name;
@@ -1322,6 +1573,7 @@ public class CheEnvironmentEngine {
         EnvStatus      status;
 
         EnvironmentHolder(List<String> startQueue,
+                          Map<String, Set<String>> dependencies,
                           CheServicesEnvironmentImpl environment,
                           Environment environmentConfig,
                           MessageConsumer<MachineLogMessage> envLogger,
@@ -1329,6 +1581,7 @@ public class CheEnvironmentEngine {
                           String name,
                           String networkId) {
             this.startQueue = new ArrayDeque<>(startQueue);
+            this.dependencies = dependencies;
             this.machines = new CopyOnWriteArrayList<>();
             this.logger = envLogger;
             this.status = envStatus;
@@ -41,23 +41,22 @@ public class DefaultServicesStartStrategy {
      */
     public List<String> order(CheServicesEnvironmentImpl composeEnvironment) throws IllegalArgumentException {
 
-        Map<String, Integer> weights = weightMachines(composeEnvironment.getServices());
+        Map<String, Integer> weights = weightMachines(composeEnvironment);
 
         return sortByWeight(weights);
     }
 
     /**
-     * Returns mapping of names of machines to its weights in dependency graph.
+     * Returns mapping of names of machines to names of machines they depend on.
+     * Services from {@code depends_on}, {@code links} and {@code volumes_from} are counted as dependencies.
      *
      * @throws IllegalArgumentException
-     *         if weights of machines can not be calculated
+     *         if dependency of a machine is invalid
      */
-    private Map<String, Integer> weightMachines(Map<String, CheServiceImpl> services)
+    public Map<String, Set<String>> dependencies(CheServicesEnvironmentImpl composeEnvironment)
             throws IllegalArgumentException {
 
-        HashMap<String, Integer> weights = new HashMap<>();
-
-        // create machines dependency graph
+        Map<String, CheServiceImpl> services = composeEnvironment.getServices();
         Map<String, Set<String>> dependencies = new HashMap<>(services.size());
         for (Map.Entry<String, CheServiceImpl> serviceEntry : services.entrySet()) {
             CheServiceImpl service = serviceEntry.getValue();
@@ -85,6 +84,22 @@ public class DefaultServicesStartStrategy {
             }
             dependencies.put(serviceEntry.getKey(), machineDependencies);
         }
+        return dependencies;
+    }
+
+    /**
+     * Returns mapping of names of machines to its weights in dependency graph.
+     *
+     * @throws IllegalArgumentException
+     *         if weights of machines can not be calculated
+     */
+    private Map<String, Integer> weightMachines(CheServicesEnvironmentImpl composeEnvironment)
+            throws IllegalArgumentException {
+
+        HashMap<String, Integer> weights = new HashMap<>();
+
+        // create machines dependency graph
+        Map<String, Set<String>> dependencies = dependencies(composeEnvironment);
 
         // Find weight of each machine in graph.
         // Weight of machine is calculated as sum of all weights of machines it depends on.
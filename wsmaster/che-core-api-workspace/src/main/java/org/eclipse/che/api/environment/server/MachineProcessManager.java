@@ -17,6 +17,7 @@ import org.eclipse.che.api.core.BadRequestException;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.ForbiddenException;
 import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.model.machine.Command;
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.core.util.CompositeLineConsumer;
@@ -219,6 +220,16 @@ public class MachineProcessManager {
         throw new NotFoundException(String.format("Logs for process '%s' of machine '%s' are not available", pid, machineId));
     }
 
+    /**
+     * Returns last lines of logs of the machine.
+     *
+     * @see CheEnvironmentEngine#getMachineLogs(String, String, int)
+     */
+    public List<String> getMachineLogs(String workspaceId, String machineId, int lines) throws NotFoundException,
+                                                                                               ServerException {
+        return environmentEngine.getMachineLogs(workspaceId, machineId, lines);
+    }
+
     private File getProcessLogsFile(String machineId, int pid) {
         return new File(new File(machineLogsDir, machineId), Integer.toString(pid));
     }
@@ -38,6 +38,7 @@ import javax.inject.Inject;
 import javax.servlet.http.HttpServletResponse;
 import javax.ws.rs.Consumes;
 import javax.ws.rs.DELETE;
+import javax.ws.rs.DefaultValue;
 import javax.ws.rs.GET;
 import javax.ws.rs.POST;
 import javax.ws.rs.Path;
@@ -48,6 +49,7 @@ import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
 import java.io.IOException;
 import java.io.Reader;
+import java.io.Writer;
 import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -304,6 +306,39 @@ public class MachineService extends Service {
         addProcessLogsToResponse(machineId, pid, httpServletResponse);
     }
 
+    @GET
+    @Path("/{machineId}/logs")
+    @Produces(MediaType.TEXT_PLAIN)
+    @ApiOperation(value = "Get last lines of machine logs")
+    @ApiResponses({@ApiResponse(code = 200, message = "The response contains logs"),
+                   @ApiResponse(code = 404, message = "Machine with specified ID does not exist or its logs are not available"),
+                   @ApiResponse(code = 500, message = "Internal server error occurred")})
+    public void getMachineLogs(@ApiParam(value = "Workspace ID")
+                               @PathParam("workspaceId")
+                               String workspaceId,
+                               @ApiParam(value = "Machine ID")
+                               @PathParam("machineId")
+                               String machineId,
+                               @ApiParam(value = "Max number of lines to return")
+                               @QueryParam("tail")
+                               @DefaultValue("100")
+                               int lines,
+                               @Context
+                               HttpServletResponse httpServletResponse)
+            throws NotFoundException,
+                   ServerException,
+                   IOException {
+
+        final List<String> logs = machineProcessManager.getMachineLogs(workspaceId, machineId, lines);
+        httpServletResponse.setContentType("text/plain");
+        final Writer writer = httpServletResponse.getWriter();
+        for (String line : logs) {
+            writer.write(line);
+            writer.write('\n');
+        }
+        writer.flush();
+    }
+
     /**
      * Checks only one of the given object reference is {@code null}
      *
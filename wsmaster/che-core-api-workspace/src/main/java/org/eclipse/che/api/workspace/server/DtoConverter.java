@@ -22,6 +22,7 @@ import org.eclipse.che.api.core.model.workspace.WorkspaceConfig;
 import org.eclipse.che.api.core.model.workspace.WorkspaceRuntime;
 import org.eclipse.che.api.machine.shared.dto.CommandDto;
 import org.eclipse.che.api.machine.shared.dto.SnapshotDto;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummaryImpl;
 import org.eclipse.che.api.workspace.server.model.impl.stack.StackImpl;
 import org.eclipse.che.api.workspace.shared.dto.EnvironmentDto;
 import org.eclipse.che.api.workspace.shared.dto.EnvironmentRecipeDto;
@@ -32,6 +33,7 @@ import org.eclipse.che.api.workspace.shared.dto.SourceStorageDto;
 import org.eclipse.che.api.workspace.shared.dto.WorkspaceConfigDto;
 import org.eclipse.che.api.workspace.shared.dto.WorkspaceDto;
 import org.eclipse.che.api.workspace.shared.dto.WorkspaceRuntimeDto;
+import org.eclipse.che.api.workspace.shared.dto.WorkspaceSummaryDto;
 import org.eclipse.che.api.workspace.shared.dto.stack.StackComponentDto;
 import org.eclipse.che.api.workspace.shared.dto.stack.StackDto;
 import org.eclipse.che.api.workspace.shared.dto.stack.StackSourceDto;
@@ -63,6 +65,15 @@ public final class DtoConverter {
                                          .withRuntime(asDto(workspace.getRuntime()));
     }
 
+    /** Converts {@link WorkspaceSummaryImpl} to {@link WorkspaceSummaryDto}. */
+    public static WorkspaceSummaryDto asDto(WorkspaceSummaryImpl summary) {
+        return newDto(WorkspaceSummaryDto.class).withId(summary.getId())
+                                                .withName(summary.getName())
+                                                .withNamespace(summary.getNamespace())
+                                                .withStatus(summary.getStatus())
+                                                .withUpdated(summary.getUpdated());
+    }
+
     /** Converts {@link WorkspaceConfig} to {@link WorkspaceConfigDto}. */
     public static WorkspaceConfigDto asDto(WorkspaceConfig workspace) {
         List<CommandDto> commands = workspace.getCommands()
@@ -32,6 +32,7 @@ import org.eclipse.che.api.machine.server.spi.SnapshotDao;
 import org.eclipse.che.api.workspace.server.event.WorkspaceCreatedEvent;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummaryImpl;
 import org.eclipse.che.api.workspace.server.spi.WorkspaceDao;
 import org.eclipse.che.api.workspace.shared.dto.event.WorkspaceStatusEvent.EventType;
 import org.eclipse.che.commons.annotation.Nullable;
@@ -251,6 +252,9 @@ public class WorkspaceManager {
      * <p>Returned workspaces have either {@link WorkspaceStatus#STOPPED} status
      * or status defined by their runtime instances(if those exist).
      *
+     * <p>Workspaces are fetched with their configurations and attributes,
+     * use {@link #getSummaries(String, String, int)} when only a list of workspaces is needed.
+     *
      * @param user
      *         the id of the user
      * @param includeRuntimes
@@ -296,6 +300,9 @@ public class WorkspaceManager {
      * <p>Returned workspaces have either {@link WorkspaceStatus#STOPPED} status
      * or status defined by their runtime instances(if those exist).
      *
+     * <p>Workspaces are fetched with their configurations and attributes,
+     * use {@link #getSummariesByNamespace(String, String, int)} when only a list of workspaces is needed.
+     *
      * @param namespace
      *         the namespace to find workspaces
      * @param includeRuntimes
@@ -318,6 +325,59 @@ public class WorkspaceManager {
         return workspaces;
     }
 
+    /**
+     * Gets a page of summaries of workspaces which user can read.
+     *
+     * <p>Workspace configurations, runtimes and attributes are not fetched, so this method
+     * should be used for listing workspaces while {@link #getWorkspace(String)} is used to open one.
+     * Returned summaries have either {@link WorkspaceStatus#STOPPED} status
+     * or status defined by their runtime instances(if those exist).
+     *
+     * @param user
+     *         the id of the user
+     * @param afterId
+     *         id of the last workspace from the previous page, null to get the first page
+     * @param maxItems
+     *         the maximum number of summaries to return
+     * @return the list of summaries ordered by workspace id or empty list if there are no more workspaces
+     * @throws NullPointerException
+     *         when {@code user} is null
+     * @throws ServerException
+     *         when any server error occurs while getting summaries with {@link WorkspaceDao#getSummaries(String, String, int)}
+     */
+    public List<WorkspaceSummaryImpl> getSummaries(String user, @Nullable String afterId, int maxItems) throws ServerException {
+        requireNonNull(user, "Required non-null user id");
+        final List<WorkspaceSummaryImpl> summaries = workspaceDao.getSummaries(user, afterId, maxItems);
+        injectSummaryStatuses(summaries);
+        return summaries;
+    }
+
+    /**
+     * Gets a page of summaries of workspaces which have given namespace.
+     * Summaries are paged the same way as {@link #getSummaries(String, String, int)} do.
+     *
+     * @param namespace
+     *         the namespace to find workspaces
+     * @param afterId
+     *         id of the last workspace from the previous page, null to get the first page
+     * @param maxItems
+     *         the maximum number of summaries to return
+     * @return the list of summaries ordered by workspace id or empty list if there are no more workspaces
+     * @throws NullPointerException
+     *         when {@code namespace} is null
+     * @throws ServerException
+     *         when any server error occurs while getting summaries with
+     *         {@link WorkspaceDao#getSummariesByNamespace(String, String, int)}
+     */
+    public List<WorkspaceSummaryImpl> getSummariesByNamespace(String namespace,
+                                                              @Nullable String afterId,
+                                                              int maxItems) throws ServerException {
+        requireNonNull(namespace, "Required non-null namespace");
+        final List<WorkspaceSummaryImpl> summaries = workspaceDao.getSummariesByNamespace(namespace, afterId, maxItems);
+        injectSummaryStatuses(summaries);
+        return summaries;
+    }
+
     /**
      * Updates an existing workspace with a new configuration.
      *
@@ -936,4 +996,10 @@ public class WorkspaceManager {
             workspace.setStatus(runtimes.getStatus(workspace.getId()));
         }
     }
+
+    private void injectSummaryStatuses(List<WorkspaceSummaryImpl> summaries) {
+        for (WorkspaceSummaryImpl summary : summaries) {
+            summary.setStatus(runtimes.getStatus(summary.getId()));
+        }
+    }
 }
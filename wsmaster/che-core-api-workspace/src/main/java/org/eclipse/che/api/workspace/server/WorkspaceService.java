@@ -37,11 +37,13 @@ import org.eclipse.che.api.machine.shared.dto.SnapshotDto;
 import org.eclipse.che.api.workspace.server.model.impl.EnvironmentImpl;
 import org.eclipse.che.api.workspace.server.model.impl.ProjectConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummaryImpl;
 import org.eclipse.che.api.workspace.shared.dto.EnvironmentDto;
 import org.eclipse.che.api.workspace.shared.dto.EnvironmentRecipeDto;
 import org.eclipse.che.api.workspace.shared.dto.ProjectConfigDto;
 import org.eclipse.che.api.workspace.shared.dto.WorkspaceConfigDto;
 import org.eclipse.che.api.workspace.shared.dto.WorkspaceDto;
+import org.eclipse.che.api.workspace.shared.dto.WorkspaceSummaryDto;
 import org.eclipse.che.api.workspace.shared.dto.WsAgentHealthStateDto;
 import org.eclipse.che.commons.env.EnvironmentContext;
 
@@ -195,7 +197,8 @@ public class WorkspaceService extends Service {
     @Produces(APPLICATION_JSON)
     @GenerateLink(rel = LINK_REL_GET_WORKSPACES)
     @ApiOperation(value = "Get workspaces which user can read",
-                  notes = "This operation can be performed only by authorized user",
+                  notes = "This operation can be performed only by authorized user. " +
+                          "Workspaces are fetched with their configurations, use 'summary' for listing workspaces",
                   response = WorkspaceDto.class,
                   responseContainer = "List")
     @ApiResponses({@ApiResponse(code = 200, message = "The workspaces successfully fetched"),
@@ -224,7 +227,8 @@ public class WorkspaceService extends Service {
     @Produces(APPLICATION_JSON)
     @GenerateLink(rel = LINK_REL_GET_BY_NAMESPACE)
     @ApiOperation(value = "Get workspaces by given namespace",
-                  notes = "This operation can be performed only by authorized user",
+                  notes = "This operation can be performed only by authorized user. " +
+                          "Workspaces are fetched with their configurations, use 'summary/namespace' for listing workspaces",
                   response = WorkspaceDto.class,
                   responseContainer = "List")
     @ApiResponses({@ApiResponse(code = 200, message = "The workspaces successfully fetched"),
@@ -242,6 +246,54 @@ public class WorkspaceService extends Service {
                                .collect(toList());
     }
 
+    @GET
+    @Path("/summary")
+    @Produces(APPLICATION_JSON)
+    @ApiOperation(value = "Get summaries of workspaces which user can read",
+                  notes = "Summaries are ordered by workspace id, the next page starts after the id of the last workspace " +
+                          "from the previous page, its uri is provided by the 'Link' header with 'next' relation",
+                  response = WorkspaceSummaryDto.class,
+                  responseContainer = "List")
+    @ApiResponses({@ApiResponse(code = 200, message = "The summaries successfully fetched"),
+                   @ApiResponse(code = 400, message = "Missed required parameters, parameters are not valid"),
+                   @ApiResponse(code = 500, message = "Internal server error occurred during summaries fetching")})
+    public Response getSummaries(@ApiParam("The id of the last workspace from the previous page")
+                                 @QueryParam("after")
+                                 String afterId,
+                                 @ApiParam("The limit of the items in the response, default is 30")
+                                 @DefaultValue("30")
+                                 @QueryParam("maxItems")
+                                 Integer maxItems) throws ServerException, BadRequestException {
+        checkMaxItems(maxItems);
+        final String userId = EnvironmentContext.getCurrent().getSubject().getUserId();
+        return summariesResponse(workspaceManager.getSummaries(userId, afterId, maxItems), maxItems);
+    }
+
+    @GET
+    @Path("/summary/namespace/{namespace:.*}")
+    @Produces(APPLICATION_JSON)
+    @ApiOperation(value = "Get summaries of workspaces by given namespace",
+                  notes = "Summaries are ordered by workspace id, the next page starts after the id of the last workspace " +
+                          "from the previous page, its uri is provided by the 'Link' header with 'next' relation",
+                  response = WorkspaceSummaryDto.class,
+                  responseContainer = "List")
+    @ApiResponses({@ApiResponse(code = 200, message = "The summaries successfully fetched"),
+                   @ApiResponse(code = 400, message = "Missed required parameters, parameters are not valid"),
+                   @ApiResponse(code = 500, message = "Internal server error occurred during summaries fetching")})
+    public Response getSummariesByNamespace(@ApiParam("The namespace")
+                                            @PathParam("namespace")
+                                            String namespace,
+                                            @ApiParam("The id of the last workspace from the previous page")
+                                            @QueryParam("after")
+                                            String afterId,
+                                            @ApiParam("The limit of the items in the response, default is 30")
+                                            @DefaultValue("30")
+                                            @QueryParam("maxItems")
+                                            Integer maxItems) throws ServerException, BadRequestException {
+        checkMaxItems(maxItems);
+        return summariesResponse(workspaceManager.getSummariesByNamespace(namespace, afterId, maxItems), maxItems);
+    }
+
     @PUT
     @Path("/{id}")
     @Consumes(APPLICATION_JSON)
@@ -756,6 +808,27 @@ public class WorkspaceService extends Service {
         }
     }
 
+    private void checkMaxItems(Integer maxItems) throws BadRequestException {
+        if (maxItems == null || maxItems <= 0) {
+            throw new BadRequestException("The number of items to return must be positive");
+        }
+    }
+
+    /** Creates response with the page of summaries and the link to the next page when the page is full. */
+    private Response summariesResponse(List<WorkspaceSummaryImpl> summaries, int maxItems) {
+        final Response.ResponseBuilder builder = Response.ok(summaries.stream()
+                                                                      .map(DtoConverter::asDto)
+                                                                      .collect(toList()));
+        if (summaries.size() == maxItems) {
+            final String lastId = summaries.get(summaries.size() - 1).getId();
+            builder.header("Link", format("<%s>; rel=\"next\"", uriInfo.getRequestUriBuilder()
+                                                                       .replaceQueryParam("after", lastId)
+                                                                       .replaceQueryParam("maxItems", maxItems)
+                                                                       .build()));
+        }
+        return builder.build();
+    }
+
     /*
      * Validate composite key.
      *
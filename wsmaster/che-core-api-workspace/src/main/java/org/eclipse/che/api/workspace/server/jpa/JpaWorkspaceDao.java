@@ -22,7 +22,9 @@ import org.eclipse.che.api.workspace.server.event.BeforeWorkspaceRemovedEvent;
 import org.eclipse.che.api.workspace.server.event.WorkspaceRemovedEvent;
 import org.eclipse.che.api.workspace.server.model.impl.ProjectConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummaryImpl;
 import org.eclipse.che.api.workspace.server.spi.WorkspaceDao;
+import org.eclipse.che.commons.annotation.Nullable;
 import org.eclipse.che.core.db.cascade.CascadeEventSubscriber;
 import org.eclipse.che.core.db.jpa.DuplicateKeyException;
 
@@ -33,14 +35,20 @@ import javax.inject.Provider;
 import javax.inject.Singleton;
 import javax.persistence.EntityManager;
 import javax.persistence.NoResultException;
+import javax.persistence.TypedQuery;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static java.lang.String.format;
+import static java.util.Arrays.asList;
 import static java.util.Objects.requireNonNull;
 import static java.util.stream.Collectors.toList;
+import static org.eclipse.che.api.workspace.server.WorkspaceManager.CREATED_ATTRIBUTE_NAME;
+import static org.eclipse.che.api.workspace.server.WorkspaceManager.UPDATED_ATTRIBUTE_NAME;
 
 /**
  * JPA based implementation of {@link WorkspaceDao}.
@@ -183,6 +191,77 @@ public class JpaWorkspaceDao implements WorkspaceDao {
         }
     }
 
+    @Override
+    @Transactional
+    public List<WorkspaceSummaryImpl> getSummariesByNamespace(String namespace,
+                                                              @Nullable String afterId,
+                                                              int maxItems) throws ServerException {
+        requireNonNull(namespace, "Required non-null namespace");
+        checkArgument(maxItems >= 0, "The number of items to return can't be negative.");
+        try {
+            return doGetSummaries(managerProvider.get()
+                                                 .createNamedQuery("Workspace.getSummariesByNamespace", WorkspaceSummaryImpl.class)
+                                                 .setParameter("namespace", namespace),
+                                  afterId,
+                                  maxItems);
+        } catch (RuntimeException x) {
+            throw new ServerException(x.getLocalizedMessage(), x);
+        }
+    }
+
+    @Override
+    @Transactional
+    public List<WorkspaceSummaryImpl> getSummaries(String userId, @Nullable String afterId, int maxItems) throws ServerException {
+        checkArgument(maxItems >= 0, "The number of items to return can't be negative.");
+        try {
+            return doGetSummaries(managerProvider.get().createNamedQuery("Workspace.getSummaries", WorkspaceSummaryImpl.class),
+                                  afterId,
+                                  maxItems);
+        } catch (RuntimeException x) {
+            throw new ServerException(x.getLocalizedMessage(), x);
+        }
+    }
+
+    /**
+     * Fetches the page of summaries and fills their update time with a single query
+     * for the attributes of found workspaces, the rest of workspace attributes is not loaded.
+     */
+    private List<WorkspaceSummaryImpl> doGetSummaries(TypedQuery<WorkspaceSummaryImpl> query, String afterId, int maxItems) {
+        final List<WorkspaceSummaryImpl> summaries = query.setParameter("afterId", afterId == null ? "" : afterId)
+                                                          .setMaxResults(maxItems)
+                                                          .getResultList();
+        if (summaries.isEmpty()) {
+            return summaries;
+        }
+        final Map<String, String> updated = new HashMap<>();
+        final Map<String, String> created = new HashMap<>();
+        final List<Object[]> attributes = managerProvider.get()
+                                                         .createNamedQuery("Workspace.getAttributes", Object[].class)
+                                                         .setParameter("ids", summaries.stream()
+                                                                                       .map(WorkspaceSummaryImpl::getId)
+                                                                                       .collect(toList()))
+                                                         .setParameter("keys", asList(UPDATED_ATTRIBUTE_NAME, CREATED_ATTRIBUTE_NAME))
+                                                         .getResultList();
+        for (Object[] attribute : attributes) {
+            (UPDATED_ATTRIBUTE_NAME.equals(attribute[1]) ? updated : created).put((String)attribute[0], (String)attribute[2]);
+        }
+        for (WorkspaceSummaryImpl summary : summaries) {
+            summary.setUpdated(parseTime(updated.getOrDefault(summary.getId(), created.get(summary.getId()))));
+        }
+        return summaries;
+    }
+
+    private static Long parseTime(String time) {
+        if (time == null) {
+            return null;
+        }
+        try {
+            return Long.parseLong(time);
+        } catch (NumberFormatException x) {
+            return null;
+        }
+    }
+
     @Transactional
     protected void doCreate(WorkspaceImpl workspace) {
         if (workspace.getConfig() != null) {
@@ -61,7 +61,21 @@ import java.util.Objects;
                 @NamedQuery(name = "Workspace.getAll",
                             query = "SELECT w FROM Workspace w"),
                 @NamedQuery(name = "Workspace.getByTemporary",
-                            query = "SELECT w FROM Workspace w WHERE w.isTemporary = :temporary")
+                            query = "SELECT w FROM Workspace w WHERE w.isTemporary = :temporary"),
+                @NamedQuery(name = "Workspace.getSummariesByNamespace",
+                            query = "SELECT NEW org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummaryImpl(w.id, w.name, a.name) " +
+                                    "FROM Workspace w JOIN w.account a " +
+                                    "WHERE a.name = :namespace AND w.id > :afterId " +
+                                    "ORDER BY w.id"),
+                @NamedQuery(name = "Workspace.getSummaries",
+                            query = "SELECT NEW org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummaryImpl(w.id, w.name, a.name) " +
+                                    "FROM Workspace w JOIN w.account a " +
+                                    "WHERE w.id > :afterId " +
+                                    "ORDER BY w.id"),
+                @NamedQuery(name = "Workspace.getAttributes",
+                            query = "SELECT w.id, KEY(attr), VALUE(attr) " +
+                                    "FROM Workspace w JOIN w.attributes attr " +
+                                    "WHERE w.id IN :ids AND KEY(attr) IN :keys")
 
         }
 )
@@ -0,0 +1,107 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.workspace.server.model.impl;
+
+import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
+
+import java.util.Objects;
+
+/**
+ * Lightweight view of the {@link WorkspaceImpl} which is used for listing workspaces,
+ * it doesn't contain workspace configuration, runtime and attributes.
+ */
+public class WorkspaceSummaryImpl {
+
+    private String          id;
+    private String          name;
+    private String          namespace;
+    private WorkspaceStatus status;
+    private Long            updated;
+
+    public WorkspaceSummaryImpl(String id, String name, String namespace) {
+        this.id = id;
+        this.name = name;
+        this.namespace = namespace;
+    }
+
+    public WorkspaceSummaryImpl(String id, String name, String namespace, WorkspaceStatus status, Long updated) {
+        this(id, name, namespace);
+        this.status = status;
+        this.updated = updated;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getNamespace() {
+        return namespace;
+    }
+
+    public WorkspaceStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(WorkspaceStatus status) {
+        this.status = status;
+    }
+
+    /** Returns time in milliseconds when workspace was last updated or created, or null when it is unknown. */
+    public Long getUpdated() {
+        return updated;
+    }
+
+    public void setUpdated(Long updated) {
+        this.updated = updated;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof WorkspaceSummaryImpl)) {
+            return false;
+        }
+        final WorkspaceSummaryImpl that = (WorkspaceSummaryImpl)obj;
+        return Objects.equals(id, that.id)
+               && Objects.equals(name, that.name)
+               && Objects.equals(namespace, that.namespace)
+               && Objects.equals(status, that.status)
+               && Objects.equals(updated, that.updated);
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 7;
+        hash = 31 * hash + Objects.hashCode(id);
+        hash = 31 * hash + Objects.hashCode(name);
+        hash = 31 * hash + Objects.hashCode(namespace);
+        hash = 31 * hash + Objects.hashCode(status);
+        hash = 31 * hash + Objects.hashCode(updated);
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return "WorkspaceSummaryImpl{" +
+               "id='" + id + '\'' +
+               ", name='" + name + '\'' +
+               ", namespace='" + namespace + '\'' +
+               ", status=" + status +
+               ", updated=" + updated +
+               '}';
+    }
+}
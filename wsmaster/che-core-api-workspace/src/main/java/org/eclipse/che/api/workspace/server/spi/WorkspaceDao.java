@@ -14,6 +14,8 @@ import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummaryImpl;
+import org.eclipse.che.commons.annotation.Nullable;
 
 import java.util.List;
 
@@ -159,4 +161,48 @@ public interface WorkspaceDao {
      *         when {@code maxItems} or {@code skipCount} is negative
      */
     List<WorkspaceImpl> getWorkspaces(boolean isTemporary, int skipCount, int maxItems) throws ServerException;
+
+    /**
+     * Gets summaries of workspaces in given namespace ordered by workspace id.
+     *
+     * <p>Summaries are paged by the key: the next page starts after
+     * the id of the last workspace from the previous page.
+     *
+     * @param namespace
+     *         workspace namespace
+     * @param afterId
+     *         id of the workspace after which summaries are returned, null to start from the first workspace
+     * @param maxItems
+     *         the maximum number of summaries to return
+     * @return list of summaries or empty list if no workspaces were found
+     * @throws NullPointerException
+     *         when {@code namespace} is null
+     * @throws IllegalArgumentException
+     *         when {@code maxItems} is negative
+     * @throws ServerException
+     *         when any other error occurs during summaries fetching
+     */
+    List<WorkspaceSummaryImpl> getSummariesByNamespace(String namespace, @Nullable String afterId, int maxItems) throws ServerException;
+
+    /**
+     * Gets summaries of workspaces which user can read ordered by workspace id.
+     * Summaries are paged the same way as {@link #getSummariesByNamespace(String, String, int)} do.
+     *
+     * <p>Note that {@code userId} is not used by the JPA implementation, it returns summaries of all
+     * workspaces the same way as {@link #getWorkspaces(String)} returns all workspaces.
+     * The user is taken into account by implementations which check workspace permissions.
+     *
+     * @param userId
+     *         id of user
+     * @param afterId
+     *         id of the workspace after which summaries are returned, null to start from the first workspace
+     * @param maxItems
+     *         the maximum number of summaries to return
+     * @return list of summaries or empty list if no workspaces were found
+     * @throws IllegalArgumentException
+     *         when {@code maxItems} is negative
+     * @throws ServerException
+     *         when any other error occurs during summaries fetching
+     */
+    List<WorkspaceSummaryImpl> getSummaries(String userId, @Nullable String afterId, int maxItems) throws ServerException;
 }
@@ -70,6 +70,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
 
 import static java.lang.String.format;
 import static java.util.Arrays.asList;
@@ -330,6 +333,164 @@ public class CheEnvironmentEngineTest {
         }
     }
 
+    @Test(timeOut = 10_000)
+    public void shouldStartIndependentMachinesConcurrentlyWhenParallelStartIsEnabled() throws Exception {
+        // given
+        engine.setParallelMachineStart(true, 2);
+        EnvironmentImpl env = createEnv();
+        String envName = "env-1";
+        String workspaceId = "wsId";
+        // each machine start waits for start of the other one, so sequential start would fail
+        CyclicBarrier bothStarting = new CyclicBarrier(2);
+        when(machineProvider.startService(anyString(),
+                                          eq(workspaceId),
+                                          eq(envName),
+                                          anyString(),
+                                          anyBoolean(),
+                                          anyString(),
+                                          any(CheServiceImpl.class),
+                                          any(LineConsumer.class)))
+                .thenAnswer(invocationOnMock -> {
+                    bothStarting.await(5, TimeUnit.SECONDS);
+                    Object[] arguments = invocationOnMock.getArguments();
+                    return spy(new NoOpMachineInstance(createMachine(workspaceId,
+                                                                     envName,
+                                                                     (CheServiceImpl)arguments[6],
+                                                                     (String)arguments[3],
+                                                                     (boolean)arguments[4])));
+                });
+        when(environmentParser.parse(env)).thenReturn(createCheServicesEnv());
+
+        // when
+        List<Instance> machines = engine.start(workspaceId,
+                                               envName,
+                                               env,
+                                               false,
+                                               messageConsumer,
+                                               startedHandler);
+
+        // then
+        assertEquals(machines.size(), 2);
+        verify(startedHandler, times(2)).started(any(Instance.class), any(ExtendedMachine.class));
+        ArgumentCaptor<MachineStatusEvent> captor = ArgumentCaptor.forClass(MachineStatusEvent.class);
+        verify(eventService, times(4)).publish(captor.capture());
+        assertEquals(captor.getAllValues()
+                           .stream()
+                           .filter(event -> event.getEventType() == MachineStatusEvent.EventType.RUNNING)
+                           .count(), 2);
+    }
+
+    @Test(timeOut = 10_000)
+    public void shouldStartMachineAfterMachinesItDependsOnWhenParallelStartIsEnabled() throws Exception {
+        // given
+        engine.setParallelMachineStart(true, 2);
+        EnvironmentImpl env = createEnv();
+        String envName = "env-1";
+        String workspaceId = "wsId";
+        CheServicesEnvironmentImpl cheServicesEnv = createCheServicesEnv();
+        cheServicesEnv.getServices().get("dev-machine").setDependsOn(singletonList("machine2"));
+        List<String> startOrder = new CopyOnWriteArrayList<>();
+        when(machineProvider.startService(anyString(),
+                                          eq(workspaceId),
+                                          eq(envName),
+                                          anyString(),
+                                          anyBoolean(),
+                                          anyString(),
+                                          any(CheServiceImpl.class),
+                                          any(LineConsumer.class)))
+                .thenAnswer(invocationOnMock -> {
+                    Object[] arguments = invocationOnMock.getArguments();
+                    startOrder.add((String)arguments[3]);
+                    return spy(new NoOpMachineInstance(createMachine(workspaceId,
+                                                                     envName,
+                                                                     (CheServiceImpl)arguments[6],
+                                                                     (String)arguments[3],
+                                                                     (boolean)arguments[4])));
+                });
+        when(environmentParser.parse(env)).thenReturn(cheServicesEnv);
+
+        // when
+        engine.start(workspaceId,
+                     envName,
+                     env,
+                     false,
+                     messageConsumer,
+                     startedHandler);
+
+        // then
+        assertEquals(startOrder, asList("machine2", "dev-machine"));
+    }
+
+    @Test(timeOut = 10_000)
+    public void shouldNotStartRestOfMachinesAndDestroyEnvironmentWhenMachineStartFailsInParallelStart()
+            throws Exception {
+        // given
+        engine.setParallelMachineStart(true, 2);
+        EnvironmentImpl env = createEnv();
+        String envName = "env-1";
+        String workspaceId = "wsId";
+        CheServicesEnvironmentImpl cheServicesEnv = createCheServicesEnv();
+        cheServicesEnv.getServices().put("machine3",
+                                         new CheServiceImpl().withBuild(new CheServiceBuildContextImpl().withContext("image"))
+                                                             .withDependsOn(singletonList("machine2")));
+        when(machineProvider.startService(anyString(),
+                                          eq(workspaceId),
+                                          eq(envName),
+                                          anyString(),
+                                          anyBoolean(),
+                                          anyString(),
+                                          any(CheServiceImpl.class),
+                                          any(LineConsumer.class)))
+                .thenAnswer(invocationOnMock -> {
+                    Object[] arguments = invocationOnMock.getArguments();
+                    if ("machine2".equals(arguments[3])) {
+                        throw new ServerException("start failed");
+                    }
+                    try {
+                        // dev machine start is interrupted
+                        Thread.sleep(5_000);
+                    } catch (InterruptedException e) {
+                        throw new ServerException("interrupted");
+                    }
+                    return spy(new NoOpMachineInstance(createMachine(workspaceId,
+                                                                     envName,
+                                                                     (CheServiceImpl)arguments[6],
+                                                                     (String)arguments[3],
+                                                                     (boolean)arguments[4])));
+                });
+        when(environmentParser.parse(env)).thenReturn(cheServicesEnv);
+
+        // when
+        try {
+            engine.start(workspaceId,
+                         envName,
+                         env,
+                         false,
+                         messageConsumer,
+                         startedHandler);
+            fail("environment must not be running");
+        } catch (ServerException x) {
+            assertEquals(x.getMessage(), "start failed");
+        }
+
+        // then
+        verify(machineProvider, never()).startService(anyString(),
+                                                      anyString(),
+                                                      anyString(),
+                                                      eq("machine3"),
+                                                      anyBoolean(),
+                                                      anyString(),
+                                                      any(CheServiceImpl.class),
+                                                      any(LineConsumer.class));
+        verify(startedHandler, never()).started(any(Instance.class), any(ExtendedMachine.class));
+        verify(machineProvider).destroyNetwork(anyString());
+        try {
+            engine.getMachines(workspaceId);
+            fail("environment must not be running");
+        } catch (EnvironmentNotRunningException ignored) {
+        }
+    }
+
     @Test
     public void shouldSetDefaultRamToMachinesWithoutRamOnEnvironmentStart() throws Exception {
         // given
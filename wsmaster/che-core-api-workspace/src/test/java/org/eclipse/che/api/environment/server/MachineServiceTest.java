@@ -28,6 +28,7 @@ import org.testng.annotations.Listeners;
 import org.testng.annotations.Test;
 
 import static com.jayway.restassured.RestAssured.given;
+import static java.util.Arrays.asList;
 import static org.everrest.assured.JettyHttpServer.ADMIN_USER_NAME;
 import static org.everrest.assured.JettyHttpServer.ADMIN_USER_PASSWORD;
 import static org.everrest.assured.JettyHttpServer.SECURE_PATH;
@@ -36,6 +37,7 @@ import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
 
 /**
@@ -142,4 +144,22 @@ public class MachineServiceTest {
         // then
         assertEquals(response.getStatusCode(), 204);
     }
+
+    @Test
+    public void shouldReturnLastLinesOfMachineLogs() throws Exception {
+        // given
+        String workspaceId = "wsId";
+        String machineId = "mcId";
+        when(machineProcessManager.getMachineLogs(workspaceId, machineId, 2)).thenReturn(asList("line 1", "line 2"));
+
+        // when
+        final Response response = given().auth()
+                                         .basic(ADMIN_USER_NAME, ADMIN_USER_PASSWORD)
+                                         .when()
+                                         .get(SECURE_PATH + "/workspace/" + workspaceId + "/machine/" + machineId + "/logs?tail=2");
+
+        // then
+        assertEquals(response.getStatusCode(), 200);
+        assertEquals(response.asString(), "line 1\nline 2\n");
+    }
 }
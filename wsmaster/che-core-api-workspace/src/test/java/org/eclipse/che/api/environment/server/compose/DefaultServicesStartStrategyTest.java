@@ -15,10 +15,14 @@ import org.eclipse.che.api.environment.server.model.CheServiceImpl;
 import org.eclipse.che.api.environment.server.model.CheServicesEnvironmentImpl;
 import org.testng.annotations.Test;
 
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
+import static java.util.Collections.singleton;
 import static java.util.Collections.singletonList;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertEqualsNoOrder;
@@ -105,6 +109,25 @@ public class DefaultServicesStartStrategyTest {
         assertTrue(actual.contains("fifth"));
     }
 
+    @Test
+    public void shouldReturnDependenciesFromDependsOnLinksAndVolumesFrom() throws Exception {
+        // given
+        CheServicesEnvironmentImpl composeEnvironment = new CheServicesEnvironmentImpl();
+        composeEnvironment.getServices().put("web", new CheServiceImpl().withDependsOn(singletonList("db"))
+                                                                        .withLinks(singletonList("redis:cache")));
+        composeEnvironment.getServices().put("redis", new CheServiceImpl().withVolumesFrom(singletonList("db:ro")));
+        composeEnvironment.getServices().put("db", new CheServiceImpl());
+
+        // when
+        Map<String, Set<String>> dependencies = strategy.dependencies(composeEnvironment);
+
+        // then
+        assertEquals(dependencies.size(), 3);
+        assertEquals(dependencies.get("web"), new HashSet<>(asList("db", "redis")));
+        assertEquals(dependencies.get("redis"), singleton("db"));
+        assertTrue(dependencies.get("db").isEmpty());
+    }
+
     @Test(expectedExceptions = IllegalArgumentException.class,
           expectedExceptionsMessageRegExp = "Launch order of machines '.*, .*' can't be evaluated. Circular dependency.")
     public void shouldFailIfCircularDependencyFound() throws Exception {
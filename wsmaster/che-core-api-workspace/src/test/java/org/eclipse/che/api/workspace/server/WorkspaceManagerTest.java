@@ -35,6 +35,7 @@ import org.eclipse.che.api.workspace.server.model.impl.EnvironmentRecipeImpl;
 import org.eclipse.che.api.workspace.server.model.impl.ExtendedMachineImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummaryImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceRuntimeImpl;
 import org.eclipse.che.api.workspace.server.spi.WorkspaceDao;
 import org.eclipse.che.api.workspace.shared.Constants;
@@ -280,6 +281,20 @@ public class WorkspaceManagerTest {
         assertFalse(res1.isTemporary(), "Workspace must be permanent");
     }
 
+    @Test
+    public void shouldBeAbleToGetSummariesByNamespace() throws Exception {
+        final WorkspaceImpl workspace = createAndMockWorkspace();
+        mockRuntime(workspace, RUNNING);
+        when(workspaceDao.getSummariesByNamespace(NAMESPACE, "afterId", 10))
+                .thenReturn(singletonList(new WorkspaceSummaryImpl(workspace.getId(), "name", NAMESPACE)));
+
+        final List<WorkspaceSummaryImpl> result = workspaceManager.getSummariesByNamespace(NAMESPACE, "afterId", 10);
+
+        assertEquals(result.size(), 1);
+        assertEquals(result.get(0).getStatus(), RUNNING, "Summary status must be taken from the runtime instance");
+        verify(workspaceDao, never()).getByNamespace(anyString());
+    }
+
     @Test
     public void getWorkspaceByNameShouldReturnWorkspaceWithStatusEqualToItsRuntimeStatus() throws Exception {
         final WorkspaceImpl workspace = createAndMockWorkspace();
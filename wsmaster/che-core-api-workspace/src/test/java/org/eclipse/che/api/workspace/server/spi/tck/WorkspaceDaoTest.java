@@ -29,6 +29,7 @@ import org.eclipse.che.api.workspace.server.model.impl.ServerConf2Impl;
 import org.eclipse.che.api.workspace.server.model.impl.SourceStorageImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummaryImpl;
 import org.eclipse.che.api.workspace.server.spi.WorkspaceDao;
 import org.eclipse.che.commons.test.tck.TckListener;
 import org.eclipse.che.commons.test.tck.repository.TckRepository;
@@ -151,6 +152,56 @@ public class WorkspaceDaoTest {
         workspaceDao.getByNamespace(null);
     }
 
+    @Test
+    public void shouldGetSummariesByNamespace() throws Exception {
+        final WorkspaceImpl workspace1 = workspaces[0];
+        final WorkspaceImpl workspace2 = workspaces[1];
+
+        final List<WorkspaceSummaryImpl> found = workspaceDao.getSummariesByNamespace(workspace1.getNamespace(), null, 30);
+
+        assertEquals(found, asList(new WorkspaceSummaryImpl(workspace1.getId(),
+                                                            workspace1.getConfig().getName(),
+                                                            workspace1.getNamespace()),
+                                   new WorkspaceSummaryImpl(workspace2.getId(),
+                                                            workspace2.getConfig().getName(),
+                                                            workspace2.getNamespace())));
+    }
+
+    @Test
+    public void shouldGetSummariesPageAfterGivenWorkspace() throws Exception {
+        final List<WorkspaceSummaryImpl> firstPage = workspaceDao.getSummaries("userId", null, 2);
+        final List<WorkspaceSummaryImpl> secondPage = workspaceDao.getSummaries("userId", firstPage.get(1).getId(), 2);
+        final List<WorkspaceSummaryImpl> lastPage = workspaceDao.getSummaries("userId", secondPage.get(1).getId(), 2);
+
+        assertEquals(Stream.of(firstPage, secondPage, lastPage)
+                           .flatMap(List::stream)
+                           .map(WorkspaceSummaryImpl::getId)
+                           .collect(toList()),
+                     Stream.of(workspaces).map(WorkspaceImpl::getId).sorted().collect(toList()));
+    }
+
+    @Test
+    public void shouldGetSummariesWithUpdateTime() throws Exception {
+        final WorkspaceImpl workspace = workspaces[0];
+        workspace.getAttributes().put("updated", "1234");
+        workspaceDao.update(workspace);
+
+        final List<WorkspaceSummaryImpl> found = workspaceDao.getSummariesByNamespace(workspace.getNamespace(), null, 1);
+
+        assertEquals(found.size(), 1);
+        assertEquals(found.get(0).getUpdated(), Long.valueOf(1234));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void shouldThrowIllegalArgumentExceptionWhenGettingSummariesWithNegativeLimit() throws Exception {
+        workspaceDao.getSummaries("userId", null, -1);
+    }
+
+    @Test(expectedExceptions = NullPointerException.class)
+    public void shouldThrowNpeWhenGettingSummariesByNullNamespace() throws Exception {
+        workspaceDao.getSummariesByNamespace(null, null, 30);
+    }
+
     @Test
     public void shouldGetWorkspaceByNameAndNamespace() throws Exception {
         final WorkspaceImpl workspace = workspaces[0];